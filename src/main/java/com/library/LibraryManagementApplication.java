@@ -3,15 +3,18 @@ package com.library;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Library Management System - Ana Uygulama Sınıfı
  * 
  * Bu sınıf Spring Boot uygulamasının giriş noktasıdır.
  * @EnableAsync annotation'ı ile asenkron işlemler aktif edilmiştir.
+ * @EnableScheduling ile periyodik bakım işleri (ör. sayaç uzlaştırma) çalıştırılır.
  */
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class LibraryManagementApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,123 @@
+package com.library.archive;
+
+import com.library.repository.ArchivedBorrowRecordRepository;
+import com.library.repository.BookBorrowStatsRepository;
+import com.library.repository.BorrowRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Ödünç Kaydı Arşivleyici
+ *
+ * İadesinin üzerinden yapılandırılan gün sayısı geçmiş ödünç kayıtlarını periyodik olarak
+ * borrow_records tablosundan borrow_records_archive tablosuna taşır. Böylece sıcak tablo
+ * açık ödünçler ve yakın zamanda iade edilmiş kayıtlarla sınırlı kalır; açık/geciken ödünç
+ * ve popülerlik sorguları tüm geçmişi taramaz.
+ *
+ * Her grup tek transaction'dır: kayıtlar arşive kopyalanır, kitap bazında arşiv sayıları
+ * (book_borrow_stats) artırılır ve kayıtlar sıcak tablodan silinir. Tüm adımlar toplu
+ * sorgulardır; satırlar belleğe yüklenmez. Aynı kaydı iki örnek birlikte taşımaya çalışırsa
+ * arşivin birincil anahtarı ikinciyi geri aldırır, sayılar iki kez artmaz.
+ */
+@Component
+@ConditionalOnProperty(name = "library.archive.borrow-records.enabled", havingValue = "true", matchIfMissing = true)
+public class BorrowRecordArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(BorrowRecordArchiver.class);
+
+    private final BorrowRecordRepository borrowRecordRepository;
+    private final ArchivedBorrowRecordRepository archivedBorrowRecordRepository;
+    private final BookBorrowStatsRepository bookBorrowStatsRepository;
+    private final TransactionTemplate writeTransaction;
+
+    private final int minAgeDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    @Autowired
+    public BorrowRecordArchiver(BorrowRecordRepository borrowRecordRepository,
+                                ArchivedBorrowRecordRepository archivedBorrowRecordRepository,
+                                BookBorrowStatsRepository bookBorrowStatsRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${library.archive.borrow-records.min-age-days:365}") int minAgeDays,
+                                @Value("${library.archive.borrow-records.batch-size:1000}") int batchSize,
+                                @Value("${library.archive.borrow-records.max-batches-per-run:100}") int maxBatchesPerRun) {
+        if (minAgeDays < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Arşivleme yaşı ve grup boyutu pozitif olmalıdır");
+        }
+        this.borrowRecordRepository = borrowRecordRepository;
+        this.archivedBorrowRecordRepository = archivedBorrowRecordRepository;
+        this.bookBorrowStatsRepository = bookBorrowStatsRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.minAgeDays = minAgeDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Arşivlenebilecek kayıtları gruplar halinde taşır. Bir çalışma en fazla
+     * max-batches-per-run grup taşır; kalanlar bir sonraki çalışmaya bırakılır.
+     * @return Taşınan kayıt sayısı
+     */
+    @Scheduled(fixedDelayString = "${library.archive.borrow-records.interval-ms:3600000}",
+               initialDelayString = "${library.archive.borrow-records.interval-ms:3600000}")
+    public synchronized int archive() {
+        long start = System.currentTimeMillis();
+        LocalDate cutoff = LocalDate.now().minusDays(minAgeDays);
+        int archived = 0;
+        int batches = 0;
+        try {
+            while (maxBatchesPerRun <= 0 || batches < maxBatchesPerRun) {
+                Integer moved = writeTransaction.execute(status -> archiveBatch(cutoff));
+                if (moved == null || moved == 0) {
+                    break;
+                }
+                archived += moved;
+                batches++;
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Başka bir örnek aynı kayıtları taşıdı; kalanlar bir sonraki çalışmada denenir
+            log.warn("Ödünç kaydı arşivleme durduruldu: {}", e.getMessage());
+        }
+        if (archived > 0) {
+            log.info("{} ödünç kaydı arşive taşındı ({} grup, iade tarihi < {}, {} ms)",
+                    archived, batches, cutoff, System.currentTimeMillis() - start);
+        } else {
+            log.debug("Arşivlenecek ödünç kaydı yok (iade tarihi < {})", cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveBatch(LocalDate cutoff) {
+        List<Long> ids = borrowRecordRepository.findArchivableIds(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = archivedBorrowRecordRepository.copyFromBorrowRecords(ids);
+        // Sayılar kayıtlar sıcak tablodan silinmeden önce, aynı ID'ler üzerinden artırılır
+        bookBorrowStatsRepository.addArchivedBorrows(ids);
+        bookBorrowStatsRepository.insertArchivedBorrows(ids);
+        int deleted = borrowRecordRepository.deleteByIdIn(ids);
+        if (copied != ids.size() || deleted != ids.size()) {
+            // Kayıtlar okuma ile taşıma arasında değişti (ör. üye silindi); grup geri alınır
+            throw new IllegalStateException("Arşivlenen kayıt sayısı tutarsız: " + ids.size()
+                    + " seçildi, " + copied + " kopyalandı, " + deleted + " silindi");
+        }
+        return ids.size();
+    }
+}
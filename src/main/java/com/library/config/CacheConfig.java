@@ -0,0 +1,60 @@
+package com.library.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.Arrays;
+
+/**
+ * Cache Konfigürasyon Sınıfı
+ *
+ * Servis okumaları için Caffeine tabanlı Spring Cache'i etkinleştirir. Tüm cache'ler
+ * {@code spring.cache.caffeine.spec} ile boyutlandırılır ve isabet/ıska istatistiği tutar.
+ *
+ * Servislere verilen cache yöneticisi transaction farkındadır: yazma metodlarındaki
+ * temizleme ve ekleme işlemleri transaction commit edildikten sonra uygulanır. Böylece
+ * eşzamanlı bir okuma, henüz commit edilmemiş değişiklikten önceki değeri temizlemeden
+ * sonra tekrar cache'e koyamaz ve geri alınan transaction'lar cache'i etkilemez.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private final String specification;
+
+    public CacheConfig(@Value("${spring.cache.caffeine.spec:maximumSize=10000,expireAfterWrite=10m}") String specification) {
+        this.specification = specification;
+    }
+
+    /**
+     * Caffeine cache yöneticisi (istatistikler için doğrudan erişilir)
+     * @return Cache yöneticisi
+     */
+    @Bean
+    public CaffeineCacheManager caffeineCacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(specification).recordStats());
+        cacheManager.setCacheNames(Arrays.asList(CacheNames.ALL));
+        // Bulunamayan kayıtlar cache'lenmez; metodlar "unless" ile null sonucu dışarıda bırakır
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+
+    /**
+     * Servislerin ve cache anotasyonlarının kullandığı, commit sonrasına erteleyen yönetici
+     * @param caffeineCacheManager Asıl cache yöneticisi
+     * @return Transaction farkında cache yöneticisi
+     */
+    @Bean
+    @Primary
+    public CacheManager cacheManager(CaffeineCacheManager caffeineCacheManager) {
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
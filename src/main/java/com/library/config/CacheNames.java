@@ -0,0 +1,45 @@
+package com.library.config;
+
+/**
+ * Cache İsimleri
+ *
+ * Servis katmanında kullanılan Spring Cache isimleri. Her okuma metodunun kendi cache'i
+ * vardır; böylece yazma işlemleri yalnızca etkilenen girdileri temizler.
+ */
+public final class CacheNames {
+
+    /**
+     * BookService.findViewById (anahtar: kitap ID'si, değer: değişmez BookView)
+     */
+    public static final String BOOKS = "books";
+
+    /**
+     * BookService.findViewByIsbn (anahtar: ISBN, değer: değişmez BookView)
+     */
+    public static final String BOOKS_BY_ISBN = "booksByIsbn";
+
+    /**
+     * AuthorService.findById (anahtar: yazar ID'si)
+     */
+    public static final String AUTHORS = "authors";
+
+    /**
+     * AuthorService.findAll (tek girdi)
+     */
+    public static final String ALL_AUTHORS = "allAuthors";
+
+    /**
+     * CategoryService.findById (anahtar: kategori ID'si)
+     */
+    public static final String CATEGORIES = "categories";
+
+    /**
+     * CategoryService.findAll (tek girdi)
+     */
+    public static final String ALL_CATEGORIES = "allCategories";
+
+    static final String[] ALL = {BOOKS, BOOKS_BY_ISBN, AUTHORS, ALL_AUTHORS, CATEGORIES, ALL_CATEGORIES};
+
+    private CacheNames() {
+    }
+}
@@ -6,7 +6,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -17,8 +20,14 @@ import java.util.*;
  * 
  * Bu sınıf uygulama başlangıcında örnek verileri yükler.
  * CommandLineRunner interface'ini implement eder.
+ * Tüm veriler tek transaction'da yazılır; böylece insert'ler JDBC batch'leri halinde gider.
+ * "generate" profilinde çalışmaz; veriyi SyntheticDataGenerator üretir.
+ * Veritabanında kategori veya kitap varsa (ör. konteyner yeniden başlatıldığında) veri yüklenmez.
+ * library.data-loader.enabled=false ile tamamen kapatılır (fast-start profili).
  */
 @Component
+@Profile("!generate")
+@ConditionalOnProperty(name = "library.data-loader.enabled", havingValue = "true", matchIfMissing = true)
 public class DataLoader implements CommandLineRunner {
 
     private static final Logger log = LoggerFactory.getLogger(DataLoader.class);
@@ -46,7 +55,12 @@ public class DataLoader implements CommandLineRunner {
     }
 
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
+        if (categoryRepository.count() > 0 || bookRepository.count() > 0) {
+            log.info("Veritabanında veri var, örnek veriler yüklenmiyor");
+            return;
+        }
         log.info("Örnek veriler yükleniyor...");
 
         // Verileri sırayla oluştur
@@ -0,0 +1,145 @@
+package com.library.config;
+
+import com.library.datasource.DataSourceRole;
+import com.library.datasource.ReplicaLagMonitor;
+import com.library.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Okuma Replica'sı Yönlendirme Konfigürasyonu
+ *
+ * {@code library.datasource.replica.enabled=true} olduğunda Spring Boot'un tek veri kaynağı
+ * yerine iki Hikari havuzu kurulur: {@code spring.datasource.*} ile birincil ve
+ * {@code library.datasource.replica.*} ile replica. Uygulamanın kullandığı veri kaynağı
+ * ikisi arasında transaction'ın readOnly bilgisine göre seçim yapar.
+ * Hibernate oturumu bağlantısını transaction sonunda bırakır; open-in-view ile bir istek boyunca
+ * açık kalan oturumda her transaction kendi bağlantısını yeniden yönlendirir.
+ * Kapalıyken Spring Boot'un varsayılan veri kaynağı kullanılır.
+ */
+@Configuration
+@ConditionalOnProperty(name = "library.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    /**
+     * Birincil (yazma) havuzu; Spring Boot'un varsayılan havuzuyla aynı ayarları kullanır
+     * @param properties spring.datasource ayarları
+     * @return Birincil havuz
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    /**
+     * Replica (okuma) havuzu; kullanıcı adı ve şifre verilmezse birincilinkiler kullanılır.
+     * Havuz salt okunur açılır, yanlış yönlendirilen bir yazma veritabanında hata verir.
+     * @param properties spring.datasource ayarları
+     * @param url Replica JDBC adresi
+     * @param username Replica kullanıcı adı
+     * @param password Replica şifresi
+     * @return Replica havuzu
+     */
+    @Bean
+    @ConfigurationProperties("library.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${library.datasource.replica.url}") String url,
+                                              @Value("${library.datasource.replica.username:}") String username,
+                                              @Value("${library.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(StringUtils.hasText(username) ? username : properties.determineUsername())
+                .password(StringUtils.hasText(password) ? password : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Replica gecikme gözlemcisi
+     * @param replica Replica havuzu
+     * @param lagQuery Gecikmeyi milisaniye olarak döndüren sorgu
+     * @param maxLagMillis Okumaların replica'ya gidebileceği en yüksek gecikme
+     * @param checkIntervalMillis Ölçüm aralığı
+     * @return Gözlemci
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${library.datasource.replica.lag-query:SELECT 0}") String lagQuery,
+                                               @Value("${library.datasource.replica.max-lag-ms:2000}") long maxLagMillis,
+                                               @Value("${library.datasource.replica.lag-check-interval-ms:5000}") long checkIntervalMillis) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLagMillis, checkIntervalMillis);
+    }
+
+    /**
+     * Yönlendirici veri kaynağı
+     * @param primary Birincil havuz
+     * @param replica Replica havuzu
+     * @param lagMonitor Gecikme gözlemcisi
+     * @param stickyWindowMillis Yazmadan sonra okumaların birincilde kalacağı süre
+     * @return Yönlendirici
+     */
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                      @Qualifier("replicaDataSource") DataSource replica,
+                                                      ReplicaLagMonitor lagMonitor,
+                                                      @Value("${library.datasource.replica.sticky-window-ms:2000}") long stickyWindowMillis) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(lagMonitor, stickyWindowMillis);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRole.PRIMARY, primary);
+        targets.put(DataSourceRole.REPLICA, replica);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        return routing;
+    }
+
+    /**
+     * Uygulamanın (JPA, JdbcTemplate) kullandığı veri kaynağı. Fiziksel bağlantı ilk SQL'de
+     * alınır; böylece yönlendirme transaction'ın readOnly bilgisi bağlandıktan sonra yapılır.
+     * @param routing Yönlendirici
+     * @return Veri kaynağı
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Hibernate bağlantıyı varsayılan olarak oturum kapanana kadar tutar (DELAYED_ACQUISITION_AND_HOLD).
+     * open-in-view açıkken oturum isteğin sonuna kadar yaşadığından, istekteki ilk transaction hangi
+     * havuza yönlendirildiyse sonraki transaction'lar da o bağlantıyı kullanır; readOnly bir okumanın
+     * ardından gelen yazma replica'ya gider. Bağlantı her transaction sonunda bırakılınca her
+     * transaction yönlendirmeden yeniden geçer.
+     * @return Hibernate ayarı
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,34 @@
+package com.library.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Açılış Konfigürasyon Sınıfı
+ *
+ * fast-start profili spring.main.lazy-initialization=true ile bean'leri ilk kullanımda
+ * oluşturur. Bazı bean'ler yine de açılışta oluşturulmalıdır:
+ * - Flyway migration'ları ve EntityManagerFactory: şema migration'ı ve Hibernate'in şema
+ *   doğrulaması web sunucusu istek kabul etmeden önce biter; hatalı bir şema ilk istekte
+ *   değil açılışta fark edilir.
+ * - @Scheduled metodu olan bean'ler Spring Boot tarafından zaten tembel başlatılmaz
+ *   (ScheduledBeanLazyInitializationExcludeFilter).
+ * - ApplicationReadyEvent dinleyicileri (arama indeksleri, öneri motoru vb.) olay
+ *   yayınlandığında oluşturulur; controller ve servisler ilk istekte oluşturulur.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Tembel başlatmanın dışında tutulan kalıcılık bean'leri
+     * @return Hariç tutma filtresi
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerPersistenceBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class, EntityManagerFactory.class);
+    }
+}
@@ -1,19 +1,56 @@
 package com.library.controller;
 
+import com.library.dto.BookView;
+import com.library.dto.BulkStatusRequest;
+import com.library.dto.BulkStatusResult;
+import com.library.dto.CatalogImportResult;
 import com.library.entity.Book;
 import com.library.entity.BookStatus;
+import com.library.paging.CursorPage;
+import com.library.paging.KeysetPageRequest;
+import com.library.popularity.TrendingEngine;
+import com.library.popularity.TrendingEntry;
+import com.library.repository.projection.PopularBookView;
+import com.library.search.SearchMode;
+import com.library.similarity.BookSimilarityIndex;
+import com.library.similarity.SimilarBook;
+import com.library.similarity.SimilarityFeature;
 import com.library.service.BookService;
+import com.library.service.CatalogExportService;
+import com.library.service.CatalogImportService;
+import com.library.stats.CatalogCounters;
+import com.library.stats.CatalogVersion;
+import com.library.stats.ContentionStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Kitap REST API Controller
@@ -28,35 +65,102 @@ public class BookController {
 
     private static final Logger log = LoggerFactory.getLogger(BookController.class);
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+
     private final BookService bookService;
+    private final CatalogExportService catalogExportService;
+    private final CatalogImportService catalogImportService;
+    private final CatalogCounters catalogCounters;
+    private final TrendingEngine trendingEngine;
+    private final BookSimilarityIndex bookSimilarityIndex;
+    private final CatalogVersion catalogVersion;
+    private final ContentionStats contentionStats;
 
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, CatalogExportService catalogExportService,
+                          CatalogImportService catalogImportService, CatalogCounters catalogCounters, TrendingEngine trendingEngine,
+                          BookSimilarityIndex bookSimilarityIndex, CatalogVersion catalogVersion,
+                          ContentionStats contentionStats) {
         this.bookService = bookService;
+        this.catalogExportService = catalogExportService;
+        this.catalogImportService = catalogImportService;
+        this.catalogCounters = catalogCounters;
+        this.trendingEngine = trendingEngine;
+        this.bookSimilarityIndex = bookSimilarityIndex;
+        this.catalogVersion = catalogVersion;
+        this.contentionStats = contentionStats;
     }
 
     /**
-     * Tüm kitapları getirir
-     * @return Kitap listesi
+     * Tüm kitapları imleç tabanlı sayfalama ile getirir
+     * @param sort Sıralama alanı (id, title, isbn, createdAt)
+     * @param direction Sıralama yönü (asc/desc)
+     * @param cursor Önceki yanıttaki nextCursor değeri (opsiyonel)
+     * @param size Sayfa boyutu (sunucu tarafında üst sınırla kısıtlanır)
+     * @return Kitap sayfası
      */
     @GetMapping
-    public ResponseEntity<List<Book>> getAllBooks() {
-        log.info("Tüm kitaplar getiriliyor");
-        List<Book> books = bookService.findAll();
+    public ResponseEntity<CursorPage<BookView>> getAllBooks(
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("Kitaplar getiriliyor: sort={}, direction={}, size={}", sort, direction, size);
+        CursorPage<BookView> books = bookService.findPage(pageRequest(sort, direction, cursor, size)).map(BookView::from);
         return ResponseEntity.ok(books);
     }
 
     /**
-     * ID'ye göre kitap getirir
+     * Kataloğu satır satır JSON (NDJSON) olarak dışa aktarır.
+     * Kitaplar veritabanından okunurken yanıta yazılır; toplu senkronizasyon işleri için kullanılır.
+     * @param status Durum filtresi (opsiyonel)
+     * @return NDJSON akışı
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(required = false) BookStatus status) {
+        log.info("Katalog dışa aktarılıyor: status={}", status);
+        StreamingResponseBody body = out -> catalogExportService.exportBooks(status, out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books.ndjson\"")
+                .body(body);
+    }
+
+    /**
+     * Yazar, kategori ve kitapları satır satır JSON (NDJSON) olarak toplu içe aktarır.
+     * Dışa aktarma çıktısı doğrudan kabul edilir; "type" alanı ile yazar ve kategori satırları da
+     * verilebilir. Kayıtlar parça parça ve JDBC batch'leri halinde yazılır.
+     * @param body NDJSON gövdesi
+     * @return İçe aktarma sonucu (oluşturulan, tekrar eden ve geçersiz kayıtlar)
+     * @throws IOException Gövde okunamazsa
+     */
+    @PostMapping(value = "/import", consumes = NDJSON_VALUE)
+    public ResponseEntity<CatalogImportResult> importCatalog(InputStream body) throws IOException {
+        log.info("Katalog içe aktarılıyor");
+        return ResponseEntity.ok(catalogImportService.importCatalog(body));
+    }
+
+    /**
+     * ID'ye göre kitap getirir.
+     * ETag kitabın updatedAt değerinden ve yanıtta yer alan yazar (ID, ad) ile kategori
+     * (ID, ad, renk kodu) alanlarının özetinden türetilir; If-None-Match eşleşirse gövde
+     * üretilmeden 304 döner.
      * @param id Kitap ID'si
+     * @param request Koşullu istek başlıkları
      * @return Kitap
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Book> getBookById(@PathVariable Long id) {
+    public ResponseEntity<BookView> getBookById(@PathVariable Long id, WebRequest request) {
         log.info("ID {} ile kitap getiriliyor", id);
-        Optional<Book> book = bookService.findById(id);
-        return book.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        Optional<BookView> book = bookService.findViewById(id);
+        if (book.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(bookETag(book.get()))) {
+            return null;
+        }
+        return ResponseEntity.ok(book.get());
     }
 
     /**
@@ -65,9 +169,9 @@ public class BookController {
      * @return Kitap
      */
     @GetMapping("/isbn/{isbn}")
-    public ResponseEntity<Book> getBookByIsbn(@PathVariable String isbn) {
+    public ResponseEntity<BookView> getBookByIsbn(@PathVariable String isbn) {
         log.info("ISBN {} ile kitap getiriliyor", isbn);
-        Optional<Book> book = bookService.findByIsbn(isbn);
+        Optional<BookView> book = bookService.findViewByIsbn(isbn);
         return book.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -78,10 +182,10 @@ public class BookController {
      * @return Kitap listesi
      */
     @GetMapping("/search/title")
-    public ResponseEntity<List<Book>> searchByTitle(@RequestParam String title) {
+    public ResponseEntity<List<BookView>> searchByTitle(@RequestParam String title) {
         log.info("Başlık '{}' ile kitaplar aranıyor", title);
         List<Book> books = bookService.findByTitle(title);
-        return ResponseEntity.ok(books);
+        return ResponseEntity.ok(views(books));
     }
 
     /**
@@ -90,55 +194,102 @@ public class BookController {
      * @return Kitap listesi
      */
     @GetMapping("/author/{authorId}")
-    public ResponseEntity<List<Book>> getBooksByAuthor(@PathVariable Long authorId) {
+    public ResponseEntity<List<BookView>> getBooksByAuthor(@PathVariable Long authorId) {
         log.info("Yazar ID {} ile kitaplar getiriliyor", authorId);
         List<Book> books = bookService.findByAuthorId(authorId);
-        return ResponseEntity.ok(books);
+        return ResponseEntity.ok(views(books));
     }
 
     /**
-     * Duruma göre kitapları getirir
+     * Duruma göre kitapları imleç tabanlı sayfalama ile getirir
      * @param status Kitap durumu
-     * @return Kitap listesi
+     * @param sort Sıralama alanı (id, title, isbn, createdAt)
+     * @param direction Sıralama yönü (asc/desc)
+     * @param cursor Önceki yanıttaki nextCursor değeri (opsiyonel)
+     * @param size Sayfa boyutu (sunucu tarafında üst sınırla kısıtlanır)
+     * @return Kitap sayfası
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Book>> getBooksByStatus(@PathVariable BookStatus status) {
+    public ResponseEntity<CursorPage<BookView>> getBooksByStatus(
+            @PathVariable BookStatus status,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("Durum {} ile kitaplar getiriliyor", status);
-        List<Book> books = bookService.findByStatus(status);
+        CursorPage<BookView> books = bookService.findPageByStatus(status, pageRequest(sort, direction, cursor, size)).map(BookView::from);
         return ResponseEntity.ok(books);
     }
 
     /**
-     * Mevcut kitapları getirir
-     * @return Mevcut kitap listesi
+     * Mevcut kitapları imleç tabanlı sayfalama ile getirir
+     * @param sort Sıralama alanı (id, title, isbn, createdAt)
+     * @param direction Sıralama yönü (asc/desc)
+     * @param cursor Önceki yanıttaki nextCursor değeri (opsiyonel)
+     * @param size Sayfa boyutu (sunucu tarafında üst sınırla kısıtlanır)
+     * @param request Koşullu istek başlıkları (ETag katalog sürümünden türetilir)
+     * @return Mevcut kitap sayfası
      */
     @GetMapping("/available")
-    public ResponseEntity<List<Book>> getAvailableBooks() {
+    public ResponseEntity<CursorPage<BookView>> getAvailableBooks(
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
         log.info("Mevcut kitaplar getiriliyor");
-        List<Book> books = bookService.findAvailableBooks();
+        KeysetPageRequest pageRequest = pageRequest(sort, direction, cursor, size);
+        if (request.checkNotModified(catalogETag())) {
+            return null;
+        }
+        CursorPage<BookView> books = bookService.findPageByStatus(BookStatus.AVAILABLE, pageRequest).map(BookView::from);
         return ResponseEntity.ok(books);
     }
 
     /**
-     * Ödünç verilmiş kitapları getirir
-     * @return Ödünç verilmiş kitap listesi
+     * Ödünç verilmiş kitapları imleç tabanlı sayfalama ile getirir
+     * @param sort Sıralama alanı (id, title, isbn, createdAt)
+     * @param direction Sıralama yönü (asc/desc)
+     * @param cursor Önceki yanıttaki nextCursor değeri (opsiyonel)
+     * @param size Sayfa boyutu (sunucu tarafında üst sınırla kısıtlanır)
+     * @param request Koşullu istek başlıkları (ETag katalog sürümünden türetilir)
+     * @return Ödünç verilmiş kitap sayfası
      */
     @GetMapping("/borrowed")
-    public ResponseEntity<List<Book>> getBorrowedBooks() {
+    public ResponseEntity<CursorPage<BookView>> getBorrowedBooks(
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
         log.info("Ödünç verilmiş kitaplar getiriliyor");
-        List<Book> books = bookService.findBorrowedBooks();
+        KeysetPageRequest pageRequest = pageRequest(sort, direction, cursor, size);
+        if (request.checkNotModified(catalogETag())) {
+            return null;
+        }
+        CursorPage<BookView> books = bookService.findPageByStatus(BookStatus.BORROWED, pageRequest).map(BookView::from);
         return ResponseEntity.ok(books);
     }
 
     /**
-     * Kategori ID'sine göre kitapları getirir
+     * Kategori ID'sine göre kitapları imleç tabanlı sayfalama ile getirir
      * @param categoryId Kategori ID'si
-     * @return Kitap listesi
+     * @param sort Sıralama alanı (id, title, isbn, createdAt)
+     * @param direction Sıralama yönü (asc/desc)
+     * @param cursor Önceki yanıttaki nextCursor değeri (opsiyonel)
+     * @param size Sayfa boyutu (sunucu tarafında üst sınırla kısıtlanır)
+     * @return Kitap sayfası
      */
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<Book>> getBooksByCategory(@PathVariable Long categoryId) {
+    public ResponseEntity<CursorPage<BookView>> getBooksByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("Kategori ID {} ile kitaplar getiriliyor", categoryId);
-        List<Book> books = bookService.findByCategoryId(categoryId);
+        CursorPage<BookView> books = bookService.findPageByCategoryId(categoryId,
+                pageRequest(sort, direction, cursor, size)).map(BookView::from);
         return ResponseEntity.ok(books);
     }
 
@@ -149,12 +300,12 @@ public class BookController {
      * @return Kitap listesi
      */
     @GetMapping("/year-range")
-    public ResponseEntity<List<Book>> getBooksByYearRange(
+    public ResponseEntity<List<BookView>> getBooksByYearRange(
             @RequestParam Integer startYear, 
             @RequestParam Integer endYear) {
         log.info("Yayın yılı {} - {} arasındaki kitaplar getiriliyor", startYear, endYear);
         List<Book> books = bookService.findByPublicationYearBetween(startYear, endYear);
-        return ResponseEntity.ok(books);
+        return ResponseEntity.ok(views(books));
     }
 
     /**
@@ -164,88 +315,190 @@ public class BookController {
      * @return Kitap listesi
      */
     @GetMapping("/price-range")
-    public ResponseEntity<List<Book>> getBooksByPriceRange(
+    public ResponseEntity<List<BookView>> getBooksByPriceRange(
             @RequestParam Double minPrice, 
             @RequestParam Double maxPrice) {
         log.info("Fiyat {} - {} arasındaki kitaplar getiriliyor", minPrice, maxPrice);
         List<Book> books = bookService.findByPriceBetween(minPrice, maxPrice);
-        return ResponseEntity.ok(books);
+        return ResponseEntity.ok(views(books));
     }
 
     /**
      * En popüler kitapları getirir
-     * @param limit Limit sayısı
-     * @return Kitap listesi
+     * @param limit Limit sayısı (1-100)
+     * @param days Zaman penceresi, ör. 30 veya 90 gün (opsiyonel; verilmezse tüm zamanlar)
+     * @return Popüler kitap listesi
      */
     @GetMapping("/popular")
-    public ResponseEntity<List<Book>> getMostPopularBooks(@RequestParam(defaultValue = "10") int limit) {
-        log.info("En popüler {} kitap getiriliyor", limit);
-        List<Book> books = bookService.findMostPopularBooks(limit);
+    public ResponseEntity<List<PopularBookView>> getMostPopularBooks(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Integer days) {
+        log.info("En popüler {} kitap getiriliyor (son {} gün)", limit, days);
+        if (days != null && days < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Gün sayısı pozitif olmalıdır");
+        }
+        List<PopularBookView> books = bookService.findPopularBooks(Math.max(1, Math.min(limit, 100)), days);
         return ResponseEntity.ok(books);
     }
 
+    /**
+     * Şu an trend olan kitapları getirir.
+     * Sıralama bellek içinden okunur, veritabanına gidilmez; skorlar zamanla azalır
+     * (son ödünç ve rezervasyonlar daha ağır basar).
+     * @param limit Limit sayısı (1-top-k)
+     * @return Kitap ID'si ve trend skoru listesi
+     */
+    @GetMapping("/popular/trending")
+    public ResponseEntity<List<TrendingEntry>> getTrendingBooks(@RequestParam(defaultValue = "10") int limit) {
+        log.debug("Trend olan {} kitap getiriliyor", limit);
+        return ResponseEntity.ok(trendingEngine.top(Math.max(1, Math.min(limit, trendingEngine.capacity()))));
+    }
+
     /**
      * Eski kitapları getirir
      * @return Eski kitap listesi
      */
     @GetMapping("/old")
-    public ResponseEntity<List<Book>> getOldBooks() {
+    public ResponseEntity<List<BookView>> getOldBooks() {
         log.info("Eski kitaplar getiriliyor");
         List<Book> books = bookService.findOldBooks();
-        return ResponseEntity.ok(books);
+        return ResponseEntity.ok(views(books));
     }
 
     /**
      * Kitap durum istatistiklerini getirir
+     * @param request Koşullu istek başlıkları (ETag katalog sürümünden türetilir)
      * @return Durum istatistikleri
      */
     @GetMapping("/statistics/status")
-    public ResponseEntity<Map<BookStatus, Long>> getBookStatusStatistics() {
+    public ResponseEntity<Map<BookStatus, Long>> getBookStatusStatistics(WebRequest request) {
         log.info("Kitap durum istatistikleri getiriliyor");
+        if (request.checkNotModified(catalogETag())) {
+            return null;
+        }
         Map<BookStatus, Long> statistics = bookService.getBookStatusStatistics();
         return ResponseEntity.ok(statistics);
     }
 
     /**
      * Kategori istatistiklerini getirir
+     * @param request Koşullu istek başlıkları (ETag katalog sürümünden türetilir)
      * @return Kategori istatistikleri
      */
     @GetMapping("/statistics/categories")
-    public ResponseEntity<Map<String, Long>> getCategoryStatistics() {
+    public ResponseEntity<Map<String, Long>> getCategoryStatistics(WebRequest request) {
         log.info("Kategori istatistikleri getiriliyor");
+        if (request.checkNotModified(catalogETag())) {
+            return null;
+        }
         Map<String, Long> statistics = bookService.getCategoryStatistics();
         return ResponseEntity.ok(statistics);
     }
 
     /**
      * Yayın yılı istatistiklerini getirir
+     * @param request Koşullu istek başlıkları (ETag katalog sürümünden türetilir)
      * @return Yayın yılı istatistikleri
      */
     @GetMapping("/statistics/years")
-    public ResponseEntity<Map<Integer, Long>> getPublicationYearStatistics() {
+    public ResponseEntity<Map<Integer, Long>> getPublicationYearStatistics(WebRequest request) {
         log.info("Yayın yılı istatistikleri getiriliyor");
+        if (request.checkNotModified(catalogETag())) {
+            return null;
+        }
         Map<Integer, Long> statistics = bookService.getPublicationYearStatistics();
         return ResponseEntity.ok(statistics);
     }
 
     /**
-     * Gelişmiş kitap arama
+     * Bellek içi katalog sayaçlarını getirir (veritabanı sorgusu çalıştırmaz)
+     * @param request Koşullu istek başlıkları (ETag katalog sürümünden türetilir)
+     * @return Toplam, durum, kategori, dil ve yıl sayıları
+     */
+    @GetMapping("/statistics/counters")
+    public ResponseEntity<Map<String, Object>> getCatalogCounters(WebRequest request) {
+        log.info("Katalog sayaçları getiriliyor");
+        if (request.checkNotModified(catalogETag())) {
+            return null;
+        }
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("total", catalogCounters.total());
+        counters.put("status", catalogCounters.statusCounts());
+        counters.put("categories", catalogCounters.categoryCounts());
+        counters.put("languages", catalogCounters.languageCounts());
+        counters.put("years", catalogCounters.yearCounts());
+        return ResponseEntity.ok(counters);
+    }
+
+    /**
+     * Durum değişikliği çakışmalarını ve en çok çakışan kitapları getirir
+     * @param limit En fazla kitap sayısı (varsayılan 10, en fazla 100)
+     * @return Toplam sayaçlar ve sıcak kitaplar
+     */
+    @GetMapping("/statistics/contention")
+    public ResponseEntity<Map<String, Object>> getContentionStatistics(@RequestParam(defaultValue = "10") int limit) {
+        log.info("Çakışma istatistikleri getiriliyor");
+        List<Map<String, Object>> hottest = new ArrayList<>();
+        for (ContentionStats.Entry entry : contentionStats.hottest(Math.max(1, Math.min(limit, 100)))) {
+            Map<String, Object> book = new LinkedHashMap<>();
+            book.put("bookId", entry.getBookId());
+            book.put("title", bookService.findViewById(entry.getBookId()).map(BookView::getTitle).orElse(null));
+            book.put("conflicts", entry.getConflicts());
+            book.put("rejections", entry.getRejections());
+            book.put("versionConflicts", entry.getVersionConflicts());
+            book.put("lastAt", entry.getLastAt());
+            hottest.add(book);
+        }
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("attempts", contentionStats.attempts());
+        statistics.put("conflicts", contentionStats.conflicts());
+        statistics.put("rejections", contentionStats.rejections());
+        statistics.put("versionConflicts", contentionStats.versionConflicts());
+        statistics.put("hottest", hottest);
+        return ResponseEntity.ok(statistics);
+    }
+
+    /**
+     * Gelişmiş kitap arama (sayfalı)
      * @param title Kitap başlığı
      * @param authorName Yazar adı
      * @param categoryName Kategori adı
      * @param status Kitap durumu
-     * @return Kitap listesi
+     * @param pageable Sayfa ve sıralama bilgisi (page, size, sort)
+     * @return Kitap sayfası
      */
     @GetMapping("/search/advanced")
-    public ResponseEntity<List<Book>> advancedSearch(
+    public ResponseEntity<Page<BookView>> advancedSearch(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String authorName,
             @RequestParam(required = false) String categoryName,
-            @RequestParam(required = false) BookStatus status) {
-        log.info("Gelişmiş arama yapılıyor: title={}, author={}, category={}, status={}", 
-                title, authorName, categoryName, status);
-        List<Book> books = bookService.searchBooks(title, authorName, categoryName, status);
-        return ResponseEntity.ok(books);
+            @RequestParam(required = false) BookStatus status,
+            @PageableDefault(size = 20, sort = "title") Pageable pageable) {
+        log.info("Gelişmiş arama yapılıyor: title={}, author={}, category={}, status={}, page={}", 
+                title, authorName, categoryName, status, pageable);
+        try {
+            Page<BookView> books = bookService.searchBooks(title, authorName, categoryName, status, pageable).map(BookView::from);
+            return ResponseEntity.ok(books);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Katalog indeksinde tam metin arama
+     * @param q Arama metni ("ter*" önek araması yapar)
+     * @param mode Terimlerin birleştirme şekli (AND/OR)
+     * @param limit Maksimum sonuç sayısı
+     * @return Kitap listesi
+     */
+    @GetMapping("/search/index")
+    public ResponseEntity<List<BookView>> searchCatalog(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "AND") SearchMode mode,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("Katalog indeksinde arama yapılıyor: q='{}', mode={}, limit={}", q, mode, limit);
+        List<Book> books = bookService.searchCatalog(q, mode, Math.max(1, Math.min(limit, 100)));
+        return ResponseEntity.ok(views(books));
     }
 
     /**
@@ -255,38 +508,89 @@ public class BookController {
      * @return Kitap listesi
      */
     @GetMapping("/{bookId}/recommendations")
-    public ResponseEntity<List<Book>> getBookRecommendations(
+    public ResponseEntity<List<BookView>> getBookRecommendations(
             @PathVariable Long bookId, 
             @RequestParam(defaultValue = "5") int limit) {
         log.info("Kitap {} için öneriler getiriliyor", bookId);
         List<Book> recommendations = bookService.getBookRecommendations(bookId, limit);
-        return ResponseEntity.ok(recommendations);
+        return ResponseEntity.ok(views(recommendations));
+    }
+
+    /**
+     * Yaklaşık benzer kitapları getirir (MinHash/LSH).
+     * Daha az band taramak gecikmeyi düşürür ancak bazı benzer kitaplar kaçabilir.
+     * @param bookId Referans kitap ID'si
+     * @param by Benzerlik kümesi: categories, borrowers veya all
+     * @param limit Sonuç sayısı (1-100)
+     * @param bands Taranacak LSH band sayısı (opsiyonel; verilmezse tümü)
+     * @return Kitap ID'si ve tahmini benzerlik listesi
+     */
+    @GetMapping("/{bookId}/similar")
+    public ResponseEntity<List<SimilarBook>> getSimilarBooks(
+            @PathVariable Long bookId,
+            @RequestParam(defaultValue = "all") String by,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Integer bands) {
+        log.debug("Kitap {} için benzer kitaplar getiriliyor ({})", bookId, by);
+        SimilarityFeature feature;
+        try {
+            feature = SimilarityFeature.fromParameter(by);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (bands != null && (bands < 1 || bands > bookSimilarityIndex.bands())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Band sayısı 1 ile " + bookSimilarityIndex.bands() + " arasında olmalıdır");
+        }
+        return ResponseEntity.ok(bookSimilarityIndex.findSimilar(bookId, feature, Math.max(1, Math.min(limit, 100)), bands));
     }
 
     /**
      * Yeni kitap oluşturur
      * @param book Kitap bilgileri
-     * @return Oluşturulan kitap
+     * @return Oluşturulan kitap (ISBN zaten kayıtlıysa 409)
      */
     @PostMapping
-    public ResponseEntity<Book> createBook(@Valid @RequestBody Book book) {
+    public ResponseEntity<BookView> createBook(@Valid @RequestBody Book book) {
         log.info("Yeni kitap oluşturuluyor: {}", book.getTitle());
-        Book createdBook = bookService.save(book);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
+        try {
+            Book createdBook = bookService.save(book);
+            return ResponseEntity.status(HttpStatus.CREATED).body(BookView.from(createdBook));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Verilen ISBN'lerden katalogda kayıtlı olanları getirir (toplu ekleme öncesi kontrol)
+     * @param isbns ISBN numaraları
+     * @return Kayıtlı ISBN'ler
+     */
+    @PostMapping("/isbn/existing")
+    public ResponseEntity<Set<String>> findExistingIsbns(@RequestBody List<String> isbns) {
+        log.info("{} ISBN için kayıt kontrolü yapılıyor", isbns.size());
+        return ResponseEntity.ok(bookService.findExistingIsbns(isbns));
     }
 
     /**
      * Kitap günceller
      * @param id Kitap ID'si
      * @param book Güncellenecek kitap bilgileri
-     * @return Güncellenmiş kitap
+     * @return Güncellenmiş kitap (ISBN başka kitapta kayıtlıysa veya version eskiyse 409)
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Book> updateBook(@PathVariable Long id, @Valid @RequestBody Book book) {
+    public ResponseEntity<BookView> updateBook(@PathVariable Long id, @Valid @RequestBody Book book) {
         log.info("Kitap {} güncelleniyor", id);
         book.setId(id);
-        Book updatedBook = bookService.update(book);
-        return ResponseEntity.ok(updatedBook);
+        try {
+            Book updatedBook = bookService.update(book);
+            return ResponseEntity.ok(BookView.from(updatedBook));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Kitap " + id + " başka bir işlem tarafından güncellendi, güncel hali alınıp tekrar denenmeli", e);
+        }
     }
 
     /**
@@ -304,72 +608,138 @@ public class BookController {
     /**
      * Kitabı mevcut hale getirir
      * @param id Kitap ID'si
-     * @return Güncellenmiş kitap
+     * @return Güncellenmiş kitap (geçişe izin verilmiyorsa veya eşzamanlı değiştiyse 409)
      */
     @PatchMapping("/{id}/make-available")
-    public ResponseEntity<Book> makeBookAvailable(@PathVariable Long id) {
+    public ResponseEntity<BookView> makeBookAvailable(@PathVariable Long id) {
         log.info("Kitap {} mevcut hale getiriliyor", id);
-        Book book = bookService.makeAvailable(id);
-        return ResponseEntity.ok(book);
+        return statusChange(() -> bookService.makeAvailable(id));
     }
 
     /**
      * Kitabı ödünç verilmiş olarak işaretler
      * @param id Kitap ID'si
-     * @return Güncellenmiş kitap
+     * @return Güncellenmiş kitap (geçişe izin verilmiyorsa veya eşzamanlı değiştiyse 409)
      */
     @PatchMapping("/{id}/make-borrowed")
-    public ResponseEntity<Book> makeBookBorrowed(@PathVariable Long id) {
+    public ResponseEntity<BookView> makeBookBorrowed(@PathVariable Long id) {
         log.info("Kitap {} ödünç verilmiş olarak işaretleniyor", id);
-        Book book = bookService.makeBorrowed(id);
-        return ResponseEntity.ok(book);
+        return statusChange(() -> bookService.makeBorrowed(id));
     }
 
     /**
      * Kitabı rezerve edilmiş olarak işaretler
      * @param id Kitap ID'si
-     * @return Güncellenmiş kitap
+     * @return Güncellenmiş kitap (geçişe izin verilmiyorsa veya eşzamanlı değiştiyse 409)
      */
     @PatchMapping("/{id}/make-reserved")
-    public ResponseEntity<Book> makeBookReserved(@PathVariable Long id) {
+    public ResponseEntity<BookView> makeBookReserved(@PathVariable Long id) {
         log.info("Kitap {} rezerve edilmiş olarak işaretleniyor", id);
-        Book book = bookService.makeReserved(id);
-        return ResponseEntity.ok(book);
+        return statusChange(() -> bookService.makeReserved(id));
     }
 
     /**
      * Kitabı kayıp olarak işaretler
      * @param id Kitap ID'si
-     * @return Güncellenmiş kitap
+     * @return Güncellenmiş kitap (geçişe izin verilmiyorsa veya eşzamanlı değiştiyse 409)
      */
     @PatchMapping("/{id}/mark-lost")
-    public ResponseEntity<Book> markBookAsLost(@PathVariable Long id) {
+    public ResponseEntity<BookView> markBookAsLost(@PathVariable Long id) {
         log.info("Kitap {} kayıp olarak işaretleniyor", id);
-        Book book = bookService.markAsLost(id);
-        return ResponseEntity.ok(book);
+        return statusChange(() -> bookService.markAsLost(id));
     }
 
     /**
      * Kitabı hasarlı olarak işaretler
      * @param id Kitap ID'si
-     * @return Güncellenmiş kitap
+     * @return Güncellenmiş kitap (geçişe izin verilmiyorsa veya eşzamanlı değiştiyse 409)
      */
     @PatchMapping("/{id}/mark-damaged")
-    public ResponseEntity<Book> markBookAsDamaged(@PathVariable Long id) {
+    public ResponseEntity<BookView> markBookAsDamaged(@PathVariable Long id) {
         log.info("Kitap {} hasarlı olarak işaretleniyor", id);
-        Book book = bookService.markAsDamaged(id);
-        return ResponseEntity.ok(book);
+        return statusChange(() -> bookService.markAsDamaged(id));
     }
 
     /**
      * Kitabı bakımda olarak işaretler
      * @param id Kitap ID'si
-     * @return Güncellenmiş kitap
+     * @return Güncellenmiş kitap (geçişe izin verilmiyorsa veya eşzamanlı değiştiyse 409)
      */
     @PatchMapping("/{id}/mark-maintenance")
-    public ResponseEntity<Book> markBookAsUnderMaintenance(@PathVariable Long id) {
+    public ResponseEntity<BookView> markBookAsUnderMaintenance(@PathVariable Long id) {
         log.info("Kitap {} bakımda olarak işaretleniyor", id);
-        Book book = bookService.markAsUnderMaintenance(id);
-        return ResponseEntity.ok(book);
+        return statusChange(() -> bookService.markAsUnderMaintenance(id));
+    }
+
+    /**
+     * Çok sayıda kitabın durumunu tek istekte değiştirir (ör. sayım gününde bakım/kayıp işaretleme)
+     * @param request Hedef durum ve ID listesi ya da fromStatus/location filtresi
+     * @return Kitap bazında sonuçlar
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusResult> updateBookStatuses(@RequestBody BulkStatusRequest request) {
+        log.info("Toplu durum güncellemesi: {} ({} ID, filtre {})",
+                request.getStatus(), request.getIds() != null ? request.getIds().size() : 0, request.getFromStatus());
+        try {
+            return ResponseEntity.ok(bookService.updateStatuses(request));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Durum değişikliğini uygular; izin verilmeyen geçiş veya kaybedilen yarış 409 döner
+     */
+    private static ResponseEntity<BookView> statusChange(Supplier<Book> change) {
+        try {
+            return ResponseEntity.ok(BookView.from(change.get()));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Kitapları okuma modeline dönüştürür; yazar ve kategoriler servis sorgusunda yüklenmiş olmalıdır
+     */
+    private static List<BookView> views(List<Book> books) {
+        return books.stream().map(BookView::from).collect(Collectors.toList());
+    }
+
+    /**
+     * Sayfalama parametrelerini doğrular; geçersiz imleç veya sıralama 400 döner
+     */
+    private static KeysetPageRequest pageRequest(String sort, String direction, String cursor, Integer size) {
+        try {
+            return KeysetPageRequest.of(sort, direction, cursor, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Katalog genelindeki değişiklik sayacından zayıf ETag üretir
+     */
+    private String catalogETag() {
+        return "W/\"catalog-" + catalogVersion.current() + "\"";
+    }
+
+    /**
+     * Kitabın updatedAt değerinden ve JSON'a giren yazar/kategori alanlarının özetinden zayıf
+     * ETag üretir. Yazar veya kategori yeniden adlandırıldığında kitabın updatedAt'i değişmez;
+     * bu alanlar görünümde yer aldığı için özete doğrudan katılır.
+     */
+    private static String bookETag(BookView book) {
+        BookView.AuthorRef author = book.getAuthor();
+        int references = author != null ? Objects.hash(author.getId(), author.getName()) : 0;
+        for (BookView.CategoryRef category : book.getCategories()) {
+            references = 31 * references + Objects.hash(category.getId(), category.getName(), category.getColorCode());
+        }
+        return "W/\"book-" + book.getId()
+                + "-" + Long.toString(epochMillis(book.getUpdatedAt() != null ? book.getUpdatedAt() : book.getCreatedAt()), 36)
+                + "-" + Integer.toString(references, 36) + "\"";
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package com.library.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Cache REST API Controller
+ *
+ * Servis katmanı cache'lerinin ve Hibernate ikinci seviye cache bölgelerinin
+ * isabet/ıska istatistiklerini sağlar.
+ */
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheController.class);
+
+    private final CaffeineCacheManager cacheManager;
+    private final Statistics hibernateStatistics;
+
+    @Autowired
+    public CacheController(CaffeineCacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.hibernateStatistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Her cache için boyut, isabet, ıska ve çıkarma sayılarını getirir
+     * @return Cache adına göre istatistikler
+     */
+    @GetMapping("/statistics")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStatistics() {
+        log.info("Cache istatistikleri getiriliyor");
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        for (String name : new TreeSet<>(cacheManager.getCacheNames())) {
+            CaffeineCache cache = (CaffeineCache) cacheManager.getCache(name);
+            if (cache == null) {
+                continue;
+            }
+            CacheStats stats = cache.getNativeCache().stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", cache.getNativeCache().estimatedSize());
+            entry.put("hits", stats.hitCount());
+            entry.put("misses", stats.missCount());
+            entry.put("hitRate", stats.hitRate());
+            entry.put("evictions", stats.evictionCount());
+            statistics.put(name, entry);
+        }
+        return ResponseEntity.ok(statistics);
+    }
+
+    /**
+     * Hibernate ikinci seviye cache bölgeleri için eleman, isabet, ıska ve yazma sayılarını getirir.
+     * "queryCache" anahtarı tüm sorgu cache'i toplamlarını içerir.
+     * @return Bölge adına göre istatistikler
+     */
+    @GetMapping("/hibernate")
+    public ResponseEntity<Map<String, Map<String, Object>>> getHibernateCacheStatistics() {
+        log.info("Hibernate cache istatistikleri getiriliyor");
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        if (!hibernateStatistics.isStatisticsEnabled()) {
+            return ResponseEntity.ok(statistics);
+        }
+        String[] regionNames = hibernateStatistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String name : regionNames) {
+            CacheRegionStatistics region = hibernateStatistics.getCacheRegionStatistics(name);
+            if (region == null) {
+                continue;
+            }
+            long hits = region.getHitCount();
+            long misses = region.getMissCount();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            if (region.getElementCountInMemory() != CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN) {
+                entry.put("size", region.getElementCountInMemory());
+            }
+            entry.put("hits", hits);
+            entry.put("misses", misses);
+            entry.put("hitRate", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+            entry.put("puts", region.getPutCount());
+            statistics.put(name, entry);
+        }
+
+        Map<String, Object> queryCache = new LinkedHashMap<>();
+        queryCache.put("hits", hibernateStatistics.getQueryCacheHitCount());
+        queryCache.put("misses", hibernateStatistics.getQueryCacheMissCount());
+        queryCache.put("puts", hibernateStatistics.getQueryCachePutCount());
+        statistics.put("queryCache", queryCache);
+        return ResponseEntity.ok(statistics);
+    }
+}
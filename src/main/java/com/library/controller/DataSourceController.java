@@ -0,0 +1,40 @@
+package com.library.controller;
+
+import com.library.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Veri Kaynağı REST API Controller
+ *
+ * Okuma/yazma yönlendirmesinin sayaçlarını ve replica gecikmesini raporlar.
+ */
+@RestController
+@RequestMapping("/api/datasource")
+@CrossOrigin(origins = "*")
+public class DataSourceController {
+
+    private final ObjectProvider<ReplicaRoutingDataSource> routingDataSource;
+
+    @Autowired
+    public DataSourceController(ObjectProvider<ReplicaRoutingDataSource> routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    /**
+     * Yönlendirme istatistiklerini getirir
+     * @return İstatistikler (yönlendirme kapalıysa 404)
+     */
+    @GetMapping("/routing")
+    public ResponseEntity<Map<String, Object>> getRoutingStatistics() {
+        ReplicaRoutingDataSource routing = routingDataSource.getIfAvailable();
+        return routing != null ? ResponseEntity.ok(routing.statistics()) : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.library.controller;
+
+import com.library.ingest.CatalogIngestPipeline;
+import com.library.ingest.IngestJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Dosya İçe Aktarma REST API Controller
+ *
+ * Sunucudaki içe aktarma dizinine konulan CSV ve MARC21 dosyalarını arka planda
+ * içe aktarır ve işlerin ilerlemesini raporlar.
+ */
+@RestController
+@RequestMapping("/api/ingest")
+@CrossOrigin(origins = "*")
+public class IngestController {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestController.class);
+
+    private final CatalogIngestPipeline ingestPipeline;
+
+    @Autowired
+    public IngestController(CatalogIngestPipeline ingestPipeline) {
+        this.ingestPipeline = ingestPipeline;
+    }
+
+    /**
+     * Dosya içe aktarmasını başlatır; önceki deneme yarıda kaldıysa kontrol noktasından devam eder
+     * @param file İçe aktarma dizinine göre dosya yolu
+     * @param format Biçim (csv, marc21); verilmezse dosya uzantısından belirlenir
+     * @return Başlatılan iş (202)
+     */
+    @PostMapping
+    public ResponseEntity<IngestJob> startIngest(@RequestParam String file,
+                                                 @RequestParam(required = false) String format) {
+        log.info("Dosya içe aktarma isteği: {} ({})", file, format);
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ingestPipeline.start(file, format));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Dosya okunamadı: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Son içe aktarma işlerini getirir
+     * @return İşler
+     */
+    @GetMapping
+    public ResponseEntity<List<IngestJob>> getJobs() {
+        return ResponseEntity.ok(ingestPipeline.getJobs());
+    }
+
+    /**
+     * İşin durumunu ve ilerlemesini getirir
+     * @param id İş ID'si
+     * @return İş
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<IngestJob> getJob(@PathVariable String id) {
+        IngestJob job = ingestPipeline.getJob(id);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * İşi iptal eder; kontrol noktası korunur ve aynı dosya yeniden başlatılınca devam edilir
+     * @param id İş ID'si
+     * @return İş
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<IngestJob> cancelJob(@PathVariable String id) {
+        log.info("İçe aktarma işi {} iptal ediliyor", id);
+        if (!ingestPipeline.cancel(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.accepted().body(ingestPipeline.getJob(id));
+    }
+}
@@ -0,0 +1,49 @@
+package com.library.controller;
+
+import com.library.dto.MemberView;
+import com.library.entity.Member;
+import com.library.service.MemberService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Üye REST API Controller
+ *
+ * Bu controller üye arama işlemleri için REST API endpoint'lerini sağlar.
+ */
+@RestController
+@RequestMapping("/api/members")
+@CrossOrigin(origins = "*")
+public class MemberController {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberController.class);
+
+    private final MemberService memberService;
+
+    @Autowired
+    public MemberController(MemberService memberService) {
+        this.memberService = memberService;
+    }
+
+    /**
+     * Ad veya soyadına göre üyeleri arar
+     * @param name Aranan metin
+     * @return Üye listesi
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<MemberView>> searchByName(@RequestParam String name) {
+        log.info("Ad '{}' ile üyeler aranıyor", name);
+        List<Member> members = memberService.findByName(name);
+        return ResponseEntity.ok(members.stream().map(MemberView::from).collect(Collectors.toList()));
+    }
+}
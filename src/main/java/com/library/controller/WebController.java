@@ -1,23 +1,38 @@
 package com.library.controller;
 
+import com.library.dto.BookView;
 import com.library.entity.Book;
 import com.library.entity.BookStatus;
 import com.library.entity.Author;
 import com.library.entity.Category;
+import com.library.paging.BookSortField;
+import com.library.paging.CursorPage;
+import com.library.paging.KeysetCursor;
+import com.library.paging.KeysetPageRequest;
 import com.library.service.BookService;
 import com.library.service.AuthorService;
 import com.library.service.CategoryService;
+import com.library.stats.CatalogCounters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Web Controller
@@ -33,12 +48,15 @@ public class WebController {
     private final BookService bookService;
     private final AuthorService authorService;
     private final CategoryService categoryService;
+    private final CatalogCounters catalogCounters;
 
     @Autowired
-    public WebController(BookService bookService, AuthorService authorService, CategoryService categoryService) {
+    public WebController(BookService bookService, AuthorService authorService, CategoryService categoryService,
+                         CatalogCounters catalogCounters) {
         this.bookService = bookService;
         this.authorService = authorService;
         this.categoryService = categoryService;
+        this.catalogCounters = catalogCounters;
     }
 
     /**
@@ -50,13 +68,13 @@ public class WebController {
     public String home(Model model) {
         log.info("Ana sayfa yükleniyor");
         
-        // İstatistikleri hesapla
-        long totalBooks = bookService.count();
-        long availableBooks = bookService.findAvailableBooks().size();
-        long borrowedBooks = bookService.findBorrowedBooks().size();
+        // İstatistikler bellek içi sayaçlardan okunur (veritabanı sorgusu yok)
+        long totalBooks = catalogCounters.total();
+        long availableBooks = catalogCounters.count(BookStatus.AVAILABLE);
+        long borrowedBooks = catalogCounters.count(BookStatus.BORROWED);
         
         // En popüler kitapları getir
-        List<Book> popularBooks = bookService.findMostPopularBooks(5);
+        List<BookView> popularBooks = bookService.findMostPopularBooks(5);
         
         // Model'e verileri ekle
         model.addAttribute("totalBooks", totalBooks);
@@ -70,21 +88,20 @@ public class WebController {
     /**
      * Kitaplar sayfası
      * @param model Model
+     * @param cursor Önceki sayfanın imleci (opsiyonel)
+     * @param size Sayfa boyutu (opsiyonel)
      * @return Kitaplar sayfası template'i
      */
     @GetMapping("/books")
-    public String books(Model model) {
+    public String books(Model model,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer size) {
         log.info("Kitaplar sayfası yükleniyor");
         
-        List<Book> allBooks = bookService.findAll();
-        log.info("Toplam {} kitap bulundu", allBooks.size());
+        CursorPage<Book> books = bookService.findPage(pageRequest(cursor, size));
+        log.info("{} kitap gösteriliyor", books.getContent().size());
         
-        // Her kitabın başlığını logla
-        for (Book book : allBooks) {
-            log.info("Kitap: {} (ID: {}, Durum: {})", book.getTitle(), book.getId(), book.getStatus());
-        }
-        
-        model.addAttribute("books", allBooks);
+        addCursorPage(model, books, "/books");
         
         return "books";
     }
@@ -92,14 +109,18 @@ public class WebController {
     /**
      * Mevcut kitaplar sayfası
      * @param model Model
+     * @param cursor Önceki sayfanın imleci (opsiyonel)
+     * @param size Sayfa boyutu (opsiyonel)
      * @return Mevcut kitaplar sayfası template'i
      */
     @GetMapping("/books/available")
-    public String availableBooks(Model model) {
+    public String availableBooks(Model model,
+                                 @RequestParam(required = false) String cursor,
+                                 @RequestParam(required = false) Integer size) {
         log.info("Mevcut kitaplar sayfası yükleniyor");
         
-        List<Book> availableBooks = bookService.findAvailableBooks();
-        model.addAttribute("books", availableBooks);
+        CursorPage<Book> availableBooks = bookService.findPageByStatus(BookStatus.AVAILABLE, pageRequest(cursor, size));
+        addCursorPage(model, availableBooks, "/books/available");
         model.addAttribute("title", "Mevcut Kitaplar");
         
         return "books";
@@ -108,14 +129,18 @@ public class WebController {
     /**
      * Ödünç verilmiş kitaplar sayfası
      * @param model Model
+     * @param cursor Önceki sayfanın imleci (opsiyonel)
+     * @param size Sayfa boyutu (opsiyonel)
      * @return Ödünç verilmiş kitaplar sayfası template'i
      */
     @GetMapping("/books/borrowed")
-    public String borrowedBooks(Model model) {
+    public String borrowedBooks(Model model,
+                                @RequestParam(required = false) String cursor,
+                                @RequestParam(required = false) Integer size) {
         log.info("Ödünç verilmiş kitaplar sayfası yükleniyor");
         
-        List<Book> borrowedBooks = bookService.findBorrowedBooks();
-        model.addAttribute("books", borrowedBooks);
+        CursorPage<Book> borrowedBooks = bookService.findPageByStatus(BookStatus.BORROWED, pageRequest(cursor, size));
+        addCursorPage(model, borrowedBooks, "/books/borrowed");
         model.addAttribute("title", "Ödünç Verilmiş Kitaplar");
         
         return "books";
@@ -128,6 +153,7 @@ public class WebController {
      * @param authorName Yazar adı
      * @param categoryName Kategori adı
      * @param status Durum
+     * @param pageable Sayfa ve sıralama bilgisi
      * @return Arama sonuçları sayfası template'i
      */
     @GetMapping("/books/search")
@@ -135,16 +161,27 @@ public class WebController {
                              @RequestParam(required = false) String title,
                              @RequestParam(required = false) String authorName,
                              @RequestParam(required = false) String categoryName,
-                             @RequestParam(required = false) BookStatus status) {
+                             @RequestParam(required = false) BookStatus status,
+                             @PageableDefault(size = 24, sort = "title") Pageable pageable) {
         log.info("Kitap arama sayfası yükleniyor");
         
-        List<Book> searchResults = bookService.searchBooks(title, authorName, categoryName, status);
-        model.addAttribute("books", searchResults);
+        Page<Book> searchResults;
+        try {
+            searchResults = bookService.searchBooks(title, authorName, categoryName, status, pageable);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        model.addAttribute("books", searchResults.getContent());
+        model.addAttribute("page", searchResults);
         model.addAttribute("title", "Arama Sonuçları");
         model.addAttribute("searchTitle", title);
         model.addAttribute("searchAuthor", authorName);
         model.addAttribute("searchCategory", categoryName);
         model.addAttribute("searchStatus", status);
+        // Sayfa bağlantıları sıralamayı korur ("title,asc" biçiminde)
+        model.addAttribute("searchSort", pageable.getSort().stream()
+                .map(order -> order.getProperty() + "," + order.getDirection().name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList()));
         
         return "books";
     }
@@ -152,13 +189,19 @@ public class WebController {
     /**
      * En popüler kitaplar sayfası
      * @param model Model
+     * @param trending true ise tüm zamanlar yerine şu an trend olan kitaplar gösterilir
      * @return Popüler kitaplar sayfası template'i
      */
     @GetMapping("/books/popular")
-    public String popularBooks(Model model) {
-        log.info("Popüler kitaplar sayfası yükleniyor");
+    public String popularBooks(Model model, @RequestParam(defaultValue = "false") boolean trending) {
+        log.info("Popüler kitaplar sayfası yükleniyor (trend: {})", trending);
         
-        List<Book> popularBooks = bookService.findMostPopularBooks(10);
+        if (trending) {
+            model.addAttribute("books", bookService.findTrendingBooks(10));
+            model.addAttribute("title", "Şu An Trend Olan Kitaplar");
+            return "books";
+        }
+        List<BookView> popularBooks = bookService.findMostPopularBooks(10);
         model.addAttribute("books", popularBooks);
         model.addAttribute("title", "En Popüler Kitaplar");
         
@@ -307,9 +350,14 @@ public class WebController {
         
         try {
             book.setId(id);
-            Book updatedBook = bookService.save(book);
+            Book updatedBook = bookService.update(book);
             redirectAttributes.addFlashAttribute("success", "Kitap başarıyla güncellendi: " + updatedBook.getTitle());
             return "redirect:/books";
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("Kitap {} düzenlenirken başka bir istek tarafından değiştirildi", id);
+            redirectAttributes.addFlashAttribute("error",
+                    "Kitap siz düzenlerken başka biri tarafından değiştirildi; güncel bilgiler yüklendi, lütfen tekrar deneyin");
+            return "redirect:/books/edit/" + id;
         } catch (Exception e) {
             log.error("Kitap güncellenirken hata oluştu", e);
             redirectAttributes.addFlashAttribute("error", "Kitap güncellenirken hata oluştu: " + e.getMessage());
@@ -343,4 +391,24 @@ public class WebController {
         
         return "redirect:/books";
     }
-} 
\ No newline at end of file
+
+    /**
+     * Web sayfaları başlığa göre sıralanır; geçersiz imleç ilk sayfaya döner
+     */
+    private static KeysetPageRequest pageRequest(String cursor, Integer size) {
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                return KeysetPageRequest.after(KeysetCursor.decode(cursor), size);
+            } catch (IllegalArgumentException e) {
+                log.warn("Geçersiz sayfa imleci, ilk sayfa gösteriliyor: {}", cursor);
+            }
+        }
+        return KeysetPageRequest.first(BookSortField.TITLE, Sort.Direction.ASC, size);
+    }
+
+    private static void addCursorPage(Model model, CursorPage<Book> page, String pagePath) {
+        model.addAttribute("books", page.getContent());
+        model.addAttribute("cursorPage", page);
+        model.addAttribute("pagePath", pagePath);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.library.datasource;
+
+/**
+ * Veri Kaynağı Rolü
+ *
+ * Yönlendirici veri kaynağının bağlantı aldığı havuzlar.
+ */
+public enum DataSourceRole {
+    PRIMARY, REPLICA
+}
@@ -0,0 +1,31 @@
+package com.library.datasource;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Birincil Veritabanı Okuma Transaction Şablonu
+ *
+ * Bellekteki yapıları (sayaçlar, arama indeksleri, ISBN filtresi, öneri grafiği vb.) dolduran
+ * arka plan işlerinin okumaları için ayrı, readOnly transaction açar ve okumayı
+ * {@link ReplicaRoutingDataSource#readFromPrimary} ile birincil veritabanına gönderir.
+ * Geride kalan replica'dan okunan durum bir sonraki yenilemeye kadar bellekte kalır: sayaçlar
+ * eski değerlere sıfırlanır, yeni commit edilmiş satırlar indekslerden düşer.
+ * Replica yönlendirmesi kapalıyken düz bir readOnly {@link TransactionTemplate}'tir.
+ */
+public class PrimaryReadTransactionTemplate extends TransactionTemplate {
+
+    public PrimaryReadTransactionTemplate(PlatformTransactionManager transactionManager) {
+        super(transactionManager);
+        setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        setReadOnly(true);
+    }
+
+    @Override
+    public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+        return ReplicaRoutingDataSource.readFromPrimary(() -> super.execute(action));
+    }
+}
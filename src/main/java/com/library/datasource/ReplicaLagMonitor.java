@@ -0,0 +1,100 @@
+package com.library.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Replica Gecikme Gözlemcisi
+ *
+ * Replica'nın birincil veritabanının ne kadar gerisinde olduğunu periyodik olarak ölçer.
+ * Gecikme sınırı aştığında, ölçüm başarısız olduğunda veya son ölçüm eskidiğinde replica
+ * sağlıksız sayılır ve okumalar birincil veritabanına yönlendirilir. İlk başarılı ölçüme
+ * kadar replica kullanılmaz.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long staleAfterMillis;
+
+    private volatile long lagMillis = -1;
+    private volatile long checkedAt;
+    private volatile boolean reachable;
+
+    /**
+     * @param replica Replica havuzu (yönlendirici değil, doğrudan replica)
+     * @param lagQuery Gecikmeyi milisaniye olarak döndüren sorgu
+     * @param maxLagMillis Okumaların replica'ya gidebileceği en yüksek gecikme
+     * @param checkIntervalMillis Ölçüm aralığı; üç aralık boyunca ölçüm yapılamazsa replica kullanılmaz
+     */
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMillis, long checkIntervalMillis) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(Math.max(1, (int) (checkIntervalMillis / 1000)));
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.staleAfterMillis = 3 * checkIntervalMillis;
+    }
+
+    /**
+     * Replica gecikmesini ölçer
+     */
+    @Scheduled(fixedDelayString = "${library.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        boolean firstCheck = checkedAt == 0;
+        boolean wasHealthy = isHealthy();
+        try {
+            Number lag = replica.queryForObject(lagQuery, Number.class);
+            lagMillis = lag != null ? lag.longValue() : 0L;
+            reachable = true;
+        } catch (RuntimeException e) {
+            reachable = false;
+            log.warn("Replica gecikmesi ölçülemedi: {}", e.getMessage());
+        }
+        checkedAt = System.currentTimeMillis();
+        boolean healthy = isHealthy();
+        if (healthy != wasHealthy || firstCheck) {
+            if (healthy) {
+                log.info("Replica kullanılabilir (gecikme {} ms), okumalar replica'ya yönlendiriliyor", lagMillis);
+            } else {
+                log.warn("Replica kullanılamıyor (gecikme {} ms, sınır {} ms), okumalar birincil veritabanına dönüyor",
+                        lagMillis, maxLagMillis);
+            }
+        }
+    }
+
+    /**
+     * Okumaların replica'ya gönderilip gönderilemeyeceğini döndürür
+     * @return Replica erişilebilir, gecikme sınır içinde ve ölçüm güncelse true
+     */
+    public boolean isHealthy() {
+        return reachable
+                && lagMillis <= maxLagMillis
+                && System.currentTimeMillis() - checkedAt <= staleAfterMillis;
+    }
+
+    /**
+     * Son ölçülen gecikme
+     * @return Milisaniye (henüz ölçülmediyse -1)
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    /**
+     * Son ölçümün zamanı (epoch milisaniye)
+     */
+    public long getCheckedAt() {
+        return checkedAt;
+    }
+}
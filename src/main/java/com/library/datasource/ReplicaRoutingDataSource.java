@@ -0,0 +1,248 @@
+package com.library.datasource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Okuma/Yazma Yönlendirici Veri Kaynağı
+ *
+ * readOnly transaction'ları replica havuzuna, diğer her şeyi birincil havuza gönderir.
+ * Hangi havuzun kullanılacağı bağlantı ilk kullanıldığında belirlenir; bu yüzden
+ * LazyConnectionDataSourceProxy ile sarılmalıdır, aksi halde transaction başlarken
+ * readOnly bilgisi henüz bağlanmamış olur.
+ *
+ * Okumalar iki durumda birincil veritabanında kalır: replica gecikmesi sınırı aştığında
+ * ({@link ReplicaLagMonitor}) ve istemci kısa süre önce yazma yaptığında (read-your-writes).
+ * Yazma transaction'ı commit edilince yanıta bir çerez eklenir; çerez penceresi boyunca
+ * aynı istemcinin okumaları, yazdığını henüz görmemiş olabilecek replica'ya gitmez.
+ * HTTP isteği dışındaki thread'lerde (zamanlanmış işler vb.) pencere thread'e bağlı tutulur.
+ *
+ * Replica'dan okunan veri hiçbir cache'e yazılmaz. Aksi halde bir commit cache'i temizledikten
+ * sonra geride kalan replica'dan okuyan bir istemci eski değeri cache'e geri koyar ve bu değer
+ * cache süresi boyunca (10 dakika) herkese döner. Spring cache'lerini dolduran okumalar
+ * {@link #readFromPrimary(Supplier)} ile birincil veritabanına gider; replica'ya yönlendirilen
+ * Hibernate oturumları ise ikinci seviye ve sorgu cache'lerinden okur ama onlara yazmaz
+ * ({@link CacheMode#GET}). Bellekteki yapıları dolduran arka plan işleri de aynı nedenle
+ * birincil veritabanından okur ({@link PrimaryReadTransactionTemplate}).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Son yazmanın pencere bitiş zamanını (epoch milisaniye) taşıyan çerez
+     */
+    public static final String STICKY_COOKIE = "LIBRARY_RYW";
+
+    private static final String STICKY_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".STICKY_UNTIL";
+
+    private static final ThreadLocal<Long> threadStickyUntil = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> primaryRead = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long stickyWindowMillis;
+
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder cacheLoadReads = new LongAdder();
+    private final LongAdder lagFallbackReads = new LongAdder();
+    private final LongAdder nonTransactional = new LongAdder();
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor, long stickyWindowMillis) {
+        this.lagMonitor = lagMonitor;
+        this.stickyWindowMillis = Math.max(0L, stickyWindowMillis);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Transaction dışındaki erişimler (lazy yükleme, başlangıç işleri) birincil veritabanında kalır
+            nonTransactional.increment();
+            return DataSourceRole.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            registerWriteMarker();
+            return DataSourceRole.PRIMARY;
+        }
+        if (Boolean.TRUE.equals(primaryRead.get())) {
+            cacheLoadReads.increment();
+            return DataSourceRole.PRIMARY;
+        }
+        if (isSticky()) {
+            stickyReads.increment();
+            return DataSourceRole.PRIMARY;
+        }
+        if (!lagMonitor.isHealthy()) {
+            lagFallbackReads.increment();
+            return DataSourceRole.PRIMARY;
+        }
+        replicaReads.increment();
+        disableCachePuts();
+        return DataSourceRole.REPLICA;
+    }
+
+    /**
+     * Okumayı birincil veritabanında çalıştırır. Sonucu cache'e yazılacak okumalar için kullanılır;
+     * yönlendirme transaction'ın ilk SQL'inde yapıldığından okuma, bağlantısını henüz almamış bir
+     * transaction'da çağrılmalıdır. Replica yönlendirmesi kapalıyken etkisizdir.
+     * @param read Okuma
+     * @param <T> Sonuç tipi
+     * @return Okumanın sonucu
+     */
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        if (Boolean.TRUE.equals(primaryRead.get())) {
+            return read.get();
+        }
+        primaryRead.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            primaryRead.remove();
+        }
+    }
+
+    /**
+     * Yönlendirme sayaçlarını ve replica durumunu döndürür
+     * @return İstatistikler
+     */
+    public Map<String, Object> statistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("writes", writes.sum());
+        statistics.put("replicaReads", replicaReads.sum());
+        statistics.put("stickyReads", stickyReads.sum());
+        statistics.put("cacheLoadReads", cacheLoadReads.sum());
+        statistics.put("lagFallbackReads", lagFallbackReads.sum());
+        statistics.put("nonTransactional", nonTransactional.sum());
+        statistics.put("replicaHealthy", lagMonitor.isHealthy());
+        statistics.put("replicaLagMillis", lagMonitor.getLagMillis());
+        statistics.put("maxLagMillis", lagMonitor.getMaxLagMillis());
+        statistics.put("stickyWindowMillis", stickyWindowMillis);
+        return statistics;
+    }
+
+    /**
+     * Yazma transaction'ı commit edildiğinde read-your-writes penceresini başlatır
+     */
+    private void registerWriteMarker() {
+        if (stickyWindowMillis == 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markWritten();
+            }
+        });
+    }
+
+    /**
+     * Transaction'ın Hibernate oturumunun cache'lere yazmasını transaction sonuna kadar kapatır.
+     * Güncellemeler cache'teki girdileri yine geçersiz kılar.
+     */
+    private static void disableCachePuts() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (!(resource instanceof EntityManagerHolder)) {
+                continue;
+            }
+            Session session = ((EntityManagerHolder) resource).getEntityManager().unwrap(Session.class);
+            CacheMode previous = session.getCacheMode();
+            if (!previous.isPutEnabled()) {
+                continue;
+            }
+            session.setCacheMode(CacheMode.GET);
+            // open-in-view ile açık kalan oturum sonraki transaction'larda önceki moduna döner;
+            // bağlantı transaction sonunda bırakıldığından (ReplicaRoutingConfig) o transaction'lar
+            // yeniden yönlendirilir
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (session.isOpen()) {
+                        session.setCacheMode(previous);
+                    }
+                }
+            });
+        }
+    }
+
+    private void markWritten() {
+        long until = System.currentTimeMillis() + stickyWindowMillis;
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            threadStickyUntil.set(until);
+            return;
+        }
+        attributes.getRequest().setAttribute(STICKY_ATTRIBUTE, until);
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(STICKY_COOKIE, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setMaxAge((int) Math.max(1, (stickyWindowMillis + 999) / 1000));
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+    }
+
+    private boolean isSticky() {
+        if (stickyWindowMillis == 0) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            Long until = threadStickyUntil.get();
+            return until != null && until > now;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Object marked = request.getAttribute(STICKY_ATTRIBUTE);
+        if (marked instanceof Long && (Long) marked > now) {
+            return true;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (STICKY_COOKIE.equals(cookie.getName())) {
+                return isWithinWindow(cookie.getValue(), now);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Çerezdeki bitiş zamanını doğrular; pencereden uzun bir değer istemcinin
+     * okumalarını süresiz birincil veritabanına bağlamasın diye kabul edilmez
+     */
+    private boolean isWithinWindow(String value, long now) {
+        try {
+            long until = Long.parseLong(value);
+            return until > now && until <= now + stickyWindowMillis;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? (ServletRequestAttributes) attributes : null;
+    }
+}
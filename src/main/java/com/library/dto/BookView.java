@@ -0,0 +1,192 @@
+package com.library.dto;
+
+import com.library.entity.Author;
+import com.library.entity.Book;
+import com.library.entity.BookStatus;
+import com.library.entity.Category;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Kitap Okuma Modeli
+ *
+ * REST API'nin döndürdüğü kitap görünümü. Yazar ve kategoriler yalnızca kimlik ve ad
+ * bilgileriyle taşınır; ödünç alma kayıtları ve rezervasyonlar JSON'a girmez. Böylece
+ * serileştirme sırasında lazy ilişkiler yüklenmez ve Book → Author → Book döngüsü oluşmaz.
+ * Dönüştürülen kitabın yazarı ve kategorileri önceden yüklenmiş olmalıdır
+ * (entity graph veya fetch join ile).
+ */
+public class BookView {
+
+    private final Long id;
+    private final String title;
+    private final String isbn;
+    private final String description;
+    private final Integer pageCount;
+    private final Integer publicationYear;
+    private final String publisher;
+    private final String language;
+    private final BigDecimal price;
+    private final BookStatus status;
+    private final String location;
+    private final String coverImageUrl;
+    private final Long version;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final AuthorRef author;
+    private final List<CategoryRef> categories;
+
+    private BookView(Book book) {
+        this.id = book.getId();
+        this.title = book.getTitle();
+        this.isbn = book.getIsbn();
+        this.description = book.getDescription();
+        this.pageCount = book.getPageCount();
+        this.publicationYear = book.getPublicationYear();
+        this.publisher = book.getPublisher();
+        this.language = book.getLanguage();
+        this.price = book.getPrice();
+        this.status = book.getStatus();
+        this.location = book.getLocation();
+        this.coverImageUrl = book.getCoverImageUrl();
+        this.version = book.getVersion();
+        this.createdAt = book.getCreatedAt();
+        this.updatedAt = book.getUpdatedAt();
+        this.author = book.getAuthor() != null ? new AuthorRef(book.getAuthor()) : null;
+        this.categories = book.getCategories().stream()
+                .map(CategoryRef::new)
+                .sorted(Comparator.comparing(CategoryRef::getName, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Kitabı okuma modeline dönüştürür
+     * @param book Yazarı ve kategorileri yüklenmiş kitap
+     * @return Kitap görünümü
+     */
+    public static BookView from(Book book) {
+        return new BookView(book);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Integer getPageCount() {
+        return pageCount;
+    }
+
+    public Integer getPublicationYear() {
+        return publicationYear;
+    }
+
+    public String getPublisher() {
+        return publisher;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public BookStatus getStatus() {
+        return status;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getCoverImageUrl() {
+        return coverImageUrl;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public AuthorRef getAuthor() {
+        return author;
+    }
+
+    public List<CategoryRef> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Kitabın yazarına referans
+     */
+    public static final class AuthorRef {
+
+        private final Long id;
+        private final String name;
+
+        private AuthorRef(Author author) {
+            this.id = author.getId();
+            this.name = author.getName();
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Kitabın kategorisine referans
+     */
+    public static final class CategoryRef {
+
+        private final Long id;
+        private final String name;
+        private final String colorCode;
+
+        private CategoryRef(Category category) {
+            this.id = category.getId();
+            this.name = category.getName();
+            this.colorCode = category.getColorCode();
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getColorCode() {
+            return colorCode;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.library.dto;
+
+import com.library.entity.BookStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Toplu Durum Güncelleme İsteği
+ *
+ * Kitaplar ya ID listesiyle ya da mevcut durum (ve opsiyonel konum) filtresiyle seçilir.
+ */
+public class BulkStatusRequest {
+
+    private BookStatus status;
+    private List<Long> ids = new ArrayList<>();
+    private BookStatus fromStatus;
+    private String location;
+
+    public BookStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookStatus status) {
+        this.status = status;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public BookStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(BookStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+}
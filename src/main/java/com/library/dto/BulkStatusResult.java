@@ -0,0 +1,60 @@
+package com.library.dto;
+
+import com.library.entity.BookStatus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Toplu Durum Güncelleme Sonucu
+ *
+ * Her kitabın sonucunu gruplar halinde içerir: güncellenen, zaten hedef durumda olan,
+ * geçişe izin verilmeyen (mevcut durumuyla) ve bulunamayan ID'ler.
+ */
+public class BulkStatusResult {
+
+    private final BookStatus status;
+    private final List<Long> updated = new ArrayList<>();
+    private final List<Long> unchanged = new ArrayList<>();
+    private final Map<Long, BookStatus> rejected = new LinkedHashMap<>();
+    private final List<Long> notFound = new ArrayList<>();
+    private long durationMillis;
+
+    public BulkStatusResult(BookStatus status) {
+        this.status = status;
+    }
+
+    public BookStatus getStatus() {
+        return status;
+    }
+
+    public int getRequested() {
+        return updated.size() + unchanged.size() + rejected.size() + notFound.size();
+    }
+
+    public List<Long> getUpdated() {
+        return updated;
+    }
+
+    public List<Long> getUnchanged() {
+        return unchanged;
+    }
+
+    public Map<Long, BookStatus> getRejected() {
+        return rejected;
+    }
+
+    public List<Long> getNotFound() {
+        return notFound;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
@@ -0,0 +1,215 @@
+package com.library.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Katalog İçe Aktarma Kaydı
+ *
+ * NDJSON içe aktarımındaki tek bir satır. {@code type} alanı "author", "category" veya
+ * "book" olabilir; boşsa kayıt kitap kabul edilir. Böylece dışa aktarma (/api/books/export)
+ * çıktısı doğrudan içe aktarılabilir. Kaydın tipine ait olmayan alanlar yok sayılır.
+ */
+public class CatalogImportRecord {
+
+    public static final String TYPE_AUTHOR = "author";
+    public static final String TYPE_CATEGORY = "category";
+    public static final String TYPE_BOOK = "book";
+
+    private String type;
+
+    // Yazar ve kategori alanları
+    private String name;
+    private String biography;
+    private String email;
+    private Integer birthYear;
+    private String nationality;
+    private String colorCode;
+
+    // Kategori ve kitap alanı
+    private String description;
+
+    // Kitap alanları
+    private String title;
+    private String isbn;
+    private Integer pageCount;
+    private Integer publicationYear;
+    private String publisher;
+    private String language;
+    private BigDecimal price;
+    private String status;
+    private String location;
+    private String coverImageUrl;
+    private String authorName;
+    private List<String> categories = new ArrayList<>();
+
+    /**
+     * Kaydın tipini döndürür; belirtilmemişse kitap
+     * @return "author", "category" veya "book"
+     */
+    public String resolvedType() {
+        return type == null || type.isBlank() ? TYPE_BOOK : type.trim().toLowerCase();
+    }
+
+    // Getter ve Setter metodları
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getBiography() {
+        return biography;
+    }
+
+    public void setBiography(String biography) {
+        this.biography = biography;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Integer getBirthYear() {
+        return birthYear;
+    }
+
+    public void setBirthYear(Integer birthYear) {
+        this.birthYear = birthYear;
+    }
+
+    public String getNationality() {
+        return nationality;
+    }
+
+    public void setNationality(String nationality) {
+        this.nationality = nationality;
+    }
+
+    public String getColorCode() {
+        return colorCode;
+    }
+
+    public void setColorCode(String colorCode) {
+        this.colorCode = colorCode;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+    }
+
+    public Integer getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(Integer pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    public Integer getPublicationYear() {
+        return publicationYear;
+    }
+
+    public void setPublicationYear(Integer publicationYear) {
+        this.publicationYear = publicationYear;
+    }
+
+    public String getPublisher() {
+        return publisher;
+    }
+
+    public void setPublisher(String publisher) {
+        this.publisher = publisher;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getCoverImageUrl() {
+        return coverImageUrl;
+    }
+
+    public void setCoverImageUrl(String coverImageUrl) {
+        this.coverImageUrl = coverImageUrl;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<String> categories) {
+        this.categories = categories != null ? categories : new ArrayList<>();
+    }
+}
@@ -0,0 +1,107 @@
+package com.library.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Katalog İçe Aktarma Sonucu
+ *
+ * Oluşturulan, atlanan ve hatalı kayıt sayılarını ve ilk hata mesajlarını içerir.
+ */
+public class CatalogImportResult {
+
+    private long records;
+    private long authorsCreated;
+    private long categoriesCreated;
+    private long booksCreated;
+    private long duplicates;
+    private long invalid;
+    private long failedChunks;
+    private long durationMillis;
+    private final List<String> errors = new ArrayList<>();
+    private final int maxErrors;
+
+    public CatalogImportResult(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Hata mesajı ekler; üst sınır aşıldıysa mesaj saklanmaz, yalnızca sayılır
+     * @param message Hata mesajı
+     */
+    public void addError(String message) {
+        if (errors.size() < maxErrors) {
+            errors.add(message);
+        }
+    }
+
+    public void addRecords(long count) {
+        records += count;
+    }
+
+    public void addAuthorsCreated(long count) {
+        authorsCreated += count;
+    }
+
+    public void addCategoriesCreated(long count) {
+        categoriesCreated += count;
+    }
+
+    public void addBooksCreated(long count) {
+        booksCreated += count;
+    }
+
+    public void addDuplicates(long count) {
+        duplicates += count;
+    }
+
+    public void incrementInvalid() {
+        invalid++;
+    }
+
+    public void incrementFailedChunks() {
+        failedChunks++;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    // Getter metodları
+    public long getRecords() {
+        return records;
+    }
+
+    public long getAuthorsCreated() {
+        return authorsCreated;
+    }
+
+    public long getCategoriesCreated() {
+        return categoriesCreated;
+    }
+
+    public long getBooksCreated() {
+        return booksCreated;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public long getFailedChunks() {
+        return failedChunks;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+}
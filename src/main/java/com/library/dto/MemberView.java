@@ -0,0 +1,75 @@
+package com.library.dto;
+
+import com.library.entity.Member;
+
+import java.time.LocalDate;
+
+/**
+ * Üye Okuma Modeli
+ *
+ * REST API'nin döndürdüğü üye görünümü. Ödünç alma kayıtları ve rezervasyonlar JSON'a
+ * girmez; böylece serileştirme sırasında lazy ilişkiler yüklenmez.
+ */
+public class MemberView {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String membershipNumber;
+    private final boolean active;
+    private final LocalDate membershipStartDate;
+    private final LocalDate membershipEndDate;
+
+    private MemberView(Member member) {
+        this.id = member.getId();
+        this.firstName = member.getFirstName();
+        this.lastName = member.getLastName();
+        this.email = member.getEmail();
+        this.membershipNumber = member.getMembershipNumber();
+        this.active = member.isActive();
+        this.membershipStartDate = member.getMembershipStartDate();
+        this.membershipEndDate = member.getMembershipEndDate();
+    }
+
+    /**
+     * Üyeyi okuma modeline dönüştürür
+     * @param member Üye
+     * @return Üye görünümü
+     */
+    public static MemberView from(Member member) {
+        return new MemberView(member);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getMembershipNumber() {
+        return membershipNumber;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public LocalDate getMembershipStartDate() {
+        return membershipStartDate;
+    }
+
+    public LocalDate getMembershipEndDate() {
+        return membershipEndDate;
+    }
+}
@@ -1,5 +1,8 @@
 package com.library.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
@@ -12,9 +15,12 @@ import java.util.List;
  * 
  * Bu sınıf BaseEntity'den kalıtım alarak temel alanları kazanır.
  * Yazar bilgilerini ve kitaplarıyla olan ilişkiyi yönetir.
+ * Nadiren değiştiği için Hibernate ikinci seviye cache'inde ("authors" bölgesi) tutulur.
  */
 @Entity
 @Table(name = "authors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
 public class Author extends BaseEntity {
 
     @NotBlank(message = "Yazar adı boş olamaz")
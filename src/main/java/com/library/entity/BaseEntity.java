@@ -1,5 +1,9 @@
 package com.library.entity;
 
+import com.library.event.EntityChangeListener;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,13 +16,28 @@ import java.time.LocalDateTime;
  * 
  * Bu sınıf JPA Auditing özelliklerini kullanarak
  * oluşturulma ve güncellenme tarihlerini otomatik olarak yönetir.
+ * EntityChangeListener ile commit edilen değişiklikler uygulama içine olay olarak yayınlanır.
+ *
+ * ID'ler her entity için ayrı bir sequence'tan (ör. Book_seq) pooled-lo optimizer ile
+ * 50'şer blok halinde alınır. IDENTITY'nin aksine ID insert'ten önce bilindiği için
+ * Hibernate insert'leri JDBC batch'leri halinde gönderebilir (hibernate.jdbc.batch_size).
  */
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, EntityChangeListener.class})
 public abstract class BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_lo_sequence")
+    @GenericGenerator(
+        name = "pooled_lo_sequence",
+        strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+        parameters = {
+            @Parameter(name = SequenceStyleGenerator.CONFIG_PREFER_SEQUENCE_PER_ENTITY, value = "true"),
+            @Parameter(name = SequenceStyleGenerator.CONFIG_SEQUENCE_PER_ENTITY_SUFFIX, value = "_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+        }
+    )
     private Long id;
 
     @CreatedDate
@@ -1,5 +1,8 @@
 package com.library.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -19,7 +22,12 @@ import java.util.HashSet;
  * Generic programlama ve Collections Framework kullanımını gösterir.
  */
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+    // Keyset sayfalama (kolon, id) sıralamasını indeks üzerinden okur
+    @Index(name = "idx_books_title_id", columnList = "title, id"),
+    @Index(name = "idx_books_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_books_status_id", columnList = "status, id")
+})
 public class Book extends BaseEntity {
 
     @NotBlank(message = "Kitap başlığı boş olamaz")
@@ -64,13 +72,21 @@ public class Book extends BaseEntity {
     @Column(name = "cover_image_url")
     private String coverImageUrl;
 
+    // İyimser kilit: eşzamanlı güncellemelerde son yazanın kazanması yerine çakışma hatası alınır.
+    // Sütunun varsayılan değeri (0) migration'larda tanımlıdır; eski satırlar 0 ile doldurulur
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Many-to-One ilişki: Bir kitabın bir yazarı olabilir
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     private Author author;
 
     // Many-to-Many ilişki: Bir kitabın birden fazla kategorisi olabilir
+    // Koleksiyon (kategori ID'leri) ikinci seviye cache'te tutulur; kategoriler "categories" bölgesinden okunur
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book-categories")
     @JoinTable(
         name = "book_categories",
         joinColumns = @JoinColumn(name = "book_id"),
@@ -175,6 +191,14 @@ public class Book extends BaseEntity {
         this.coverImageUrl = coverImageUrl;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Author getAuthor() {
         return author;
     }
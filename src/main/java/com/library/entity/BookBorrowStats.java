@@ -0,0 +1,76 @@
+package com.library.entity;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Kitap bazında ödünç sayıları
+ *
+ * Ödünç kayıtları arşive taşınırken kitap başına sayıları archivedBorrowCount'ta toplanır.
+ * borrowCount canlı ve arşivlenmiş tüm kayıtların toplamıdır; tüm zamanların popülerlik
+ * sıralaması yalnızca bu kolonu okur, borrow_records ve arşiv tablosu taranmaz. Satırlar
+ * arşivleyici ve BorrowCountListener tarafından toplu sorgularla yazılır.
+ */
+@Entity
+@Table(name = "book_borrow_stats")
+public class BookBorrowStats {
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(name = "archived_borrow_count", nullable = false)
+    private long archivedBorrowCount;
+
+    @Column(name = "last_archived_at")
+    private LocalDateTime lastArchivedAt;
+
+    @Column(name = "borrow_count", nullable = false)
+    private long borrowCount;
+
+    // Getter ve Setter metodları
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public long getArchivedBorrowCount() {
+        return archivedBorrowCount;
+    }
+
+    public void setArchivedBorrowCount(long archivedBorrowCount) {
+        this.archivedBorrowCount = archivedBorrowCount;
+    }
+
+    public LocalDateTime getLastArchivedAt() {
+        return lastArchivedAt;
+    }
+
+    public void setLastArchivedAt(LocalDateTime lastArchivedAt) {
+        this.lastArchivedAt = lastArchivedAt;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public void setBorrowCount(long borrowCount) {
+        this.borrowCount = borrowCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BookBorrowStats that = (BookBorrowStats) o;
+        return bookId != null && bookId.equals(that.bookId);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -1,5 +1,8 @@
 package com.library.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Kitap durumlarını tanımlayan enum
  * 
@@ -45,4 +48,38 @@ public enum BookStatus {
     public boolean isAvailableForReservation() {
         return this == AVAILABLE || this == BORROWED;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Bu duruma hangi durumlardan geçilebileceğini döndürür (toplu durum güncellemeleri için).
+     * Kayıp ve hasarlı kitaplar doğrudan ödünç verilemez veya rezerve edilemez;
+     * önce mevcut ya da bakımda durumuna alınmalıdır.
+     * @return Kaynak durumlar (kendisi hariç)
+     */
+    public Set<BookStatus> allowedSources() {
+        switch (this) {
+            case AVAILABLE:
+                return EnumSet.of(BORROWED, RESERVED, LOST, DAMAGED, UNDER_MAINTENANCE);
+            case BORROWED:
+                return EnumSet.of(AVAILABLE, RESERVED);
+            case RESERVED:
+                return EnumSet.of(AVAILABLE, BORROWED);
+            case LOST:
+                return EnumSet.of(AVAILABLE, BORROWED, RESERVED, DAMAGED, UNDER_MAINTENANCE);
+            case DAMAGED:
+                return EnumSet.of(AVAILABLE, BORROWED, RESERVED, UNDER_MAINTENANCE);
+            case UNDER_MAINTENANCE:
+                return EnumSet.of(AVAILABLE, RESERVED, LOST, DAMAGED);
+            default:
+                return EnumSet.noneOf(BookStatus.class);
+        }
+    }
+
+    /**
+     * Verilen duruma geçişin izinli olup olmadığını kontrol eder
+     * @param target Hedef durum
+     * @return İzinliyse true
+     */
+    public boolean canTransitionTo(BookStatus target) {
+        return target.allowedSources().contains(this);
+    }
+}
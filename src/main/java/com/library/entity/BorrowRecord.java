@@ -1,5 +1,8 @@
 package com.library.entity;
 
+import com.library.event.BookActivityListener;
+import com.library.event.BorrowCountListener;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDate;
@@ -11,7 +14,12 @@ import java.time.temporal.ChronoUnit;
  * Bu sınıf BaseEntity'den kalıtım alır ve kitap ödünç alma işlemlerini yönetir.
  */
 @Entity
-@Table(name = "borrow_records")
+@EntityListeners({BookActivityListener.class, BorrowCountListener.class})
+@Table(name = "borrow_records", indexes = {
+    // Zaman pencereli popülerlik sorgusu tarih aralığını indeksten okur
+    @Index(name = "idx_borrow_records_borrow_date_book", columnList = "borrow_date, book_id"),
+    @Index(name = "idx_borrow_records_book", columnList = "book_id")
+})
 public class BorrowRecord extends BaseEntity {
 
     @NotNull(message = "Kitap belirtilmelidir")
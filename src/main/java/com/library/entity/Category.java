@@ -1,5 +1,8 @@
 package com.library.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
@@ -10,9 +13,12 @@ import java.util.Set;
  * Kategori entity'si
  * 
  * Bu sınıf BaseEntity'den kalıtım alır ve kitap kategorilerini yönetir.
+ * Nadiren değiştiği için Hibernate ikinci seviye cache'inde ("categories" bölgesi) tutulur.
  */
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 public class Category extends BaseEntity {
 
     @NotBlank(message = "Kategori adı boş olamaz")
@@ -1,5 +1,7 @@
 package com.library.entity;
 
+import com.library.event.BookActivityListener;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDate;
@@ -11,6 +13,7 @@ import java.time.temporal.ChronoUnit;
  * Bu sınıf BaseEntity'den kalıtım alır ve kitap rezervasyonlarını yönetir.
  */
 @Entity
+@EntityListeners(BookActivityListener.class)
 @Table(name = "reservations")
 public class Reservation extends BaseEntity {
 
@@ -0,0 +1,54 @@
+package com.library.event;
+
+/**
+ * Kitap Etkinlik Olayı
+ *
+ * Bir kitap ödünç alındığında veya rezerve edildiğinde yayınlanır.
+ * Popülerlik hesaplayan bileşenler bu olayları commit sonrasında tüketir.
+ */
+public class BookActivityEvent {
+
+    /**
+     * Etkinlik tipi ve popülerliğe katkı ağırlığı
+     */
+    public enum Type {
+        BORROW(1.0),
+        RESERVATION(0.5);
+
+        private final double weight;
+
+        Type(double weight) {
+            this.weight = weight;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+    }
+
+    private final long bookId;
+    private final Type type;
+    private final long occurredAt;
+
+    public BookActivityEvent(long bookId, Type type, long occurredAt) {
+        this.bookId = bookId;
+        this.type = type;
+        this.occurredAt = occurredAt;
+    }
+
+    public long getBookId() {
+        return bookId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Etkinlik zamanı (epoch milisaniye)
+     * @return Zaman damgası
+     */
+    public long getOccurredAt() {
+        return occurredAt;
+    }
+}
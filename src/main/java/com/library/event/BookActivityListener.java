@@ -0,0 +1,41 @@
+package com.library.event;
+
+import com.library.entity.Book;
+import com.library.entity.BorrowRecord;
+import com.library.entity.Reservation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+
+/**
+ * Kitap Etkinlik Dinleyicisi
+ *
+ * BorrowRecord ve Reservation üzerine kayıtlı JPA entity listener'ıdır. Yeni bir ödünç
+ * kaydı veya rezervasyon oluşturulduğunda {@link BookActivityEvent} yayınlar; olay
+ * dinleyicileri bunu transaction commit edildikten sonra işler.
+ */
+public class BookActivityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public BookActivityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof BorrowRecord) {
+            publish(((BorrowRecord) entity).getBook(), BookActivityEvent.Type.BORROW);
+        } else if (entity instanceof Reservation) {
+            publish(((Reservation) entity).getBook(), BookActivityEvent.Type.RESERVATION);
+        }
+    }
+
+    private void publish(Book book, BookActivityEvent.Type type) {
+        if (book != null && book.getId() != null) {
+            eventPublisher.publishEvent(new BookActivityEvent(book.getId(), type, System.currentTimeMillis()));
+        }
+    }
+}
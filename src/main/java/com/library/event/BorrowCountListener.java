@@ -0,0 +1,93 @@
+package com.library.event;
+
+import com.library.entity.BorrowRecord;
+import com.library.repository.BookBorrowStatsRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreRemove;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ödünç Sayısı Dinleyicisi
+ *
+ * BorrowRecord üzerine kayıtlı JPA entity listener'ıdır. Eklenen ve silinen ödünç kayıtlarını
+ * transaction boyunca kitap bazında toplar ve commit'ten hemen önce book_borrow_stats.borrow_count
+ * kolonuna aynı transaction içinde yansıtır; sayı ve kayıtlar birlikte commit ya da rollback olur.
+ * Farklar persist/remove çağrısı anında toplanır, çünkü insert ve delete'ler commit sırasındaki
+ * flush'a kadar ertelenebilir. Satırlar kitap ID sırasıyla güncellenir; aynı kitapları ödünç veren
+ * transaction'lar birbirini kilitlenmeye (deadlock) sokmaz.
+ * Arşive taşıma kayıtları toplu sorguyla sildiği için bu dinleyiciyi tetiklemez; toplam değişmez.
+ */
+public class BorrowCountListener {
+
+    private final ObjectProvider<BookBorrowStatsRepository> bookBorrowStatsRepository;
+
+    /**
+     * Repository, EntityManagerFactory'ye bağlı olduğu için ilk kullanımda çözülür
+     */
+    @Autowired
+    public BorrowCountListener(ObjectProvider<BookBorrowStatsRepository> bookBorrowStatsRepository) {
+        this.bookBorrowStatsRepository = bookBorrowStatsRepository;
+    }
+
+    @PrePersist
+    public void onPersist(BorrowRecord record) {
+        record(record, 1);
+    }
+
+    @PreRemove
+    public void onRemove(BorrowRecord record) {
+        record(record, -1);
+    }
+
+    private void record(BorrowRecord record, int delta) {
+        if (record.getBook() == null || record.getBook().getId() == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        CountBatch batch = (CountBatch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new CountBatch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.deltas.merge(record.getBook().getId(), (long) delta, Long::sum);
+    }
+
+    /**
+     * Bir transaction içindeki kitap bazında sayı farklarını biriktirir ve commit öncesi yazar
+     */
+    private class CountBatch implements TransactionSynchronization {
+
+        private final Map<Long, Long> deltas = new TreeMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            BookBorrowStatsRepository repository = bookBorrowStatsRepository.getObject();
+            // Flush sırasında cascade ile persist edilen kayıtlar da bu batch'e eklenir
+            repository.flush();
+            TransactionSynchronizationManager.unbindResourceIfPossible(BorrowCountListener.this);
+            deltas.forEach((bookId, delta) -> {
+                if (delta == 0) {
+                    return;
+                }
+                // Silinen kitabın satırı yoktur (ON DELETE CASCADE)
+                if (repository.addBorrows(bookId, delta) == 0 && delta > 0) {
+                    repository.insertEmpty(bookId);
+                    repository.addBorrows(bookId, delta);
+                }
+            });
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BorrowCountListener.this);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.library.event;
+
+/**
+ * Tek bir entity değişikliğini temsil eder
+ *
+ * Değişikliğin türünü, entity sınıfını ve ID'sini taşır.
+ * Entity nesnesinin kendisi taşınmaz; dinleyiciler güncel veriyi ID üzerinden okur.
+ */
+public final class EntityChange {
+
+    /**
+     * Değişiklik türleri
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Class<?> entityType;
+    private final Long id;
+
+    public EntityChange(Type type, Class<?> entityType, Long id) {
+        this.type = type;
+        this.entityType = entityType;
+        this.id = id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + entityType.getSimpleName() + "#" + id;
+    }
+}
@@ -0,0 +1,85 @@
+package com.library.event;
+
+import com.library.entity.BaseEntity;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Entity Değişiklik Dinleyicisi
+ *
+ * BaseEntity üzerine kayıtlı JPA entity listener'ıdır. Persist, update ve remove
+ * olaylarını transaction boyunca toplar ve commit sonrasında tek bir
+ * {@link EntityChangesCommittedEvent} olarak yayınlar.
+ * Hibernate bu sınıfı Spring bean container'ı üzerinden oluşturur.
+ */
+public class EntityChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public EntityChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void onPersist(BaseEntity entity) {
+        record(EntityChange.Type.CREATED, entity);
+    }
+
+    @PostUpdate
+    public void onUpdate(BaseEntity entity) {
+        record(EntityChange.Type.UPDATED, entity);
+    }
+
+    @PostRemove
+    public void onRemove(BaseEntity entity) {
+        record(EntityChange.Type.DELETED, entity);
+    }
+
+    private void record(EntityChange.Type type, BaseEntity entity) {
+        EntityChange change = new EntityChange(type, Hibernate.getClass(entity), entity.getId());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(new EntityChangesCommittedEvent(Collections.singletonList(change)));
+            return;
+        }
+
+        ChangeBatch batch = (ChangeBatch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new ChangeBatch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.changes.add(change);
+    }
+
+    /**
+     * Bir transaction içindeki değişiklikleri biriktirir ve commit sonrası yayınlar
+     */
+    private class ChangeBatch implements TransactionSynchronization {
+
+        private final List<EntityChange> changes = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            // Dinleyiciler yeni transaction açabileceği için kaynak önce serbest bırakılır
+            TransactionSynchronizationManager.unbindResourceIfPossible(EntityChangeListener.this);
+            eventPublisher.publishEvent(new EntityChangesCommittedEvent(changes));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EntityChangeListener.this);
+        }
+    }
+}
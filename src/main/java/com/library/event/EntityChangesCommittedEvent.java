@@ -0,0 +1,50 @@
+package com.library.event;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Commit edilmiş entity değişiklikleri olayı
+ *
+ * Bir transaction başarıyla commit edildikten sonra, o transaction içinde
+ * gerçekleşen tüm değişiklikler tek bir olay olarak yayınlanır.
+ * Rollback olan transaction'lar için olay yayınlanmaz.
+ */
+public class EntityChangesCommittedEvent {
+
+    private final List<EntityChange> changes;
+
+    public EntityChangesCommittedEvent(List<EntityChange> changes) {
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    public List<EntityChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Belirtilen entity tipine ait değişiklik olup olmadığını kontrol eder
+     * @param entityType Entity sınıfı
+     * @return Değişiklik varsa true
+     */
+    public boolean contains(Class<?> entityType) {
+        return changes.stream().anyMatch(change -> change.getEntityType() == entityType);
+    }
+
+    /**
+     * Belirtilen entity tipine ait değişen ID'leri döndürür
+     * @param entityType Entity sınıfı
+     * @return ID kümesi (tekrarsız, geliş sırasıyla)
+     */
+    public Set<Long> idsOf(Class<?> entityType) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (EntityChange change : changes) {
+            if (change.getEntityType() == entityType && change.getId() != null) {
+                ids.add(change.getId());
+            }
+        }
+        return ids;
+    }
+}
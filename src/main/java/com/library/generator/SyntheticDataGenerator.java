@@ -0,0 +1,606 @@
+package com.library.generator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sentetik Veri Üreticisi
+ *
+ * "generate" profiliyle açılır ve örnek veriler (DataLoader) yerine yük testleri için
+ * yapılandırılabilir boyutta bir katalog üretir: kategoriler, yazarlar, kitaplar, üyeler,
+ * ödünç kayıtları ve rezervasyonlar.
+ *
+ * Dağılımlar gerçekçi çarpıklıktadır: kitap popülerliği, üye etkinliği ve yazar üretkenliği
+ * Zipf dağılımına uyar (sıralar ID'lere karıştırılarak atanır); ödünç ve rezervasyon tarihleri
+ * yaz tatili ve sınav dönemlerinde yükselen, hafta sonu değişen ve yıllar içinde büyüyen bir
+ * mevsimsel eğriden seçilir.
+ *
+ * Üretim belirlenimcidir: her tablo sabit boyutlu ID parçalarına bölünür ve her parça
+ * tohumdan türetilen kendi üretecini kullanır. Aynı tohum, boyutlar ve bitiş tarihi thread
+ * sayısından bağımsız olarak aynı veriyi üretir. Parçalar paralel yazılır; her parça kendi
+ * bağlantısında JDBC batch'leriyle tek transaction'dır. PostgreSQL'de kısıt dışı indeksler
+ * yükleme sonunda oluşturulur. ID'ler açıkça verilir ve sonunda sequence'lar üretilen
+ * ID'lerin ötesine alınır. Boş bir veritabanı gerektirir.
+ */
+@Component
+@Profile("generate")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    /**
+     * BorrowRecord ve Reservation entity'lerindeki varsayılan süreler ve günlük ceza
+     */
+    private static final int BORROW_DAYS = 14;
+    private static final int RESERVATION_DAYS = 7;
+    private static final double DAILY_FINE_AMOUNT = 1.0;
+
+    // Aynı parça numarası farklı tablolarda farklı diziler üretsin diye tabloya özgü tuzlar
+    private static final long CATEGORY_SALT = 0x4341L;
+    private static final long AUTHOR_SALT = 0x4155L;
+    private static final long BOOK_SALT = 0x424fL;
+    private static final long MEMBER_SALT = 0x4d45L;
+    private static final long BORROW_SALT = 0x4252L;
+    private static final long RESERVATION_SALT = 0x5245L;
+    private static final long PERMUTATION_SALT = 0x5045L;
+
+    private static final String[] CATEGORY_NAMES = {
+        "Roman", "Bilim Kurgu", "Felsefe", "Psikoloji", "Tarih", "Teknoloji", "Şiir", "Deneme",
+        "Biyografi", "Çocuk", "Gençlik", "Polisiye", "Fantastik", "Bilim", "Sanat", "Ekonomi",
+        "Sağlık", "Gezi", "Din", "Hukuk", "Eğitim", "Yemek", "Spor", "Mizah"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Ahmet", "Mehmet", "Ayşe", "Fatma", "Mustafa", "Zeynep", "Ali", "Elif", "Hüseyin", "Emine",
+        "Hasan", "Hatice", "İbrahim", "Merve", "Murat", "Selin", "Can", "Deniz", "Ece", "Burak",
+        "Cem", "Derya", "Emre", "Gül", "Kerem", "Leyla", "Orhan", "Sevgi", "Tolga", "Yasemin"
+    };
+    private static final String[] LAST_NAMES = {
+        "Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Yıldırım", "Öztürk", "Aydın", "Özdemir",
+        "Arslan", "Doğan", "Kılıç", "Aslan", "Çetin", "Kara", "Koç", "Kurt", "Özkan", "Şimşek",
+        "Polat", "Korkmaz", "Erdoğan", "Aksoy", "Güneş", "Tekin", "Bulut", "Ünal", "Acar", "Tuncer"
+    };
+    private static final String[] TITLE_ADJECTIVES = {
+        "Sessiz", "Kayıp", "Son", "Uzak", "Kırmızı", "Eski", "Gizli", "Sonsuz", "Karanlık", "Beyaz",
+        "Yalnız", "Unutulmuş", "Derin", "Küçük", "Büyük", "Yeni", "Soğuk", "Altın", "Kısa", "Uzun"
+    };
+    private static final String[] TITLE_NOUNS = {
+        "Şehir", "Gece", "Yol", "Deniz", "Ev", "Zaman", "Rüya", "Bahçe", "Kitap", "Ada",
+        "Nehir", "Yıldız", "Kapı", "Saat", "Köprü", "Orman", "Mektup", "Harita", "Sokak", "Kuş"
+    };
+    private static final String[] TITLE_SUFFIXES = {
+        "", "", "", " Üzerine", " Sırları", " Günlükleri", " Notları", " ve Ötesi", " Hikayeleri", " Kuramı"
+    };
+    private static final String[] PUBLISHERS = {
+        "Yapı Kredi Yayınları", "İletişim Yayınları", "Can Yayınları", "Doğan Kitap", "Everest Yayınları",
+        "Metis Yayınları", "İş Bankası Kültür Yayınları", "Pegasus Yayınları", "Alfa Yayınları", "Remzi Kitabevi"
+    };
+    private static final String[] LANGUAGES = {"Türkçe", "İngilizce", "Almanca", "Fransızca", "Rusça"};
+    private static final double[] LANGUAGE_WEIGHTS = {0.70, 0.18, 0.05, 0.05, 0.02};
+    private static final String[] NATIONALITIES = {"Türk", "İngiliz", "Amerikan", "Alman", "Fransız", "Rus"};
+    private static final double[] NATIONALITY_WEIGHTS = {0.50, 0.15, 0.15, 0.07, 0.08, 0.05};
+    private static final String[] CITIES = {
+        "İstanbul, Kadıköy", "İstanbul, Beşiktaş", "Ankara, Çankaya", "İzmir, Karşıyaka", "Bursa, Nilüfer",
+        "Antalya, Muratpaşa", "Eskişehir, Tepebaşı", "Konya, Selçuklu", "Adana, Seyhan", "Trabzon, Ortahisar"
+    };
+
+    /**
+     * Bir ID parçasını kendi bağlantısında yazan işlem
+     */
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(Connection connection, long fromId, long toId, SplittableRandom random) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long seed;
+    private final int categories;
+    private final int authors;
+    private final int books;
+    private final int members;
+    private final long borrowRecords;
+    private final long reservations;
+    private final int historyDays;
+    private final LocalDate endDate;
+    private final double bookZipfExponent;
+    private final double memberZipfExponent;
+    private final double authorZipfExponent;
+    private final int threads;
+    private final int batchSize;
+    private final int chunkSize;
+
+    @Autowired
+    public SyntheticDataGenerator(DataSource dataSource,
+                                  @Value("${library.generator.seed:42}") long seed,
+                                  @Value("${library.generator.categories:40}") int categories,
+                                  @Value("${library.generator.authors:20000}") int authors,
+                                  @Value("${library.generator.books:200000}") int books,
+                                  @Value("${library.generator.members:100000}") int members,
+                                  @Value("${library.generator.borrow-records:1000000}") long borrowRecords,
+                                  @Value("${library.generator.reservations:100000}") long reservations,
+                                  @Value("${library.generator.history-days:1095}") int historyDays,
+                                  @Value("${library.generator.end-date:}") String endDate,
+                                  @Value("${library.generator.book-zipf-exponent:1.0}") double bookZipfExponent,
+                                  @Value("${library.generator.member-zipf-exponent:0.8}") double memberZipfExponent,
+                                  @Value("${library.generator.author-zipf-exponent:1.1}") double authorZipfExponent,
+                                  @Value("${library.generator.threads:0}") int threads,
+                                  @Value("${library.generator.batch-size:1000}") int batchSize,
+                                  @Value("${library.generator.chunk-size:50000}") int chunkSize) {
+        if (categories < 1 || authors < 1 || books < 1 || members < 1) {
+            throw new IllegalArgumentException("Kategori, yazar, kitap ve üye sayıları pozitif olmalıdır");
+        }
+        if (borrowRecords < 0 || reservations < 0 || historyDays < 1 || batchSize < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Geçersiz veri üretici ayarları");
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.seed = seed;
+        this.categories = categories;
+        this.authors = authors;
+        this.books = books;
+        this.members = members;
+        this.borrowRecords = borrowRecords;
+        this.reservations = reservations;
+        this.historyDays = historyDays;
+        this.endDate = StringUtils.hasText(endDate) ? LocalDate.parse(endDate) : LocalDate.now();
+        this.bookZipfExponent = bookZipfExponent;
+        this.memberZipfExponent = memberZipfExponent;
+        this.authorZipfExponent = authorZipfExponent;
+        this.threads = threads > 0 ? threads : Math.min(8, Runtime.getRuntime().availableProcessors());
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("Veri üretimi boş bir veritabanı gerektirir (" + existing + " kitap var)");
+        }
+        log.info("Sentetik veri üretiliyor: {} kategori, {} yazar, {} kitap, {} üye, {} ödünç, {} rezervasyon "
+                        + "(tohum {}, {} gün, {} thread)",
+                categories, authors, books, members, borrowRecords, reservations, seed, historyDays, threads);
+        long start = System.currentTimeMillis();
+
+        LocalDate startDate = endDate.minusDays(historyDays - 1L);
+        // Sıra -> ID eşlemeleri: en popüler kitap/üye/yazar ID'si 1 olmasın
+        int[] authorByRank = permutation(authors, AUTHOR_SALT);
+        int[] bookByRank = permutation(books, BOOK_SALT);
+        int[] memberByRank = permutation(members, MEMBER_SALT);
+        WeightedSampler categorySampler = WeightedSampler.zipf(categories, 1.0);
+        WeightedSampler authorSampler = WeightedSampler.zipf(authors, authorZipfExponent);
+        WeightedSampler bookSampler = WeightedSampler.zipf(books, bookZipfExponent);
+        WeightedSampler memberSampler = WeightedSampler.zipf(members, memberZipfExponent);
+        WeightedSampler daySampler = seasonalDays(startDate);
+
+        List<String> deferredIndexes = dropSecondaryIndexes();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            generate(executor, "categories", CATEGORY_SALT, categories, this::writeCategories);
+            generate(executor, "authors", AUTHOR_SALT, authors, this::writeAuthors);
+            generate(executor, "books", BOOK_SALT, books, (connection, fromId, toId, random) ->
+                    writeBooks(connection, fromId, toId, random, startDate, authorSampler, authorByRank, categorySampler));
+            generate(executor, "members", MEMBER_SALT, members, (connection, fromId, toId, random) ->
+                    writeMembers(connection, fromId, toId, random, startDate));
+            generate(executor, "borrow_records", BORROW_SALT, borrowRecords, (connection, fromId, toId, random) ->
+                    writeBorrowRecords(connection, fromId, toId, random, startDate, daySampler,
+                            bookSampler, bookByRank, memberSampler, memberByRank));
+            generate(executor, "reservations", RESERVATION_SALT, reservations, (connection, fromId, toId, random) ->
+                    writeReservations(connection, fromId, toId, random, startDate, daySampler,
+                            bookSampler, bookByRank, memberSampler, memberByRank));
+        } finally {
+            executor.shutdownNow();
+            recreateIndexes(deferredIndexes);
+        }
+
+        // Açık ödüncü olan kitaplar ödünçte görünür
+        int borrowed = jdbcTemplate.update("UPDATE books SET status = 'BORROWED' "
+                + "WHERE id IN (SELECT book_id FROM borrow_records WHERE return_date IS NULL)");
+        alignSequence("category_seq", categories);
+        alignSequence("author_seq", authors);
+        alignSequence("book_seq", books);
+        alignSequence("member_seq", members);
+        alignSequence("borrow_record_seq", borrowRecords);
+        alignSequence("reservation_seq", reservations);
+        // Sorgu planları yüklenen veriye göre seçilsin
+        jdbcTemplate.execute("ANALYZE");
+
+        log.info("Sentetik veri üretildi: {} kitap ödünçte ({} ms)", borrowed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Tabloyu sabit boyutlu ID parçaları halinde paralel yazar
+     * @param executor Yazıcı thread havuzu
+     * @param table Tablo adı (log için)
+     * @param salt Tabloya özgü tohum tuzu
+     * @param count Üretilecek satır sayısı (ID'ler 1..count)
+     * @param writer Parça yazıcısı
+     */
+    private void generate(ExecutorService executor, String table, long salt, long count, ChunkWriter writer) {
+        long start = System.currentTimeMillis();
+        List<Future<?>> futures = new ArrayList<>();
+        for (long chunk = 0; chunk * chunkSize < count; chunk++) {
+            long fromId = chunk * chunkSize + 1;
+            long toId = Math.min(count, (chunk + 1) * chunkSize);
+            SplittableRandom random = new SplittableRandom(seed ^ (salt << 40) ^ (chunk * 0x9E3779B97F4A7C15L));
+            futures.add(executor.submit(() -> {
+                writeChunk(writer, fromId, toId, random);
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(table + " üretimi kesildi", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException(table + " üretilemedi: " + e.getCause().getMessage(), e.getCause());
+        }
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        log.info("{}: {} satır, {} parça ({} ms, {} satır/sn)", table, count, futures.size(), elapsed, count * 1000 / elapsed);
+    }
+
+    private void writeChunk(ChunkWriter writer, long fromId, long toId, SplittableRandom random) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                writer.write(connection, fromId, toId, random);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private void writeCategories(Connection connection, long fromId, long toId, SplittableRandom random) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO categories (id, created_at, color_code, description, name) VALUES (?, ?, ?, ?, ?)")) {
+            for (long id = fromId; id <= toId; id++) {
+                int index = (int) ((id - 1) % CATEGORY_NAMES.length);
+                long round = (id - 1) / CATEGORY_NAMES.length;
+                String name = CATEGORY_NAMES[index] + (round > 0 ? " " + (round + 1) : "");
+                insert.setLong(1, id);
+                insert.setTimestamp(2, timestamp(endDate.minusDays(historyDays), random));
+                insert.setString(3, String.format("#%06X", random.nextInt(0x1000000)));
+                insert.setString(4, name + " türündeki kitaplar");
+                insert.setString(5, name);
+                addBatch(insert, id - fromId + 1);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void writeAuthors(Connection connection, long fromId, long toId, SplittableRandom random) throws SQLException {
+        WeightedSampler nationalities = new WeightedSampler(NATIONALITY_WEIGHTS);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO authors (id, created_at, birth_year, email, name, nationality) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (long id = fromId; id <= toId; id++) {
+                insert.setLong(1, id);
+                insert.setTimestamp(2, timestamp(endDate.minusDays(random.nextInt(historyDays)), random));
+                insert.setInt(3, 1900 + random.nextInt(Math.max(1, endDate.getYear() - 1920)));
+                insert.setString(4, "author" + id + "@example.com");
+                insert.setString(5, pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random));
+                insert.setString(6, NATIONALITIES[nationalities.sample(random)]);
+                addBatch(insert, id - fromId + 1);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void writeBooks(Connection connection, long fromId, long toId, SplittableRandom random, LocalDate startDate,
+                            WeightedSampler authorSampler, int[] authorByRank, WeightedSampler categorySampler)
+            throws SQLException {
+        WeightedSampler languages = new WeightedSampler(LANGUAGE_WEIGHTS);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO books (id, created_at, isbn, language, location, page_count, price, publication_year, "
+                        + "publisher, status, title, version, author_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)");
+             PreparedStatement link = connection.prepareStatement(
+                     "INSERT INTO book_categories (book_id, category_id) VALUES (?, ?)")) {
+            int[] chosen = new int[3];
+            for (long id = fromId; id <= toId; id++) {
+                // Yayın yılları yakın geçmişte yoğunlaşır
+                int age = (int) Math.min(120, Math.abs(random.nextDouble() + random.nextDouble() - 1.0) * 60);
+                insert.setLong(1, id);
+                insert.setTimestamp(2, timestamp(startDate.plusDays(random.nextInt(historyDays)), random));
+                insert.setString(3, isbn(id));
+                insert.setString(4, LANGUAGES[languages.sample(random)]);
+                insert.setString(5, "Raf " + (char) ('A' + random.nextInt(26)) + "-" + (1 + random.nextInt(40)));
+                insert.setInt(6, 60 + (int) (-Math.log(1.0 - random.nextDouble()) * 250));
+                insert.setBigDecimal(7, BigDecimal.valueOf(1500 + random.nextInt(48500), 2));
+                insert.setInt(8, endDate.getYear() - age);
+                insert.setString(9, pick(PUBLISHERS, random));
+                insert.setString(10, "AVAILABLE");
+                insert.setString(11, pick(TITLE_ADJECTIVES, random) + " " + pick(TITLE_NOUNS, random) + pick(TITLE_SUFFIXES, random));
+                insert.setLong(12, authorByRank[authorSampler.sample(random)]);
+                insert.addBatch();
+
+                // Kitap başına 1-3 farklı kategori
+                double roll = random.nextDouble();
+                int count = Math.min(categorySampler.size(), roll < 0.10 ? 3 : roll < 0.35 ? 2 : 1);
+                for (int i = 0; i < count; i++) {
+                    int category;
+                    do {
+                        category = categorySampler.sample(random) + 1;
+                    } while (contains(chosen, i, category));
+                    chosen[i] = category;
+                    link.setLong(1, id);
+                    link.setLong(2, category);
+                    link.addBatch();
+                }
+                // Bağlantı satırları kitaplara yabancı anahtarla bağlı; her grupta önce kitaplar yazılır
+                if ((id - fromId + 1) % batchSize == 0 || id == toId) {
+                    insert.executeBatch();
+                    link.executeBatch();
+                }
+            }
+        }
+    }
+
+    private void writeMembers(Connection connection, long fromId, long toId, SplittableRandom random, LocalDate startDate)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO members (id, created_at, address, birth_date, email, first_name, is_active, last_name, "
+                        + "membership_end_date, membership_number, membership_start_date, phone) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = fromId; id <= toId; id++) {
+                LocalDate membershipStart = startDate.plusDays(random.nextInt(historyDays)).minusYears(random.nextInt(3));
+                LocalDate membershipEnd = membershipStart.plusYears(1 + random.nextInt(3)).minusDays(1);
+                insert.setLong(1, id);
+                insert.setTimestamp(2, timestamp(membershipStart, random));
+                insert.setString(3, pick(CITIES, random));
+                insert.setDate(4, Date.valueOf(endDate.minusYears(16 + random.nextInt(60)).minusDays(random.nextInt(365))));
+                insert.setString(5, "member" + id + "@example.com");
+                insert.setString(6, pick(FIRST_NAMES, random));
+                insert.setBoolean(7, !membershipEnd.isBefore(endDate));
+                insert.setString(8, pick(LAST_NAMES, random));
+                insert.setDate(9, Date.valueOf(membershipEnd));
+                insert.setString(10, String.format("MEM%09d", id));
+                insert.setDate(11, Date.valueOf(membershipStart));
+                insert.setString(12, String.format("05%02d%07d", 30 + random.nextInt(30), random.nextInt(10_000_000)));
+                addBatch(insert, id - fromId + 1);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void writeBorrowRecords(Connection connection, long fromId, long toId, SplittableRandom random,
+                                    LocalDate startDate, WeightedSampler daySampler,
+                                    WeightedSampler bookSampler, int[] bookByRank,
+                                    WeightedSampler memberSampler, int[] memberByRank) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO borrow_records (id, created_at, borrow_date, due_date, fine_amount, return_date, book_id, member_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = fromId; id <= toId; id++) {
+                LocalDate borrowDate = startDate.plusDays(daySampler.sample(random));
+                LocalDate dueDate = borrowDate.plusDays(BORROW_DAYS);
+                long age = ChronoUnit.DAYS.between(borrowDate, endDate);
+                // Son bir ayın ödünçlerinin yarısı açık; daha eskilerde az sayıda iade edilmemiş kayıt
+                boolean open = random.nextDouble() < (age < 30 ? 0.5 : 0.002);
+                LocalDate returnDate = null;
+                double fine = 0.0;
+                if (!open) {
+                    // Ödünç süreleri çoğunlukla iki haftanın altında, uzun kuyruklu
+                    long days = 1 + (long) Math.min(90, -Math.log(1.0 - random.nextDouble()) * 9);
+                    returnDate = borrowDate.plusDays(Math.min(days, age));
+                    fine = Math.max(0, ChronoUnit.DAYS.between(dueDate, returnDate)) * DAILY_FINE_AMOUNT;
+                }
+                insert.setLong(1, id);
+                insert.setTimestamp(2, timestamp(borrowDate, random));
+                insert.setDate(3, Date.valueOf(borrowDate));
+                insert.setDate(4, Date.valueOf(dueDate));
+                insert.setDouble(5, fine);
+                if (returnDate != null) {
+                    insert.setDate(6, Date.valueOf(returnDate));
+                } else {
+                    insert.setNull(6, Types.DATE);
+                }
+                insert.setLong(7, bookByRank[bookSampler.sample(random)]);
+                insert.setLong(8, memberByRank[memberSampler.sample(random)]);
+                addBatch(insert, id - fromId + 1);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void writeReservations(Connection connection, long fromId, long toId, SplittableRandom random,
+                                   LocalDate startDate, WeightedSampler daySampler,
+                                   WeightedSampler bookSampler, int[] bookByRank,
+                                   WeightedSampler memberSampler, int[] memberByRank) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO reservations (id, created_at, expiry_date, fulfilled_date, reservation_date, status, book_id, member_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = fromId; id <= toId; id++) {
+                LocalDate reservationDate = startDate.plusDays(daySampler.sample(random));
+                LocalDate expiryDate = reservationDate.plusDays(RESERVATION_DAYS);
+                String status;
+                LocalDate fulfilledDate = null;
+                double roll = random.nextDouble();
+                if (expiryDate.isAfter(endDate)) {
+                    status = "PENDING";
+                } else if (roll < 0.70) {
+                    status = "FULFILLED";
+                    fulfilledDate = reservationDate.plusDays(1 + random.nextInt(RESERVATION_DAYS - 1));
+                } else if (roll < 0.85) {
+                    status = "CANCELLED";
+                } else {
+                    status = "EXPIRED";
+                }
+                insert.setLong(1, id);
+                insert.setTimestamp(2, timestamp(reservationDate, random));
+                insert.setDate(3, Date.valueOf(expiryDate));
+                if (fulfilledDate != null) {
+                    insert.setDate(4, Date.valueOf(fulfilledDate));
+                } else {
+                    insert.setNull(4, Types.DATE);
+                }
+                insert.setDate(5, Date.valueOf(reservationDate));
+                insert.setString(6, status);
+                insert.setLong(7, bookByRank[bookSampler.sample(random)]);
+                insert.setLong(8, memberByRank[memberSampler.sample(random)]);
+                addBatch(insert, id - fromId + 1);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    /**
+     * Tarih aralığındaki günlerin ağırlıkları: yaz tatili (Temmuz) ve sınav dönemleri (Ocak, Haziran)
+     * tepe noktalarıdır, pazar günleri düşük ve cumartesi günleri yüksektir, etkinlik aralık boyunca
+     * %50 büyür
+     */
+    private WeightedSampler seasonalDays(LocalDate startDate) {
+        double[] weights = new double[historyDays];
+        for (int day = 0; day < historyDays; day++) {
+            LocalDate date = startDate.plusDays(day);
+            double yearAngle = 2 * Math.PI * date.getDayOfYear() / 365.25;
+            double season = 1.0 + 0.30 * Math.cos(yearAngle - 2 * Math.PI * 196 / 365.25)
+                    + 0.15 * Math.cos(2 * yearAngle - 2 * Math.PI * 2 * 15 / 365.25);
+            double weekday = date.getDayOfWeek() == DayOfWeek.SUNDAY ? 0.5
+                    : date.getDayOfWeek() == DayOfWeek.SATURDAY ? 1.15 : 1.0;
+            double growth = 1.0 + 0.5 * day / historyDays;
+            weights[day] = season * weekday * growth;
+        }
+        return new WeightedSampler(weights);
+    }
+
+    /**
+     * 1..n ID'lerinin tohumdan türetilen karışık sırası (Fisher-Yates)
+     */
+    private int[] permutation(int n, long salt) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+        }
+        SplittableRandom random = new SplittableRandom(seed ^ (PERMUTATION_SALT << 40) ^ salt);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    /**
+     * PostgreSQL'de kısıt dışı indeksleri yükleme süresince kaldırır; her satırda indeks
+     * güncellemek yerine yükleme sonunda tek seferde oluşturmak çok daha hızlıdır. Birincil
+     * anahtar, unique ve yabancı anahtar kısıtları yerinde kalır. H2'de indeksler korunur.
+     * @return Yeniden oluşturma ifadeleri (pg_indexes.indexdef)
+     */
+    private List<String> dropSecondaryIndexes() {
+        String product = jdbcTemplate.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        if (product == null || !product.toLowerCase(Locale.ROOT).contains("postgres")) {
+            return new ArrayList<>();
+        }
+        List<Map<String, Object>> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname, indexdef FROM pg_indexes WHERE schemaname = current_schema() "
+                        + "AND tablename IN ('authors', 'books', 'book_categories', 'members', 'borrow_records', 'reservations') "
+                        + "AND indexname NOT IN (SELECT conname FROM pg_constraint)");
+        List<String> definitions = new ArrayList<>();
+        for (Map<String, Object> index : indexes) {
+            jdbcTemplate.execute("DROP INDEX " + index.get("indexname"));
+            definitions.add((String) index.get("indexdef"));
+        }
+        log.info("Yükleme süresince {} indeks kaldırıldı", definitions.size());
+        return definitions;
+    }
+
+    private void recreateIndexes(List<String> definitions) {
+        long start = System.currentTimeMillis();
+        for (String definition : definitions) {
+            try {
+                jdbcTemplate.execute(definition);
+            } catch (RuntimeException e) {
+                // Diğer indeksler yine de oluşturulur; eksik kalan elle oluşturulabilsin diye tanımı yazılır
+                log.error("İndeks yeniden oluşturulamadı: {}", definition, e);
+            }
+        }
+        if (!definitions.isEmpty()) {
+            log.info("{} indeks yeniden oluşturuldu ({} ms)", definitions.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Sequence'ı üretilen en büyük ID'nin ötesine alır (pooled-lo bir sonraki bloğu buradan başlatır)
+     */
+    private void alignSequence(String sequence, long maxId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1));
+    }
+
+    private void addBatch(PreparedStatement statement, long rows) throws SQLException {
+        statement.addBatch();
+        if (rows % batchSize == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * 979 önekli, kitap ID'sinden türetilen geçerli ISBN-13
+     */
+    private static String isbn(long id) {
+        String digits = String.format("979%09d", id);
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    private static Timestamp timestamp(LocalDate date, SplittableRandom random) {
+        return Timestamp.valueOf(LocalDateTime.of(date, LocalTime.ofSecondOfDay(random.nextInt(86_400))));
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
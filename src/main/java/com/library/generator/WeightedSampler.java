@@ -0,0 +1,70 @@
+package com.library.generator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Ağırlıklı Ayrık Örnekleyici
+ *
+ * 0..n-1 aralığındaki değerleri verilen ağırlıklarla orantılı olasılıkla seçer. Kümülatif
+ * ağırlıklar bir kez hesaplanır; her örnek tek bir ikili aramadır (O(log n)).
+ * Oluşturulduktan sonra değişmez, thread'ler arasında paylaşılabilir; rastgelelik çağıranın
+ * verdiği üreteçten gelir.
+ */
+final class WeightedSampler {
+
+    private final double[] cumulative;
+
+    /**
+     * @param weights Negatif olmayan ağırlıklar (en az biri pozitif)
+     */
+    WeightedSampler(double[] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("Örnekleyici en az bir ağırlık gerektirir");
+        }
+        this.cumulative = new double[weights.length];
+        double total = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Ağırlıklar negatif olamaz");
+            }
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Ağırlıkların toplamı pozitif olmalıdır");
+        }
+    }
+
+    /**
+     * Zipf dağılımı: k. sıradaki değerin ağırlığı 1 / (k + 1)^exponent.
+     * Sıra 0 en sık seçilen değerdir.
+     * @param n Değer sayısı
+     * @param exponent Çarpıklık (0 = düzgün dağılım, 1 civarı tipik popülerlik)
+     * @return Örnekleyici
+     */
+    static WeightedSampler zipf(int n, double exponent) {
+        double[] weights = new double[n];
+        for (int k = 0; k < n; k++) {
+            weights[k] = 1.0 / Math.pow(k + 1, exponent);
+        }
+        return new WeightedSampler(weights);
+    }
+
+    /**
+     * Ağırlığa göre bir değer seçer
+     * @param random Rastgele sayı üreteci
+     * @return 0..size()-1 aralığında değer
+     */
+    int sample(SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        // Tam eşleşme o değerin üst sınırıdır; sonraki değer seçilir
+        index = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+}
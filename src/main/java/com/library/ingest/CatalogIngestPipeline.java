@@ -0,0 +1,432 @@
+package com.library.ingest;
+
+import com.library.dto.CatalogImportRecord;
+import com.library.dto.CatalogImportResult;
+import com.library.service.CatalogImportService;
+import com.library.service.CatalogImportSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Katalog Dosya İçe Aktarma Hattı
+ *
+ * Büyük CSV ve MARC21 dosyalarını üç aşamada içe aktarır:
+ * <ol>
+ *   <li>Okuyucu thread dosyayı NIO ile okur ve ham kayıtları batch-size'lık gruplara böler</li>
+ *   <li>Ayrıştırıcı havuzu (parser-threads) grupları paralel olarak kayıtlara dönüştürür</li>
+ *   <li>Tek yazıcı thread grupları dosya sırasıyla {@link CatalogImportSession} üzerinden
+ *       JDBC batch'leri halinde yazar ve her commit'ten sonra kontrol noktası kaydeder</li>
+ * </ol>
+ * Aşamalar arasındaki kuyruk max-in-flight ile sınırlıdır; yazıcı yavaşladığında okuyucu
+ * bekler, böylece bellekte en fazla max-in-flight grup bulunur. Kesilen bir içe aktarma
+ * aynı dosyayla yeniden başlatıldığında son kontrol noktasından devam eder. Yazılamayan
+ * (geri alınan) bir grup işi durdurur; kontrol noktası o grubun önünde kalır.
+ * Aynı anda yalnızca bir iş çalışır.
+ */
+@Component
+public class CatalogIngestPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogIngestPipeline.class);
+
+    private static final int MAX_JOB_HISTORY = 20;
+
+    private final CatalogImportService catalogImportService;
+    private final Path directory;
+    private final int batchSize;
+    private final int parserThreads;
+    private final int maxInFlight;
+    private final int readBufferBytes;
+    private final int maxRecordBytes;
+    private final char csvDelimiter;
+
+    private final AtomicInteger jobSequence = new AtomicInteger();
+    private final Map<String, IngestJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile IngestJob running;
+
+    @Autowired
+    public CatalogIngestPipeline(CatalogImportService catalogImportService,
+                                 @Value("${library.ingest.directory:data/ingest}") String directory,
+                                 @Value("${library.ingest.batch-size:1000}") int batchSize,
+                                 @Value("${library.ingest.parser-threads:0}") int parserThreads,
+                                 @Value("${library.ingest.max-in-flight:4}") int maxInFlight,
+                                 @Value("${library.ingest.read-buffer-bytes:1048576}") int readBufferBytes,
+                                 @Value("${library.ingest.max-record-bytes:1048576}") int maxRecordBytes,
+                                 @Value("${library.ingest.csv-delimiter:,}") char csvDelimiter) {
+        if (maxRecordBytes < 1) {
+            throw new IllegalArgumentException("En büyük kayıt uzunluğu pozitif olmalıdır");
+        }
+        this.catalogImportService = catalogImportService;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.batchSize = Math.max(1, batchSize);
+        this.parserThreads = parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.readBufferBytes = readBufferBytes;
+        this.maxRecordBytes = maxRecordBytes;
+        this.csvDelimiter = csvDelimiter;
+    }
+
+    /**
+     * İçe aktarma dizinindeki dosya için arka planda bir iş başlatır
+     * @param fileName Dizine göre dosya yolu
+     * @param formatName Biçim ("csv", "marc21"); boşsa uzantıdan belirlenir
+     * @return Başlatılan iş
+     * @throws IllegalArgumentException Dosya veya biçim geçersizse
+     * @throws IllegalStateException Başka bir iş çalışıyorsa
+     * @throws IOException Dosya veya kontrol noktası okunamazsa
+     */
+    public synchronized IngestJob start(String fileName, String formatName) throws IOException {
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("Dosya adı boş olamaz");
+        }
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory)) {
+            throw new IllegalArgumentException("Dosya içe aktarma dizininin dışında: " + fileName);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Dosya bulunamadı: " + fileName);
+        }
+        IngestFormat format = IngestFormat.resolve(formatName, file.getFileName().toString());
+        if (running != null) {
+            throw new IllegalStateException("Çalışan bir içe aktarma işi var: " + running.getId());
+        }
+
+        IngestCheckpoint checkpoint = IngestCheckpoint.load(file);
+        RecordParser parser = createParser(file, format);
+        CatalogImportSession session = catalogImportService.openSession();
+        IngestJob job = new IngestJob("ingest-" + jobSequence.incrementAndGet(),
+                directory.relativize(file).toString(), format, Files.size(file), checkpoint.records());
+        job.progress(checkpoint.offset(), checkpoint.records());
+        remember(job);
+        running = job;
+
+        Thread reader = new Thread(() -> run(job, file, parser, session, checkpoint), job.getId() + "-reader");
+        reader.setDaemon(true);
+        reader.start();
+        if (checkpoint.offset() > 0) {
+            log.info("İçe aktarma işi {} başladı: {} ({}), kayıt {} sonrasından devam ediliyor",
+                    job.getId(), job.getFile(), format, checkpoint.records());
+        } else {
+            log.info("İçe aktarma işi {} başladı: {} ({})", job.getId(), job.getFile(), format);
+        }
+        return job;
+    }
+
+    /**
+     * İşi iptal eder; yazılmakta olan grup tamamlanır ve kontrol noktası korunur
+     * @param id İş ID'si
+     * @return İş bulunduysa true
+     */
+    public boolean cancel(String id) {
+        IngestJob job = jobs.get(id);
+        if (job == null) {
+            return false;
+        }
+        job.requestCancel();
+        return true;
+    }
+
+    /**
+     * @param id İş ID'si
+     * @return İş veya null
+     */
+    public IngestJob getJob(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * @return Son işler (eskiden yeniye)
+     */
+    public List<IngestJob> getJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    /**
+     * Uygulama kapanırken çalışan işi durdurur; bir sonraki başlatmada kontrol noktasından devam edilir
+     */
+    @PreDestroy
+    public void shutdown() {
+        IngestJob job = running;
+        if (job != null) {
+            job.requestCancel();
+        }
+    }
+
+    private RecordParser createParser(Path file, IngestFormat format) throws IOException {
+        if (format == IngestFormat.MARC21) {
+            return new Marc21RecordParser();
+        }
+        // Başlık her zaman dosyanın başından okunur; devam eden işler de aynı sütun eşlemesini kullanır
+        try (RecordReader header = new RecordReader(file, 0L, format, csvDelimiter, 64 * 1024, maxRecordBytes)) {
+            byte[] line = header.next();
+            if (line == null) {
+                throw new IllegalArgumentException("CSV dosyası boş: " + file.getFileName());
+            }
+            if (line == RecordReader.OVERSIZED) {
+                throw new IllegalArgumentException("CSV başlığı " + maxRecordBytes + " bayttan uzun: " + file.getFileName());
+            }
+            return new CsvRecordParser(line, csvDelimiter);
+        }
+    }
+
+    /**
+     * Okuyucu aşaması: ham grupları ayrıştırıcı havuzuna verir ve sonuçlarını sıralı kuyruğa koyar
+     */
+    private void run(IngestJob job, Path file, RecordParser parser, CatalogImportSession session,
+                     IngestCheckpoint checkpoint) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService parsers = Executors.newFixedThreadPool(parserThreads, runnable -> {
+            Thread thread = new Thread(runnable, job.getId() + "-parser-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<Future<ParsedBatch>> queue = new ArrayBlockingQueue<>(maxInFlight);
+        Writer writer = new Writer(job, session, checkpoint, queue);
+        Thread writerThread = new Thread(writer, job.getId() + "-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        String error = null;
+        long startOffset = checkpoint.offset();
+        try (RecordReader reader = new RecordReader(file, startOffset, job.getFormat(), csvDelimiter,
+                readBufferBytes, maxRecordBytes)) {
+            long recordNumber = checkpoint.records();
+            if (startOffset == 0 && job.getFormat() == IngestFormat.CSV) {
+                reader.next();
+            }
+            List<byte[]> raw = new ArrayList<>(batchSize);
+            long firstNumber = recordNumber + 1;
+            byte[] next;
+            while (!job.isCancelRequested() && !writer.stopped && (next = reader.next()) != null) {
+                recordNumber++;
+                raw.add(next);
+                if (raw.size() == batchSize) {
+                    submit(queue, parsers, parser, raw, firstNumber, reader.offset());
+                    raw = new ArrayList<>(batchSize);
+                    firstNumber = recordNumber + 1;
+                }
+            }
+            if (!raw.isEmpty() && !job.isCancelRequested()) {
+                submit(queue, parsers, parser, raw, firstNumber, reader.offset());
+            }
+        } catch (IOException e) {
+            log.error("İçe aktarma işi {} dosya okunamadı", job.getId(), e);
+            error = "Dosya okunamadı: " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "Okuyucu kesildi";
+        } finally {
+            parsers.shutdown();
+        }
+
+        try {
+            queue.put(Writer.END);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.stopped = true;
+        }
+
+        if (error == null) {
+            error = writer.error;
+        }
+        CatalogImportResult result;
+        try {
+            result = session.finish();
+        } catch (RuntimeException e) {
+            log.error("İçe aktarma işi {} sonlandırılamadı", job.getId(), e);
+            result = null;
+            error = "Sonlandırma hatası: " + e.getMessage();
+        }
+        IngestJob.State state;
+        if (error != null) {
+            state = IngestJob.State.FAILED;
+        } else if (job.isCancelRequested()) {
+            state = IngestJob.State.CANCELLED;
+        } else {
+            state = IngestJob.State.COMPLETED;
+            try {
+                checkpoint.delete();
+            } catch (IOException e) {
+                log.warn("Kontrol noktası silinemedi: {}", e.getMessage());
+            }
+        }
+        job.finish(state, result, error);
+        running = null;
+        log.info("İçe aktarma işi {} bitti: {} ({} kayıt, %{} tamamlandı)",
+                job.getId(), state, job.getRecordsRead(), job.getProgress());
+    }
+
+    /**
+     * Grubu ayrıştırıcı havuzuna verir. Kuyruk doluysa yer açılana kadar bekler (geri basınç).
+     */
+    private void submit(BlockingQueue<Future<ParsedBatch>> queue, ExecutorService parsers, RecordParser parser,
+                        List<byte[]> raw, long firstNumber, long endOffset) throws InterruptedException {
+        queue.put(parsers.submit(() -> ParsedBatch.parse(parser, raw, firstNumber, endOffset, maxRecordBytes)));
+    }
+
+    private void remember(IngestJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            if (jobs.size() > MAX_JOB_HISTORY) {
+                jobs.remove(jobs.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * Ayrıştırılmış grup: geçerli kayıtlar, numaraları ve ayrıştırılamayan kayıtların hataları
+     */
+    private static final class ParsedBatch {
+
+        private final List<CatalogImportRecord> records;
+        private final long[] recordNumbers;
+        private final Map<Long, String> rejected;
+        private final long firstNumber;
+        private final long lastNumber;
+        private final long endOffset;
+
+        private ParsedBatch(List<CatalogImportRecord> records, long[] recordNumbers, Map<Long, String> rejected,
+                            long firstNumber, long lastNumber, long endOffset) {
+            this.records = records;
+            this.recordNumbers = recordNumbers;
+            this.rejected = rejected;
+            this.firstNumber = firstNumber;
+            this.lastNumber = lastNumber;
+            this.endOffset = endOffset;
+        }
+
+        static ParsedBatch parse(RecordParser parser, List<byte[]> raw, long firstNumber, long endOffset,
+                                 int maxRecordBytes) {
+            List<CatalogImportRecord> records = new ArrayList<>(raw.size());
+            long[] numbers = new long[raw.size()];
+            Map<Long, String> rejected = new LinkedHashMap<>();
+            for (int i = 0; i < raw.size(); i++) {
+                long number = firstNumber + i;
+                if (raw.get(i) == RecordReader.OVERSIZED) {
+                    rejected.put(number, "kayıt " + maxRecordBytes + " bayttan uzun (kapanmamış tırnak olabilir)");
+                    continue;
+                }
+                try {
+                    CatalogImportRecord record = parser.parse(raw.get(i));
+                    if (record != null) {
+                        numbers[records.size()] = number;
+                        records.add(record);
+                    }
+                } catch (RuntimeException e) {
+                    rejected.put(number, e.getMessage());
+                }
+            }
+            return new ParsedBatch(records, Arrays.copyOf(numbers, records.size()), rejected,
+                    firstNumber, firstNumber + raw.size() - 1, endOffset);
+        }
+    }
+
+    /**
+     * Yazıcı aşaması: grupları dosya sırasıyla yazar ve kontrol noktasını ilerletir
+     */
+    private static final class Writer implements Runnable {
+
+        private static final Future<ParsedBatch> END = new CompletableFuture<>();
+
+        private final IngestJob job;
+        private final CatalogImportSession session;
+        private final IngestCheckpoint checkpoint;
+        private final BlockingQueue<Future<ParsedBatch>> queue;
+
+        private volatile boolean stopped;
+        private volatile String error;
+
+        private Writer(IngestJob job, CatalogImportSession session, IngestCheckpoint checkpoint,
+                       BlockingQueue<Future<ParsedBatch>> queue) {
+            this.job = job;
+            this.session = session;
+            this.checkpoint = checkpoint;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Future<ParsedBatch> next = queue.take();
+                    if (next == END) {
+                        return;
+                    }
+                    if (stopped || job.isCancelRequested()) {
+                        // Okuyucunun kuyruğa put ederken takılı kalmaması için kuyruk boşaltılmaya devam edilir
+                        next.cancel(false);
+                        continue;
+                    }
+                    write(next.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Yazıcı kesildi");
+            } catch (ExecutionException e) {
+                log.error("İçe aktarma işi {} ayrıştırma hatası", job.getId(), e.getCause());
+                fail("Ayrıştırma hatası: " + e.getCause().getMessage());
+            } catch (IOException e) {
+                log.error("İçe aktarma işi {} kontrol noktası yazılamadı", job.getId(), e);
+                fail("Kontrol noktası yazılamadı: " + e.getMessage());
+            }
+            drain();
+        }
+
+        private void write(ParsedBatch batch) throws IOException {
+            for (Map.Entry<Long, String> rejection : batch.rejected.entrySet()) {
+                session.reject(rejection.getKey(), rejection.getValue());
+            }
+            if (!session.write(batch.records, batch.recordNumbers)) {
+                // Geri alınan parça (ör. geçici veritabanı hatası) atlanmaz: kontrol noktası parçanın
+                // önünde kalır ve iş durur; yeniden başlatılınca parça tekrar yazılır. Yalnızca kayıt
+                // bazında reddedilen kayıtlar ilerlemeye dahildir.
+                fail("Kayıt " + batch.firstNumber + "-" + batch.lastNumber
+                        + " yazılamadı; iş son kontrol noktasında durduruldu");
+                return;
+            }
+            checkpoint.save(batch.endOffset, batch.lastNumber);
+            job.progress(batch.endOffset, batch.lastNumber);
+        }
+
+        private void fail(String message) {
+            error = message;
+            stopped = true;
+        }
+
+        private void drain() {
+            try {
+                Future<ParsedBatch> next;
+                while ((next = queue.take()) != END) {
+                    next.cancel(false);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
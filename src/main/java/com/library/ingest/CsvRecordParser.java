@@ -0,0 +1,178 @@
+package com.library.ingest;
+
+import com.library.dto.CatalogImportRecord;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV Kayıt Ayrıştırıcısı
+ *
+ * RFC 4180 biçimindeki satırları başlık satırındaki sütun adlarına göre kitap kaydına
+ * dönüştürür. Sütun adları büyük/küçük harf, boşluk ve alt çizgiden bağımsız eşleşir
+ * (ör. "Publication Year" = publicationYear). Tanınmayan sütunlar yok sayılır.
+ * Kategoriler tek sütunda '|' ile ayrılır.
+ */
+final class CsvRecordParser implements RecordParser {
+
+    private static final char QUOTE = '"';
+    private static final String CATEGORY_SEPARATOR = "\\|";
+
+    private final char delimiter;
+    private final String[] columns;
+
+    /**
+     * @param header Başlık satırı baytları
+     * @param delimiter Alan ayırıcı
+     * @throws IllegalArgumentException title veya isbn sütunu yoksa
+     */
+    CsvRecordParser(byte[] header, char delimiter) {
+        this.delimiter = delimiter;
+        String line = new String(header, StandardCharsets.UTF_8);
+        if (line.startsWith("\uFEFF")) {
+            line = line.substring(1);
+        }
+        List<String> names = split(line, delimiter);
+        this.columns = new String[names.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = normalize(names.get(i));
+        }
+        List<String> known = Arrays.asList(columns);
+        if (!known.contains("title") || !known.contains("isbn")) {
+            throw new IllegalArgumentException("CSV başlığında title ve isbn sütunları bulunmalıdır: " + line);
+        }
+    }
+
+    @Override
+    public CatalogImportRecord parse(byte[] raw) {
+        if (raw.length == 0) {
+            return null;
+        }
+        List<String> values = split(new String(raw, StandardCharsets.UTF_8), delimiter);
+        CatalogImportRecord record = new CatalogImportRecord();
+        record.setType(CatalogImportRecord.TYPE_BOOK);
+        for (int i = 0; i < columns.length && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                apply(record, columns[i], value);
+            }
+        }
+        return record;
+    }
+
+    private static void apply(CatalogImportRecord record, String column, String value) {
+        switch (column) {
+            case "title":
+                record.setTitle(value);
+                break;
+            case "isbn":
+                record.setIsbn(value.replace("-", ""));
+                break;
+            case "description":
+                record.setDescription(value);
+                break;
+            case "pagecount":
+            case "pages":
+                record.setPageCount(parseInteger(column, value));
+                break;
+            case "publicationyear":
+            case "year":
+                record.setPublicationYear(parseInteger(column, value));
+                break;
+            case "publisher":
+                record.setPublisher(value);
+                break;
+            case "language":
+                record.setLanguage(value);
+                break;
+            case "price":
+                try {
+                    record.setPrice(new BigDecimal(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(column + ": sayı değil: " + value);
+                }
+                break;
+            case "status":
+                record.setStatus(value);
+                break;
+            case "location":
+                record.setLocation(value);
+                break;
+            case "coverimageurl":
+                record.setCoverImageUrl(value);
+                break;
+            case "author":
+            case "authorname":
+                record.setAuthorName(value);
+                break;
+            case "category":
+            case "categories":
+                for (String category : value.split(CATEGORY_SEPARATOR)) {
+                    if (!category.isBlank()) {
+                        record.getCategories().add(category.trim());
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static Integer parseInteger(String column, String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + ": tam sayı değil: " + value);
+        }
+    }
+
+    /**
+     * Satırı alanlara böler. Tırnak yalnızca alanın başında tırnaklı alan açar; tırnaklı alanlarda
+     * ayırıcı ve satır sonu veri kabul edilir, "" tek tırnağa dönüşür. Alanın ortasındaki tırnak
+     * veridir ({@link RecordReader} kayıtları aynı kuralla böler).
+     */
+    static List<String> split(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean fieldStart = true;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            boolean atStart = fieldStart;
+            fieldStart = false;
+            if (inQuotes) {
+                if (c == QUOTE) {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                        field.append(QUOTE);
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == QUOTE && atStart) {
+                inQuotes = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (inQuotes) {
+            throw new IllegalArgumentException("Kapanmamış tırnak");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String normalize(String column) {
+        return column.trim().toLowerCase(Locale.ROOT).replace(" ", "").replace("_", "").replace("-", "");
+    }
+}
@@ -0,0 +1,111 @@
+package com.library.ingest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * İçe Aktarma Kontrol Noktası
+ *
+ * Commit edilen son parçanın bittiği bayt konumunu ve kayıt numarasını kaynak dosyanın
+ * yanındaki "&lt;dosya&gt;.ckpt" dosyasında tutar. Dosya önce geçici ada yazılıp atomik olarak
+ * taşındığı için yarım kalmış bir kontrol noktası okunmaz. Kaynak dosyanın boyutu veya
+ * değişiklik zamanı farklıysa kontrol noktası geçersiz sayılır ve baştan başlanır.
+ */
+final class IngestCheckpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestCheckpoint.class);
+
+    private static final String SUFFIX = ".ckpt";
+
+    private final Path file;
+    private final Path checkpointFile;
+    private final long size;
+    private final long lastModified;
+
+    private long offset;
+    private long records;
+
+    private IngestCheckpoint(Path file, long size, long lastModified) {
+        this.file = file;
+        this.checkpointFile = file.resolveSibling(file.getFileName() + SUFFIX);
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Dosya için kontrol noktasını yükler; yoksa veya dosya değiştiyse sıfırdan başlar
+     * @param file Kaynak dosya
+     * @return Kontrol noktası
+     * @throws IOException Dosya bilgisi okunamazsa
+     */
+    static IngestCheckpoint load(Path file) throws IOException {
+        IngestCheckpoint checkpoint = new IngestCheckpoint(file, Files.size(file),
+                Files.getLastModifiedTime(file).toMillis());
+        if (!Files.exists(checkpoint.checkpointFile)) {
+            return checkpoint;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(checkpoint.checkpointFile)) {
+            properties.load(in);
+            long savedSize = Long.parseLong(properties.getProperty("size", "-1"));
+            long savedModified = Long.parseLong(properties.getProperty("lastModified", "-1"));
+            if (savedSize == checkpoint.size && savedModified == checkpoint.lastModified) {
+                checkpoint.offset = Long.parseLong(properties.getProperty("offset", "0"));
+                checkpoint.records = Long.parseLong(properties.getProperty("records", "0"));
+            } else {
+                log.warn("Kaynak dosya değişmiş, kontrol noktası yok sayılıyor: {}", checkpoint.checkpointFile);
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Kontrol noktası okunamadı, baştan başlanıyor: {} - {}", checkpoint.checkpointFile, e.getMessage());
+            checkpoint.offset = 0;
+            checkpoint.records = 0;
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Yeni konumu kaydeder
+     * @param offset Commit edilen son kaydın bittiği bayt konumu
+     * @param records O konuma kadar okunan kayıt sayısı
+     * @throws IOException Yazma hatası
+     */
+    void save(long offset, long records) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("file", file.getFileName().toString());
+        properties.setProperty("size", Long.toString(size));
+        properties.setProperty("lastModified", Long.toString(lastModified));
+        properties.setProperty("offset", Long.toString(offset));
+        properties.setProperty("records", Long.toString(records));
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, null);
+        }
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.offset = offset;
+        this.records = records;
+    }
+
+    /**
+     * İçe aktarma tamamlandığında kontrol noktasını siler
+     * @throws IOException Silme hatası
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(checkpointFile);
+    }
+
+    long offset() {
+        return offset;
+    }
+
+    long records() {
+        return records;
+    }
+}
@@ -0,0 +1,63 @@
+package com.library.ingest;
+
+import java.util.Locale;
+
+/**
+ * İçe Aktarma Dosya Biçimi
+ *
+ * Her biçim kayıtları ayıran bayt ile tanımlanır. CSV'de tırnak içindeki satır sonları
+ * kaydı bölmez; MARC21'de kayıtlar 0x1D (record terminator) ile biter.
+ */
+public enum IngestFormat {
+
+    /**
+     * Başlık satırlı, virgülle ayrılmış değerler (RFC 4180, UTF-8)
+     */
+    CSV((byte) '\n', true),
+
+    /**
+     * MARC21 ikili kayıtları (ISO 2709)
+     */
+    MARC21((byte) 0x1D, false);
+
+    private final byte terminator;
+    private final boolean quoted;
+
+    IngestFormat(byte terminator, boolean quoted) {
+        this.terminator = terminator;
+        this.quoted = quoted;
+    }
+
+    byte terminator() {
+        return terminator;
+    }
+
+    boolean quoted() {
+        return quoted;
+    }
+
+    /**
+     * Parametre değerinden biçimi çözer; boşsa dosya uzantısına bakar
+     * @param value "csv" veya "marc" (büyük/küçük harf duyarsız, opsiyonel)
+     * @param fileName Dosya adı
+     * @return Biçim
+     * @throws IllegalArgumentException Biçim belirlenemezse
+     */
+    public static IngestFormat resolve(String value, String fileName) {
+        String key = value;
+        if (key == null || key.isBlank()) {
+            int dot = fileName.lastIndexOf('.');
+            key = dot >= 0 ? fileName.substring(dot + 1) : "";
+        }
+        switch (key.trim().toLowerCase(Locale.ROOT)) {
+            case "csv":
+                return CSV;
+            case "marc":
+            case "marc21":
+            case "mrc":
+                return MARC21;
+            default:
+                throw new IllegalArgumentException("Geçersiz içe aktarma biçimi: " + key + " (csv, marc21)");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.library.ingest;
+
+import com.library.dto.CatalogImportResult;
+
+import java.time.LocalDateTime;
+
+/**
+ * İçe Aktarma İşi
+ *
+ * Arka planda çalışan bir dosya içe aktarmasının durumunu taşır. Alanlar pipeline
+ * thread'leri tarafından güncellenir ve API üzerinden okunur.
+ */
+public class IngestJob {
+
+    /**
+     * İş durumu
+     */
+    public enum State {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    private final String id;
+    private final String file;
+    private final IngestFormat format;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long totalBytes;
+    private final long resumedFromRecord;
+
+    private volatile State state = State.RUNNING;
+    private volatile long bytesCommitted;
+    private volatile long recordsRead;
+    private volatile LocalDateTime finishedAt;
+    private volatile CatalogImportResult result;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+
+    IngestJob(String id, String file, IngestFormat format, long totalBytes, long resumedFromRecord) {
+        this.id = id;
+        this.file = file;
+        this.format = format;
+        this.totalBytes = totalBytes;
+        this.resumedFromRecord = resumedFromRecord;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public IngestFormat getFormat() {
+        return format;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesCommitted() {
+        return bytesCommitted;
+    }
+
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    public long getResumedFromRecord() {
+        return resumedFromRecord;
+    }
+
+    /**
+     * Commit edilen bayt oranı (yüzde)
+     * @return 0-100 arası ilerleme
+     */
+    public double getProgress() {
+        return totalBytes == 0 ? 100.0 : Math.round(bytesCommitted * 1000.0 / totalBytes) / 10.0;
+    }
+
+    public CatalogImportResult getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void progress(long bytesCommitted, long recordsRead) {
+        this.bytesCommitted = bytesCommitted;
+        this.recordsRead = recordsRead;
+    }
+
+    void finish(State state, CatalogImportResult result, String error) {
+        this.result = result;
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.state = state;
+    }
+}
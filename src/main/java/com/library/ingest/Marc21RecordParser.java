@@ -0,0 +1,219 @@
+package com.library.ingest;
+
+import com.library.dto.CatalogImportRecord;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * MARC21 Kayıt Ayrıştırıcısı
+ *
+ * ISO 2709 kaydını lider, dizin ve değişken alanlara ayırır ve kitap kaydına dönüştürür.
+ * Leader[9] 'a' ise içerik UTF-8, değilse ISO-8859-1 kabul edilir (MARC-8 desteklenmez).
+ * Kullanılan alanlar: 020$a ISBN, 100$a yazar, 245$a$b başlık, 260/264 $b yayınevi ve $c yıl,
+ * 300$a sayfa, 520$a açıklama, 650$a kategori, 008 yıl ve dil.
+ */
+final class Marc21RecordParser implements RecordParser {
+
+    private static final int LEADER_LENGTH = 24;
+    private static final int DIRECTORY_ENTRY_LENGTH = 12;
+    private static final byte FIELD_TERMINATOR = 0x1E;
+    private static final byte SUBFIELD_DELIMITER = 0x1F;
+
+    private static final int MAX_TITLE = 200;
+    private static final int MAX_DESCRIPTION = 1000;
+    private static final int MAX_CATEGORY = 50;
+
+    @Override
+    public CatalogImportRecord parse(byte[] raw) {
+        int length = raw.length;
+        while (length > 0 && (raw[length - 1] == '\n' || raw[length - 1] == '\r')) {
+            length--;
+        }
+        int start = 0;
+        while (start < length && (raw[start] == '\n' || raw[start] == '\r')) {
+            start++;
+        }
+        if (start == length) {
+            return null;
+        }
+        if (length - start < LEADER_LENGTH) {
+            throw new IllegalArgumentException("MARC kaydı lider uzunluğundan kısa");
+        }
+        Charset charset = raw[start + 9] == 'a' ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1;
+        int baseAddress = start + digits(raw, start + 12, 5);
+
+        CatalogImportRecord record = new CatalogImportRecord();
+        record.setType(CatalogImportRecord.TYPE_BOOK);
+        String fixedData = null;
+        String title = null;
+        String subtitle = null;
+        for (int entry = start + LEADER_LENGTH;
+             entry + DIRECTORY_ENTRY_LENGTH <= length && raw[entry] != FIELD_TERMINATOR;
+             entry += DIRECTORY_ENTRY_LENGTH) {
+            String tag = new String(raw, entry, 3, StandardCharsets.US_ASCII);
+            int fieldLength = digits(raw, entry + 3, 4);
+            int fieldStart = baseAddress + digits(raw, entry + 7, 5);
+            int fieldEnd = Math.min(fieldStart + fieldLength, length);
+            if (fieldStart >= fieldEnd) {
+                throw new IllegalArgumentException("MARC dizininde geçersiz alan konumu: " + tag);
+            }
+            if (raw[fieldEnd - 1] == FIELD_TERMINATOR) {
+                fieldEnd--;
+            }
+            switch (tag) {
+                case "008":
+                    fixedData = new String(raw, fieldStart, fieldEnd - fieldStart, charset);
+                    break;
+                case "020":
+                    if (record.getIsbn() == null) {
+                        record.setIsbn(isbn(subfield(raw, fieldStart, fieldEnd, 'a', charset)));
+                    }
+                    break;
+                case "100":
+                    record.setAuthorName(trimPunctuation(subfield(raw, fieldStart, fieldEnd, 'a', charset)));
+                    break;
+                case "245":
+                    title = subfield(raw, fieldStart, fieldEnd, 'a', charset);
+                    subtitle = subfield(raw, fieldStart, fieldEnd, 'b', charset);
+                    break;
+                case "260":
+                case "264":
+                    if (record.getPublisher() == null) {
+                        record.setPublisher(trimPunctuation(subfield(raw, fieldStart, fieldEnd, 'b', charset)));
+                    }
+                    if (record.getPublicationYear() == null) {
+                        record.setPublicationYear(year(subfield(raw, fieldStart, fieldEnd, 'c', charset)));
+                    }
+                    break;
+                case "300":
+                    record.setPageCount(leadingNumber(subfield(raw, fieldStart, fieldEnd, 'a', charset)));
+                    break;
+                case "520":
+                    record.setDescription(truncate(subfield(raw, fieldStart, fieldEnd, 'a', charset), MAX_DESCRIPTION));
+                    break;
+                case "650":
+                    String category = truncate(trimPunctuation(subfield(raw, fieldStart, fieldEnd, 'a', charset)), MAX_CATEGORY);
+                    if (category != null && !record.getCategories().contains(category)) {
+                        record.getCategories().add(category);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        title = trimPunctuation(title);
+        subtitle = trimPunctuation(subtitle);
+        if (title != null && subtitle != null) {
+            title = title + ": " + subtitle;
+        }
+        record.setTitle(truncate(title, MAX_TITLE));
+        if (fixedData != null && fixedData.length() >= 38) {
+            if (record.getPublicationYear() == null) {
+                record.setPublicationYear(year(fixedData.substring(7, 11)));
+            }
+            String language = fixedData.substring(35, 38).trim();
+            if (!language.isEmpty() && !"|||".equals(language)) {
+                record.setLanguage(language);
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Alanın ilk eşleşen alt alanını döndürür
+     */
+    private static String subfield(byte[] raw, int from, int to, char code, Charset charset) {
+        for (int i = from; i < to - 1; i++) {
+            if (raw[i] == SUBFIELD_DELIMITER && raw[i + 1] == code) {
+                int end = i + 2;
+                while (end < to && raw[end] != SUBFIELD_DELIMITER) {
+                    end++;
+                }
+                String value = new String(raw, i + 2, end - i - 2, charset).trim();
+                return value.isEmpty() ? null : value;
+            }
+        }
+        return null;
+    }
+
+    private static int digits(byte[] raw, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            if (i >= raw.length || raw[i] < '0' || raw[i] > '9') {
+                throw new IllegalArgumentException("MARC lider/dizininde sayı bekleniyordu");
+            }
+            value = value * 10 + (raw[i] - '0');
+        }
+        return value;
+    }
+
+    /**
+     * "978-0-306-40615-7 (ciltli)" gibi değerlerden ISBN rakamlarını çıkarır
+     */
+    private static String isbn(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(13);
+        for (int i = 0; i < value.length() && digits.length() < 13; i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c) || ((c == 'X' || c == 'x') && digits.length() == 9)) {
+                digits.append(Character.toUpperCase(c));
+            } else if (c != '-' && c != ' ' && digits.length() > 0) {
+                break;
+            }
+        }
+        return digits.length() == 10 || digits.length() == 13 ? digits.toString() : null;
+    }
+
+    private static Integer year(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (int i = 0; i + 4 <= value.length(); i++) {
+            String candidate = value.substring(i, i + 4);
+            if (candidate.chars().allMatch(Character::isDigit)) {
+                return Integer.valueOf(candidate);
+            }
+        }
+        return null;
+    }
+
+    private static Integer leadingNumber(String value) {
+        if (value == null) {
+            return null;
+        }
+        int number = 0;
+        int digits = 0;
+        for (int i = 0; i < value.length() && digits < 6; i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c)) {
+                number = number * 10 + (c - '0');
+                digits++;
+            } else if (digits > 0) {
+                break;
+            }
+        }
+        return number > 0 ? number : null;
+    }
+
+    /**
+     * ISBD noktalamasını (" /", " :", ".", ",", ";") sondan temizler
+     */
+    private static String trimPunctuation(String value) {
+        if (value == null) {
+            return null;
+        }
+        int end = value.length();
+        while (end > 0 && "/:;,. ".indexOf(value.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return end == 0 ? null : value.substring(0, end);
+    }
+
+    private static String truncate(String value, int max) {
+        return value != null && value.length() > max ? value.substring(0, max) : value;
+    }
+}
@@ -0,0 +1,18 @@
+package com.library.ingest;
+
+import com.library.dto.CatalogImportRecord;
+
+/**
+ * Ham kaydı içe aktarma kaydına dönüştüren ayrıştırıcı.
+ * Uygulamalar durumsuz olmalıdır; aynı örnek birden fazla işçi thread'inde kullanılır.
+ */
+interface RecordParser {
+
+    /**
+     * Ham kaydı ayrıştırır
+     * @param raw Kayıt baytları (ayırıcı hariç)
+     * @return İçe aktarma kaydı; kayıt boşsa null
+     * @throws IllegalArgumentException Kayıt ayrıştırılamazsa
+     */
+    CatalogImportRecord parse(byte[] raw);
+}
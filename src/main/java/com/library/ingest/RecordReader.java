@@ -0,0 +1,155 @@
+package com.library.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * NIO Kayıt Okuyucu
+ *
+ * Dosyayı FileChannel ve sabit boyutlu doğrudan (direct) ByteBuffer ile okur ve biçimin
+ * ayırıcı baytına göre ham kayıtlara böler. Her kaydın bittiği bayt konumu bilindiği için
+ * içe aktarma kaldığı yerden devam ettirilebilir. Ayırıcılar ASCII olduğundan UTF-8 çok baytlı
+ * karakterlerin ortasında bölünme olmaz.
+ *
+ * CSV'de tırnak yalnızca alanın başında tırnaklı alan açar ({@link CsvRecordParser} ile aynı
+ * kural); alanın ortasındaki tırnak veridir ve kaydı uzatmaz. Dosya başındaki UTF-8 BOM kayda
+ * dahil edilir ama ilk alanın başlangıcını kaydırmaz. Kayıtlar en fazla max-record-bytes
+ * uzunluktadır: sınırı aşan kaydın geri kalanı, tırnaklar yok sayılarak ilk ayırıcı bayta kadar
+ * atlanır ve kayıt yerine {@link #OVERSIZED} döner. Böylece kapanmamış bir tırnak dosyanın
+ * geri kalanını belleğe tek kayıt olarak okutmaz. Thread-safe değildir.
+ */
+final class RecordReader implements Closeable {
+
+    /**
+     * En büyük kayıt uzunluğunu aşan kayıt yerine döner (içeriği okunmaz)
+     */
+    static final byte[] OVERSIZED = new byte[0];
+
+    private static final byte QUOTE = '"';
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte terminator;
+    private final boolean quoted;
+    private final byte delimiter;
+    private final int maxRecordBytes;
+
+    private byte[] record = new byte[512];
+    private int length;
+    private boolean oversized;
+    private long position;
+
+    /**
+     * @param file Dosya
+     * @param startOffset Okumaya başlanacak bayt konumu
+     * @param format Biçim
+     * @param delimiter CSV alan ayırıcı (ASCII)
+     * @param bufferBytes Okuma tamponu boyutu
+     * @param maxRecordBytes En büyük kayıt uzunluğu (bayt)
+     * @throws IOException Dosya açılamazsa
+     */
+    RecordReader(Path file, long startOffset, IngestFormat format, char delimiter, int bufferBytes,
+                 int maxRecordBytes) throws IOException {
+        if (maxRecordBytes < 1) {
+            throw new IllegalArgumentException("En büyük kayıt uzunluğu pozitif olmalıdır");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.channel.position(startOffset);
+        this.position = startOffset;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(4096, bufferBytes));
+        this.buffer.flip();
+        this.terminator = format.terminator();
+        this.quoted = format.quoted();
+        this.delimiter = (byte) delimiter;
+        this.maxRecordBytes = maxRecordBytes;
+    }
+
+    /**
+     * Sonraki ham kaydı okur (ayırıcı bayt hariç; CSV'de sondaki '\r' de atılır)
+     * @return Kayıt baytları; kayıt çok uzunsa {@link #OVERSIZED}; dosya sonunda null
+     * @throws IOException Okuma hatası
+     */
+    byte[] next() throws IOException {
+        length = 0;
+        oversized = false;
+        boolean read = false;
+        boolean inQuotes = false;
+        boolean fieldStart = true;
+        boolean quoteClosed = false;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int count = channel.read(buffer);
+                buffer.flip();
+                if (count <= 0) {
+                    return read ? finish() : null;
+                }
+            }
+            byte b = buffer.get();
+            position++;
+            read = true;
+            if (b == terminator && (!inQuotes || oversized)) {
+                return finish();
+            }
+            if (oversized) {
+                continue;
+            }
+            // Dosya başındaki UTF-8 BOM ilk alanın başlangıcını kaydırmaz; BOM'u ayrıştırıcı atar
+            boolean bom = fieldStart && position <= BOM.length && b == BOM[(int) position - 1];
+            if (quoted && !bom) {
+                if (b == QUOTE) {
+                    if (inQuotes) {
+                        inQuotes = false;
+                        quoteClosed = true;
+                    } else if (fieldStart || quoteClosed) {
+                        // Alan başı ya da kaçışlı tırnağın ("") ikincisi; ortadaki tırnak veridir
+                        inQuotes = true;
+                        quoteClosed = false;
+                    }
+                    fieldStart = false;
+                } else if (!inQuotes) {
+                    fieldStart = b == delimiter;
+                    quoteClosed = false;
+                }
+            }
+            if (length == maxRecordBytes) {
+                oversized = true;
+                continue;
+            }
+            if (length == record.length) {
+                record = Arrays.copyOf(record, Math.min(record.length << 1, maxRecordBytes));
+            }
+            record[length++] = b;
+        }
+    }
+
+    /**
+     * Son okunan kaydın bittiği (sonraki kaydın başladığı) bayt konumunu döndürür
+     * @return Dosya konumu
+     */
+    long offset() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private byte[] finish() {
+        if (oversized) {
+            return OVERSIZED;
+        }
+        int end = length;
+        if (quoted && end > 0 && record[end - 1] == '\r') {
+            end--;
+        }
+        return Arrays.copyOf(record, end);
+    }
+}
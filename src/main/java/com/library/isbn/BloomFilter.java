@@ -0,0 +1,97 @@
+package com.library.isbn;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom Filtresi
+ *
+ * Metin değerleri için olasılıksal üyelik kümesi. {@link #mightContain(String)} false dönerse
+ * değer kesinlikle eklenmemiştir; true dönerse yapılandırılan hata oranıyla eklenmiş olabilir.
+ * Bitler {@link AtomicLongArray} içinde tutulur; ekleme ve sorgulama kilitsiz ve thread-safe'dir.
+ * Silme desteklenmez, silinen değerler yeniden oluşturmaya kadar yanlış pozitif üretir.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Beklenen eleman sayısı ve hata oranına göre bit dizisi ve hash sayısını belirler
+     * @param expectedInsertions Beklenen eleman sayısı
+     * @param falsePositiveRate Hedef yanlış pozitif oranı (0-1 arası)
+     */
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0) {
+            throw new IllegalArgumentException("Yanlış pozitif oranı 0 ile 1 arasında olmalıdır: " + falsePositiveRate);
+        }
+        long n = Math.max(1L, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = Math.toIntExact(Math.max(1L, (bits + 63) >>> 6));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Değeri filtreye ekler
+     * @param value Değer
+     */
+    void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+    }
+
+    /**
+     * Değerin eklenmiş olabileceğini kontrol eder
+     * @param value Değer
+     * @return Kesinlikle yoksa false
+     */
+    boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * FNV-1a ile UTF-8 baytlarını özetler ve SplitMix64 ile karıştırır
+     */
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,303 @@
+package com.library.isbn;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.datasource.PrimaryReadTransactionTemplate;
+import com.library.entity.Book;
+import com.library.event.EntityChangesCommittedEvent;
+import com.library.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ISBN Kayıt Filtresi
+ *
+ * Katalogdaki tüm ISBN'leri bir Bloom filtresinde tutar. Filtre "yok" diyorsa ISBN
+ * veritabanında kesinlikle yoktur ve sorgu atlanır; "olabilir" diyorsa veritabanına gidilir.
+ * Filtrenin yanlış pozitif ürettiği ISBN'ler kısa süreli bir negatif cache'te tutulur,
+ * böylece aynı olmayan ISBN'in tekrar taranması da veritabanına gitmez.
+ *
+ * Filtre uygulama açılışında ve periyodik olarak BookRepository'den yeniden oluşturulur
+ * (silinen ve değişen ISBN'ler ancak bu sırada temizlenir). Bu örnekteki yeni ISBN'ler hem
+ * servis üzerinden kayıt sırasında hem de commit sonrasındaki değişiklik olayıyla eklenir.
+ * Diğer uygulama örneklerinin yazmaları books tablosu birkaç saniyede bir yoklanarak öğrenilir:
+ * son görülen ID'den büyük kayıtlar (tüm eklemeler) ve son yoklamadan beri updated_at'i değişen
+ * kayıtlar (ISBN değişiklikleri). updated_at penceresi geç commit edilen transaction'lar ve saat
+ * farkları için bir örtüşme süresiyle geriden başlar. Böylece başka örnekte eklenen bir kitap
+ * için filtre en fazla yoklama aralığı kadar "yok" der; negatif kayıt da bu sırada silinir.
+ * Filtre hazır olana kadar tüm ISBN'ler "olabilir" kabul edilir.
+ */
+@Component
+public class IsbnRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(IsbnRegistry.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readTransaction;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Cache<String, Boolean> negatives;
+    private final Duration pollOverlap;
+
+    /**
+     * Her eklemede ve yeniden oluşturmada artar; negatif sonuç kaydı bununla doğrulanır
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile BloomFilter filter;
+    private BloomFilter building;
+    private volatile boolean ready;
+
+    /**
+     * Yeniden oluşturma ve yoklamayı sıralar; filtreye eklemeleri (add) bekletmez
+     */
+    private final Object scanLock = new Object();
+    private long idWatermark;
+    private LocalDateTime changesSince;
+
+    @Autowired
+    public IsbnRegistry(BookRepository bookRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${library.isbn.expected-insertions:100000}") long expectedInsertions,
+                        @Value("${library.isbn.false-positive-rate:0.01}") double falsePositiveRate,
+                        @Value("${library.isbn.negative-cache-size:10000}") long negativeCacheSize,
+                        @Value("${library.isbn.negative-ttl-ms:60000}") long negativeTtlMillis,
+                        @Value("${library.isbn.poll-overlap-ms:30000}") long pollOverlapMillis) {
+        if (pollOverlapMillis < 0) {
+            throw new IllegalArgumentException("ISBN yoklama örtüşme süresi negatif olamaz");
+        }
+        this.bookRepository = bookRepository;
+        this.readTransaction = new PrimaryReadTransactionTemplate(transactionManager);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.negatives = Caffeine.newBuilder()
+                .maximumSize(negativeCacheSize)
+                .expireAfterWrite(Duration.ofMillis(negativeTtlMillis))
+                .build();
+        this.pollOverlap = Duration.ofMillis(pollOverlapMillis);
+    }
+
+    /**
+     * ISBN'in katalogda bulunabileceğini kontrol eder
+     * @param isbn ISBN numarası
+     * @return Kesinlikle yoksa false; filtre hazır değilse her zaman true
+     */
+    public boolean mightExist(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+        if (!ready) {
+            return true;
+        }
+        return negatives.getIfPresent(isbn) == null && filter.mightContain(isbn);
+    }
+
+    /**
+     * Negatif sonuç kaydı için sürüm damgasını döndürür; veritabanı sorgusundan önce alınmalıdır
+     * @return Sürüm
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Veritabanında bulunamayan ISBN'i negatif cache'e ekler. Sorgu başladıktan sonra
+     * herhangi bir ISBN eklendiyse sonuç eskimiş olabileceği için kaydedilmez.
+     * @param isbn ISBN numarası
+     * @param versionAtLookup Sorgudan önce alınan {@link #version()} değeri
+     */
+    public void recordMiss(String isbn, long versionAtLookup) {
+        if (isbn != null && ready && version.get() == versionAtLookup) {
+            negatives.put(isbn, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * ISBN'i filtreye ekler ve varsa negatif kaydını siler.
+     * Transaction geri alınırsa ISBN yalnızca yanlış pozitif olarak kalır.
+     * @param isbn ISBN numarası
+     */
+    public void add(String isbn) {
+        if (isbn == null) {
+            return;
+        }
+        synchronized (this) {
+            filter.put(isbn);
+            if (building != null) {
+                building.put(isbn);
+            }
+        }
+        version.incrementAndGet();
+        negatives.invalidate(isbn);
+    }
+
+    /**
+     * Verilen ISBN'lerden katalogda bulunabilecek olanları döndürür (toplu ön kontrol)
+     * @param isbns ISBN numaraları
+     * @return Veritabanında doğrulanması gereken adaylar
+     */
+    public List<String> candidates(Collection<String> isbns) {
+        List<String> result = new ArrayList<>();
+        for (String isbn : isbns) {
+            if (mightExist(isbn)) {
+                result.add(isbn);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Commit edilen kitap değişikliklerinin ISBN'lerini filtreye ekler.
+     * Servisi atlayan yazmalar (ör. DataLoader) da bu yolla filtreye girer.
+     * @param event Değişiklik olayı
+     */
+    @EventListener
+    public void onEntityChanges(EntityChangesCommittedEvent event) {
+        Set<Long> ids = event.idsOf(Book.class);
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<String> isbns = readTransaction.execute(status -> bookRepository.findIsbnsByIdIn(ids));
+        if (isbns != null) {
+            isbns.forEach(this::add);
+        }
+    }
+
+    /**
+     * Uygulama hazır olduğunda filtreyi oluşturur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Filtreyi veritabanından yeniden oluşturur. Tarama sırasında eklenen ISBN'ler
+     * hem eski hem yeni filtreye yazılır; tarama bitince yeni filtre devreye girer.
+     */
+    @Scheduled(fixedDelayString = "${library.isbn.rebuild-interval-ms:3600000}",
+               initialDelayString = "${library.isbn.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (scanLock) {
+            scan();
+        }
+    }
+
+    /**
+     * Diğer uygulama örneklerinde eklenen veya ISBN'i değişen kitapları filtreye ekler
+     */
+    @Scheduled(fixedDelayString = "${library.isbn.poll-interval-ms:5000}",
+               initialDelayString = "${library.isbn.poll-interval-ms:5000}")
+    public void poll() {
+        synchronized (scanLock) {
+            if (!ready) {
+                return;
+            }
+            LocalDateTime pollStart = LocalDateTime.now();
+            int learned = 0;
+            while (true) {
+                long lastId = idWatermark;
+                List<Object[]> rows = readTransaction.execute(status ->
+                        bookRepository.findIsbnsAfter(lastId, PageRequest.of(0, BATCH_SIZE)));
+                if (rows == null || rows.isEmpty()) {
+                    break;
+                }
+                for (Object[] row : rows) {
+                    learned += learn((String) row[1]);
+                    idWatermark = Math.max(idWatermark, ((Number) row[0]).longValue());
+                }
+            }
+            LocalDateTime since = changesSince;
+            List<String> changed = readTransaction.execute(status -> bookRepository.findIsbnsUpdatedSince(since));
+            if (changed != null) {
+                for (String isbn : changed) {
+                    learned += learn(isbn);
+                }
+            }
+            changesSince = pollStart.minus(pollOverlap);
+            if (learned > 0) {
+                log.debug("ISBN filtresine başka örneklerden {} ISBN eklendi", learned);
+            }
+        }
+    }
+
+    /**
+     * ISBN filtrede yoksa veya negatif cache'teyse ekler; bilinen ISBN'ler için sürüm artırılmaz
+     * @return Eklendiyse 1, zaten biliniyorsa 0
+     */
+    private int learn(String isbn) {
+        if (isbn == null || (filter.mightContain(isbn) && negatives.getIfPresent(isbn) == null)) {
+            return 0;
+        }
+        add(isbn);
+        return 1;
+    }
+
+    private void scan() {
+        long start = System.currentTimeMillis();
+        LocalDateTime scanStart = LocalDateTime.now();
+        Long total = readTransaction.execute(status -> bookRepository.count());
+        long capacity = Math.max(expectedInsertions, (total != null ? total : 0L) * 2);
+        BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+        synchronized (this) {
+            building = next;
+        }
+
+        long count = 0;
+        long afterId = 0L;
+        try {
+            while (true) {
+                long lastId = afterId;
+                List<Object[]> rows = readTransaction.execute(status ->
+                        bookRepository.findIsbnsAfter(lastId, PageRequest.of(0, BATCH_SIZE)));
+                if (rows == null || rows.isEmpty()) {
+                    break;
+                }
+                for (Object[] row : rows) {
+                    if (row[1] != null) {
+                        next.put((String) row[1]);
+                        count++;
+                    }
+                    afterId = Math.max(afterId, ((Number) row[0]).longValue());
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                building = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            filter = next;
+            building = null;
+        }
+        idWatermark = afterId;
+        changesSince = scanStart.minus(pollOverlap);
+        version.incrementAndGet();
+        negatives.invalidateAll();
+        ready = true;
+        log.info("ISBN filtresi oluşturuldu: {} ISBN, {} bit, {} hash ({} ms)",
+                count, next.bitCount(), next.hashCount(), System.currentTimeMillis() - start);
+    }
+}
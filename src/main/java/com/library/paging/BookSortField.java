@@ -0,0 +1,71 @@
+package com.library.paging;
+
+import com.library.entity.Book;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Keyset Sayfalamada Kullanılabilen Sıralama Alanları
+ *
+ * Her alan (alan, id) çiftiyle sıralanır; id eşitlikleri bozduğu için sıralama her zaman kesindir.
+ * Yalnızca boş olamayan kolonlar listelenir, aksi halde NULL değerler imleç karşılaştırmasında kaybolur.
+ */
+public enum BookSortField {
+
+    ID("id", Book::getId, Long::valueOf),
+    TITLE("title", Book::getTitle, value -> value),
+    ISBN("isbn", Book::getIsbn, value -> value),
+    CREATED_AT("createdAt", Book::getCreatedAt, LocalDateTime::parse);
+
+    private final String attribute;
+    private final Function<Book, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    BookSortField(String attribute, Function<Book, Comparable<?>> extractor, Function<String, Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    /**
+     * Entity'deki alan adını döndürür
+     * @return JPA alan adı
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Kitabın bu alandaki değerini döndürür
+     * @param book Kitap
+     * @return Alan değeri
+     */
+    public Comparable<?> valueOf(Book book) {
+        return extractor.apply(book);
+    }
+
+    /**
+     * İmleçte metin olarak saklanan değeri alan tipine çevirir
+     * @param value Metin değer
+     * @return Alan değeri
+     */
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    /**
+     * İstek parametresindeki alan adını çözer ("title", "createdAt" veya "CREATED_AT")
+     * @param parameter Alan adı
+     * @return Sıralama alanı
+     */
+    public static BookSortField fromParameter(String parameter) {
+        for (BookSortField field : values()) {
+            if (field.attribute.equalsIgnoreCase(parameter) || field.name().equalsIgnoreCase(parameter)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Geçersiz sıralama alanı: " + parameter
+                + " (kullanılabilir: id, title, isbn, createdAt)");
+    }
+}
@@ -0,0 +1,53 @@
+package com.library.paging;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * İmleç Tabanlı Sayfa
+ *
+ * Sayfanın içeriğini ve bir sonraki sayfayı istemek için kullanılacak opak token'ı taşır.
+ * Toplam kayıt sayısı hesaplanmaz; son sayfada nextCursor null'dır.
+ *
+ * @param <T> İçerik tipi
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final int size;
+
+    public CursorPage(List<T> content, String nextCursor, int size) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+
+    /**
+     * İçeriği başka bir tipe dönüştürür, imleci korur
+     * @param mapper Dönüştürme fonksiyonu
+     * @param <R> Yeni içerik tipi
+     * @return Dönüştürülmüş sayfa
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPage<>(mapped, nextCursor, size);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
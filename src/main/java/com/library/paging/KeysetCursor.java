@@ -0,0 +1,90 @@
+package com.library.paging;
+
+import com.library.entity.Book;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset Sayfalama İmleci
+ *
+ * Bir önceki sayfanın son satırının (sıralama değeri, id) çiftini ve sıralamayı taşır.
+ * İstemciye opak bir token olarak verilir; istemci sonraki sayfayı bu token ile ister.
+ * Sorgu OFFSET yerine "(kolon, id) > (değer, id)" koşuluyla devam ettiği için
+ * derin sayfalar da ilk sayfa kadar ucuzdur.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final BookSortField sortField;
+    private final Sort.Direction direction;
+    private final Comparable<?> value;
+    private final long id;
+
+    public KeysetCursor(BookSortField sortField, Sort.Direction direction, Comparable<?> value, long id) {
+        this.sortField = sortField;
+        this.direction = direction;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Sayfanın son kitabından imleç oluşturur
+     * @param last Sayfanın son kitabı
+     * @param sortField Sıralama alanı
+     * @param direction Sıralama yönü
+     * @return İmleç
+     */
+    public static KeysetCursor after(Book last, BookSortField sortField, Sort.Direction direction) {
+        return new KeysetCursor(sortField, direction, sortField.valueOf(last), last.getId());
+    }
+
+    /**
+     * İmleci URL güvenli opak token'a çevirir
+     * @return Token
+     */
+    public String encode() {
+        // Değer en sona yazılır; böylece değerin içinde ayraç geçmesi sorun olmaz
+        String raw = sortField.name() + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Token'ı çözer
+     * @param token İstemciden gelen token
+     * @return İmleç
+     * @throws IllegalArgumentException Token geçersizse
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Eksik imleç alanları");
+            }
+            BookSortField sortField = BookSortField.valueOf(parts[0]);
+            return new KeysetCursor(sortField, Sort.Direction.valueOf(parts[1]),
+                    sortField.parse(parts[3]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci: " + token, e);
+        }
+    }
+
+    public BookSortField getSortField() {
+        return sortField;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Comparable<?> getValue() {
+        return value;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,78 @@
+package com.library.paging;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Keyset Sayfa İsteği
+ *
+ * Sıralama alanı, yön, (varsa) önceki sayfanın imleci ve istenen sayfa boyutunu taşır.
+ * İmleç verildiğinde sıralama imleçten alınır; böylece istemcinin yalnızca token'ı
+ * geri göndermesi yeterlidir.
+ */
+public final class KeysetPageRequest {
+
+    private final BookSortField sortField;
+    private final Sort.Direction direction;
+    private final KeysetCursor after;
+    private final Integer size;
+
+    private KeysetPageRequest(BookSortField sortField, Sort.Direction direction, KeysetCursor after, Integer size) {
+        this.sortField = sortField;
+        this.direction = direction;
+        this.after = after;
+        this.size = size;
+    }
+
+    /**
+     * İlk sayfa isteği oluşturur
+     * @param sortField Sıralama alanı
+     * @param direction Sıralama yönü
+     * @param size Sayfa boyutu (null ise sunucu varsayılanı)
+     * @return Sayfa isteği
+     */
+    public static KeysetPageRequest first(BookSortField sortField, Sort.Direction direction, Integer size) {
+        return new KeysetPageRequest(sortField, direction, null, size);
+    }
+
+    /**
+     * İmleçten sonraki sayfa için istek oluşturur
+     * @param after Önceki sayfanın imleci
+     * @param size Sayfa boyutu (null ise sunucu varsayılanı)
+     * @return Sayfa isteği
+     */
+    public static KeysetPageRequest after(KeysetCursor after, Integer size) {
+        return new KeysetPageRequest(after.getSortField(), after.getDirection(), after, size);
+    }
+
+    /**
+     * İstek parametrelerinden sayfa isteği oluşturur
+     * @param sort Sıralama alanı adı
+     * @param direction Sıralama yönü (asc/desc)
+     * @param cursor Önceki sayfanın token'ı (opsiyonel)
+     * @param size Sayfa boyutu (opsiyonel)
+     * @return Sayfa isteği
+     * @throws IllegalArgumentException Parametreler geçersizse
+     */
+    public static KeysetPageRequest of(String sort, String direction, String cursor, Integer size) {
+        if (cursor != null && !cursor.isEmpty()) {
+            return after(KeysetCursor.decode(cursor), size);
+        }
+        return first(BookSortField.fromParameter(sort), Sort.Direction.fromString(direction), size);
+    }
+
+    public BookSortField getSortField() {
+        return sortField;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public KeysetCursor getAfter() {
+        return after;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,157 @@
+package com.library.popularity;
+
+import java.util.Arrays;
+
+/**
+ * long → double Hash Tablosu
+ *
+ * Kutulama (boxing) yapmayan, açık adresleme ve doğrusal yoklama kullanan basit bir harita.
+ * Anahtar 0 boş hücre işareti olarak ayrılmıştır; kitap ID'leri her zaman pozitiftir.
+ * Thread-safe değildir, erişim çağıran tarafından senkronize edilmelidir.
+ */
+final class LongDoubleHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final double LOAD_FACTOR = 0.6;
+
+    private long[] keys;
+    private double[] values;
+    private int size;
+    private int resizeAt;
+
+    LongDoubleHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Anahtarın değerine delta ekler; anahtar yoksa 0'dan başlar
+     * @param key Anahtar (0 olamaz)
+     * @param delta Eklenecek değer
+     * @return Yeni değer
+     */
+    double addTo(long key, double delta) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Anahtar 0 olamaz");
+        }
+        int slot = slotOf(key);
+        if (keys[slot] == EMPTY) {
+            if (size >= resizeAt) {
+                rehash(keys.length << 1);
+                slot = slotOf(key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] += delta;
+        return values[slot];
+    }
+
+    /**
+     * Anahtarın değerini döndürür
+     * @param key Anahtar
+     * @return Değer (yoksa 0)
+     */
+    double get(long key) {
+        int slot = slotOf(key);
+        return keys[slot] == EMPTY ? 0.0 : values[slot];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Tüm değerleri verilen katsayıyla çarpar
+     * @param factor Katsayı
+     */
+    void scale(double factor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                values[i] *= factor;
+            }
+        }
+    }
+
+    /**
+     * Değeri eşiğin altında kalan anahtarları siler
+     * @param threshold Eşik
+     * @return Silinen anahtar sayısı
+     */
+    int removeBelow(double threshold) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        int before = size;
+        allocate(keys.length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldValues[i] >= threshold) {
+                insertNew(oldKeys[i], oldValues[i]);
+            }
+        }
+        return before - size;
+    }
+
+    /**
+     * Tüm girdileri ziyaret eder
+     * @param consumer Ziyaretçi
+     */
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0.0);
+        size = 0;
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insertNew(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void insertNew(long key, double value) {
+        int slot = slotOf(key);
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        size = 0;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Kutulamasız (long, double) ziyaretçisi
+     */
+    interface EntryConsumer {
+        void accept(long key, double value);
+    }
+}
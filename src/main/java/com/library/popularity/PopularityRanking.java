@@ -0,0 +1,74 @@
+package com.library.popularity;
+
+import com.library.datasource.ReplicaRoutingDataSource;
+import com.library.repository.BookRepository;
+import com.library.repository.projection.PopularBookView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Popülerlik Sıralaması
+ *
+ * Tüm zamanların en çok ödünç alınan kitaplarının (canlı ve arşivlenmiş kayıtlar) ID'lerini
+ * bellekte tutar. Sıralama açılışta ve periyodik olarak tek bir top-K sorgusuyla yenilenir;
+ * okumalar kilit almaz ve veritabanına gitmez. Toplam ödünç sayıları yavaş değiştiği için
+ * sıralama en fazla yenileme aralığı kadar geride kalabilir.
+ */
+@Component
+public class PopularityRanking {
+
+    private static final Logger log = LoggerFactory.getLogger(PopularityRanking.class);
+
+    private final BookRepository bookRepository;
+    private final int topK;
+
+    private volatile List<Long> ids = Collections.emptyList();
+
+    @Autowired
+    public PopularityRanking(BookRepository bookRepository,
+                             @Value("${library.popularity.top-k:20}") int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("Popülerlik top-k pozitif olmalıdır");
+        }
+        this.bookRepository = bookRepository;
+        this.topK = topK;
+    }
+
+    /**
+     * En popüler kitapların ID'lerini döndürür. Kilit almaz, veritabanına gitmez.
+     * @param limit Maksimum sonuç sayısı (en fazla top-k)
+     * @return Kitap ID'leri (ödünç sayısına göre azalan)
+     */
+    public List<Long> topIds(int limit) {
+        List<Long> current = ids;
+        return current.subList(0, Math.min(Math.max(limit, 0), current.size()));
+    }
+
+    /**
+     * Sıralamayı veritabanından yeniden hesaplar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${library.popularity.refresh-interval-ms:60000}",
+               initialDelayString = "${library.popularity.refresh-interval-ms:60000}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        List<Long> refreshed = ReplicaRoutingDataSource.readFromPrimary(() ->
+                bookRepository.findTopBorrowed(PageRequest.of(0, topK)).stream()
+                        .map(PopularBookView::getBookId)
+                        .collect(Collectors.toList()));
+        ids = Collections.unmodifiableList(refreshed);
+        log.debug("Popülerlik sıralaması yenilendi: {} kitap ({} ms)",
+                refreshed.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,129 @@
+package com.library.popularity;
+
+/**
+ * Sınırlı Top-K Min-Heap
+ *
+ * En yüksek skorlu K kitabı tutar; kökte en düşük skor bulunur. Skorlar yalnızca arttığı
+ * için (ileri bozunma) bir kitabın skoru güncellendiğinde heap'e girip girmeyeceğine
+ * kök ile karşılaştırarak karar vermek sonucun kesin olması için yeterlidir.
+ * Thread-safe değildir.
+ */
+final class TopKHeap {
+
+    private final long[] ids;
+    private final double[] scores;
+    private int size;
+
+    TopKHeap(int capacity) {
+        this.ids = new long[capacity];
+        this.scores = new double[capacity];
+    }
+
+    /**
+     * Kitabın yeni skorunu heap'e yansıtır
+     * @param id Kitap ID'si
+     * @param score Güncel skor
+     */
+    void offer(long id, double score) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            scores[index] = score;
+            siftDown(index);
+        } else if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Tüm skorları verilen katsayıyla çarpar (sıra değişmez)
+     * @param factor Katsayı
+     */
+    void scale(double factor) {
+        for (int i = 0; i < size; i++) {
+            scores[i] *= factor;
+        }
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Skora göre azalan sıralı kopyasını döndürür
+     * @param idsOut Kitap ID'leri için hedef dizi (en az size uzunlukta)
+     * @param scoresOut Skorlar için hedef dizi
+     * @return Eleman sayısı
+     */
+    int copySorted(long[] idsOut, double[] scoresOut) {
+        System.arraycopy(ids, 0, idsOut, 0, size);
+        System.arraycopy(scores, 0, scoresOut, 0, size);
+        // K küçük olduğu için eklemeli sıralama yeterlidir
+        for (int i = 1; i < size; i++) {
+            long id = idsOut[i];
+            double score = scoresOut[i];
+            int j = i - 1;
+            while (j >= 0 && (scoresOut[j] < score || (scoresOut[j] == score && idsOut[j] > id))) {
+                idsOut[j + 1] = idsOut[j];
+                scoresOut[j + 1] = scoresOut[j];
+                j--;
+            }
+            idsOut[j + 1] = id;
+            scoresOut[j + 1] = score;
+        }
+        return size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+            if (scores[index] <= scores[smallest]) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,380 @@
+package com.library.popularity;
+
+import com.library.datasource.PrimaryReadTransactionTemplate;
+import com.library.event.BookActivityEvent;
+import com.library.repository.BorrowRecordRepository;
+import com.library.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trend Motoru
+ *
+ * Ödünç alma ve rezervasyon olaylarından kitap başına üstel olarak zamanla azalan
+ * (exponential decay) bir skor tutar. Ağırlığı w olan ve t anında gerçekleşen bir olay,
+ * şimdiki ana göre {@code w * 2^-((now - t) / halfLife)} katkı yapar.
+ *
+ * Skorlar "ileri bozunma" (forward decay) ile sabit bir referans anına (landmark) göre
+ * saklanır: yeni olaylar büyüyen bir katsayıyla eklenir, mevcut skorlara dokunulmaz.
+ * Böylece skorlar yalnızca artar, sıralama zamanla değişmez ve sınırlı bir top-K heap
+ * her olayda tutarlı kalır. Katsayı taşma sınırına yaklaştığında tüm skorlar yeniden
+ * ölçeklenir.
+ *
+ * Yazmalar senkronizedir; her yazmadan sonra top-K sıralamanın değişmez bir kopyası
+ * volatile alana yayınlanır. Okumalar kilit almaz ve veritabanına gitmez.
+ * Durum periyodik olarak ve kapanışta diske yazılır; açılışta bu dosyadan, dosya yoksa
+ * veritabanındaki son olaylardan yeniden kurulur.
+ */
+@Component
+public class TrendingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingEngine.class);
+
+    private static final int CHECKPOINT_MAGIC = 0x54524e44;
+    private static final int CHECKPOINT_VERSION = 1;
+
+    /**
+     * Katsayı üssü bu değeri aşınca skorlar yeniden ölçeklenir (e^40 ≈ 2.4e17)
+     */
+    private static final double RESCALE_EXPONENT = 40.0;
+
+    /**
+     * Güncel değeri bu eşiğin altına düşen kitaplar haritadan silinir
+     */
+    private static final double PRUNE_THRESHOLD = 1e-3;
+
+    private final BorrowRecordRepository borrowRecordRepository;
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final long halfLifeMillis;
+    private final double lambda;
+    private final int topK;
+    private final int warmStartHalfLives;
+    private final Path checkpointFile;
+
+    private final LongDoubleHashMap scores = new LongDoubleHashMap(1024);
+    private final TopKHeap heap;
+    private long landmark;
+    private boolean dirty;
+    private boolean restored;
+
+    private volatile Ranking ranking;
+
+    @Autowired
+    public TrendingEngine(BorrowRecordRepository borrowRecordRepository,
+                          ReservationRepository reservationRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${library.trending.half-life-hours:24}") double halfLifeHours,
+                          @Value("${library.trending.top-k:100}") int topK,
+                          @Value("${library.trending.warm-start-half-lives:7}") int warmStartHalfLives,
+                          @Value("${library.trending.checkpoint-file:}") String checkpointFile) {
+        if (halfLifeHours <= 0 || topK < 1) {
+            throw new IllegalArgumentException("Trend yarı ömrü ve top-k pozitif olmalıdır");
+        }
+        this.borrowRecordRepository = borrowRecordRepository;
+        this.reservationRepository = reservationRepository;
+        this.readTransaction = new PrimaryReadTransactionTemplate(transactionManager);
+        this.halfLifeMillis = (long) (halfLifeHours * 3_600_000L);
+        this.lambda = Math.log(2) / halfLifeMillis;
+        this.topK = topK;
+        this.warmStartHalfLives = warmStartHalfLives;
+        this.checkpointFile = StringUtils.hasText(checkpointFile) ? Paths.get(checkpointFile) : null;
+        this.heap = new TopKHeap(topK);
+        this.landmark = System.currentTimeMillis();
+        this.ranking = new Ranking(new long[0], new double[0], landmark);
+    }
+
+    /**
+     * Commit edilen ödünç alma veya rezervasyonu skora ekler
+     * @param event Kitap etkinlik olayı
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(BookActivityEvent event) {
+        record(event.getBookId(), event.getType().getWeight(), event.getOccurredAt());
+    }
+
+    /**
+     * Bir kitap için ağırlıklı etkinlik kaydeder
+     * @param bookId Kitap ID'si
+     * @param weight Etkinlik ağırlığı
+     * @param occurredAt Etkinlik zamanı (epoch milisaniye)
+     */
+    public synchronized void record(long bookId, double weight, long occurredAt) {
+        if (!restored) {
+            // Açılıştaki olaylar ya veritabanından okunacak ya da checkpoint'te zaten yer alıyor
+            return;
+        }
+        add(bookId, weight, occurredAt);
+        publish();
+    }
+
+    /**
+     * Şu anki trend sıralamasını döndürür. Kilit almaz, veritabanına gitmez.
+     * @param limit Maksimum sonuç sayısı (en fazla top-k)
+     * @return Skora göre azalan sıralı girdiler
+     */
+    public List<TrendingEntry> top(int limit) {
+        Ranking current = ranking;
+        int count = Math.min(Math.max(limit, 0), current.ids.length);
+        double decay = Math.exp(-lambda * (System.currentTimeMillis() - current.landmark));
+        List<TrendingEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new TrendingEntry(current.ids[i], current.scores[i] * decay));
+        }
+        return entries;
+    }
+
+    /**
+     * Şu anki trend sıralamasındaki kitap ID'lerini döndürür
+     * @param limit Maksimum sonuç sayısı
+     * @return Kitap ID'leri (skora göre azalan)
+     */
+    public List<Long> topIds(int limit) {
+        Ranking current = ranking;
+        int count = Math.min(Math.max(limit, 0), current.ids.length);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(current.ids[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * Top-k sınırını döndürür
+     * @return Tutulan en yüksek sıralama sayısı
+     */
+    public int capacity() {
+        return topK;
+    }
+
+    /**
+     * Uygulama hazır olduğunda durumu checkpoint dosyasından, yoksa veritabanından kurar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long start = System.currentTimeMillis();
+        if (loadCheckpoint()) {
+            log.info("Trend sıralaması checkpoint'ten yüklendi: {} kitap ({} ms)",
+                    scores.size(), System.currentTimeMillis() - start);
+            return;
+        }
+        warmStart();
+        log.info("Trend sıralaması veritabanından oluşturuldu: {} kitap ({} ms)",
+                scores.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Zayıflamış skorları temizler ve durumu diske yazar
+     */
+    @Scheduled(fixedDelayString = "${library.trending.checkpoint-interval-ms:60000}",
+               initialDelayString = "${library.trending.checkpoint-interval-ms:60000}")
+    public void maintain() {
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            int removed = scores.removeBelow(PRUNE_THRESHOLD * Math.exp(lambda * (now - landmark)));
+            if (removed > 0) {
+                heap.clear();
+                scores.forEach(heap::offer);
+                publish();
+                log.debug("Trend haritasından {} zayıf kayıt silindi", removed);
+            }
+        }
+        checkpoint();
+    }
+
+    /**
+     * Kapanışta durumu diske yazar
+     */
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    private void add(long bookId, double weight, long occurredAt) {
+        double exponent = lambda * (occurredAt - landmark);
+        if (exponent > RESCALE_EXPONENT) {
+            rescale(occurredAt);
+            exponent = 0.0;
+        }
+        double score = scores.addTo(bookId, weight * Math.exp(exponent));
+        heap.offer(bookId, score);
+        dirty = true;
+    }
+
+    /**
+     * Referans anını ileri taşır; tüm skorlar aynı katsayıyla küçüldüğü için sıralama değişmez
+     */
+    private void rescale(long newLandmark) {
+        double factor = Math.exp(-lambda * (newLandmark - landmark));
+        scores.scale(factor);
+        heap.scale(factor);
+        landmark = newLandmark;
+    }
+
+    private void publish() {
+        long[] ids = new long[heap.size()];
+        double[] values = new double[heap.size()];
+        heap.copySorted(ids, values);
+        ranking = new Ranking(ids, values, landmark);
+    }
+
+    private void warmStart() {
+        long now = System.currentTimeMillis();
+        long windowDays = Math.max(1L, (long) Math.ceil((double) halfLifeMillis * warmStartHalfLives / 86_400_000L));
+        LocalDate since = LocalDate.now().minusDays(windowDays);
+        ZoneId zone = ZoneId.systemDefault();
+
+        List<Object[]> borrows = readTransaction.execute(status -> borrowRecordRepository.countDailyBorrowsSince(since));
+        List<Object[]> reservations = readTransaction.execute(status -> reservationRepository.countDailyReservationsSince(since));
+
+        synchronized (this) {
+            landmark = now;
+            addDailyCounts(borrows, BookActivityEvent.Type.BORROW, zone, now);
+            addDailyCounts(reservations, BookActivityEvent.Type.RESERVATION, zone, now);
+            restored = true;
+            publish();
+        }
+    }
+
+    private void addDailyCounts(List<Object[]> rows, BookActivityEvent.Type type, ZoneId zone, long now) {
+        if (rows == null) {
+            return;
+        }
+        for (Object[] row : rows) {
+            long bookId = ((Number) row[0]).longValue();
+            long occurredAt = Math.min(now, ((LocalDate) row[1]).atStartOfDay(zone).toInstant().toEpochMilli());
+            add(bookId, type.getWeight() * ((Number) row[2]).longValue(), occurredAt);
+        }
+    }
+
+    private boolean loadCheckpoint() {
+        if (checkpointFile == null || !Files.isRegularFile(checkpointFile)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile)))) {
+            if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != CHECKPOINT_VERSION) {
+                log.warn("Trend checkpoint dosyası tanınmadı, yok sayılıyor: {}", checkpointFile);
+                return false;
+            }
+            if (in.readLong() != halfLifeMillis) {
+                log.info("Trend yarı ömrü değişmiş, checkpoint yok sayılıyor: {}", checkpointFile);
+                return false;
+            }
+            long savedLandmark = in.readLong();
+            int count = in.readInt();
+            long[] ids = new long[count];
+            double[] values = new double[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = in.readLong();
+                values[i] = in.readDouble();
+            }
+            synchronized (this) {
+                for (int i = 0; i < count; i++) {
+                    add(ids[i], values[i], savedLandmark);
+                }
+                restored = true;
+                publish();
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Trend checkpoint dosyası okunamadı: {} ({})", checkpointFile, e.getMessage());
+            return false;
+        }
+    }
+
+    private void checkpoint() {
+        if (checkpointFile == null) {
+            return;
+        }
+        long[] ids;
+        double[] values;
+        long savedLandmark;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            ids = new long[scores.size()];
+            values = new double[scores.size()];
+            int[] index = {0};
+            scores.forEach((id, value) -> {
+                ids[index[0]] = id;
+                values[index[0]++] = value;
+            });
+            savedLandmark = landmark;
+            dirty = false;
+        }
+
+        try {
+            Path directory = checkpointFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(CHECKPOINT_MAGIC);
+                out.writeInt(CHECKPOINT_VERSION);
+                out.writeLong(halfLifeMillis);
+                out.writeLong(savedLandmark);
+                out.writeInt(ids.length);
+                for (int i = 0; i < ids.length; i++) {
+                    out.writeLong(ids[i]);
+                    out.writeDouble(values[i]);
+                }
+            }
+            try {
+                Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.debug("Trend checkpoint yazıldı: {} kitap", ids.length);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            log.error("Trend checkpoint yazılamadı: {}", checkpointFile, e);
+        }
+    }
+
+    /**
+     * Top-K sıralamanın değişmez görüntüsü; skorlar referans anı biriminde
+     */
+    private static final class Ranking {
+
+        private final long[] ids;
+        private final double[] scores;
+        private final long landmark;
+
+        private Ranking(long[] ids, double[] scores, long landmark) {
+            this.ids = ids;
+            this.scores = scores;
+            this.landmark = landmark;
+        }
+    }
+}
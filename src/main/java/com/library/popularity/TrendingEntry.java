@@ -0,0 +1,25 @@
+package com.library.popularity;
+
+/**
+ * Trend Sıralaması Girdisi
+ *
+ * Kitap ID'si ve şu ana göre bozundurulmuş popülerlik skoru.
+ */
+public class TrendingEntry {
+
+    private final long bookId;
+    private final double score;
+
+    public TrendingEntry(long bookId, double score) {
+        this.bookId = bookId;
+        this.score = score;
+    }
+
+    public long getBookId() {
+        return bookId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,309 @@
+package com.library.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Birlikte Ödünç Alma Grafı
+ *
+ * Öneri modelinin hesaplandığı bellek içi yapıdır: kitap ↔ üye ödünç ilişkileri ve
+ * kitap ↔ kategori üyelikleri. Kitap, üye ve kategoriler yoğun int indekslere çevrilir,
+ * komşuluklar sıralı int kümelerinde tutulur.
+ *
+ * İki kitabın benzerliği, birlikte ödünç alınma sayısının kosinüs normalizasyonu ile
+ * kategori kümelerinin Jaccard benzerliğinin ağırlıklı toplamıdır. Çok uzun geçmişi olan
+ * üyeler ve çok kalabalık kategoriler aday üretiminde atlanır; böylece tek bir satırın
+ * hesaplama maliyeti sınırlı kalır. Thread-safe değildir.
+ */
+final class CoBorrowGraph {
+
+    private final double coBorrowWeight;
+    private final double categoryWeight;
+    private final int maxMemberHistory;
+    private final int maxCategoryFanout;
+
+    private final Map<Long, Integer> bookIndex = new HashMap<>();
+    private long[] bookIds = new long[1024];
+    private int bookCount;
+    private final List<IntSet> membersOfBook = new ArrayList<>();
+    private final List<IntSet> categoriesOfBook = new ArrayList<>();
+    private final BitSet removedBooks = new BitSet();
+
+    private final Map<Long, Integer> memberIndex = new HashMap<>();
+    private final List<IntSet> booksOfMember = new ArrayList<>();
+
+    private final Map<String, Integer> categoryIndex = new HashMap<>();
+    private final List<IntSet> booksOfCategory = new ArrayList<>();
+
+    // Satır hesaplaması için tekrar kullanılan çalışma dizileri
+    private int[] coBorrowCounts = new int[0];
+    private int[] sharedCategories = new int[0];
+    private int[] touched = new int[0];
+
+    CoBorrowGraph(double coBorrowWeight, double categoryWeight, int maxMemberHistory, int maxCategoryFanout) {
+        this.coBorrowWeight = coBorrowWeight;
+        this.categoryWeight = categoryWeight;
+        this.maxMemberHistory = maxMemberHistory;
+        this.maxCategoryFanout = maxCategoryFanout;
+    }
+
+    /**
+     * Kitabı grafa ekler (silinmişse yeniden etkinleştirir)
+     * @param bookId Kitap ID'si
+     */
+    void addBook(long bookId) {
+        removedBooks.clear(bookIndexOf(bookId));
+    }
+
+    /**
+     * Kitabı graftan çıkarır; ödünç geçmişi korunur ancak aday olarak önerilmez
+     * @param bookId Kitap ID'si
+     */
+    void removeBook(long bookId) {
+        Integer book = bookIndex.get(bookId);
+        if (book == null) {
+            return;
+        }
+        removedBooks.set(book);
+        setCategories(book, new ArrayList<>());
+    }
+
+    /**
+     * Bir ödünç ilişkisi ekler
+     * @param memberId Üye ID'si
+     * @param bookId Kitap ID'si
+     * @return İlişki yeni ise true
+     */
+    boolean addBorrow(long memberId, long bookId) {
+        int book = bookIndexOf(bookId);
+        Integer member = memberIndex.get(memberId);
+        if (member == null) {
+            member = booksOfMember.size();
+            memberIndex.put(memberId, member);
+            booksOfMember.add(new IntSet());
+        }
+        membersOfBook.get(book).add(member);
+        return booksOfMember.get(member).add(book);
+    }
+
+    /**
+     * Kitabın kategorilerini değiştirir
+     * @param bookId Kitap ID'si
+     * @param categoryNames Kategori adları
+     */
+    void setCategories(long bookId, Collection<String> categoryNames) {
+        setCategories(bookIndexOf(bookId), categoryNames);
+    }
+
+    /**
+     * Üyenin ödünç aldığı kitapların ID'lerini döndürür
+     * @param memberId Üye ID'si
+     * @return Kitap ID'leri
+     */
+    long[] booksOfMember(long memberId) {
+        Integer member = memberIndex.get(memberId);
+        return member == null ? new long[0] : toBookIds(booksOfMember.get(member));
+    }
+
+    /**
+     * Kitapla en az bir kategorisi ortak olan kitapların ID'lerini döndürür.
+     * Kalabalık kategoriler satır hesaplamasında olduğu gibi atlanır.
+     * @param bookId Kitap ID'si
+     * @return Kitap ID'leri
+     */
+    long[] booksSharingCategories(long bookId) {
+        Integer book = bookIndex.get(bookId);
+        if (book == null) {
+            return new long[0];
+        }
+        IntSet result = new IntSet();
+        IntSet categories = categoriesOfBook.get(book);
+        for (int i = 0; i < categories.size(); i++) {
+            IntSet books = booksOfCategory.get(categories.get(i));
+            if (books.size() <= maxCategoryFanout) {
+                for (int j = 0; j < books.size(); j++) {
+                    result.add(books.get(j));
+                }
+            }
+        }
+        return toBookIds(result);
+    }
+
+    /**
+     * Grafta bulunan (silinmemiş) kitapların ID'lerini artan sırada döndürür
+     * @return Kitap ID'leri
+     */
+    long[] liveBookIds() {
+        long[] ids = new long[bookCount - removedBooks.cardinality()];
+        int count = 0;
+        for (int book = 0; book < bookCount; book++) {
+            if (!removedBooks.get(book)) {
+                ids[count++] = bookIds[book];
+            }
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    boolean isLive(long bookId) {
+        Integer book = bookIndex.get(bookId);
+        return book != null && !removedBooks.get(book);
+    }
+
+    int bookCount() {
+        return bookCount - removedBooks.cardinality();
+    }
+
+    int memberCount() {
+        return booksOfMember.size();
+    }
+
+    /**
+     * Kitabın en benzer komşularını hesaplar
+     * @param bookId Kitap ID'si
+     * @param outIds Komşu ID'leri için hedef dizi; uzunluğu en fazla komşu sayısını belirler
+     * @param outScores Skorlar için hedef dizi
+     * @return Yazılan komşu sayısı (skora göre azalan sırada)
+     */
+    int computeNeighbours(long bookId, long[] outIds, float[] outScores) {
+        Integer boxed = bookIndex.get(bookId);
+        if (boxed == null || removedBooks.get(boxed)) {
+            return 0;
+        }
+        int book = boxed;
+        ensureScratchCapacity();
+        int touchedCount = 0;
+
+        IntSet members = membersOfBook.get(book);
+        for (int i = 0; i < members.size(); i++) {
+            IntSet books = booksOfMember.get(members.get(i));
+            if (books.size() > maxMemberHistory) {
+                continue;
+            }
+            for (int j = 0; j < books.size(); j++) {
+                int other = books.get(j);
+                if (other == book || removedBooks.get(other)) {
+                    continue;
+                }
+                if (coBorrowCounts[other] == 0 && sharedCategories[other] == 0) {
+                    touched[touchedCount++] = other;
+                }
+                coBorrowCounts[other]++;
+            }
+        }
+
+        IntSet categories = categoriesOfBook.get(book);
+        for (int i = 0; i < categories.size(); i++) {
+            IntSet books = booksOfCategory.get(categories.get(i));
+            if (books.size() > maxCategoryFanout) {
+                continue;
+            }
+            for (int j = 0; j < books.size(); j++) {
+                int other = books.get(j);
+                if (other == book || removedBooks.get(other)) {
+                    continue;
+                }
+                if (coBorrowCounts[other] == 0 && sharedCategories[other] == 0) {
+                    touched[touchedCount++] = other;
+                }
+                sharedCategories[other]++;
+            }
+        }
+
+        int count = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int other = touched[i];
+            double score = 0.0;
+            if (coBorrowCounts[other] > 0) {
+                score += coBorrowWeight * coBorrowCounts[other]
+                        / Math.sqrt((double) members.size() * membersOfBook.get(other).size());
+            }
+            if (sharedCategories[other] > 0) {
+                int union = categories.size() + categoriesOfBook.get(other).size() - sharedCategories[other];
+                score += categoryWeight * sharedCategories[other] / union;
+            }
+            coBorrowCounts[other] = 0;
+            sharedCategories[other] = 0;
+            count = insertTopN(outIds, outScores, count, bookIds[other], (float) score);
+        }
+        return count;
+    }
+
+    private void setCategories(int book, Collection<String> categoryNames) {
+        IntSet current = categoriesOfBook.get(book);
+        for (int i = 0; i < current.size(); i++) {
+            booksOfCategory.get(current.get(i)).remove(book);
+        }
+        current.clear();
+        for (String name : categoryNames) {
+            Integer category = categoryIndex.get(name);
+            if (category == null) {
+                category = booksOfCategory.size();
+                categoryIndex.put(name, category);
+                booksOfCategory.add(new IntSet());
+            }
+            current.add(category);
+            booksOfCategory.get(category).add(book);
+        }
+    }
+
+    private int bookIndexOf(long bookId) {
+        Integer book = bookIndex.get(bookId);
+        if (book != null) {
+            return book;
+        }
+        if (bookCount == bookIds.length) {
+            bookIds = Arrays.copyOf(bookIds, bookCount << 1);
+        }
+        bookIds[bookCount] = bookId;
+        bookIndex.put(bookId, bookCount);
+        membersOfBook.add(new IntSet());
+        categoriesOfBook.add(new IntSet());
+        return bookCount++;
+    }
+
+    private long[] toBookIds(IntSet books) {
+        long[] ids = new long[books.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = bookIds[books.get(i)];
+        }
+        return ids;
+    }
+
+    private void ensureScratchCapacity() {
+        if (coBorrowCounts.length < bookCount) {
+            int capacity = bookIds.length;
+            coBorrowCounts = new int[capacity];
+            sharedCategories = new int[capacity];
+            touched = new int[capacity];
+        }
+    }
+
+    /**
+     * Sınırlı ve skora göre azalan sıralı diziye ekleme yapar (eşitlikte küçük ID önce)
+     */
+    private static int insertTopN(long[] ids, float[] scores, int count, long id, float score) {
+        int capacity = ids.length;
+        if (count == capacity && !ranksBefore(score, id, scores[count - 1], ids[count - 1])) {
+            return count;
+        }
+        int position = count == capacity ? count - 1 : count;
+        while (position > 0 && ranksBefore(score, id, scores[position - 1], ids[position - 1])) {
+            ids[position] = ids[position - 1];
+            scores[position] = scores[position - 1];
+            position--;
+        }
+        ids[position] = id;
+        scores[position] = score;
+        return count == capacity ? count : count + 1;
+    }
+
+    private static boolean ranksBefore(float score, long id, float otherScore, long otherId) {
+        return score > otherScore || (score == otherScore && id < otherId);
+    }
+}
@@ -0,0 +1,71 @@
+package com.library.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Sıralı int Kümesi
+ *
+ * Değerleri artan sırada, kutulamadan bir int dizisinde tutar.
+ * Ekleme ve silme O(n), arama O(log n)'dir; kitap başına üye ve kategori listeleri gibi
+ * küçük kümeler için tasarlanmıştır. Thread-safe değildir.
+ */
+final class IntSet {
+
+    private int[] values;
+    private int size;
+
+    IntSet() {
+        this.values = new int[4];
+    }
+
+    /**
+     * Değeri ekler
+     * @param value Değer
+     * @return Değer yeni eklendiyse true
+     */
+    boolean add(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Değeri siler
+     * @param value Değer
+     * @return Değer kümedeyse true
+     */
+    boolean remove(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
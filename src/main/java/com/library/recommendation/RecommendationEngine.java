@@ -0,0 +1,311 @@
+package com.library.recommendation;
+
+import com.library.datasource.PrimaryReadTransactionTemplate;
+import com.library.entity.Book;
+import com.library.event.EntityChangesCommittedEvent;
+import com.library.repository.BookRepository;
+import com.library.repository.BorrowRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kitap Öneri Motoru
+ *
+ * Ödünç kayıtlarından (üye → ödünç aldığı kitaplar) birlikte ödünç alınma ve
+ * kategorilerden ortaklık bilgisini toplayıp her kitap için en benzer N kitabı önceden
+ * hesaplar. Sonuç {@link RecommendationModel} içinde ilkel dizilerde tutulur; öneri
+ * istekleri veritabanına gitmeden tek bir dizi diliminden yanıtlanır.
+ *
+ * Model açılışta tamamen oluşturulur. Sonrasında zamanlanmış görev yalnızca son çalışmadan
+ * bu yana eklenen ödünç kayıtlarını ve değişen kitapları okuyup etkilenen satırları yeniden
+ * hesaplar. Ödünç kayıtlarının ID'leri örnek başına bloklar halinde alındığından kayıtlar ID
+ * sırasıyla commit edilmeyebilir; watermark'ın gerisinde commit edilenler, son taramadan bir
+ * örtüşme süresi kadar geriden başlayan created_at penceresi yeniden okunarak yakalanır. Graf
+ * ödünç ilişkilerini küme olarak tuttuğu için iki kez okunan kayıt modeli değiştirmez.
+ * Silinen ödünç kayıtları ve kategori adı değişiklikleri gibi artımlı olarak
+ * izlenmeyen değişiklikler periyodik tam yeniden oluşturmada modele yansır.
+ */
+@Component
+public class RecommendationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationEngine.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final BorrowRecordRepository borrowRecordRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final int neighbours;
+    private final double coBorrowWeight;
+    private final double categoryWeight;
+    private final int maxMemberHistory;
+    private final int maxCategoryFanout;
+    private final long fullRebuildIntervalMillis;
+    private final Duration borrowOverlap;
+
+    private final Set<Long> changedBooks = ConcurrentHashMap.newKeySet();
+
+    // Yalnızca senkronize yeniden oluşturma metodlarında kullanılır
+    private CoBorrowGraph graph;
+    private long borrowWatermark;
+    private LocalDateTime borrowsSince;
+    private long lastFullRebuild;
+
+    private volatile RecommendationModel model = RecommendationModel.EMPTY;
+
+    @Autowired
+    public RecommendationEngine(BookRepository bookRepository,
+                                BorrowRecordRepository borrowRecordRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${library.recommendation.neighbours:20}") int neighbours,
+                                @Value("${library.recommendation.co-borrow-weight:1.0}") double coBorrowWeight,
+                                @Value("${library.recommendation.category-weight:0.3}") double categoryWeight,
+                                @Value("${library.recommendation.max-member-history:500}") int maxMemberHistory,
+                                @Value("${library.recommendation.max-category-fanout:2000}") int maxCategoryFanout,
+                                @Value("${library.recommendation.full-rebuild-interval-ms:86400000}") long fullRebuildIntervalMillis,
+                                @Value("${library.recommendation.borrow-overlap-ms:300000}") long borrowOverlapMillis) {
+        if (neighbours < 1) {
+            throw new IllegalArgumentException("Komşu sayısı pozitif olmalıdır");
+        }
+        if (borrowOverlapMillis < 0) {
+            throw new IllegalArgumentException("Ödünç örtüşme süresi negatif olamaz");
+        }
+        this.bookRepository = bookRepository;
+        this.borrowRecordRepository = borrowRecordRepository;
+        this.readTransaction = new PrimaryReadTransactionTemplate(transactionManager);
+        this.neighbours = neighbours;
+        this.coBorrowWeight = coBorrowWeight;
+        this.categoryWeight = categoryWeight;
+        this.maxMemberHistory = maxMemberHistory;
+        this.maxCategoryFanout = maxCategoryFanout;
+        this.fullRebuildIntervalMillis = fullRebuildIntervalMillis;
+        this.borrowOverlap = Duration.ofMillis(borrowOverlapMillis);
+    }
+
+    /**
+     * Kitap için önceden hesaplanmış önerileri döndürür
+     * @param bookId Kitap ID'si
+     * @param limit Maksimum öneri sayısı (en fazla komşu sayısı kadar)
+     * @return Önerilen kitap ID'leri (benzerliğe göre azalan; model hazır değilse veya
+     *         kitabın komşusu yoksa boş)
+     */
+    public List<Long> recommend(long bookId, int limit) {
+        long[] ids = model.neighboursOf(bookId, limit);
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    /**
+     * Uygulama hazır olduğunda modeli oluşturur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Değişen kitapları bir sonraki artımlı güncelleme için işaretler
+     * @param event Değişiklik olayı
+     */
+    @EventListener
+    public void onEntityChanges(EntityChangesCommittedEvent event) {
+        changedBooks.addAll(event.idsOf(Book.class));
+    }
+
+    /**
+     * Modeli artımlı olarak günceller; tam yeniden oluşturma zamanı geldiyse baştan oluşturur
+     */
+    @Scheduled(fixedDelayString = "${library.recommendation.refresh-interval-ms:60000}",
+               initialDelayString = "${library.recommendation.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        if (graph == null || System.currentTimeMillis() - lastFullRebuild >= fullRebuildIntervalMillis) {
+            rebuild();
+        } else {
+            update();
+        }
+    }
+
+    /**
+     * Modeli veritabanından baştan oluşturur
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        CoBorrowGraph fresh = new CoBorrowGraph(coBorrowWeight, categoryWeight, maxMemberHistory, maxCategoryFanout);
+        // Tarama sırasında gelen değişiklikler bir sonraki artımlı güncellemede işlenir
+        changedBooks.clear();
+
+        long afterId = 0L;
+        while (true) {
+            long lastId = afterId;
+            List<Long> ids = readTransaction.execute(status -> bookRepository.findIdsAfter(lastId, PageRequest.of(0, BATCH_SIZE)));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            Map<Long, List<String>> categories = loadCategories(ids);
+            for (Long id : ids) {
+                fresh.addBook(id);
+                fresh.setCategories(id, categories.getOrDefault(id, new ArrayList<>()));
+                afterId = Math.max(afterId, id);
+            }
+        }
+        LocalDateTime scanStart = LocalDateTime.now();
+        long watermark = scanBorrows(fresh, 0L, null);
+
+        long[] bookIds = fresh.liveBookIds();
+        RecommendationModel.Builder builder = RecommendationModel.builder(bookIds.length, neighbours);
+        long[] rowIds = new long[neighbours];
+        float[] rowScores = new float[neighbours];
+        for (long bookId : bookIds) {
+            builder.add(bookId, rowIds, rowScores, fresh.computeNeighbours(bookId, rowIds, rowScores));
+        }
+
+        graph = fresh;
+        borrowWatermark = watermark;
+        borrowsSince = scanStart.minus(borrowOverlap);
+        lastFullRebuild = System.currentTimeMillis();
+        model = builder.build();
+        log.info("Öneri modeli oluşturuldu: {} kitap, {} üye, {} komşuluk ({} ms)",
+                model.size(), fresh.memberCount(), model.neighbourCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Yeni ödünç kayıtlarını ve değişen kitapları grafa uygular, yalnızca etkilenen satırları
+     * yeniden hesaplar ve diğer satırları önceki modelden kopyalar
+     */
+    private void update() {
+        long start = System.currentTimeMillis();
+        Set<Long> affected = new HashSet<>();
+
+        Set<Long> changed = new HashSet<>(changedBooks);
+        changedBooks.removeAll(changed);
+        if (!changed.isEmpty()) {
+            List<Long> existing = readTransaction.execute(status -> bookRepository.findIdsByIdIn(changed));
+            Set<Long> live = existing != null ? new HashSet<>(existing) : new HashSet<>();
+            Map<Long, List<String>> categories = loadCategories(live);
+            for (Long id : changed) {
+                addAll(affected, graph.booksSharingCategories(id));
+                if (live.contains(id)) {
+                    graph.addBook(id);
+                    graph.setCategories(id, categories.getOrDefault(id, new ArrayList<>()));
+                    addAll(affected, graph.booksSharingCategories(id));
+                } else {
+                    graph.removeBook(id);
+                }
+                affected.add(id);
+            }
+        }
+        LocalDateTime scanStart = LocalDateTime.now();
+        borrowWatermark = scanBorrows(graph, borrowWatermark, affected);
+        LocalDateTime since = borrowsSince;
+        applyBorrows(graph, readTransaction.execute(
+                status -> borrowRecordRepository.findMemberBookPairsCreatedSince(since)), affected);
+        borrowsSince = scanStart.minus(borrowOverlap);
+
+        if (affected.isEmpty()) {
+            return;
+        }
+        RecommendationModel previous = model;
+        long[] bookIds = graph.liveBookIds();
+        RecommendationModel.Builder builder = RecommendationModel.builder(bookIds.length, neighbours);
+        long[] rowIds = new long[neighbours];
+        float[] rowScores = new float[neighbours];
+        for (long bookId : bookIds) {
+            int index = previous.indexOf(bookId);
+            if (index >= 0 && !affected.contains(bookId)) {
+                builder.copy(previous, index);
+            } else {
+                builder.add(bookId, rowIds, rowScores, graph.computeNeighbours(bookId, rowIds, rowScores));
+            }
+        }
+        model = builder.build();
+        log.debug("Öneri modeli güncellendi: {} satır yeniden hesaplandı ({} ms)",
+                affected.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Watermark'tan sonraki ödünç kayıtlarını grafa ekler
+     * @param target Güncellenecek graf
+     * @param afterId Son işlenen kayıt ID'si
+     * @param affected Satırı değişen kitapların toplanacağı küme (tam oluşturmada null)
+     * @return Yeni watermark
+     */
+    private long scanBorrows(CoBorrowGraph target, long afterId, Set<Long> affected) {
+        while (true) {
+            long lastId = afterId;
+            List<Object[]> rows = readTransaction.execute(
+                    status -> borrowRecordRepository.findMemberBookPairsAfter(lastId, PageRequest.of(0, BATCH_SIZE)));
+            if (rows == null || rows.isEmpty()) {
+                return afterId;
+            }
+            afterId = Math.max(afterId, applyBorrows(target, rows, affected));
+        }
+    }
+
+    /**
+     * Ödünç kayıtlarını grafa ekler; grafta zaten bulunan ilişkiler atlanır
+     * @param target Güncellenecek graf
+     * @param rows [kayıt ID'si, üye ID'si, kitap ID'si] satırları
+     * @param affected Satırı değişen kitapların toplanacağı küme (tam oluşturmada null)
+     * @return Satırlardaki en büyük kayıt ID'si
+     */
+    private long applyBorrows(CoBorrowGraph target, List<Object[]> rows, Set<Long> affected) {
+        long maxId = 0L;
+        if (rows == null) {
+            return maxId;
+        }
+        for (Object[] row : rows) {
+            long memberId = ((Number) row[1]).longValue();
+            long bookId = ((Number) row[2]).longValue();
+            if (target.addBorrow(memberId, bookId) && affected != null) {
+                // Üyenin diğer kitaplarıyla birlikte ödünç alınma sayıları değişti
+                addAll(affected, target.booksOfMember(memberId));
+            }
+            maxId = Math.max(maxId, ((Number) row[0]).longValue());
+        }
+        return maxId;
+    }
+
+    private Map<Long, List<String>> loadCategories(Collection<Long> bookIds) {
+        Map<Long, List<String>> categories = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return categories;
+        }
+        List<Object[]> rows = readTransaction.execute(status -> bookRepository.findCategoryNamesByBookIdIn(bookIds));
+        if (rows != null) {
+            for (Object[] row : rows) {
+                categories.computeIfAbsent(((Number) row[0]).longValue(), id -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+        return categories;
+    }
+
+    private static void addAll(Set<Long> target, long[] ids) {
+        for (long id : ids) {
+            target.add(id);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.library.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Öneri Modeli
+ *
+ * Her kitabın önceden hesaplanmış en yakın N komşusunu sıkıştırılmış satır (CSR) düzeninde
+ * tutan değişmez yapıdır: kitap ID'leri artan sırada {@code bookIds} dizisinde, i. kitabın
+ * komşuları {@code neighbourIds[offsets[i] .. offsets[i + 1])} aralığında skora göre azalan
+ * sıradadır. Bir kitabın önerileri tek bir ikili arama ve dizi dilimi kopyasıyla okunur;
+ * nesne oluşturulmaz ve kilit alınmaz.
+ */
+public final class RecommendationModel {
+
+    static final RecommendationModel EMPTY = new RecommendationModel(new long[0], new int[1], new long[0], new float[0]);
+
+    private final long[] bookIds;
+    private final int[] offsets;
+    private final long[] neighbourIds;
+    private final float[] scores;
+
+    private RecommendationModel(long[] bookIds, int[] offsets, long[] neighbourIds, float[] scores) {
+        this.bookIds = bookIds;
+        this.offsets = offsets;
+        this.neighbourIds = neighbourIds;
+        this.scores = scores;
+    }
+
+    /**
+     * Kitabın komşularını döndürür
+     * @param bookId Kitap ID'si
+     * @param limit Maksimum komşu sayısı
+     * @return Komşu kitap ID'leri (skora göre azalan; kitap modelde yoksa boş)
+     */
+    public long[] neighboursOf(long bookId, int limit) {
+        int index = Arrays.binarySearch(bookIds, bookId);
+        if (index < 0 || limit <= 0) {
+            return new long[0];
+        }
+        int from = offsets[index];
+        int to = Math.min(offsets[index + 1], from + limit);
+        return Arrays.copyOfRange(neighbourIds, from, to);
+    }
+
+    /**
+     * Modeldeki kitap sayısını döndürür
+     * @return Kitap sayısı
+     */
+    public int size() {
+        return bookIds.length;
+    }
+
+    /**
+     * Tüm kitaplardaki toplam komşu sayısını döndürür
+     * @return Komşu sayısı
+     */
+    public int neighbourCount() {
+        return offsets[bookIds.length];
+    }
+
+    int indexOf(long bookId) {
+        return Arrays.binarySearch(bookIds, bookId);
+    }
+
+    static Builder builder(int expectedBooks, int neighboursPerBook) {
+        return new Builder(expectedBooks, neighboursPerBook);
+    }
+
+    /**
+     * Satırları kitap ID'si artan sırada ekleyerek model oluşturur
+     */
+    static final class Builder {
+
+        private long[] bookIds;
+        private int[] offsets;
+        private long[] neighbourIds;
+        private float[] scores;
+        private int books;
+        private int neighbours;
+
+        private Builder(int expectedBooks, int neighboursPerBook) {
+            int capacity = Math.max(16, expectedBooks);
+            this.bookIds = new long[capacity];
+            this.offsets = new int[capacity + 1];
+            this.neighbourIds = new long[Math.max(16, capacity * Math.min(neighboursPerBook, 8))];
+            this.scores = new float[neighbourIds.length];
+        }
+
+        /**
+         * Yeni hesaplanmış bir satır ekler
+         */
+        void add(long bookId, long[] ids, float[] rowScores, int count) {
+            startRow(bookId, count);
+            System.arraycopy(ids, 0, neighbourIds, neighbours, count);
+            System.arraycopy(rowScores, 0, scores, neighbours, count);
+            endRow(count);
+        }
+
+        /**
+         * Önceki modeldeki satırı değiştirmeden kopyalar
+         */
+        void copy(RecommendationModel model, int index) {
+            int from = model.offsets[index];
+            int count = model.offsets[index + 1] - from;
+            startRow(model.bookIds[index], count);
+            System.arraycopy(model.neighbourIds, from, neighbourIds, neighbours, count);
+            System.arraycopy(model.scores, from, scores, neighbours, count);
+            endRow(count);
+        }
+
+        RecommendationModel build() {
+            return new RecommendationModel(Arrays.copyOf(bookIds, books), Arrays.copyOf(offsets, books + 1),
+                    Arrays.copyOf(neighbourIds, neighbours), Arrays.copyOf(scores, neighbours));
+        }
+
+        private void startRow(long bookId, int count) {
+            if (books > 0 && bookIds[books - 1] >= bookId) {
+                throw new IllegalStateException("Satırlar kitap ID'si artan sırada eklenmelidir");
+            }
+            if (books == bookIds.length) {
+                bookIds = Arrays.copyOf(bookIds, books << 1);
+                offsets = Arrays.copyOf(offsets, (books << 1) + 1);
+            }
+            if (neighbours + count > neighbourIds.length) {
+                int capacity = Math.max(neighbourIds.length << 1, neighbours + count);
+                neighbourIds = Arrays.copyOf(neighbourIds, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+            }
+            bookIds[books] = bookId;
+        }
+
+        private void endRow(int count) {
+            neighbours += count;
+            offsets[++books] = neighbours;
+        }
+    }
+}
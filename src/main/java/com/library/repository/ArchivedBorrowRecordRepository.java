@@ -0,0 +1,31 @@
+package com.library.repository;
+
+import com.library.entity.ArchivedBorrowRecord;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Arşivlenmiş Ödünç Alma Kaydı Repository Interface
+ */
+@Repository
+public interface ArchivedBorrowRecordRepository extends GenericRepository<ArchivedBorrowRecord, Long> {
+
+    /**
+     * Ödünç kayıtlarını ID'leri ve alanlarıyla birlikte arşiv tablosuna kopyalar (INSERT ... SELECT).
+     * Kayıt zaten arşivdeyse birincil anahtar ihlali oluşur ve transaction geri alınır.
+     * archived_at kolonun varsayılan değeriyle (current_timestamp) yazılır.
+     * @param ids Ödünç kaydı ID'leri
+     * @return Kopyalanan satır sayısı
+     */
+    @Modifying
+    @Query("INSERT INTO ArchivedBorrowRecord (id, bookId, memberId, borrowDate, dueDate, returnDate, " +
+           "fineAmount, notes, createdAt, updatedAt) " +
+           "SELECT br.id, br.book.id, br.member.id, br.borrowDate, br.dueDate, br.returnDate, " +
+           "br.fineAmount, br.notes, br.createdAt, br.updatedAt " +
+           "FROM BorrowRecord br WHERE br.id IN :ids")
+    int copyFromBorrowRecords(@Param("ids") Collection<Long> ids);
+}
@@ -1,13 +1,19 @@
 package com.library.repository;
 
 import com.library.entity.Author;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 /**
  * Yazar Repository Interface
  */
@@ -16,6 +22,17 @@ public interface AuthorRepository extends GenericRepository<Author, Long> {
 
     Optional<Author> findByEmail(String email);
     
+    /**
+     * Ada göre yazar arar.
+     * Sonuç Hibernate sorgu cache'inde ("author-by-name" bölgesi) tutulur; yazar tablosu
+     * değiştiğinde geçersiz olur.
+     * @param name Yazar adı
+     * @return Yazar (varsa)
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = "author-by-name")
+    })
     Optional<Author> findByName(String name);
     
     List<Author> findByNameContainingIgnoreCase(String name);
@@ -31,4 +48,7 @@ public interface AuthorRepository extends GenericRepository<Author, Long> {
 
     @Query("SELECT a FROM Author a WHERE SIZE(a.books) > 0 ORDER BY SIZE(a.books) DESC")
     List<Author> findMostProlificAuthors(@Param("limit") int limit);
+
+    @Query("SELECT a.id, a.name FROM Author a WHERE a.id > :afterId ORDER BY a.id")
+    List<Object[]> findNamesAfter(@Param("afterId") Long afterId, Pageable pageable);
 } 
\ No newline at end of file
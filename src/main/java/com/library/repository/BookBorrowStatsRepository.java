@@ -0,0 +1,68 @@
+package com.library.repository;
+
+import com.library.entity.BookBorrowStats;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Kitap Ödünç İstatistiği Repository Interface
+ *
+ * Kitap bazında ödünç sayıları. Güncellemeler tek tek satır okumadan, arşivlenecek kayıt
+ * ID'leri veya kitap bazında sayı farkları üzerinden toplu sorgularla yapılır.
+ */
+@Repository
+public interface BookBorrowStatsRepository extends GenericRepository<BookBorrowStats, Long> {
+
+    /**
+     * Satırı olan kitapların arşivlenmiş ödünç sayılarını verilen kayıtlar kadar artırır
+     * @param ids Arşivlenecek ödünç kaydı ID'leri (henüz borrow_records tablosunda)
+     * @return Güncellenen kitap satırı sayısı
+     */
+    @Modifying
+    @Query("UPDATE BookBorrowStats s SET s.archivedBorrowCount = s.archivedBorrowCount + " +
+           "(SELECT COUNT(br) FROM BorrowRecord br WHERE br.book.id = s.bookId AND br.id IN :ids), " +
+           "s.lastArchivedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.bookId IN (SELECT br.book.id FROM BorrowRecord br WHERE br.id IN :ids)")
+    int addArchivedBorrows(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Henüz satırı olmayan kitaplar için verilen kayıtların sayısıyla satır oluşturur.
+     * {@link #addArchivedBorrows} sonrasında çağrılır; aynı kayıtlar iki kez sayılmaz.
+     * Satırı olmayan kitabın canlı kayıtları sayılmamış demektir; toplam da arşivlenen sayıyla başlar.
+     * last_archived_at kolonun varsayılan değeriyle yazılır.
+     * @param ids Arşivlenecek ödünç kaydı ID'leri (henüz borrow_records tablosunda)
+     * @return Oluşturulan kitap satırı sayısı
+     */
+    @Modifying
+    @Query("INSERT INTO BookBorrowStats (bookId, archivedBorrowCount, borrowCount) " +
+           "SELECT br.book.id, COUNT(br), COUNT(br) FROM BorrowRecord br " +
+           "WHERE br.id IN :ids AND NOT EXISTS (SELECT s.bookId FROM BookBorrowStats s WHERE s.bookId = br.book.id) " +
+           "GROUP BY br.book.id")
+    int insertArchivedBorrows(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Kitabın toplam ödünç sayısını verilen fark kadar değiştirir
+     * @param bookId Kitap ID'si
+     * @param delta Eklenen kayıt sayısı eksi silinen kayıt sayısı
+     * @return Güncellenen satır sayısı (kitabın satırı yoksa 0)
+     */
+    @Modifying
+    @Query("UPDATE BookBorrowStats s SET s.borrowCount = s.borrowCount + :delta WHERE s.bookId = :bookId")
+    int addBorrows(@Param("bookId") Long bookId, @Param("delta") long delta);
+
+    /**
+     * Kitap varsa ve henüz satırı yoksa sıfır sayılarla satır oluşturur
+     * @param bookId Kitap ID'si
+     * @return Oluşturulan satır sayısı
+     */
+    @Modifying
+    @Query(value = "INSERT INTO book_borrow_stats (book_id, archived_borrow_count, last_archived_at, borrow_count) " +
+                   "SELECT b.id, 0, NULL, 0 FROM books b WHERE b.id = :bookId " +
+                   "AND NOT EXISTS (SELECT 1 FROM book_borrow_stats s WHERE s.book_id = b.id)",
+           nativeQuery = true)
+    int insertEmpty(@Param("bookId") Long bookId);
+}
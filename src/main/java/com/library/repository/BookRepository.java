@@ -2,12 +2,31 @@ package com.library.repository;
 
 import com.library.entity.Book;
 import com.library.entity.BookStatus;
+import com.library.repository.projection.CategoryCount;
+import com.library.repository.projection.LanguageCount;
+import com.library.repository.projection.PopularBookView;
+import com.library.repository.projection.StatusCount;
+import com.library.repository.projection.YearCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * Kitap Repository Interface
@@ -16,7 +35,7 @@ import java.util.Optional;
  * Java 8 Streams ve Lambda kullanımını gösterir.
  */
 @Repository
-public interface BookRepository extends GenericRepository<Book, Long> {
+public interface BookRepository extends GenericRepository<Book, Long>, BookRepositoryCustom {
 
     /**
      * ISBN'e göre kitap arar
@@ -26,25 +45,118 @@ public interface BookRepository extends GenericRepository<Book, Long> {
     Optional<Book> findByIsbn(String isbn);
 
     /**
-     * Başlığa göre kitapları arar (case-insensitive)
+     * Kitabı yazar ve kategorileriyle birlikte tek sorguda getirir
+     * @param id Kitap ID'si
+     * @return Kitap (varsa)
+     */
+    @EntityGraph(attributePaths = {"author", "categories"})
+    Optional<Book> findWithAuthorAndCategoriesById(Long id);
+
+    /**
+     * ISBN'in kayıtlı olup olmadığını kontrol eder
+     * @param isbn ISBN numarası
+     * @return Kayıtlıysa true
+     */
+    boolean existsByIsbn(String isbn);
+
+    /**
+     * Verilen ISBN'lerden kayıtlı olanları getirir
+     * @param isbns ISBN numaraları
+     * @return Kayıtlı ISBN'ler
+     */
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    /**
+     * Verilen kitapların ISBN'lerini getirir
+     * @param ids Kitap ID'leri
+     * @return ISBN listesi
+     */
+    @Query("SELECT b.isbn FROM Book b WHERE b.id IN :ids")
+    List<String> findIsbnsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Verilen kitapların mevcut durumlarını getirir
+     * @param ids Kitap ID'leri
+     * @return [id, status] dizileri
+     */
+    @Query("SELECT b.id, b.status FROM Book b WHERE b.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Kitabın durumunu yalnızca beklenen durumdaysa değiştirir (compare-and-set).
+     * Eşzamanlı iki istekten yalnızca biri satırı günceller; diğeri 0 döner.
+     * @param id Kitap ID'si
+     * @param expected Okunan mevcut durum
+     * @param target Hedef durum
+     * @param updatedAt Güncelleme zamanı
+     * @return Güncellenen satır sayısı (0 veya 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.status = :target, b.version = b.version + 1, b.updatedAt = :updatedAt " +
+           "WHERE b.id = :id AND b.status = :expected")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("expected") BookStatus expected,
+                            @Param("target") BookStatus target,
+                            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Duruma (ve opsiyonel olarak konuma) göre kitap ID'lerini ID sırasıyla getirir
+     * @param status Mevcut durum
+     * @param location Konum (null ise filtrelenmez)
+     * @return Kitap ID'leri
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.status = :status " +
+           "AND (:location IS NULL OR b.location = :location) ORDER BY b.id")
+    List<Long> findIdsByStatusAndLocation(@Param("status") BookStatus status,
+                                          @Param("location") String location);
+
+    /**
+     * Kitapların durumunu tek bir UPDATE ile değiştirir. Yalnızca durumu kaynak durumlardan
+     * birinde olan kitaplar güncellenir; geçiş kuralı sorgunun kendisinde doğrulanır.
+     * Entity listener'ları ve @PreUpdate çalışmadığı için updatedAt ve version burada yazılır;
+     * kalıcılık bağlamı sorgudan önce flush edilir ve sonra temizlenir.
+     * @param ids Kitap ID'leri
+     * @param sources Geçişe izin verilen mevcut durumlar
+     * @param target Hedef durum
+     * @param updatedAt Güncelleme zamanı
+     * @return Güncellenen satır sayısı
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.status = :target, b.version = b.version + 1, b.updatedAt = :updatedAt " +
+           "WHERE b.id IN :ids AND b.status IN :sources")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("sources") Collection<BookStatus> sources,
+                           @Param("target") BookStatus target,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Başlığa göre kitapları yazar ve kategorileriyle birlikte arar (case-insensitive)
      * @param title Kitap başlığı
      * @return Kitap listesi
      */
-    List<Book> findByTitleContainingIgnoreCase(String title);
+    @EntityGraph(attributePaths = {"author", "categories"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<Book> findDistinctByTitleContainingIgnoreCase(String title);
 
     /**
-     * Yazar ID'sine göre kitapları arar
+     * Yazar ID'sine göre kitapları yazar ve kategorileriyle birlikte arar
      * @param authorId Yazar ID'si
      * @return Kitap listesi
      */
-    List<Book> findByAuthorId(Long authorId);
+    @EntityGraph(attributePaths = {"author", "categories"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT b FROM Book b WHERE b.author.id = :authorId")
+    List<Book> findDistinctByAuthorId(@Param("authorId") Long authorId);
 
     /**
-     * Duruma göre kitapları arar
+     * Duruma göre kitapları yazar ve kategorileriyle birlikte arar
      * @param status Kitap durumu
      * @return Kitap listesi
      */
-    List<Book> findByStatus(BookStatus status);
+    @EntityGraph(attributePaths = {"author", "categories"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<Book> findDistinctByStatus(BookStatus status);
 
     /**
      * Yayın yılına göre kitapları arar
@@ -71,14 +183,18 @@ public interface BookRepository extends GenericRepository<Book, Long> {
      * Mevcut kitapları arar (AVAILABLE durumunda olanlar)
      * @return Mevcut kitap listesi
      */
-    @Query("SELECT b FROM Book b WHERE b.status = 'AVAILABLE'")
+    @EntityGraph(attributePaths = {"author", "categories"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT b FROM Book b WHERE b.status = 'AVAILABLE'")
     List<Book> findAvailableBooks();
 
     /**
      * Ödünç verilmiş kitapları arar
      * @return Ödünç verilmiş kitap listesi
      */
-    @Query("SELECT b FROM Book b WHERE b.status = 'BORROWED'")
+    @EntityGraph(attributePaths = {"author", "categories"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT b FROM Book b WHERE b.status = 'BORROWED'")
     List<Book> findBorrowedBooks();
 
     /**
@@ -87,7 +203,9 @@ public interface BookRepository extends GenericRepository<Book, Long> {
      * @param endYear Bitiş yılı
      * @return Kitap listesi
      */
-    @Query("SELECT b FROM Book b WHERE b.publicationYear BETWEEN :startYear AND :endYear")
+    @EntityGraph(attributePaths = {"author", "categories"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT b FROM Book b WHERE b.publicationYear BETWEEN :startYear AND :endYear")
     List<Book> findByPublicationYearBetween(@Param("startYear") Integer startYear, 
                                            @Param("endYear") Integer endYear);
 
@@ -97,34 +215,180 @@ public interface BookRepository extends GenericRepository<Book, Long> {
      * @param maxPrice Maksimum fiyat
      * @return Kitap listesi
      */
-    @Query("SELECT b FROM Book b WHERE b.price BETWEEN :minPrice AND :maxPrice")
-    List<Book> findByPriceBetween(@Param("minPrice") Double minPrice, 
-                                 @Param("maxPrice") Double maxPrice);
+    @EntityGraph(attributePaths = {"author", "categories"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT b FROM Book b WHERE b.price BETWEEN :minPrice AND :maxPrice")
+    List<Book> findByPriceBetween(@Param("minPrice") BigDecimal minPrice,
+                                 @Param("maxPrice") BigDecimal maxPrice);
 
     /**
      * Kategori ID'sine göre kitapları arar
      * @param categoryId Kategori ID'si
      * @return Kitap listesi
      */
+    @EntityGraph(attributePaths = {"author", "categories"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
     @Query("SELECT DISTINCT b FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
     List<Book> findByCategoryId(@Param("categoryId") Long categoryId);
 
     /**
-     * En popüler kitapları arar (en çok ödünç alınanlar)
-     * @param limit Limit sayısı
-     * @return Kitap listesi
+     * Verilen ID'lere sahip kitapları kategorileriyle birlikte tek sorguda getirir.
+     * Sayfalı sorgulardan sonra kategori koleksiyonlarını toplu yüklemek için kullanılır.
+     * @param ids Kitap ID'leri
+     * @return Kategorileri yüklenmiş kitap listesi
+     */
+    @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.categories WHERE b.id IN :ids")
+    List<Book> findAllWithCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Verilen ID'lere sahip kitapları yazar ve kategorileriyle birlikte tek sorguda getirir
+     * @param ids Kitap ID'leri
+     * @return Yazar ve kategorileri yüklenmiş kitap listesi
+     */
+    @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.author LEFT JOIN FETCH b.categories WHERE b.id IN :ids")
+    List<Book> findAllWithAuthorAndCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Verilen ID'den büyük kitap ID'lerini artan sırada getirir (ID üzerinden toplu tarama için)
+     * @param afterId Son okunan ID
+     * @param pageable Limit bilgisi
+     * @return Kitap ID listesi
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Verilen ID'den büyük kitapların ID ve başlıklarını artan ID sırasıyla getirir
+     * @param afterId Son okunan ID
+     * @param pageable Limit bilgisi
+     * @return [id, title] dizileri
+     */
+    @Query("SELECT b.id, b.title FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<Object[]> findTitlesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Verilen ID'den sonraki kitapların ISBN'lerini ID sırasıyla getirir (ISBN filtresi için)
+     * @param afterId Bu ID'den büyük kayıtlar
+     * @param pageable Parça boyutu
+     * @return [id, isbn] dizileri
+     */
+    @Query("SELECT b.id, b.isbn FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<Object[]> findIsbnsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Verilen andan sonra eklenen veya güncellenen kitapların ISBN'lerini getirir (ISBN filtresi için)
+     * @param since Bu andan sonra değişen kayıtlar (dahil)
+     * @return ISBN listesi
      */
-    @Query("SELECT b, COUNT(br) as borrowCount FROM Book b " +
-           "LEFT JOIN b.borrowRecords br " +
-           "GROUP BY b " +
-           "ORDER BY borrowCount DESC")
-    List<Object[]> findMostPopularBooks(@Param("limit") int limit);
+    @Query("SELECT b.isbn FROM Book b WHERE b.updatedAt >= :since")
+    List<String> findIsbnsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Tüm kitapları yazarlarıyla birlikte ID sırasıyla akış olarak okur.
+     * Satırlar JDBC fetch size kadar parça parça çekilir ve entity'ler salt okunur yüklenir;
+     * çağıran taraf açık bir transaction içinde olmalı ve akışı kapatmalıdır.
+     * @return Kitap akışı
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.author ORDER BY b.id")
+    Stream<Book> streamAllWithAuthor();
+
+    /**
+     * Duruma göre kitapları yazarlarıyla birlikte ID sırasıyla akış olarak okur
+     * @param status Kitap durumu
+     * @return Kitap akışı
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.author WHERE b.status = :status ORDER BY b.id")
+    Stream<Book> streamByStatusWithAuthor(@Param("status") BookStatus status);
+
+    /**
+     * Verilen kitapların kategori adlarını getirir (kategori koleksiyonlarını yüklemeden)
+     * @param ids Kitap ID'leri
+     * @return [kitapId, kategoriAdı] dizileri
+     */
+    @Query("SELECT b.id, c.name FROM Book b JOIN b.categories c WHERE b.id IN :ids")
+    List<Object[]> findCategoryNamesByBookIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Verilen kitapların kategori ID'lerini getirir (kategori koleksiyonlarını yüklemeden)
+     * @param ids Kitap ID'leri
+     * @return [kitapId, kategoriId] dizileri
+     */
+    @Query("SELECT b.id, c.id FROM Book b JOIN b.categories c WHERE b.id IN :ids")
+    List<Object[]> findCategoryIdsByBookIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Verilen ID'lerden hâlâ var olanları getirir
+     * @param ids Kitap ID'leri
+     * @return Var olan kitap ID'leri
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Yazarın kitaplarının ID'lerini getirir
+     * @param authorId Yazar ID'si
+     * @return Kitap ID listesi
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+
+    /**
+     * Kategorideki kitapların ID'lerini getirir
+     * @param categoryId Kategori ID'si
+     * @return Kitap ID listesi
+     */
+    @Query("SELECT b.id FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    /**
+     * Tüm zamanların en çok ödünç alınan kitaplarını getirir (top-K).
+     * Limit Pageable ile sorguya LIMIT olarak eklenir. Sayılar book_borrow_stats.borrow_count'tan
+     * (canlı + arşivlenmiş kayıtlar) okunur; ilk K satır idx_book_borrow_stats_borrow_count'un
+     * başından gelir, borrow_records ve arşiv tablosu taranmaz. Hiç ödünç alınmamış kitaplar listelenmez.
+     * @param pageable Limit bilgisi (ör. PageRequest.of(0, 5))
+     * @return Popüler kitap projeksiyonları (ödünç sayısına göre azalan)
+     */
+    @Query("SELECT b.id AS bookId, b.title AS title, a.name AS authorName, b.status AS status, " +
+           "s.borrowCount AS borrowCount " +
+           "FROM BookBorrowStats s JOIN Book b ON b.id = s.bookId LEFT JOIN b.author a " +
+           "WHERE s.borrowCount > 0 " +
+           "ORDER BY s.borrowCount DESC, s.bookId")
+    List<PopularBookView> findTopBorrowed(Pageable pageable);
+
+    /**
+     * Verilen tarihten itibaren en çok ödünç alınan kitapları getirir (top-K).
+     * Sıcak ve arşiv tablolarından yalnızca zaman penceresindeki kayıtlar taranır; arşivde
+     * yalnızca eski kayıtlar bulunduğu için kısa pencerelerde arşiv tarafı boş bir indeks aralığıdır.
+     * @param since Pencere başlangıcı (dahil)
+     * @param pageable Limit bilgisi
+     * @return Popüler kitap projeksiyonları (ödünç sayısına göre azalan)
+     */
+    @Query(value = "SELECT b.id AS \"bookId\", b.title AS \"title\", a.name AS \"authorName\", " +
+                   "b.status AS \"status\", w.borrow_count AS \"borrowCount\" " +
+                   "FROM (SELECT u.book_id, COUNT(*) AS borrow_count FROM (" +
+                   "SELECT book_id FROM borrow_records WHERE borrow_date >= :since " +
+                   "UNION ALL SELECT book_id FROM borrow_records_archive WHERE borrow_date >= :since" +
+                   ") u GROUP BY u.book_id) w " +
+                   "JOIN books b ON b.id = w.book_id LEFT JOIN authors a ON a.id = b.author_id " +
+                   "ORDER BY w.borrow_count DESC, b.id",
+           nativeQuery = true)
+    List<PopularBookView> findTopBorrowedSince(@Param("since") LocalDate since, Pageable pageable);
 
     /**
      * Eski kitapları arar (10 yıldan eski)
      * @return Eski kitap listesi
      */
-    @Query("SELECT b FROM Book b WHERE b.publicationYear < :currentYear - 10")
+    @EntityGraph(attributePaths = {"author", "categories"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT b FROM Book b WHERE b.publicationYear < :currentYear - 10")
     List<Book> findOldBooks(@Param("currentYear") int currentYear);
 
     /**
@@ -144,6 +408,37 @@ public interface BookRepository extends GenericRepository<Book, Long> {
     List<Book> findByPageCountBetween(@Param("minPages") Integer minPages, 
                                      @Param("maxPages") Integer maxPages);
 
+    /**
+     * Durum bazında kitap sayılarını tek GROUP BY sorgusuyla getirir
+     * @return Durum ve sayı listesi (kitabı olmayan durumlar yer almaz)
+     */
+    @Query("SELECT b.status AS status, COUNT(b) AS count FROM Book b GROUP BY b.status")
+    List<StatusCount> countByStatus();
+
+    /**
+     * Kategori adı bazında kitap sayılarını tek GROUP BY sorgusuyla getirir
+     * @return Kategori adı ve sayı listesi (ada göre sıralı)
+     */
+    @Query("SELECT c.name AS name, COUNT(b) AS count FROM Book b JOIN b.categories c " +
+           "GROUP BY c.name ORDER BY c.name")
+    List<CategoryCount> countByCategoryName();
+
+    /**
+     * Yayın yılı bazında kitap sayılarını tek GROUP BY sorgusuyla getirir
+     * @return Yıl ve sayı listesi (yıla göre sıralı, yılı olmayan kitaplar hariç)
+     */
+    @Query("SELECT b.publicationYear AS year, COUNT(b) AS count FROM Book b " +
+           "WHERE b.publicationYear IS NOT NULL GROUP BY b.publicationYear ORDER BY b.publicationYear")
+    List<YearCount> countByPublicationYear();
+
+    /**
+     * Dil bazında kitap sayılarını tek GROUP BY sorgusuyla getirir
+     * @return Dil ve sayı listesi (dili olmayan kitaplar hariç)
+     */
+    @Query("SELECT b.language AS language, COUNT(b) AS count FROM Book b " +
+           "WHERE b.language IS NOT NULL GROUP BY b.language ORDER BY b.language")
+    List<LanguageCount> countByLanguage();
+
     /**
      * Mevcut kitap sayısını döndürür
      * @return Mevcut kitap sayısı
@@ -0,0 +1,26 @@
+package com.library.repository;
+
+import com.library.entity.Book;
+import com.library.paging.KeysetPageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Kitap Repository Özel Sorgu Interface'i
+ *
+ * Spring Data'nın türetilmiş sorgularıyla ifade edilemeyen sorguları tanımlar.
+ * Implementasyonu BookRepositoryImpl'dir.
+ */
+public interface BookRepositoryCustom {
+
+    /**
+     * Keyset (seek) yöntemiyle bir sayfa kitap getirir.
+     * OFFSET kullanılmaz; imleçten sonraki satırlar "(kolon, id) > (değer, id)" koşuluyla bulunur.
+     * @param filter Ek filtre (null olabilir)
+     * @param request Sıralama ve imleç bilgisi
+     * @param limit Getirilecek maksimum satır sayısı
+     * @return Kitap listesi
+     */
+    List<Book> findPage(Specification<Book> filter, KeysetPageRequest request, int limit);
+}
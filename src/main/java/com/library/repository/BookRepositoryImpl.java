@@ -0,0 +1,98 @@
+package com.library.repository;
+
+import com.library.entity.Book;
+import com.library.paging.BookSortField;
+import com.library.paging.KeysetCursor;
+import com.library.paging.KeysetPageRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kitap Repository Özel Sorgu Implementasyonu
+ *
+ * Keyset sayfalama sorgusunu Criteria API ile oluşturur. Sıralama her zaman
+ * (alan, id) çiftiyle yapılır ve (alan, id) indeksleriyle desteklenir.
+ */
+public class BookRepositoryImpl implements BookRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public BookRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public List<Book> findPage(Specification<Book> filter, KeysetPageRequest request, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        Root<Book> root = query.from(Book.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        KeysetCursor after = request.getAfter();
+        ParameterExpression<Long> lastId = cb.parameter(Long.class);
+        ParameterExpression<Comparable> lastValue = cb.parameter(Comparable.class);
+        if (after != null) {
+            predicates.add(seek(cb, root, after, lastId, lastValue));
+        }
+
+        BookSortField sortField = request.getSortField();
+        boolean ascending = request.getDirection() == Sort.Direction.ASC;
+        Expression<Long> id = root.get("id");
+        if (sortField == BookSortField.ID) {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            Expression<?> column = root.get(sortField.getAttribute());
+            query.orderBy(ascending ? cb.asc(column) : cb.desc(column), ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        query.select(root).where(predicates.toArray(new Predicate[0]));
+        TypedQuery<Book> typedQuery = entityManager.createQuery(query).setMaxResults(limit);
+        if (after != null) {
+            typedQuery.setParameter(lastId, after.getId());
+            if (sortField != BookSortField.ID) {
+                typedQuery.setParameter(lastValue, after.getValue());
+            }
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * İmleçten sonraki satırları seçen koşulu oluşturur:
+     * artan sırada (kolon &gt; değer) VEYA (kolon = değer VE id &gt; sonId), azalan sırada tersi.
+     * Değerler parametre olarak bağlanır; böylece her sayfa aynı SQL'i ve aynı planı kullanır.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seek(CriteriaBuilder cb, Root<Book> root, KeysetCursor cursor,
+                                  ParameterExpression<Long> lastId, ParameterExpression<Comparable> lastValue) {
+        boolean ascending = cursor.getDirection() == Sort.Direction.ASC;
+        Expression<Long> id = root.get("id");
+        Predicate idAfter = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+        if (cursor.getSortField() == BookSortField.ID) {
+            return idAfter;
+        }
+
+        Expression<Comparable> column = root.get(cursor.getSortField().getAttribute());
+        Predicate columnAfter = ascending ? cb.greaterThan(column, lastValue) : cb.lessThan(column, lastValue);
+        return cb.or(columnAfter, cb.and(cb.equal(column, lastValue), idAfter));
+    }
+}
@@ -0,0 +1,172 @@
+package com.library.repository;
+
+import com.library.entity.Author;
+import com.library.entity.Book;
+import com.library.entity.BookStatus;
+import com.library.entity.Category;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.util.Locale;
+
+/**
+ * Kitap Specification Fabrikası
+ *
+ * Bu sınıf kitap sorguları için birleştirilebilir JPA Specification'ları üretir.
+ * Her kriter bağımsız bir predicate'tir; null veya boş kriterler sorguya eklenmez,
+ * böylece filtreleme Java tarafında değil veritabanında yapılır.
+ */
+public final class BookSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private BookSpecifications() {
+    }
+
+    /**
+     * Gelişmiş arama kriterlerini tek bir Specification'da birleştirir
+     * @param title Başlık (opsiyonel)
+     * @param authorName Yazar adı (opsiyonel)
+     * @param categoryName Kategori adı (opsiyonel)
+     * @param status Durum (opsiyonel)
+     * @return Birleştirilmiş Specification
+     */
+    public static Specification<Book> search(String title, String authorName, String categoryName, BookStatus status) {
+        return Specification.where(fetchAuthor())
+                .and(titleContains(title))
+                .and(authorNameContains(authorName))
+                .and(categoryNameContains(categoryName))
+                .and(hasStatus(status));
+    }
+
+    /**
+     * Yazarı ana sorguyla birlikte getirir (N+1 sorgusunu önler).
+     * Sayım sorgularında fetch yapılmaz.
+     * @return Specification
+     */
+    public static Specification<Book> fetchAuthor() {
+        return (root, query, cb) -> {
+            if (!isCountQuery(query)) {
+                authorJoin(root, query);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Başlıkta geçen metne göre filtreler (büyük/küçük harf duyarsız)
+     * @param title Başlık parçası
+     * @return Specification (kriter boşsa null)
+     */
+    public static Specification<Book> titleContains(String title) {
+        if (!StringUtils.hasText(title)) {
+            return null;
+        }
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), containsPattern(title), LIKE_ESCAPE);
+    }
+
+    /**
+     * Yazar adında geçen metne göre filtreler
+     * @param authorName Yazar adı parçası
+     * @return Specification (kriter boşsa null)
+     */
+    public static Specification<Book> authorNameContains(String authorName) {
+        if (!StringUtils.hasText(authorName)) {
+            return null;
+        }
+        return (root, query, cb) -> cb.like(cb.lower(authorJoin(root, query).get("name")),
+                containsPattern(authorName), LIKE_ESCAPE);
+    }
+
+    /**
+     * Kategori adında geçen metne göre filtreler.
+     * EXISTS alt sorgusu kullanıldığı için sonuçlar çoğalmaz ve sayfalama bozulmaz.
+     * @param categoryName Kategori adı parçası
+     * @return Specification (kriter boşsa null)
+     */
+    public static Specification<Book> categoryNameContains(String categoryName) {
+        if (!StringUtils.hasText(categoryName)) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Book> correlated = subquery.correlate(root);
+            Join<Book, Category> category = correlated.join("categories");
+            subquery.select(category.get("id"))
+                    .where(cb.like(cb.lower(category.get("name")), containsPattern(categoryName), LIKE_ESCAPE));
+            return cb.exists(subquery);
+        };
+    }
+
+    /**
+     * Verilen kategoriye ait kitapları filtreler (EXISTS alt sorgusu ile, sonuçlar çoğalmaz)
+     * @param categoryId Kategori ID'si
+     * @return Specification (kriter null ise null)
+     */
+    public static Specification<Book> inCategory(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Book> correlated = subquery.correlate(root);
+            Join<Book, Category> category = correlated.join("categories");
+            subquery.select(category.get("id"))
+                    .where(cb.equal(category.get("id"), categoryId));
+            return cb.exists(subquery);
+        };
+    }
+
+    /**
+     * Duruma göre filtreler
+     * @param status Kitap durumu
+     * @return Specification (kriter null ise null)
+     */
+    public static Specification<Book> hasStatus(BookStatus status) {
+        if (status == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Yazar join'ini döndürür; aynı sorguda daha önce oluşturulmuşsa onu yeniden kullanır
+     */
+    @SuppressWarnings("unchecked")
+    private static From<Book, Author> authorJoin(Root<Book> root, CriteriaQuery<?> query) {
+        for (Fetch<Book, ?> fetch : root.getFetches()) {
+            if ("author".equals(fetch.getAttribute().getName())) {
+                return (From<Book, Author>) fetch;
+            }
+        }
+        for (Join<Book, ?> join : root.getJoins()) {
+            if ("author".equals(join.getAttribute().getName())) {
+                return (From<Book, Author>) join;
+            }
+        }
+        if (isCountQuery(query)) {
+            return root.join("author", JoinType.LEFT);
+        }
+        return (From<Book, Author>) root.<Book, Author>fetch("author", JoinType.LEFT);
+    }
+
+    private static boolean isCountQuery(CriteriaQuery<?> query) {
+        Class<?> resultType = query.getResultType();
+        return resultType == Long.class || resultType == long.class;
+    }
+
+    private static String containsPattern(String value) {
+        String escaped = value.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -1,11 +1,15 @@
 package com.library.repository;
 
 import com.library.entity.BorrowRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,13 +18,70 @@ import java.util.List;
 @Repository
 public interface BorrowRecordRepository extends GenericRepository<BorrowRecord, Long> {
 
-    List<BorrowRecord> findByMemberId(Long memberId);
+    // Türetilmiş sorgular (findByMemberId) ilişkili tabloya join eder; burada yabancı anahtar kolonu doğrudan filtrelenir
+    @Query("SELECT br FROM BorrowRecord br WHERE br.member.id = :memberId")
+    List<BorrowRecord> findByMemberId(@Param("memberId") Long memberId);
     
-    List<BorrowRecord> findByBookId(Long bookId);
+    @Query("SELECT br FROM BorrowRecord br WHERE br.book.id = :bookId")
+    List<BorrowRecord> findByBookId(@Param("bookId") Long bookId);
     
     @Query("SELECT br FROM BorrowRecord br WHERE br.returnDate IS NULL")
     List<BorrowRecord> findActiveBorrowRecords();
     
     @Query("SELECT br FROM BorrowRecord br WHERE br.dueDate < :currentDate AND br.returnDate IS NULL")
     List<BorrowRecord> findOverdueRecords(@Param("currentDate") LocalDate currentDate);
-} 
\ No newline at end of file
+
+    /**
+     * Verilen tarihten itibaren kitap ve gün bazında ödünç sayılarını döndürür
+     * @param since Başlangıç tarihi (dahil)
+     * @return [kitap ID'si, ödünç tarihi, sayı] satırları
+     */
+    @Query("SELECT br.book.id, br.borrowDate, COUNT(br) FROM BorrowRecord br " +
+           "WHERE br.borrowDate >= :since GROUP BY br.book.id, br.borrowDate")
+    List<Object[]> countDailyBorrowsSince(@Param("since") LocalDate since);
+
+    /**
+     * Verilen ID'den sonraki ödünç kayıtlarının üye ve kitap ID'lerini ID sırasıyla döndürür.
+     * Arşivlenmiş kayıtlar da dahildir; arşive taşınan kayıt ID'sini koruduğu için watermark
+     * iki tablo üzerinde de geçerlidir.
+     * @param afterId Son okunan kayıt ID'si
+     * @param pageable Parça boyutu
+     * @return [kayıt ID'si, üye ID'si, kitap ID'si] satırları
+     */
+    @Query(value = "SELECT id, member_id, book_id FROM borrow_records WHERE id > :afterId " +
+                   "UNION ALL SELECT id, member_id, book_id FROM borrow_records_archive WHERE id > :afterId " +
+                   "ORDER BY id",
+           nativeQuery = true)
+    List<Object[]> findMemberBookPairsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Verilen zamandan itibaren oluşturulan ödünç kayıtlarının üye ve kitap ID'lerini döndürür.
+     * ID'ler örnek başına bloklar halinde alındığından kayıtlar ID sırasıyla commit edilmeyebilir;
+     * watermark'ın gerisinde kalan geç commit'ler bu pencereyle yakalanır. Yeni kayıtlar arşive
+     * taşınmadığı için yalnızca borrow_records okunur.
+     * @param since Oluşturulma zamanı alt sınırı (dahil)
+     * @return [kayıt ID'si, üye ID'si, kitap ID'si] satırları
+     */
+    @Query(value = "SELECT id, member_id, book_id FROM borrow_records WHERE created_at >= :since",
+           nativeQuery = true)
+    List<Object[]> findMemberBookPairsCreatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Verilen tarihten önce iade edilmiş kayıtların ID'lerini en eski iadeden başlayarak getirir
+     * @param cutoff İade tarihi üst sınırı (hariç)
+     * @param pageable Parça boyutu
+     * @return Arşivlenebilecek kayıt ID'leri
+     */
+    @Query("SELECT br.id FROM BorrowRecord br WHERE br.returnDate < :cutoff ORDER BY br.returnDate, br.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    /**
+     * Ödünç kayıtlarını toplu olarak siler (arşive kopyalandıktan sonra).
+     * Entity listener'lar çalışmaz; kalıcılık bağlamı sorgudan önce flush edilir ve sonra temizlenir.
+     * @param ids Kayıt ID'leri
+     * @return Silinen satır sayısı
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BorrowRecord br WHERE br.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
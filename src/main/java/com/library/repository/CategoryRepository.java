@@ -2,18 +2,34 @@ package com.library.repository;
 
 import com.library.entity.Category;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 /**
  * Kategori Repository Interface
  */
 @Repository
 public interface CategoryRepository extends GenericRepository<Category, Long> {
 
+    /**
+     * Ada göre kategori arar.
+     * Sonuç Hibernate sorgu cache'inde ("category-by-name" bölgesi) tutulur; kategori tablosu
+     * değiştiğinde geçersiz olur.
+     * @param name Kategori adı
+     * @return Kategori (varsa)
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = "category-by-name")
+    })
     Optional<Category> findByName(String name);
 
     @Query("SELECT c FROM Category c WHERE SIZE(c.books) > 0 ORDER BY SIZE(c.books) DESC")
@@ -1,6 +1,7 @@
 package com.library.repository;
 
 import com.library.entity.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -30,4 +31,7 @@ public interface MemberRepository extends GenericRepository<Member, Long> {
     @Query("SELECT m FROM Member m WHERE m.membershipEndDate BETWEEN :startDate AND :endDate")
     List<Member> findMembershipsExpiringBetween(@Param("startDate") LocalDate startDate, 
                                                @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT m.id, m.firstName, m.lastName FROM Member m WHERE m.id > :afterId ORDER BY m.id")
+    List<Object[]> findNamesAfter(@Param("afterId") Long afterId, Pageable pageable);
 } 
\ No newline at end of file
@@ -15,9 +15,12 @@ import java.util.List;
 @Repository
 public interface ReservationRepository extends GenericRepository<Reservation, Long> {
 
-    List<Reservation> findByMemberId(Long memberId);
+    // Türetilmiş sorgular (findByMemberId) ilişkili tabloya join eder; burada yabancı anahtar kolonu doğrudan filtrelenir
+    @Query("SELECT r FROM Reservation r WHERE r.member.id = :memberId")
+    List<Reservation> findByMemberId(@Param("memberId") Long memberId);
     
-    List<Reservation> findByBookId(Long bookId);
+    @Query("SELECT r FROM Reservation r WHERE r.book.id = :bookId")
+    List<Reservation> findByBookId(@Param("bookId") Long bookId);
     
     List<Reservation> findByStatus(ReservationStatus status);
     
@@ -26,4 +29,13 @@ public interface ReservationRepository extends GenericRepository<Reservation, Lo
     
     @Query("SELECT r FROM Reservation r WHERE r.expiryDate < :currentDate AND r.status = 'PENDING'")
     List<Reservation> findExpiredReservations(@Param("currentDate") LocalDate currentDate);
-} 
\ No newline at end of file
+
+    /**
+     * Verilen tarihten itibaren kitap ve gün bazında rezervasyon sayılarını döndürür
+     * @param since Başlangıç tarihi (dahil)
+     * @return [kitap ID'si, rezervasyon tarihi, sayı] satırları
+     */
+    @Query("SELECT r.book.id, r.reservationDate, COUNT(r) FROM Reservation r " +
+           "WHERE r.reservationDate >= :since GROUP BY r.book.id, r.reservationDate")
+    List<Object[]> countDailyReservationsSince(@Param("since") LocalDate since);
+}
@@ -0,0 +1,11 @@
+package com.library.repository.projection;
+
+/**
+ * Kategori bazında kitap sayısı projeksiyonu
+ */
+public interface CategoryCount {
+
+    String getName();
+
+    long getCount();
+}
@@ -0,0 +1,11 @@
+package com.library.repository.projection;
+
+/**
+ * Dil bazında kitap sayısı projeksiyonu
+ */
+public interface LanguageCount {
+
+    String getLanguage();
+
+    long getCount();
+}
@@ -0,0 +1,21 @@
+package com.library.repository.projection;
+
+import com.library.entity.BookStatus;
+
+/**
+ * Popüler kitap projeksiyonu
+ *
+ * Popülerlik listeleri için yalnızca gösterilen alanları taşır; Book entity'si yüklenmez.
+ */
+public interface PopularBookView {
+
+    Long getBookId();
+
+    String getTitle();
+
+    String getAuthorName();
+
+    BookStatus getStatus();
+
+    long getBorrowCount();
+}
@@ -0,0 +1,13 @@
+package com.library.repository.projection;
+
+import com.library.entity.BookStatus;
+
+/**
+ * Durum bazında kitap sayısı projeksiyonu
+ */
+public interface StatusCount {
+
+    BookStatus getStatus();
+
+    long getCount();
+}
@@ -0,0 +1,11 @@
+package com.library.repository.projection;
+
+/**
+ * Yayın yılı bazında kitap sayısı projeksiyonu
+ */
+public interface YearCount {
+
+    Integer getYear();
+
+    long getCount();
+}
@@ -0,0 +1,274 @@
+package com.library.search;
+
+import com.library.datasource.PrimaryReadTransactionTemplate;
+import com.library.entity.Author;
+import com.library.entity.Book;
+import com.library.entity.Category;
+import com.library.event.EntityChangesCommittedEvent;
+import com.library.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Katalog Arama İndeksi
+ *
+ * Kitap başlığı, açıklaması, yazar adı, kategori adları, yayınevi ve dil alanlarını
+ * bellek içi bir ters indekste tutar. Uygulama hazır olduğunda BookRepository'den
+ * yeniden oluşturulur ve commit edilen entity değişiklikleriyle artımlı olarak güncellenir.
+ * Sorgular AND/OR birleştirmeyi ve "ter*" biçiminde önek aramayı destekler.
+ */
+@Component
+public class CatalogSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSearchIndex.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final String PREFIX_MARKER = "*";
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readTransaction;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready;
+
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+
+    @Autowired
+    public CatalogSearchIndex(BookRepository bookRepository, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.readTransaction = new PrimaryReadTransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Uygulama hazır olduğunda indeksi oluşturur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * İndeksi veritabanından sıfırdan oluşturur.
+     * Yeni indeks ayrı bir nesnede hazırlanıp atomik olarak devreye alınır;
+     * bu sırada gelen değişiklikler kaydedilip yeni indekse tekrar uygulanır.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (changedDuringRebuild) {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        }
+
+        InvertedIndex fresh = new InvertedIndex();
+        long afterId = 0L;
+        while (true) {
+            long lastId = afterId;
+            List<Book> books = readTransaction.execute(status -> {
+                List<Long> ids = bookRepository.findIdsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+                return ids.isEmpty() ? new ArrayList<Book>() : bookRepository.findAllWithAuthorAndCategoriesByIdIn(ids);
+            });
+            if (books == null || books.isEmpty()) {
+                break;
+            }
+            for (Book book : books) {
+                fresh.put(toDocId(book.getId()), termsOf(book));
+                afterId = Math.max(afterId, book.getId());
+            }
+        }
+
+        Set<Long> pending;
+        synchronized (changedDuringRebuild) {
+            index = fresh;
+            rebuilding = false;
+            pending = new HashSet<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+        }
+        if (!pending.isEmpty()) {
+            reindex(pending);
+        }
+        ready = true;
+        log.info("Katalog arama indeksi oluşturuldu: {} kitap, {} terim ({} ms)",
+                fresh.documentCount(), fresh.termCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Commit edilen kitap, yazar ve kategori değişikliklerini indekse uygular
+     * @param event Değişiklik olayı
+     */
+    @EventListener
+    public void onEntityChanges(EntityChangesCommittedEvent event) {
+        Set<Long> bookIds = new LinkedHashSet<>(event.idsOf(Book.class));
+        Set<Long> authorIds = event.idsOf(Author.class);
+        Set<Long> categoryIds = event.idsOf(Category.class);
+        if (bookIds.isEmpty() && authorIds.isEmpty() && categoryIds.isEmpty()) {
+            return;
+        }
+
+        // Yazar veya kategori adı değişince o yazarın/kategorinin kitapları yeniden indekslenir
+        if (!authorIds.isEmpty() || !categoryIds.isEmpty()) {
+            readTransaction.executeWithoutResult(status -> {
+                authorIds.forEach(id -> bookIds.addAll(bookRepository.findIdsByAuthorId(id)));
+                categoryIds.forEach(id -> bookIds.addAll(bookRepository.findIdsByCategoryId(id)));
+            });
+        }
+
+        synchronized (changedDuringRebuild) {
+            if (rebuilding) {
+                changedDuringRebuild.addAll(bookIds);
+            }
+        }
+        reindex(bookIds);
+    }
+
+    /**
+     * Verilen kitapları veritabanından okuyup yeniden indeksler; bulunamayanlar indeksten silinir
+     * @param bookIds Kitap ID'leri
+     */
+    public void reindex(Collection<Long> bookIds) {
+        List<Long> ids = new ArrayList<>(bookIds);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            List<Book> books = readTransaction.execute(status ->
+                    bookRepository.findAllWithAuthorAndCategoriesByIdIn(chunk));
+
+            InvertedIndex target = index;
+            Set<Long> found = new HashSet<>();
+            if (books != null) {
+                for (Book book : books) {
+                    target.put(toDocId(book.getId()), termsOf(book));
+                    found.add(book.getId());
+                }
+            }
+            for (Long id : chunk) {
+                if (!found.contains(id)) {
+                    target.remove(toDocId(id));
+                }
+            }
+        }
+        log.debug("Katalog arama indeksi güncellendi: {} kitap", ids.size());
+    }
+
+    /**
+     * İndekste arama yapar
+     * @param query Arama metni; "*" ile biten terimler önek olarak aranır
+     * @param mode Terimlerin birleştirme şekli
+     * @param limit Maksimum sonuç sayısı
+     * @return Eşleşen kitap ID'leri (AND: ID sırasıyla, OR: eşleşen terim sayısına göre)
+     */
+    public List<Long> search(String query, SearchMode mode, int limit) {
+        List<int[]> postings = new ArrayList<>();
+        InvertedIndex current = index;
+        for (String part : query.trim().split("\\s+")) {
+            boolean prefix = part.endsWith(PREFIX_MARKER);
+            List<String> tokens = TurkishTextAnalyzer.tokenize(prefix ? part.substring(0, part.length() - 1) : part);
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean lastToken = i == tokens.size() - 1;
+                postings.add(prefix && lastToken ? current.lookupPrefix(tokens.get(i)) : current.lookup(tokens.get(i)));
+            }
+        }
+        if (postings.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int[] docIds = mode == SearchMode.OR ? rankByMatchCount(postings) : intersectAll(postings);
+
+        List<Long> result = new ArrayList<>(Math.min(limit, docIds.length));
+        for (int i = 0; i < docIds.length && result.size() < limit; i++) {
+            result.add((long) docIds[i]);
+        }
+        return result;
+    }
+
+    /**
+     * İndeksin ilk oluşturmayı tamamlayıp tamamlamadığını döndürür
+     * @return Hazırsa true
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * İndekslenmiş kitap sayısını döndürür
+     * @return Kitap sayısı
+     */
+    public int size() {
+        return index.documentCount();
+    }
+
+    private static int[] intersectAll(List<int[]> postings) {
+        postings.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] result = postings.get(0);
+        for (int i = 1; i < postings.size() && result.length > 0; i++) {
+            result = IntPostingList.intersect(result, postings.get(i));
+        }
+        return result;
+    }
+
+    private static int[] rankByMatchCount(List<int[]> postings) {
+        int total = 0;
+        for (int[] ids : postings) {
+            total += ids.length;
+        }
+        int[] all = new int[total];
+        int offset = 0;
+        for (int[] ids : postings) {
+            System.arraycopy(ids, 0, all, offset, ids.length);
+            offset += ids.length;
+        }
+        Arrays.sort(all);
+
+        // (eşleşme sayısı, ID) çiftlerini tek long içinde tutup sıralar
+        long[] ranked = new long[all.length];
+        int n = 0;
+        for (int i = 0; i < all.length; ) {
+            int j = i;
+            while (j < all.length && all[j] == all[i]) {
+                j++;
+            }
+            ranked[n++] = ((long) (Integer.MAX_VALUE - (j - i)) << 32) | all[i];
+            i = j;
+        }
+        ranked = Arrays.copyOf(ranked, n);
+        Arrays.sort(ranked);
+
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = (int) ranked[i];
+        }
+        return result;
+    }
+
+    private static List<String> termsOf(Book book) {
+        List<String> terms = new ArrayList<>();
+        terms.addAll(TurkishTextAnalyzer.tokenize(book.getTitle()));
+        terms.addAll(TurkishTextAnalyzer.tokenize(book.getDescription()));
+        terms.addAll(TurkishTextAnalyzer.tokenize(book.getPublisher()));
+        terms.addAll(TurkishTextAnalyzer.tokenize(book.getLanguage()));
+        if (book.getAuthor() != null) {
+            terms.addAll(TurkishTextAnalyzer.tokenize(book.getAuthor().getName()));
+        }
+        for (Category category : book.getCategories()) {
+            terms.addAll(TurkishTextAnalyzer.tokenize(category.getName()));
+        }
+        return terms;
+    }
+
+    private static int toDocId(Long bookId) {
+        return Math.toIntExact(bookId);
+    }
+}
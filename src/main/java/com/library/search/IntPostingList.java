@@ -0,0 +1,107 @@
+package com.library.search;
+
+import java.util.Arrays;
+
+/**
+ * Primitive int Posting Listesi
+ *
+ * Bir terimin geçtiği doküman ID'lerini sıralı ve tekrarsız bir int dizisinde tutar.
+ * Kutulanmış Integer nesneleri kullanılmadığı için bellek kullanımı düşüktür ve
+ * kesişim işlemi doğrusal zamanda yapılır.
+ * Bu sınıf thread-safe değildir; senkronizasyon {@link InvertedIndex} tarafından sağlanır.
+ */
+public final class IntPostingList {
+
+    private static final int[] EMPTY = new int[0];
+
+    private int[] ids = new int[4];
+    private int size;
+
+    /**
+     * ID ekler (zaten varsa değişiklik yapmaz)
+     * @param id Doküman ID'si
+     * @return Eklendiyse true
+     */
+    public boolean add(int id) {
+        // ID'ler çoğunlukla artan sırada geldiği için sona ekleme hızlı yoldur
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return true;
+        }
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return false;
+        }
+        int insertAt = -position - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    /**
+     * ID siler
+     * @param id Doküman ID'si
+     * @return Silindiyse true
+     */
+    public boolean remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Sıralı ID dizisinin kopyasını döndürür
+     * @return ID dizisi
+     */
+    public int[] toArray() {
+        return size == 0 ? EMPTY : Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * İki sıralı diziyi keser
+     * @param a Birinci dizi
+     * @param b İkinci dizi
+     * @return Her ikisinde de bulunan ID'ler (sıralı)
+     */
+    public static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+    }
+}
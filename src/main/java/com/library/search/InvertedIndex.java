@@ -0,0 +1,157 @@
+package com.library.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ters İndeks (Inverted Index)
+ *
+ * Terim → doküman ID'leri eşlemesini tutar. Terimler sıralı bir TreeMap'te saklandığı için
+ * önek (prefix) sorguları alt ağaç taraması ile yapılır. Her doküman için terim listesi de
+ * tutulur; böylece güncelleme ve silme işlemleri tüm indeksi taramadan yapılır.
+ * Okumalar paralel, yazmalar ise tekil olarak ReadWriteLock ile korunur.
+ */
+public final class InvertedIndex {
+
+    private final NavigableMap<String, IntPostingList> postings = new TreeMap<>();
+    private final Map<Integer, String[]> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Dokümanı indeksler; daha önce indekslenmişse eski terimleri kaldırılır
+     * @param docId Doküman ID'si
+     * @param terms Dokümanın terimleri
+     */
+    public void put(int docId, Collection<String> terms) {
+        Set<String> uniqueTerms = new LinkedHashSet<>(terms);
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+            for (String term : uniqueTerms) {
+                postings.computeIfAbsent(term, t -> new IntPostingList()).add(docId);
+            }
+            documentTerms.put(docId, uniqueTerms.toArray(new String[0]));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Dokümanı indeksten kaldırır
+     * @param docId Doküman ID'si
+     */
+    public void remove(int docId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Terimin geçtiği doküman ID'lerini döndürür
+     * @param term Normalize edilmiş terim
+     * @return Sıralı ID dizisi
+     */
+    public int[] lookup(String term) {
+        lock.readLock().lock();
+        try {
+            IntPostingList list = postings.get(term);
+            return list == null ? new int[0] : list.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verilen önekle başlayan tüm terimlerin geçtiği doküman ID'lerini döndürür
+     * @param prefix Normalize edilmiş önek
+     * @return Sıralı ve tekrarsız ID dizisi
+     */
+    public int[] lookupPrefix(String prefix) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<String, IntPostingList> range =
+                    postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            int total = 0;
+            for (IntPostingList list : range.values()) {
+                total += list.size();
+            }
+            int[] collected = new int[total];
+            int offset = 0;
+            for (IntPostingList list : range.values()) {
+                int[] ids = list.toArray();
+                System.arraycopy(ids, 0, collected, offset, ids.length);
+                offset += ids.length;
+            }
+            return sortedUnique(collected);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * İndekslenmiş doküman sayısını döndürür
+     * @return Doküman sayısı
+     */
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Farklı terim sayısını döndürür
+     * @return Terim sayısı
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(int docId) {
+        String[] terms = documentTerms.remove(docId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            IntPostingList list = postings.get(term);
+            if (list != null) {
+                list.remove(docId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static int[] sortedUnique(int[] ids) {
+        if (ids.length == 0) {
+            return ids;
+        }
+        Arrays.sort(ids);
+        int n = 1;
+        for (int i = 1; i < ids.length; i++) {
+            if (ids[i] != ids[n - 1]) {
+                ids[n++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, n);
+    }
+}
@@ -0,0 +1,17 @@
+package com.library.search;
+
+/**
+ * Arama terimlerinin nasıl birleştirileceğini belirten enum
+ */
+public enum SearchMode {
+
+    /**
+     * Tüm terimleri içeren dokümanlar
+     */
+    AND,
+
+    /**
+     * Terimlerden en az birini içeren dokümanlar (eşleşen terim sayısına göre sıralı)
+     */
+    OR
+}
@@ -0,0 +1,262 @@
+package com.library.search;
+
+import com.library.datasource.PrimaryReadTransactionTemplate;
+import com.library.entity.Author;
+import com.library.entity.Book;
+import com.library.entity.Member;
+import com.library.event.EntityChangesCommittedEvent;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import com.library.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Alt Metin Arama İndeksi
+ *
+ * Başta joker karakter içeren LIKE sorgusu üreten repository metodları için
+ * trigram indeksleri tutar:
+ * <ul>
+ *   <li>BookRepository.findByTitleContainingIgnoreCase → library.search.trigram.book-title</li>
+ *   <li>AuthorRepository.findByNameContainingIgnoreCase → library.search.trigram.author-name</li>
+ *   <li>MemberRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase
+ *       → library.search.trigram.member-name</li>
+ * </ul>
+ * Her indeks kendi property'si ile açılıp kapatılır. İndeks kapalıysa, henüz hazır değilse
+ * veya sorgu trigram için çok kısaysa boş Optional döner ve çağıran taraf repository
+ * metoduna düşer.
+ */
+@Component
+public class SubstringSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SubstringSearchIndex.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final boolean bookTitleEnabled;
+    private final boolean authorNameEnabled;
+    private final boolean memberNameEnabled;
+
+    private final TrigramIndex bookTitles = new TrigramIndex();
+    private final TrigramIndex authorNames = new TrigramIndex();
+    private final TrigramIndex memberFirstNames = new TrigramIndex();
+    private final TrigramIndex memberLastNames = new TrigramIndex();
+
+    private volatile boolean ready;
+
+    private final Set<Long> booksChangedDuringRebuild = new HashSet<>();
+    private final Set<Long> authorsChangedDuringRebuild = new HashSet<>();
+    private final Set<Long> membersChangedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+
+    @Autowired
+    public SubstringSearchIndex(BookRepository bookRepository,
+                                AuthorRepository authorRepository,
+                                MemberRepository memberRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${library.search.trigram.book-title:true}") boolean bookTitleEnabled,
+                                @Value("${library.search.trigram.author-name:true}") boolean authorNameEnabled,
+                                @Value("${library.search.trigram.member-name:true}") boolean memberNameEnabled) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.memberRepository = memberRepository;
+        this.readTransaction = new PrimaryReadTransactionTemplate(transactionManager);
+        this.bookTitleEnabled = bookTitleEnabled;
+        this.authorNameEnabled = authorNameEnabled;
+        this.memberNameEnabled = memberNameEnabled;
+    }
+
+    /**
+     * Başlığında verilen metni içeren kitapların ID'lerini bulur
+     * @param title Aranan metin
+     * @return Kitap ID'leri; indeks kullanılamıyorsa boş Optional
+     */
+    public Optional<List<Long>> findBookIdsByTitle(String title) {
+        if (!bookTitleEnabled || !ready || !TrigramIndex.supports(title)) {
+            return Optional.empty();
+        }
+        return Optional.of(toLongIds(bookTitles.findContaining(title)));
+    }
+
+    /**
+     * Adında verilen metni içeren yazarların ID'lerini bulur
+     * @param name Aranan metin
+     * @return Yazar ID'leri; indeks kullanılamıyorsa boş Optional
+     */
+    public Optional<List<Long>> findAuthorIdsByName(String name) {
+        if (!authorNameEnabled || !ready || !TrigramIndex.supports(name)) {
+            return Optional.empty();
+        }
+        return Optional.of(toLongIds(authorNames.findContaining(name)));
+    }
+
+    /**
+     * Adında veya soyadında verilen metinleri içeren üyelerin ID'lerini bulur
+     * @param firstName Ad içinde aranan metin
+     * @param lastName Soyad içinde aranan metin
+     * @return Üye ID'leri; indeks kullanılamıyorsa boş Optional
+     */
+    public Optional<List<Long>> findMemberIdsByName(String firstName, String lastName) {
+        if (!memberNameEnabled || !ready || !TrigramIndex.supports(firstName) || !TrigramIndex.supports(lastName)) {
+            return Optional.empty();
+        }
+        Set<Integer> ids = new TreeSet<>(memberFirstNames.findContaining(firstName));
+        ids.addAll(memberLastNames.findContaining(lastName));
+        return Optional.of(toLongIds(ids));
+    }
+
+    /**
+     * Uygulama hazır olduğunda açık olan indeksleri oluşturur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!bookTitleEnabled && !authorNameEnabled && !memberNameEnabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            rebuilding = true;
+        }
+
+        if (bookTitleEnabled) {
+            scan(bookRepository::findTitlesAfter, row -> bookTitles.put(toDocId(row[0]), (String) row[1]));
+        }
+        if (authorNameEnabled) {
+            scan(authorRepository::findNamesAfter, row -> authorNames.put(toDocId(row[0]), (String) row[1]));
+        }
+        if (memberNameEnabled) {
+            scan(memberRepository::findNamesAfter, row -> {
+                memberFirstNames.put(toDocId(row[0]), (String) row[1]);
+                memberLastNames.put(toDocId(row[0]), (String) row[2]);
+            });
+        }
+
+        // Tarama sırasında değişen kayıtlar, taramanın okuduğu eski değerlerin üzerine yazılır
+        Set<Long> books, authors, members;
+        synchronized (this) {
+            rebuilding = false;
+            books = drain(booksChangedDuringRebuild);
+            authors = drain(authorsChangedDuringRebuild);
+            members = drain(membersChangedDuringRebuild);
+        }
+        refresh(books, authors, members);
+        ready = true;
+
+        log.info("Trigram indeksleri oluşturuldu: {} kitap, {} yazar, {} üye ({} ms)",
+                bookTitles.size(), authorNames.size(), memberFirstNames.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Commit edilen kitap, yazar ve üye değişikliklerini indekslere uygular
+     * @param event Değişiklik olayı
+     */
+    @EventListener
+    public void onEntityChanges(EntityChangesCommittedEvent event) {
+        Set<Long> books = bookTitleEnabled ? event.idsOf(Book.class) : new HashSet<>();
+        Set<Long> authors = authorNameEnabled ? event.idsOf(Author.class) : new HashSet<>();
+        Set<Long> members = memberNameEnabled ? event.idsOf(Member.class) : new HashSet<>();
+        if (books.isEmpty() && authors.isEmpty() && members.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (rebuilding) {
+                booksChangedDuringRebuild.addAll(books);
+                authorsChangedDuringRebuild.addAll(authors);
+                membersChangedDuringRebuild.addAll(members);
+            }
+        }
+        refresh(books, authors, members);
+    }
+
+    private void refresh(Collection<Long> bookIds, Collection<Long> authorIds, Collection<Long> memberIds) {
+        if (bookIds.isEmpty() && authorIds.isEmpty() && memberIds.isEmpty()) {
+            return;
+        }
+        readTransaction.executeWithoutResult(status -> {
+            Set<Long> missingBooks = new HashSet<>(bookIds);
+            for (Book book : bookRepository.findAllById(bookIds)) {
+                bookTitles.put(toDocId(book.getId()), book.getTitle());
+                missingBooks.remove(book.getId());
+            }
+            missingBooks.forEach(id -> bookTitles.remove(toDocId(id)));
+
+            Set<Long> missingAuthors = new HashSet<>(authorIds);
+            for (Author author : authorRepository.findAllById(authorIds)) {
+                authorNames.put(toDocId(author.getId()), author.getName());
+                missingAuthors.remove(author.getId());
+            }
+            missingAuthors.forEach(id -> authorNames.remove(toDocId(id)));
+
+            Set<Long> missingMembers = new HashSet<>(memberIds);
+            for (Member member : memberRepository.findAllById(memberIds)) {
+                memberFirstNames.put(toDocId(member.getId()), member.getFirstName());
+                memberLastNames.put(toDocId(member.getId()), member.getLastName());
+                missingMembers.remove(member.getId());
+            }
+            missingMembers.forEach(id -> {
+                memberFirstNames.remove(toDocId(id));
+                memberLastNames.remove(toDocId(id));
+            });
+        });
+    }
+
+    /**
+     * Tabloyu ID sırasıyla parça parça okur; her parça ayrı bir salt okunur transaction'dır
+     */
+    private void scan(BiFunction<Long, Pageable, List<Object[]>> query, Consumer<Object[]> consumer) {
+        long afterId = 0L;
+        while (true) {
+            long lastId = afterId;
+            List<Object[]> rows = readTransaction.execute(status -> query.apply(lastId, PageRequest.of(0, BATCH_SIZE)));
+            if (rows == null || rows.isEmpty()) {
+                return;
+            }
+            for (Object[] row : rows) {
+                consumer.accept(row);
+                afterId = Math.max(afterId, ((Number) row[0]).longValue());
+            }
+        }
+    }
+
+    private static Set<Long> drain(Set<Long> source) {
+        Set<Long> copy = new HashSet<>(source);
+        source.clear();
+        return copy;
+    }
+
+    private static List<Long> toLongIds(Collection<Integer> docIds) {
+        List<Long> ids = new ArrayList<>(docIds.size());
+        for (Integer docId : docIds) {
+            ids.add(docId.longValue());
+        }
+        return ids;
+    }
+
+    private static int toDocId(Object id) {
+        return Math.toIntExact(((Number) id).longValue());
+    }
+}
@@ -0,0 +1,154 @@
+package com.library.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram İndeksi
+ *
+ * Her doküman için tek bir metin alanını üçlü karakter gruplarına (trigram) ayırarak indeksler.
+ * Alt metin (substring) sorgusu önce sorgunun trigram'larının kesişimiyle aday ID kümesine
+ * indirgenir, ardından adaylar saklanan metin üzerinde doğrulanır. Böylece
+ * {@code LIKE '%x%'} aramaları tüm tabloyu taramadan yanıtlanır.
+ *
+ * Karşılaştırma, veritabanındaki IgnoreCase sorgularıyla aynı sonucu vermesi için
+ * büyük harfe çevrilmiş metin üzerinde yapılır.
+ */
+public final class TrigramIndex {
+
+    /**
+     * Trigram kullanılabilmesi için gereken minimum sorgu uzunluğu
+     */
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private final Map<Long, IntPostingList> postings = new HashMap<>();
+    private final Map<Integer, String> values = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Dokümanın metnini indeksler; değer null ise doküman kaldırılır
+     * @param docId Doküman ID'si
+     * @param value İndekslenecek metin
+     */
+    public void put(int docId, String value) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+            if (value == null) {
+                return;
+            }
+            String normalized = normalize(value);
+            values.put(docId, normalized);
+            for (int i = 0; i + MIN_QUERY_LENGTH <= normalized.length(); i++) {
+                postings.computeIfAbsent(trigramAt(normalized, i), t -> new IntPostingList()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Dokümanı indeksten kaldırır
+     * @param docId Doküman ID'si
+     */
+    public void remove(int docId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Metni içeren dokümanları bulur
+     * @param query Aranan metin (en az {@link #MIN_QUERY_LENGTH} karakter)
+     * @return Doğrulanmış doküman ID'leri (artan sırada)
+     */
+    public List<Integer> findContaining(String query) {
+        String normalized = normalize(query);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Trigram sorgusu en az " + MIN_QUERY_LENGTH + " karakter olmalıdır");
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            for (int i = 0; i + MIN_QUERY_LENGTH <= normalized.length(); i++) {
+                IntPostingList list = postings.get(trigramAt(normalized, i));
+                if (list == null) {
+                    return new ArrayList<>();
+                }
+                int[] ids = list.toArray();
+                candidates = candidates == null ? ids : IntPostingList.intersect(candidates, ids);
+                if (candidates.length == 0) {
+                    return new ArrayList<>();
+                }
+            }
+
+            // Trigram kesişimi yalnızca aday üretir; sıralı eşleşme metin üzerinde doğrulanır
+            List<Integer> matches = new ArrayList<>();
+            for (int docId : candidates) {
+                String value = values.get(docId);
+                if (value != null && value.contains(normalized)) {
+                    matches.add(docId);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * İndekslenmiş doküman sayısını döndürür
+     * @return Doküman sayısı
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return values.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sorgunun trigram indeksiyle yanıtlanıp yanıtlanamayacağını kontrol eder
+     * @param query Aranan metin
+     * @return Yeterince uzunsa true
+     */
+    public static boolean supports(String query) {
+        return query != null && normalize(query).length() >= MIN_QUERY_LENGTH;
+    }
+
+    private void removeInternal(int docId) {
+        String previous = values.remove(docId);
+        if (previous == null) {
+            return;
+        }
+        for (int i = 0; i + MIN_QUERY_LENGTH <= previous.length(); i++) {
+            long trigram = trigramAt(previous, i);
+            IntPostingList list = postings.get(trigram);
+            if (list != null) {
+                list.remove(docId);
+                if (list.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+
+    private static long trigramAt(String value, int index) {
+        return ((long) value.charAt(index) << 32) | ((long) value.charAt(index + 1) << 16) | value.charAt(index + 2);
+    }
+}
@@ -0,0 +1,82 @@
+package com.library.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Türkçe Metin Çözümleyici
+ *
+ * Metni arama terimlerine ayırır. Küçük harfe çevirme Türkçe yerel ayarıyla yapılır
+ * (İ → i, I → ı) ve ardından Türkçe karakterler ASCII karşılıklarına katlanır
+ * (ı → i, ş → s, ğ → g, ç → c, ö → o, ü → u). Böylece "Şeker", "seker" ve "ŞEKER"
+ * aynı terime dönüşür.
+ */
+public final class TurkishTextAnalyzer {
+
+    private static final Locale TURKISH = new Locale("tr", "TR");
+
+    private TurkishTextAnalyzer() {
+    }
+
+    /**
+     * Metni normalize eder (küçük harf + karakter katlama)
+     * @param text Ham metin
+     * @return Normalize edilmiş metin (null ise boş string)
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(TURKISH);
+        StringBuilder sb = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            sb.append(fold(lower.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Metni terimlere ayırır. Harf ve rakam dışındaki karakterler ayırıcıdır.
+     * @param text Ham metin
+     * @return Terim listesi (tekrar edebilir)
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean partOfToken = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (partOfToken && start < 0) {
+                start = i;
+            } else if (!partOfToken && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static char fold(char c) {
+        switch (c) {
+            case 'ı':
+            case 'î':
+                return 'i';
+            case 'ş':
+                return 's';
+            case 'ğ':
+                return 'g';
+            case 'ç':
+                return 'c';
+            case 'ö':
+                return 'o';
+            case 'ü':
+            case 'û':
+                return 'u';
+            case 'â':
+                return 'a';
+            default:
+                return c;
+        }
+    }
+}
@@ -1,11 +1,22 @@
 package com.library.service;
 
+import com.library.dto.BookView;
+import com.library.dto.BulkStatusRequest;
+import com.library.dto.BulkStatusResult;
 import com.library.entity.Book;
 import com.library.entity.BookStatus;
+import com.library.paging.CursorPage;
+import com.library.paging.KeysetPageRequest;
+import com.library.repository.projection.PopularBookView;
+import com.library.search.SearchMode;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Kitap Service Interface
@@ -16,11 +27,27 @@ import java.util.Optional;
 public interface BookService extends GenericService<Book, Long> {
 
     /**
-     * ISBN'e göre kitap arar
+     * Kitabın değişmez okuma modelini ID'ye göre getirir (cache'lenir).
+     * Düzenleme için entity gerekiyorsa {@link #findById(Object)} kullanılmalıdır.
+     * @param id Kitap ID'si
+     * @return Kitap görünümü (varsa)
+     */
+    Optional<BookView> findViewById(Long id);
+
+    /**
+     * Kitabın değişmez okuma modelini ISBN'e göre getirir (cache'lenir)
      * @param isbn ISBN numarası
-     * @return Kitap (varsa)
+     * @return Kitap görünümü (varsa)
+     */
+    Optional<BookView> findViewByIsbn(String isbn);
+
+    /**
+     * Verilen ISBN'lerden katalogda kayıtlı olanları bulur (toplu ekleme öncesi tekrar kontrolü).
+     * ISBN filtresinin kesinlikle yok dediği ISBN'ler veritabanına sorulmaz.
+     * @param isbns ISBN numaraları
+     * @return Kayıtlı ISBN'ler
      */
-    Optional<Book> findByIsbn(String isbn);
+    Set<String> findExistingIsbns(Collection<String> isbns);
 
     /**
      * Başlığa göre kitapları arar
@@ -83,7 +110,24 @@ public interface BookService extends GenericService<Book, Long> {
      * @param limit Limit sayısı
      * @return Kitap listesi
      */
-    List<Book> findMostPopularBooks(int limit);
+    List<BookView> findMostPopularBooks(int limit);
+
+    /**
+     * En çok ödünç alınan kitapları hafif projeksiyon olarak getirir.
+     * Sıralama ve limit veritabanında uygulanır.
+     * @param limit Limit sayısı
+     * @param days Zaman penceresi (gün); null ise tüm zamanlar
+     * @return Popüler kitap listesi (ödünç sayısına göre azalan)
+     */
+    List<PopularBookView> findPopularBooks(int limit, Integer days);
+
+    /**
+     * Şu an trend olan kitapları getirir.
+     * Sıralama bellek içi trend motorundan okunur; son ödünç ve rezervasyonlar daha ağır basar.
+     * @param limit Limit sayısı
+     * @return Kitap listesi (trend skoruna göre azalan)
+     */
+    List<Book> findTrendingBooks(int limit);
 
     /**
      * Eski kitapları getirir (10 yıldan eski)
@@ -113,6 +157,7 @@ public interface BookService extends GenericService<Book, Long> {
      * Kitabı ödünç alınabilir hale getirir
      * @param bookId Kitap ID'si
      * @return Güncellenmiş kitap
+     * @throws IllegalStateException Mevcut durumdan geçişe izin verilmiyorsa veya kitap eşzamanlı değiştiyse
      */
     Book makeAvailable(Long bookId);
 
@@ -120,6 +165,7 @@ public interface BookService extends GenericService<Book, Long> {
      * Kitabı ödünç verilmiş olarak işaretler
      * @param bookId Kitap ID'si
      * @return Güncellenmiş kitap
+     * @throws IllegalStateException Mevcut durumdan geçişe izin verilmiyorsa veya kitap eşzamanlı değiştiyse
      */
     Book makeBorrowed(Long bookId);
 
@@ -127,6 +173,7 @@ public interface BookService extends GenericService<Book, Long> {
      * Kitabı rezerve edilmiş olarak işaretler
      * @param bookId Kitap ID'si
      * @return Güncellenmiş kitap
+     * @throws IllegalStateException Mevcut durumdan geçişe izin verilmiyorsa veya kitap eşzamanlı değiştiyse
      */
     Book makeReserved(Long bookId);
 
@@ -134,6 +181,7 @@ public interface BookService extends GenericService<Book, Long> {
      * Kitabı kayıp olarak işaretler
      * @param bookId Kitap ID'si
      * @return Güncellenmiş kitap
+     * @throws IllegalStateException Mevcut durumdan geçişe izin verilmiyorsa veya kitap eşzamanlı değiştiyse
      */
     Book markAsLost(Long bookId);
 
@@ -141,6 +189,7 @@ public interface BookService extends GenericService<Book, Long> {
      * Kitabı hasarlı olarak işaretler
      * @param bookId Kitap ID'si
      * @return Güncellenmiş kitap
+     * @throws IllegalStateException Mevcut durumdan geçişe izin verilmiyorsa veya kitap eşzamanlı değiştiyse
      */
     Book markAsDamaged(Long bookId);
 
@@ -148,9 +197,20 @@ public interface BookService extends GenericService<Book, Long> {
      * Kitabı bakımda olarak işaretler
      * @param bookId Kitap ID'si
      * @return Güncellenmiş kitap
+     * @throws IllegalStateException Mevcut durumdan geçişe izin verilmiyorsa veya kitap eşzamanlı değiştiyse
      */
     Book markAsUnderMaintenance(Long bookId);
 
+    /**
+     * Çok sayıda kitabın durumunu tek transaction'da, parça başına bir UPDATE ile değiştirir.
+     * Geçiş kuralları ({@link BookStatus#allowedSources()}) sorguda uygulanır; izin verilmeyen
+     * kitaplar değişmeden sonuçta raporlanır.
+     * @param request Hedef durum ve ID listesi ya da durum/konum filtresi
+     * @return Kitap bazında sonuçlar
+     * @throws IllegalArgumentException İstek geçersizse veya kitap sayısı sınırı aşılırsa
+     */
+    BulkStatusResult updateStatuses(BulkStatusRequest request);
+
     /**
      * Kitap arama işlemi (gelişmiş)
      * @param title Başlık (opsiyonel)
@@ -161,6 +221,52 @@ public interface BookService extends GenericService<Book, Long> {
      */
     List<Book> searchBooks(String title, String authorName, String categoryName, BookStatus status);
 
+    /**
+     * Sayfalı ve sıralı gelişmiş kitap arama işlemi.
+     * Kriterler veritabanı sorgusuna dönüştürülür; yazar ve kategoriler tek seferde yüklenir.
+     * @param title Başlık (opsiyonel)
+     * @param authorName Yazar adı (opsiyonel)
+     * @param categoryName Kategori adı (opsiyonel)
+     * @param status Durum (opsiyonel)
+     * @param pageable Sayfa ve sıralama bilgisi
+     * @return Kitap sayfası
+     * @throws IllegalArgumentException Sıralama alanı aramada desteklenmiyorsa
+     */
+    Page<Book> searchBooks(String title, String authorName, String categoryName, BookStatus status, Pageable pageable);
+
+    /**
+     * Tüm kitapları imleç tabanlı (keyset) sayfalama ile getirir
+     * @param request Sıralama, imleç ve sayfa boyutu
+     * @return Kitap sayfası
+     */
+    CursorPage<Book> findPage(KeysetPageRequest request);
+
+    /**
+     * Duruma göre kitapları imleç tabanlı sayfalama ile getirir
+     * @param status Kitap durumu
+     * @param request Sıralama, imleç ve sayfa boyutu
+     * @return Kitap sayfası
+     */
+    CursorPage<Book> findPageByStatus(BookStatus status, KeysetPageRequest request);
+
+    /**
+     * Kategoriye göre kitapları imleç tabanlı sayfalama ile getirir
+     * @param categoryId Kategori ID'si
+     * @param request Sıralama, imleç ve sayfa boyutu
+     * @return Kitap sayfası
+     */
+    CursorPage<Book> findPageByCategoryId(Long categoryId, KeysetPageRequest request);
+
+    /**
+     * Bellek içi katalog indeksinde tam metin arama yapar.
+     * Başlık, açıklama, yazar, kategori, yayınevi ve dil alanlarında arar.
+     * @param query Arama metni ("ter*" önek araması yapar)
+     * @param mode Terimlerin birleştirme şekli (AND/OR)
+     * @param limit Maksimum sonuç sayısı
+     * @return Kitap listesi
+     */
+    List<Book> searchCatalog(String query, SearchMode mode, int limit);
+
     /**
      * Kitap önerileri getirir
      * @param bookId Referans kitap ID'si
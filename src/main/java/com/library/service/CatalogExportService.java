@@ -0,0 +1,24 @@
+package com.library.service;
+
+import com.library.entity.BookStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Katalog dışa aktarma servis interface'i
+ * 
+ * Bu interface kataloğun toplu dışa aktarımı için servis metodlarını tanımlar.
+ */
+public interface CatalogExportService {
+
+    /**
+     * Kitapları satır satır JSON (NDJSON) olarak yazar.
+     * Kitaplar veritabanından okunurken yazılır; tablo belleğe alınmaz.
+     * @param status Durum filtresi (null ise tüm kitaplar)
+     * @param out Hedef akış
+     * @return Yazılan kitap sayısı
+     * @throws IOException Yazma hatası (ör. istemci bağlantıyı kapattığında)
+     */
+    long exportBooks(BookStatus status, OutputStream out) throws IOException;
+}
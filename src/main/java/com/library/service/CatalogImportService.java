@@ -0,0 +1,32 @@
+package com.library.service;
+
+import com.library.dto.CatalogImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Katalog içe aktarma servis interface'i
+ *
+ * Bu interface yazar, kategori ve kitapların toplu içe aktarımı için servis metodlarını tanımlar.
+ */
+public interface CatalogImportService {
+
+    /**
+     * Satır satır JSON (NDJSON) kayıtlarını içe aktarır.
+     * Kayıtlar akıştan okunurken parça parça ve JDBC batch'leri halinde yazılır; her parça
+     * ayrı bir transaction'dır. Kayıtlı ISBN'ler atlanır, geçersiz kayıtlar raporlanır.
+     * Kitaplarda adı geçen ancak kayıtlı olmayan yazar ve kategoriler oluşturulur.
+     * @param in Kaynak akış (her satırda bir {@link com.library.dto.CatalogImportRecord})
+     * @return İçe aktarma sonucu
+     * @throws IOException Okuma hatası
+     */
+    CatalogImportResult importCatalog(InputStream in) throws IOException;
+
+    /**
+     * Kayıtların çağıran tarafından parça parça verildiği bir içe aktarma oturumu açar
+     * (ör. CSV/MARC içe aktarma hattı). Kayıtlı yazar ve kategori adları açılışta yüklenir.
+     * @return İçe aktarma oturumu
+     */
+    CatalogImportSession openSession();
+}
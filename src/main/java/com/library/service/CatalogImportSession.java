@@ -0,0 +1,37 @@
+package com.library.service;
+
+import com.library.dto.CatalogImportRecord;
+import com.library.dto.CatalogImportResult;
+
+import java.util.List;
+
+/**
+ * Katalog içe aktarma oturumu
+ *
+ * Kayıtları parça parça yazmak için kullanılır. Yazar ve kategori ad → ID eşlemeleri
+ * oturum boyunca bellekte tutulur; her {@link #write(List, long[])} çağrısı ayrı bir
+ * transaction'dır. Thread-safe değildir, tek bir yazıcı thread'den kullanılmalıdır.
+ */
+public interface CatalogImportSession {
+
+    /**
+     * Kayıtları tek transaction'da yazar
+     * @param records Kayıtlar
+     * @param recordNumbers Kayıtların kaynaktaki sıra numaraları (hata mesajları için)
+     * @return Parça commit edildiyse true, geri alındıysa false
+     */
+    boolean write(List<CatalogImportRecord> records, long[] recordNumbers);
+
+    /**
+     * Okunamayan veya ayrıştırılamayan bir kaydı geçersiz olarak raporlar
+     * @param recordNumber Kaydın kaynaktaki sıra numarası
+     * @param message Hata mesajı
+     */
+    void reject(long recordNumber, String message);
+
+    /**
+     * Oturumu kapatır: katalog sayaçlarını uzlaştırır ve liste cache'lerini temizler
+     * @return İçe aktarma sonucu
+     */
+    CatalogImportResult finish();
+}
@@ -0,0 +1,19 @@
+package com.library.service;
+
+import com.library.entity.Member;
+import java.util.List;
+
+/**
+ * Üye servis interface'i
+ * 
+ * Bu interface üye işlemleri için servis metodlarını tanımlar.
+ */
+public interface MemberService extends GenericService<Member, Long> {
+
+    /**
+     * Ad veya soyadında verilen metni içeren üyeleri arar
+     * @param name Aranan metin
+     * @return Üye listesi
+     */
+    List<Member> findByName(String name);
+}
@@ -1,10 +1,17 @@
 package com.library.service.impl;
 
+import com.library.config.CacheNames;
+import com.library.datasource.ReplicaRoutingDataSource;
 import com.library.entity.Author;
 import com.library.repository.AuthorRepository;
+import com.library.search.SubstringSearchIndex;
 import com.library.service.AuthorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,15 +25,68 @@ import java.util.Optional;
 public class AuthorServiceImpl extends GenericServiceImpl<Author, Long> implements AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final SubstringSearchIndex substringSearchIndex;
 
     @Autowired
-    public AuthorServiceImpl(AuthorRepository authorRepository) {
+    public AuthorServiceImpl(AuthorRepository authorRepository, SubstringSearchIndex substringSearchIndex) {
         super(authorRepository);
         this.authorRepository = authorRepository;
+        this.substringSearchIndex = substringSearchIndex;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.ALL_AUTHORS, key = "'all'")
+    public List<Author> findAll() {
+        return ReplicaRoutingDataSource.readFromPrimary(super::findAll);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.AUTHORS, key = "#id", unless = "#result == null")
+    public Optional<Author> findById(Long id) {
+        return ReplicaRoutingDataSource.readFromPrimary(() -> super.findById(id));
+    }
+
+    /**
+     * Yazarı kaydeder. Önbellekteki kitaplar yazar adını taşıdığı için kitap cache'leri de temizlenir.
+     */
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.AUTHORS, key = "#result.id"),
+        @CacheEvict(cacheNames = {CacheNames.ALL_AUTHORS, CacheNames.BOOKS, CacheNames.BOOKS_BY_ISBN}, allEntries = true)
+    })
+    public Author save(Author author) {
+        return super.save(author);
+    }
+
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.AUTHORS, key = "#result.id"),
+        @CacheEvict(cacheNames = {CacheNames.ALL_AUTHORS, CacheNames.BOOKS, CacheNames.BOOKS_BY_ISBN}, allEntries = true)
+    })
+    public Author update(Author author) {
+        return super.update(author);
+    }
+
+    /**
+     * Yazarı siler. Yazarın kitapları da silindiği için kitap cache'leri temizlenir.
+     */
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.AUTHORS, key = "#id"),
+        @CacheEvict(cacheNames = {CacheNames.ALL_AUTHORS, CacheNames.BOOKS, CacheNames.BOOKS_BY_ISBN}, allEntries = true)
+    })
+    public void deleteById(Long id) {
+        super.deleteById(id);
     }
 
     @Override
     public List<Author> findByName(String name) {
+        Optional<List<Long>> ids = substringSearchIndex.findAuthorIdsByName(name);
+        if (ids.isPresent()) {
+            return authorRepository.findAllById(ids.get());
+        }
         return authorRepository.findByNameContainingIgnoreCase(name);
     }
 
@@ -1,17 +1,54 @@
 package com.library.service.impl;
 
+import com.library.config.CacheNames;
+import com.library.datasource.ReplicaRoutingDataSource;
+import com.library.dto.BookView;
+import com.library.dto.BulkStatusRequest;
+import com.library.dto.BulkStatusResult;
 import com.library.entity.Book;
 import com.library.entity.BookStatus;
-import com.library.entity.Category;
+import com.library.isbn.IsbnRegistry;
+import com.library.paging.CursorPage;
+import com.library.paging.KeysetCursor;
+import com.library.paging.KeysetPageRequest;
+import com.library.popularity.PopularityRanking;
+import com.library.popularity.TrendingEngine;
+import com.library.recommendation.RecommendationEngine;
 import com.library.repository.BookRepository;
+import com.library.repository.BookSpecifications;
+import com.library.repository.projection.CategoryCount;
+import com.library.repository.projection.PopularBookView;
+import com.library.repository.projection.YearCount;
+import com.library.search.CatalogSearchIndex;
+import com.library.search.SearchMode;
+import com.library.search.SubstringSearchIndex;
+import com.library.similarity.BookSimilarityIndex;
+import com.library.similarity.SimilarBook;
+import com.library.similarity.SimilarityFeature;
 import com.library.service.BookService;
+import com.library.stats.CatalogCounters;
+import com.library.stats.ContentionStats;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,40 +64,201 @@ public class BookServiceImpl extends GenericServiceImpl<Book, Long> implements B
 
     private static final Logger log = LoggerFactory.getLogger(BookServiceImpl.class);
 
+    private static final int ISBN_CHECK_BATCH_SIZE = 500;
+
+    /**
+     * Sayfalı aramada sıralanabilecek alanlar; diğerleri sorgu kurulurken hata verir
+     */
+    private static final Set<String> SEARCH_SORT_PROPERTIES = Set.of(
+            "id", "title", "isbn", "publicationYear", "publisher", "price", "pageCount", "createdAt", "updatedAt");
+
     private final BookRepository bookRepository;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final SubstringSearchIndex substringSearchIndex;
+    private final CatalogCounters catalogCounters;
+    private final TrendingEngine trendingEngine;
+    private final PopularityRanking popularityRanking;
+    private final RecommendationEngine recommendationEngine;
+    private final BookSimilarityIndex bookSimilarityIndex;
+    private final IsbnRegistry isbnRegistry;
+    private final ContentionStats contentionStats;
+    private final CacheManager cacheManager;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int bulkStatusChunkSize;
+    private final int bulkStatusMaxBooks;
 
     @Autowired
-    public BookServiceImpl(BookRepository bookRepository) {
+    public BookServiceImpl(BookRepository bookRepository, CatalogSearchIndex catalogSearchIndex,
+                           SubstringSearchIndex substringSearchIndex,
+                           CatalogCounters catalogCounters,
+                           TrendingEngine trendingEngine,
+                           PopularityRanking popularityRanking,
+                           RecommendationEngine recommendationEngine,
+                           BookSimilarityIndex bookSimilarityIndex,
+                           IsbnRegistry isbnRegistry,
+                           ContentionStats contentionStats,
+                           CacheManager cacheManager,
+                           @Value("${library.paging.default-size:20}") int defaultPageSize,
+                           @Value("${library.paging.max-size:100}") int maxPageSize,
+                           @Value("${library.books.bulk-status.chunk-size:500}") int bulkStatusChunkSize,
+                           @Value("${library.books.bulk-status.max-books:50000}") int bulkStatusMaxBooks) {
         super(bookRepository);
         this.bookRepository = bookRepository;
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.substringSearchIndex = substringSearchIndex;
+        this.catalogCounters = catalogCounters;
+        this.trendingEngine = trendingEngine;
+        this.popularityRanking = popularityRanking;
+        this.recommendationEngine = recommendationEngine;
+        this.bookSimilarityIndex = bookSimilarityIndex;
+        this.isbnRegistry = isbnRegistry;
+        this.contentionStats = contentionStats;
+        this.cacheManager = cacheManager;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.bulkStatusChunkSize = Math.max(1, bulkStatusChunkSize);
+        this.bulkStatusMaxBooks = bulkStatusMaxBooks;
+    }
+
+    @Override
+    public Book save(Book book) {
+        Book current = book.getId() != null ? bookRepository.findById(book.getId()).orElse(null) : null;
+        CatalogCounters.Snapshot before = CatalogCounters.snapshot(current);
+        String previousIsbn = current != null ? current.getIsbn() : null;
+        ensureIsbnAvailable(book.getIsbn(), previousIsbn);
+        // Version'sız ama ID'li kitap yeni sayılıp INSERT edilmesin; mevcut version ile birleştirilir
+        if (current != null && book.getVersion() == null) {
+            book.setVersion(current.getVersion());
+        }
+        Book saved = super.save(book);
+        isbnRegistry.add(saved.getIsbn());
+        catalogCounters.recordChange(before, CatalogCounters.snapshot(saved));
+        evictBook(saved.getId(), previousIsbn, saved.getIsbn());
+        return saved;
+    }
+
+    /**
+     * İstekte version varsa iyimser kilitle güncellenir: kitap bu arada değiştiyse
+     * {@link ObjectOptimisticLockingFailureException} fırlatılır. Version gönderilmezse
+     * mevcut version kullanılır (son yazan kazanır). Flush metot içinde yapılır ki
+     * commit sırasında oluşan çakışmalar da burada sayılsın.
+     */
+    @Override
+    public Book update(Book book) {
+        Book current = book.getId() != null ? bookRepository.findById(book.getId()).orElse(null) : null;
+        CatalogCounters.Snapshot before = CatalogCounters.snapshot(current);
+        String previousIsbn = current != null ? current.getIsbn() : null;
+        ensureIsbnAvailable(book.getIsbn(), previousIsbn);
+        if (current != null && book.getVersion() == null) {
+            book.setVersion(current.getVersion());
+        }
+        Book updated;
+        try {
+            updated = super.update(book);
+            bookRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            contentionStats.recordVersionConflict(book.getId());
+            throw e;
+        }
+        isbnRegistry.add(updated.getIsbn());
+        catalogCounters.recordChange(before, CatalogCounters.snapshot(updated));
+        evictBook(updated.getId(), previousIsbn, updated.getIsbn());
+        return updated;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Book current = bookRepository.findById(id).orElse(null);
+        CatalogCounters.Snapshot before = CatalogCounters.snapshot(current);
+        super.deleteById(id);
+        catalogCounters.recordChange(before, null);
+        evictBook(id, current != null ? current.getIsbn() : null);
+    }
+
+    /**
+     * Kitabı ID ile getirir. Düzenleme ve silme için kullanıldığından cache'lenmez; yazarı ve
+     * kategorileri yüklenmiş olarak döner, böylece transaction dışında da kullanılabilir.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Book> findById(Long id) {
+        log.debug("ID {} ile kitap aranıyor", id);
+        return bookRepository.findById(id).map(BookServiceImpl::initializeAssociations);
+    }
+
+    /**
+     * Kitap görünümünü ID ile getirir. Cache'e değişmez görünüm yazılır; cache'ten okuyanlar
+     * paylaşılan bir entity'yi değiştiremez. Cache'i doldurduğu için replica'ya gitmez.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.BOOKS, key = "#id", unless = "#result == null")
+    public Optional<BookView> findViewById(Long id) {
+        log.debug("ID {} ile kitap görünümü aranıyor", id);
+        return ReplicaRoutingDataSource.readFromPrimary(() ->
+                bookRepository.findById(id).map(BookServiceImpl::initializeAssociations).map(BookView::from));
     }
 
+    /**
+     * Kitap görünümünü ISBN ile getirir. ISBN filtresi kesinlikle yok diyorsa veya ISBN kısa
+     * süre önce bulunamadıysa veritabanına gidilmez; bulunamayan ISBN'ler negatif cache'e yazılır.
+     * Cache'i doldurduğu için replica'ya gitmez.
+     */
     @Override
     @Transactional(readOnly = true)
-    public Optional<Book> findByIsbn(String isbn) {
+    @Cacheable(cacheNames = CacheNames.BOOKS_BY_ISBN, key = "#isbn", unless = "#result == null")
+    public Optional<BookView> findViewByIsbn(String isbn) {
+        if (!isbnRegistry.mightExist(isbn)) {
+            log.debug("ISBN {} katalogda yok (filtre)", isbn);
+            return Optional.empty();
+        }
         log.debug("ISBN {} ile kitap aranıyor", isbn);
-        return bookRepository.findByIsbn(isbn);
+        long version = isbnRegistry.version();
+        Optional<Book> book = ReplicaRoutingDataSource.readFromPrimary(() ->
+                bookRepository.findByIsbn(isbn).map(BookServiceImpl::initializeAssociations));
+        if (book.isEmpty()) {
+            isbnRegistry.recordMiss(isbn, version);
+        }
+        return book.map(BookView::from);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findExistingIsbns(Collection<String> isbns) {
+        List<String> candidates = isbnRegistry.candidates(new LinkedHashSet<>(isbns));
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < candidates.size(); from += ISBN_CHECK_BATCH_SIZE) {
+            List<String> batch = candidates.subList(from, Math.min(from + ISBN_CHECK_BATCH_SIZE, candidates.size()));
+            existing.addAll(bookRepository.findExistingIsbns(batch));
+        }
+        log.debug("{} ISBN kontrol edildi: {} aday, {} kayıtlı", isbns.size(), candidates.size(), existing.size());
+        return existing;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Book> findByTitle(String title) {
         log.debug("Başlık '{}' ile kitaplar aranıyor", title);
-        return bookRepository.findByTitleContainingIgnoreCase(title);
+        Optional<List<Long>> ids = substringSearchIndex.findBookIdsByTitle(title);
+        if (ids.isPresent()) {
+            return findAllByIdsInOrder(ids.get());
+        }
+        return bookRepository.findDistinctByTitleContainingIgnoreCase(title);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Book> findByAuthorId(Long authorId) {
         log.debug("Yazar ID {} ile kitaplar aranıyor", authorId);
-        return bookRepository.findByAuthorId(authorId);
+        return bookRepository.findDistinctByAuthorId(authorId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Book> findByStatus(BookStatus status) {
         log.debug("Durum {} ile kitaplar aranıyor", status);
-        return bookRepository.findByStatus(status);
+        return bookRepository.findDistinctByStatus(status);
     }
 
     @Override
@@ -95,20 +293,37 @@ public class BookServiceImpl extends GenericServiceImpl<Book, Long> implements B
     @Transactional(readOnly = true)
     public List<Book> findByPriceBetween(Double minPrice, Double maxPrice) {
         log.debug("Fiyat {} - {} arasındaki kitaplar aranıyor", minPrice, maxPrice);
-        return bookRepository.findByPriceBetween(minPrice, maxPrice);
+        return bookRepository.findByPriceBetween(BigDecimal.valueOf(minPrice), BigDecimal.valueOf(maxPrice));
     }
 
+    /**
+     * Sıralama bellek içi popülerlik sıralamasından, kitaplar ID cache'inden okunur; cache
+     * ısındıktan sonra veritabanına gidilmez. Bu yüzden transaction açılmaz (SUPPORTS); cache'te
+     * olmayan kitaplar repository sorgusunun kendi readOnly transaction'ında yüklenir.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public List<Book> findMostPopularBooks(int limit) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BookView> findMostPopularBooks(int limit) {
         log.debug("En popüler {} kitap getiriliyor", limit);
-        List<Object[]> results = bookRepository.findMostPopularBooks(limit);
-        
-        // Stream API kullanarak sonuçları dönüştür
-        return results.stream()
-                .map(result -> (Book) result[0])
-                .limit(limit)
-                .collect(Collectors.toList());
+        return findCachedByIdsInOrder(popularityRanking.topIds(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PopularBookView> findPopularBooks(int limit, Integer days) {
+        log.debug("En popüler {} kitap projeksiyonu getiriliyor (son {} gün)", limit, days);
+        Pageable topK = PageRequest.of(0, limit);
+        if (days == null) {
+            return bookRepository.findTopBorrowed(topK);
+        }
+        return bookRepository.findTopBorrowedSince(LocalDate.now().minusDays(days), topK);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Book> findTrendingBooks(int limit) {
+        log.debug("Trend olan {} kitap getiriliyor", limit);
+        return findAllByIdsInOrder(trendingEngine.topIds(limit));
     }
 
     @Override
@@ -124,12 +339,14 @@ public class BookServiceImpl extends GenericServiceImpl<Book, Long> implements B
     public Map<BookStatus, Long> getBookStatusStatistics() {
         log.debug("Kitap durum istatistikleri hesaplanıyor");
         
-        // Stream API kullanarak istatistikleri hesapla
-        return Arrays.stream(BookStatus.values())
-                .collect(Collectors.toMap(
-                    status -> status,
-                    status -> (long) bookRepository.findByStatus(status).size()
-                ));
+        // Kitabı olmayan durumlar da 0 ile listelenir
+        Map<BookStatus, Long> statistics = new EnumMap<>(BookStatus.class);
+        for (BookStatus status : BookStatus.values()) {
+            statistics.put(status, 0L);
+        }
+        bookRepository.countByStatus()
+                .forEach(row -> statistics.put(row.getStatus(), row.getCount()));
+        return statistics;
     }
 
     @Override
@@ -137,14 +354,12 @@ public class BookServiceImpl extends GenericServiceImpl<Book, Long> implements B
     public Map<String, Long> getCategoryStatistics() {
         log.debug("Kategori istatistikleri hesaplanıyor");
         
-        List<Book> allBooks = bookRepository.findAll();
-        
-        // Stream API kullanarak kategori bazında gruplama
-        return allBooks.stream()
-                .flatMap(book -> book.getCategories().stream())
-                .collect(Collectors.groupingBy(
-                    Category::getName,
-                    Collectors.counting()
+        return bookRepository.countByCategoryName().stream()
+                .collect(Collectors.toMap(
+                    CategoryCount::getName,
+                    CategoryCount::getCount,
+                    Long::sum,
+                    LinkedHashMap::new
                 ));
     }
 
@@ -153,14 +368,12 @@ public class BookServiceImpl extends GenericServiceImpl<Book, Long> implements B
     public Map<Integer, Long> getPublicationYearStatistics() {
         log.debug("Yayın yılı istatistikleri hesaplanıyor");
         
-        List<Book> allBooks = bookRepository.findAll();
-        
-        // Stream API kullanarak yayın yılı bazında gruplama
-        return allBooks.stream()
-                .filter(book -> book.getPublicationYear() != null)
-                .collect(Collectors.groupingBy(
-                    Book::getPublicationYear,
-                    Collectors.counting()
+        return bookRepository.countByPublicationYear().stream()
+                .collect(Collectors.toMap(
+                    YearCount::getYear,
+                    YearCount::getCount,
+                    Long::sum,
+                    LinkedHashMap::new
                 ));
     }
 
@@ -200,25 +413,152 @@ public class BookServiceImpl extends GenericServiceImpl<Book, Long> implements B
         return updateBookStatus(bookId, BookStatus.UNDER_MAINTENANCE);
     }
 
+    /**
+     * Kitaplar parçalar halinde işlenir: önce mevcut durumlar okunur ve kitap bazında sonuç
+     * belirlenir, ardından uygun olanlar geçiş kuralını WHERE koşulunda taşıyan tek bir UPDATE
+     * ile güncellenir. Güncellenen satır sayısı beklenenden azsa (eşzamanlı değişiklik)
+     * durumlar yeniden okunur. Toplu UPDATE entity olaylarını tetiklemez; kitap cache'leri ve
+     * durum sayaçları commit sonrasında bir kez güncellenir.
+     */
+    @Override
+    public BulkStatusResult updateStatuses(BulkStatusRequest request) {
+        long start = System.currentTimeMillis();
+        BookStatus target = request.getStatus();
+        if (target == null) {
+            throw new IllegalArgumentException("Hedef durum belirtilmelidir");
+        }
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds == (request.getFromStatus() != null)) {
+            throw new IllegalArgumentException("Kitaplar ya ID listesiyle ya da fromStatus filtresiyle seçilmelidir");
+        }
+        List<Long> ids;
+        if (byIds) {
+            ids = request.getIds().stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        } else {
+            String location = request.getLocation() != null && !request.getLocation().isBlank()
+                    ? request.getLocation().trim() : null;
+            ids = bookRepository.findIdsByStatusAndLocation(request.getFromStatus(), location);
+        }
+        if (ids.size() > bulkStatusMaxBooks) {
+            throw new IllegalArgumentException("Tek istekte en fazla " + bulkStatusMaxBooks
+                    + " kitap güncellenebilir: " + ids.size());
+        }
+
+        BulkStatusResult result = new BulkStatusResult(target);
+        Set<BookStatus> sources = target.allowedSources();
+        Map<BookStatus, Long> movedFrom = new EnumMap<>(BookStatus.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += bulkStatusChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + bulkStatusChunkSize, ids.size()));
+            Map<Long, BookStatus> current = findStatuses(chunk);
+            List<Long> eligible = new ArrayList<>();
+            for (Long id : chunk) {
+                BookStatus status = current.get(id);
+                if (status == null) {
+                    result.getNotFound().add(id);
+                } else if (status == target) {
+                    result.getUnchanged().add(id);
+                } else if (sources.contains(status)) {
+                    eligible.add(id);
+                } else {
+                    result.getRejected().put(id, status);
+                }
+            }
+            if (eligible.isEmpty()) {
+                continue;
+            }
+
+            int count = bookRepository.updateStatusByIdIn(eligible, sources, target, now);
+            Map<Long, BookStatus> after = count == eligible.size() ? null : findStatuses(eligible);
+            for (Long id : eligible) {
+                BookStatus status = after != null ? after.get(id) : target;
+                if (status == target) {
+                    result.getUpdated().add(id);
+                    movedFrom.merge(current.get(id), 1L, Long::sum);
+                } else if (status == null) {
+                    result.getNotFound().add(id);
+                } else {
+                    result.getRejected().put(id, status);
+                }
+            }
+        }
+
+        if (!result.getUpdated().isEmpty()) {
+            catalogCounters.recordStatusTransition(movedFrom, target);
+            clearBookCaches();
+        }
+        result.setDurationMillis(System.currentTimeMillis() - start);
+        log.info("Toplu durum güncellemesi ({}): {} güncellendi, {} zaten bu durumda, {} reddedildi, {} bulunamadı ({} ms)",
+                target, result.getUpdated().size(), result.getUnchanged().size(), result.getRejected().size(),
+                result.getNotFound().size(), result.getDurationMillis());
+        return result;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Book> searchBooks(String title, String authorName, String categoryName, BookStatus status) {
         log.debug("Kitap arama yapılıyor: title={}, author={}, category={}, status={}", 
                  title, authorName, categoryName, status);
         
-        List<Book> allBooks = bookRepository.findAll();
-        
-        return allBooks.stream()
-                .filter(book -> title == null || title.isEmpty() || 
-                               book.getTitle().toLowerCase().contains(title.toLowerCase()))
-                .filter(book -> authorName == null || authorName.isEmpty() || 
-                               (book.getAuthor() != null && 
-                                book.getAuthor().getName().toLowerCase().contains(authorName.toLowerCase())))
-                .filter(book -> categoryName == null || categoryName.isEmpty() || 
-                               book.getCategories().stream()
-                                   .anyMatch(cat -> cat.getName().toLowerCase().contains(categoryName.toLowerCase())))
-                .filter(book -> status == null || book.getStatus() == status)
-                .collect(Collectors.toList());
+        List<Book> books = bookRepository.findAll(
+                BookSpecifications.search(title, authorName, categoryName, status), Sort.by("title"));
+        fetchCategories(books);
+        return books;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Book> searchBooks(String title, String authorName, String categoryName, BookStatus status,
+                                  Pageable pageable) {
+        log.debug("Sayfalı kitap arama yapılıyor: title={}, author={}, category={}, status={}, page={}",
+                 title, authorName, categoryName, status, pageable);
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SEARCH_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Geçersiz sıralama alanı: " + order.getProperty()
+                        + " (kullanılabilir: " + String.join(", ", new TreeSet<>(SEARCH_SORT_PROPERTIES)) + ")");
+            }
+        }
+
+        Page<Book> page = bookRepository.findAll(
+                BookSpecifications.search(title, authorName, categoryName, status), pageable);
+        fetchCategories(page.getContent());
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Book> findPage(KeysetPageRequest request) {
+        log.debug("Kitaplar sayfalı getiriliyor: sort={}, direction={}", request.getSortField(), request.getDirection());
+        return findPage(null, request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Book> findPageByStatus(BookStatus status, KeysetPageRequest request) {
+        log.debug("Durum {} ile kitaplar sayfalı getiriliyor", status);
+        return findPage(BookSpecifications.hasStatus(status), request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Book> findPageByCategoryId(Long categoryId, KeysetPageRequest request) {
+        log.debug("Kategori ID {} ile kitaplar sayfalı getiriliyor", categoryId);
+        return findPage(BookSpecifications.inCategory(categoryId), request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Book> searchCatalog(String query, SearchMode mode, int limit) {
+        log.debug("Katalog indeksinde arama yapılıyor: query='{}', mode={}, limit={}", query, mode, limit);
+
+        if (!catalogSearchIndex.isReady()) {
+            // İndeks henüz oluşturulmadıysa veritabanında başlık araması yapılır
+            log.warn("Katalog arama indeksi hazır değil, başlık aramasına dönülüyor");
+            return searchBooks(query, null, null, null, PageRequest.of(0, limit, Sort.by("title"))).getContent();
+        }
+
+        List<Long> ids = catalogSearchIndex.search(query, mode, limit);
+        return findAllByIdsInOrder(ids);
     }
 
     @Override
@@ -226,30 +566,210 @@ public class BookServiceImpl extends GenericServiceImpl<Book, Long> implements B
     public List<Book> getBookRecommendations(Long bookId, int limit) {
         log.debug("Kitap {} için öneriler getiriliyor", bookId);
         
-        Optional<Book> targetBook = findById(bookId);
-        if (!targetBook.isPresent()) {
-            return new ArrayList<>();
+        List<Long> ids = recommendationEngine.recommend(bookId, limit);
+        if (!ids.isEmpty()) {
+            return findAllByIdsInOrder(ids);
         }
         
-        Book book = targetBook.get();
-        List<Book> allBooks = bookRepository.findAll();
+        // Önceden hesaplanmış komşu yoksa LSH ile yaklaşık benzer kitaplara bakılır
+        ids = bookSimilarityIndex.findSimilar(bookId, SimilarityFeature.ALL, limit, null).stream()
+                .map(SimilarBook::getBookId)
+                .collect(Collectors.toList());
+        if (!ids.isEmpty()) {
+            return findAllByIdsInOrder(ids);
+        }
         
-        // Benzer kategorilerdeki kitapları öner
-        return allBooks.stream()
-                .filter(b -> !b.getId().equals(bookId))
-                .filter(b -> b.getAuthor() != null && book.getAuthor() != null && 
-                           b.getAuthor().getId().equals(book.getAuthor().getId()))
+        // Hiçbir indeks sonuç vermezse aynı yazarın kitapları önerilir
+        Optional<Book> targetBook = bookRepository.findById(bookId);
+        if (!targetBook.isPresent() || targetBook.get().getAuthor() == null) {
+            return new ArrayList<>();
+        }
+        List<Long> sameAuthor = bookRepository.findIdsByAuthorId(targetBook.get().getAuthor().getId()).stream()
+                .filter(id -> !id.equals(bookId))
+                .sorted()
                 .limit(limit)
                 .collect(Collectors.toList());
+        return findAllByIdsInOrder(sameAuthor);
+    }
+
+    /**
+     * Keyset sayfasını getirir. Bir fazla satır okunarak sonraki sayfanın varlığı
+     * COUNT sorgusu çalıştırılmadan anlaşılır.
+     */
+    private CursorPage<Book> findPage(Specification<Book> filter, KeysetPageRequest request) {
+        int size = resolvePageSize(request.getSize());
+        List<Book> rows = bookRepository.findPage(
+                Specification.where(BookSpecifications.fetchAuthor()).and(filter), request, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<Book> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        fetchCategories(content);
+
+        String nextCursor = hasNext
+                ? KeysetCursor.after(content.get(content.size() - 1), request.getSortField(), request.getDirection()).encode()
+                : null;
+        return new CursorPage<>(content, nextCursor, size);
+    }
+
+    /**
+     * İstenen sayfa boyutunu sunucu tarafındaki üst sınıra göre düzeltir
+     */
+    private int resolvePageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
     }
 
+    /**
+     * Kitapların kategori koleksiyonlarını tek sorguda yükler.
+     * Kitaplar aynı persistence context'te olduğu için koleksiyonlar yerinde başlatılır.
+     */
+    private void fetchCategories(List<Book> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        List<Long> ids = books.stream()
+                .map(Book::getId)
+                .collect(Collectors.toList());
+        bookRepository.findAllWithCategoriesByIdIn(ids);
+    }
+
+    /**
+     * Kitap görünümlerini önce ID cache'inden okur; yalnızca cache'te olmayanlar birincil
+     * veritabanından tek sorguyla yüklenip cache'e yazılır
+     */
+    private List<BookView> findCachedByIdsInOrder(List<Long> ids) {
+        Cache books = cacheManager.getCache(CacheNames.BOOKS);
+        Map<Long, BookView> byId = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            BookView cached = books != null ? books.get(id, BookView.class) : null;
+            if (cached != null) {
+                byId.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        for (Book loaded : ReplicaRoutingDataSource.readFromPrimary(() -> findAllByIdsInOrder(missing))) {
+            BookView view = BookView.from(loaded);
+            if (books != null) {
+                books.put(view.getId(), view);
+            }
+            byId.put(view.getId(), view);
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Kitapları yazar ve kategorileriyle tek sorguda yükler ve verilen ID sırasını korur
+     */
+    private List<Book> findAllByIdsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Book> byId = bookRepository.findAllWithAuthorAndCategoriesByIdIn(ids).stream()
+                .collect(Collectors.toMap(Book::getId, book -> book));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Durumu compare-and-set ile değiştirir: mevcut durum okunur, geçiş kuralı kontrol edilir ve
+     * UPDATE yalnızca durum hâlâ okunan değerdeyse uygulanır. Kitap yüklenip kaydedilmez;
+     * eşzamanlı bir değişiklik yeniden denenmeden {@link IllegalStateException} ile reddedilir.
+     */
     private Book updateBookStatus(Long bookId, BookStatus status) {
-        Optional<Book> bookOpt = findById(bookId);
-        if (bookOpt.isPresent()) {
-            Book book = bookOpt.get();
-            book.setStatus(status);
-            return update(book);
+        contentionStats.recordAttempt();
+        BookStatus current = findStatuses(Collections.singletonList(bookId)).get(bookId);
+        if (current == null) {
+            throw new RuntimeException("Kitap bulunamadı: " + bookId);
+        }
+        if (!current.canTransitionTo(status)) {
+            contentionStats.recordRejection(bookId);
+            throw new IllegalStateException("Kitap " + bookId + " " + current.getDisplayName()
+                    + " durumunda, " + status.getDisplayName() + " durumuna geçirilemez");
         }
-        throw new RuntimeException("Kitap bulunamadı: " + bookId);
+        if (bookRepository.compareAndSetStatus(bookId, current, status, LocalDateTime.now()) == 0) {
+            contentionStats.recordConflict(bookId);
+            throw new IllegalStateException("Kitap " + bookId + " başka bir işlem tarafından değiştirildi, tekrar deneyin");
+        }
+        // Toplu UPDATE entity olaylarını tetiklemez; sayaçlar ve katalog sürümü commit sonrasında güncellenir
+        catalogCounters.recordStatusTransition(Collections.singletonMap(current, 1L), status);
+        Book updated = bookRepository.findWithAuthorAndCategoriesById(bookId)
+                .orElseThrow(() -> new RuntimeException("Kitap bulunamadı: " + bookId));
+        evictBook(bookId, updated.getIsbn());
+        return updated;
+    }
+
+    /**
+     * ISBN'in başka bir kitapta kayıtlı olmadığını doğrular. Filtre kesinlikle yok diyorsa
+     * veritabanına gidilmez; eşzamanlı eklemelerde son güvence yine unique kısıtıdır.
+     * @param isbn Kaydedilecek ISBN
+     * @param previousIsbn Kitabın mevcut ISBN'i (yeni kayıtta null)
+     */
+    private void ensureIsbnAvailable(String isbn, String previousIsbn) {
+        if (isbn == null || isbn.equals(previousIsbn)) {
+            return;
+        }
+        if (isbnRegistry.mightExist(isbn) && bookRepository.existsByIsbn(isbn)) {
+            throw new IllegalArgumentException("Bu ISBN ile kayıtlı bir kitap zaten var: " + isbn);
+        }
+    }
+
+    /**
+     * Kitabın ID ve ISBN cache girdilerini temizler. ISBN değişmiş olabileceği için eski ve
+     * yeni ISBN birlikte verilir. Cache yöneticisi transaction farkında olduğu için
+     * temizleme commit sonrasında uygulanır.
+     */
+    private void evictBook(Long bookId, String... isbns) {
+        Cache books = cacheManager.getCache(CacheNames.BOOKS);
+        if (books != null && bookId != null) {
+            books.evict(bookId);
+        }
+        Cache byIsbn = cacheManager.getCache(CacheNames.BOOKS_BY_ISBN);
+        if (byIsbn != null) {
+            for (String isbn : isbns) {
+                if (isbn != null) {
+                    byIsbn.evict(isbn);
+                }
+            }
+        }
+    }
+
+    /**
+     * Kitap ID ve ISBN cache'lerini tamamen temizler (toplu güncellemelerde tek seferlik temizleme)
+     */
+    private void clearBookCaches() {
+        Cache books = cacheManager.getCache(CacheNames.BOOKS);
+        if (books != null) {
+            books.clear();
+        }
+        Cache byIsbn = cacheManager.getCache(CacheNames.BOOKS_BY_ISBN);
+        if (byIsbn != null) {
+            byIsbn.clear();
+        }
+    }
+
+    private Map<Long, BookStatus> findStatuses(Collection<Long> ids) {
+        Map<Long, BookStatus> statuses = new HashMap<>();
+        for (Object[] row : bookRepository.findStatusesByIdIn(ids)) {
+            statuses.put((Long) row[0], (BookStatus) row[1]);
+        }
+        return statuses;
+    }
+
+    /**
+     * Cache'lenecek kitabın yazar ve kategorilerini oturum kapanmadan yükler
+     */
+    private static Book initializeAssociations(Book book) {
+        Hibernate.initialize(book.getAuthor());
+        Hibernate.initialize(book.getCategories());
+        return book;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.library.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.entity.Author;
+import com.library.entity.Book;
+import com.library.entity.BookStatus;
+import com.library.repository.BookRepository;
+import com.library.service.CatalogExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Katalog dışa aktarma servis implementasyonu
+ * 
+ * Kitaplar akış olarak okunur ve parça parça NDJSON'a yazılır. Her parçada kategori
+ * adları tek sorguyla yüklenir, yazılan parça istemciye gönderilir ve persistence context
+ * temizlenir; böylece bellek kullanımı tablo boyutundan bağımsız kalır.
+ */
+@Service
+public class CatalogExportServiceImpl implements CatalogExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogExportServiceImpl.class);
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    @Autowired
+    public CatalogExportServiceImpl(BookRepository bookRepository,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${library.export.chunk-size:500}") int chunkSize) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBooks(BookStatus status, OutputStream out) throws IOException {
+        log.info("Katalog dışa aktarımı başladı: status={}", status);
+        long start = System.currentTimeMillis();
+        long written = 0;
+
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Satırlar writeBook içinde '\n' ile ayrılır; varsayılan boşluk ayracı kapatılır
+        generator.setRootValueSeparator(null);
+        try (Stream<Book> books = status == null
+                ? bookRepository.streamAllWithAuthor()
+                : bookRepository.streamByStatusWithAuthor(status)) {
+            List<Book> chunk = new ArrayList<>(chunkSize);
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    written += writeChunk(generator, chunk);
+                }
+            }
+            written += writeChunk(generator, chunk);
+        } finally {
+            generator.close();
+        }
+
+        log.info("Katalog dışa aktarımı tamamlandı: {} kitap ({} ms)", written, System.currentTimeMillis() - start);
+        return written;
+    }
+
+    /**
+     * Parçayı yazar, istemciye gönderir ve persistence context'i temizler
+     */
+    private int writeChunk(JsonGenerator generator, List<Book> chunk) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<String>> categories = findCategoryNames(chunk);
+        for (Book book : chunk) {
+            writeBook(generator, book, categories.getOrDefault(book.getId(), Collections.emptyList()));
+        }
+        generator.flush();
+
+        int size = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return size;
+    }
+
+    private Map<Long, List<String>> findCategoryNames(List<Book> chunk) {
+        List<Long> ids = chunk.stream()
+                .map(Book::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<String>> names = new HashMap<>();
+        for (Object[] row : bookRepository.findCategoryNamesByBookIdIn(ids)) {
+            names.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return names;
+    }
+
+    /**
+     * Kitabı tek satırlık JSON nesnesi olarak yazar; null alanlar atlanır
+     */
+    private static void writeBook(JsonGenerator generator, Book book, List<String> categories) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", book.getId());
+        writeString(generator, "title", book.getTitle());
+        writeString(generator, "isbn", book.getIsbn());
+        writeString(generator, "description", book.getDescription());
+        writeNumber(generator, "pageCount", book.getPageCount());
+        writeNumber(generator, "publicationYear", book.getPublicationYear());
+        writeString(generator, "publisher", book.getPublisher());
+        writeString(generator, "language", book.getLanguage());
+        writeNumber(generator, "price", book.getPrice());
+        writeString(generator, "status", book.getStatus() != null ? book.getStatus().name() : null);
+        writeString(generator, "location", book.getLocation());
+        Author author = book.getAuthor();
+        if (author != null) {
+            generator.writeNumberField("authorId", author.getId());
+            writeString(generator, "authorName", author.getName());
+        }
+        generator.writeArrayFieldStart("categories");
+        for (String category : categories) {
+            generator.writeString(category);
+        }
+        generator.writeEndArray();
+        writeString(generator, "createdAt", book.getCreatedAt() != null ? book.getCreatedAt().toString() : null);
+        writeString(generator, "updatedAt", book.getUpdatedAt() != null ? book.getUpdatedAt().toString() : null);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, String name, Integer value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, String name, BigDecimal value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        }
+    }
+}
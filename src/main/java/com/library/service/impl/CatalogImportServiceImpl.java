@@ -0,0 +1,523 @@
+package com.library.service.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.config.CacheNames;
+import com.library.datasource.PrimaryReadTransactionTemplate;
+import com.library.dto.CatalogImportRecord;
+import com.library.dto.CatalogImportResult;
+import com.library.entity.Author;
+import com.library.entity.Book;
+import com.library.entity.BookStatus;
+import com.library.entity.Category;
+import com.library.isbn.IsbnRegistry;
+import com.library.repository.AuthorRepository;
+import com.library.repository.CategoryRepository;
+import com.library.service.BookService;
+import com.library.service.CatalogImportService;
+import com.library.service.CatalogImportSession;
+import com.library.stats.CatalogCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Katalog içe aktarma servis implementasyonu
+ *
+ * NDJSON kayıtları akıştan okunur ve chunk-size kadar biriktirilir. Her parça tek bir
+ * transaction'da persist edilir, ardından flush ve clear yapılır; sequence tabanlı ID'ler
+ * sayesinde insert'ler hibernate.jdbc.batch_size'lık JDBC batch'leri halinde gider.
+ * Yazar ve kategori adları ID'leriyle bellekte tutulur, kitaplara getReference ile
+ * bağlanır; böylece ilişkiler için ek SELECT yapılmaz.
+ */
+@Service
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportServiceImpl.class);
+
+    private static final int NAME_SCAN_BATCH_SIZE = 1000;
+
+    private final AuthorRepository authorRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookService bookService;
+    private final IsbnRegistry isbnRegistry;
+    private final CatalogCounters catalogCounters;
+    private final CacheManager cacheManager;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    @Autowired
+    public CatalogImportServiceImpl(AuthorRepository authorRepository,
+                                    CategoryRepository categoryRepository,
+                                    BookService bookService,
+                                    IsbnRegistry isbnRegistry,
+                                    CatalogCounters catalogCounters,
+                                    CacheManager cacheManager,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${library.import.chunk-size:1000}") int chunkSize,
+                                    @Value("${library.import.max-errors:100}") int maxErrors) {
+        this.authorRepository = authorRepository;
+        this.categoryRepository = categoryRepository;
+        this.bookService = bookService;
+        this.isbnRegistry = isbnRegistry;
+        this.catalogCounters = catalogCounters;
+        this.cacheManager = cacheManager;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction = new PrimaryReadTransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public CatalogImportResult importCatalog(InputStream in) throws IOException {
+        log.info("Katalog içe aktarımı başladı");
+        Session session = new Session();
+        try (MappingIterator<CatalogImportRecord> records =
+                     objectMapper.readerFor(CatalogImportRecord.class).readValues(in)) {
+            List<CatalogImportRecord> chunk = new ArrayList<>(chunkSize);
+            long number = 0;
+            long firstNumber = 1;
+            while (true) {
+                CatalogImportRecord record;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    number++;
+                    record = records.nextValue();
+                } catch (JsonParseException e) {
+                    // Bozuk JSON'dan sonra satır sınırı güvenilir değildir; okuma durdurulur
+                    session.reject(number, "geçersiz JSON, içe aktarma durduruldu: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    session.reject(number, e.getOriginalMessage());
+                    continue;
+                }
+                if (chunk.isEmpty()) {
+                    firstNumber = number;
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    session.write(chunk, firstNumber);
+                    chunk.clear();
+                }
+            }
+            session.write(chunk, firstNumber);
+        } finally {
+            session.finish();
+        }
+        return session.result;
+    }
+
+    @Override
+    public CatalogImportSession openSession() {
+        return new Session();
+    }
+
+    /**
+     * Bellekteki ad → ID eşlemelerini ve birikmiş sonucu tutan oturum
+     */
+    private final class Session implements CatalogImportSession {
+
+        private final long start = System.currentTimeMillis();
+        private final CatalogImportResult result = new CatalogImportResult(maxErrors);
+        private final Map<String, Long> authorIds = loadAuthorIds();
+        private final Map<String, Long> categoryIds = loadCategoryIds();
+        private boolean finished;
+
+        /**
+         * Parçayı tek transaction'da yazar. Parça geri alınırsa içindeki hiçbir kayıt sayılmaz
+         * ve parçada oluşturulan yazar/kategori ID'leri bellekteki eşlemelere eklenmez.
+         */
+        @Override
+        public boolean write(List<CatalogImportRecord> records, long[] recordNumbers) {
+            if (records.isEmpty()) {
+                return true;
+            }
+            List<Line> chunk = new ArrayList<>(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                chunk.add(new Line(recordNumbers[i], records.get(i)));
+            }
+            long firstRecordNumber = recordNumbers[0];
+            long lastRecordNumber = recordNumbers[records.size() - 1];
+            ChunkOutcome outcome = new ChunkOutcome(authorIds, categoryIds);
+            try {
+                writeTransaction.executeWithoutResult(status -> {
+                    for (Line line : chunk) {
+                        String type = line.record.resolvedType();
+                        if (CatalogImportRecord.TYPE_AUTHOR.equals(type)) {
+                            importAuthor(line, outcome);
+                        } else if (CatalogImportRecord.TYPE_CATEGORY.equals(type)) {
+                            importCategory(line, outcome);
+                        } else if (!CatalogImportRecord.TYPE_BOOK.equals(type)) {
+                            outcome.invalid(line, "bilinmeyen kayıt tipi: " + type);
+                        }
+                    }
+                    importBooks(chunk, outcome);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            } catch (RuntimeException e) {
+                log.warn("İçe aktarma parçası geri alındı (kayıt {}-{})", firstRecordNumber, lastRecordNumber, e);
+                result.addRecords(records.size());
+                result.incrementFailedChunks();
+                result.addError("Kayıt " + firstRecordNumber + "-" + lastRecordNumber
+                        + ": parça geri alındı: " + e.getMessage());
+                return false;
+            }
+
+            authorIds.putAll(outcome.newAuthors);
+            categoryIds.putAll(outcome.newCategories);
+            result.addRecords(records.size());
+            result.addAuthorsCreated(outcome.newAuthors.size());
+            result.addCategoriesCreated(outcome.newCategories.size());
+            result.addBooksCreated(outcome.books);
+            result.addDuplicates(outcome.duplicates);
+            for (String error : outcome.errors) {
+                result.incrementInvalid();
+                result.addError(error);
+            }
+            return true;
+        }
+
+        /**
+         * Ardışık numaralı kayıtları yazar (NDJSON akışı)
+         */
+        private boolean write(List<CatalogImportRecord> records, long firstRecordNumber) {
+            long[] recordNumbers = new long[records.size()];
+            for (int i = 0; i < recordNumbers.length; i++) {
+                recordNumbers[i] = firstRecordNumber + i;
+            }
+            return write(records, recordNumbers);
+        }
+
+        @Override
+        public void reject(long recordNumber, String message) {
+            result.addRecords(1);
+            result.incrementInvalid();
+            result.addError("Kayıt " + recordNumber + ": " + message);
+        }
+
+        @Override
+        public CatalogImportResult finish() {
+            if (finished) {
+                return result;
+            }
+            finished = true;
+            afterImport(result);
+            result.setDurationMillis(System.currentTimeMillis() - start);
+            log.info("Katalog içe aktarımı tamamlandı: {} kayıt, {} kitap, {} yazar, {} kategori, {} tekrar, {} geçersiz ({} ms)",
+                    result.getRecords(), result.getBooksCreated(), result.getAuthorsCreated(),
+                    result.getCategoriesCreated(), result.getDuplicates(), result.getInvalid(), result.getDurationMillis());
+            return result;
+        }
+    }
+
+    private void importAuthor(Line line, ChunkOutcome outcome) {
+        CatalogImportRecord record = line.record;
+        String name = trimToNull(record.getName());
+        if (name != null && outcome.authorId(name) != null) {
+            outcome.duplicates++;
+            return;
+        }
+        Author author = new Author();
+        author.setName(name);
+        author.setBiography(record.getBiography());
+        author.setEmail(record.getEmail());
+        author.setBirthYear(record.getBirthYear());
+        author.setNationality(record.getNationality());
+        if (persistIfValid(author, line, outcome)) {
+            outcome.newAuthors.put(name, author.getId());
+        }
+    }
+
+    private void importCategory(Line line, ChunkOutcome outcome) {
+        CatalogImportRecord record = line.record;
+        String name = trimToNull(record.getName());
+        if (name != null && outcome.categoryId(name) != null) {
+            outcome.duplicates++;
+            return;
+        }
+        Category category = new Category();
+        category.setName(name);
+        category.setDescription(record.getDescription());
+        category.setColorCode(record.getColorCode());
+        if (persistIfValid(category, line, outcome)) {
+            outcome.newCategories.put(name, category.getId());
+        }
+    }
+
+    /**
+     * Parçadaki kitapları yazar. Kayıtlı ISBN'ler tek sorguda (ISBN filtresinden geçenler için)
+     * bulunur; aynı parçada tekrar eden ISBN'ler de atlanır.
+     */
+    private void importBooks(List<Line> chunk, ChunkOutcome outcome) {
+        List<Line> books = chunk.stream()
+                .filter(line -> CatalogImportRecord.TYPE_BOOK.equals(line.record.resolvedType()))
+                .collect(Collectors.toList());
+        if (books.isEmpty()) {
+            return;
+        }
+        Set<String> taken = new HashSet<>(bookService.findExistingIsbns(books.stream()
+                .map(line -> line.record.getIsbn())
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toList())));
+
+        for (Line line : books) {
+            CatalogImportRecord record = line.record;
+            if (record.getIsbn() != null && !taken.add(record.getIsbn())) {
+                outcome.duplicates++;
+                continue;
+            }
+            BookStatus status;
+            try {
+                status = record.getStatus() != null
+                        ? BookStatus.valueOf(record.getStatus().trim().toUpperCase(Locale.ROOT))
+                        : BookStatus.AVAILABLE;
+            } catch (IllegalArgumentException e) {
+                outcome.invalid(line, "geçersiz durum: " + record.getStatus());
+                continue;
+            }
+
+            Book book = new Book();
+            book.setTitle(record.getTitle());
+            book.setIsbn(record.getIsbn());
+            book.setDescription(record.getDescription());
+            book.setPageCount(record.getPageCount());
+            book.setPublicationYear(record.getPublicationYear());
+            book.setPublisher(record.getPublisher());
+            book.setLanguage(record.getLanguage());
+            book.setPrice(record.getPrice());
+            book.setStatus(status);
+            book.setLocation(record.getLocation());
+            book.setCoverImageUrl(record.getCoverImageUrl());
+            if (!isValid(book, line, outcome)) {
+                continue;
+            }
+
+            String authorName = trimToNull(record.getAuthorName());
+            if (authorName != null) {
+                Long authorId = resolveAuthor(authorName, line, outcome);
+                if (authorId == null) {
+                    continue;
+                }
+                book.setAuthor(entityManager.getReference(Author.class, authorId));
+            }
+            boolean categoriesResolved = true;
+            for (String categoryName : record.getCategories()) {
+                String name = trimToNull(categoryName);
+                if (name == null) {
+                    continue;
+                }
+                Long categoryId = resolveCategory(name, line, outcome);
+                if (categoryId == null) {
+                    categoriesResolved = false;
+                    break;
+                }
+                book.getCategories().add(entityManager.getReference(Category.class, categoryId));
+            }
+            if (!categoriesResolved) {
+                continue;
+            }
+
+            entityManager.persist(book);
+            isbnRegistry.add(book.getIsbn());
+            outcome.books++;
+        }
+    }
+
+    /**
+     * Yazarın ID'sini döndürür; kayıtlı değilse yalnızca adıyla oluşturur
+     */
+    private Long resolveAuthor(String name, Line line, ChunkOutcome outcome) {
+        Long id = outcome.authorId(name);
+        if (id != null) {
+            return id;
+        }
+        Author author = new Author();
+        author.setName(name);
+        if (!persistIfValid(author, line, outcome)) {
+            return null;
+        }
+        outcome.newAuthors.put(name, author.getId());
+        return author.getId();
+    }
+
+    /**
+     * Kategorinin ID'sini döndürür; kayıtlı değilse yalnızca adıyla oluşturur
+     */
+    private Long resolveCategory(String name, Line line, ChunkOutcome outcome) {
+        Long id = outcome.categoryId(name);
+        if (id != null) {
+            return id;
+        }
+        Category category = new Category();
+        category.setName(name);
+        if (!persistIfValid(category, line, outcome)) {
+            return null;
+        }
+        outcome.newCategories.put(name, category.getId());
+        return category.getId();
+    }
+
+    private boolean persistIfValid(Object entity, Line line, ChunkOutcome outcome) {
+        if (!isValid(entity, line, outcome)) {
+            return false;
+        }
+        entityManager.persist(entity);
+        return true;
+    }
+
+    private boolean isValid(Object entity, Line line, ChunkOutcome outcome) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+        if (violations.isEmpty()) {
+            return true;
+        }
+        outcome.invalid(line, violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", ")));
+        return false;
+    }
+
+    /**
+     * İçe aktarma sonrasında sayaçları uzlaştırır ve liste cache'lerini temizler
+     */
+    private void afterImport(CatalogImportResult result) {
+        if (result.getBooksCreated() > 0) {
+            catalogCounters.reconcile();
+        }
+        if (result.getAuthorsCreated() > 0) {
+            clearCache(CacheNames.ALL_AUTHORS);
+        }
+        if (result.getCategoriesCreated() > 0) {
+            clearCache(CacheNames.ALL_CATEGORIES);
+        }
+    }
+
+    private void clearCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Kayıtlı yazarların ad → ID eşlemesini ID sırasıyla parça parça okur
+     */
+    private Map<String, Long> loadAuthorIds() {
+        Map<String, Long> ids = new HashMap<>();
+        long afterId = 0L;
+        while (true) {
+            long lastId = afterId;
+            List<Object[]> rows = readTransaction.execute(status ->
+                    authorRepository.findNamesAfter(lastId, PageRequest.of(0, NAME_SCAN_BATCH_SIZE)));
+            if (rows == null || rows.isEmpty()) {
+                return ids;
+            }
+            for (Object[] row : rows) {
+                Long id = ((Number) row[0]).longValue();
+                ids.putIfAbsent((String) row[1], id);
+                afterId = Math.max(afterId, id);
+            }
+        }
+    }
+
+    private Map<String, Long> loadCategoryIds() {
+        Map<String, Long> ids = new HashMap<>();
+        readTransaction.executeWithoutResult(status -> {
+            for (Category category : categoryRepository.findAll()) {
+                ids.put(category.getName(), category.getId());
+            }
+        });
+        return ids;
+    }
+
+    private static String trimToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+
+    /**
+     * Kaynaktaki sırasıyla numaralanmış kayıt
+     */
+    private static final class Line {
+
+        private final long number;
+        private final CatalogImportRecord record;
+
+        private Line(long number, CatalogImportRecord record) {
+            this.number = number;
+            this.record = record;
+        }
+    }
+
+    /**
+     * Bir parçanın commit edilene kadar bekletilen sonuçları
+     */
+    private static final class ChunkOutcome {
+
+        private final Map<String, Long> authorIds;
+        private final Map<String, Long> categoryIds;
+        private final Map<String, Long> newAuthors = new HashMap<>();
+        private final Map<String, Long> newCategories = new HashMap<>();
+        private final List<String> errors = new ArrayList<>();
+        private long books;
+        private long duplicates;
+
+        private ChunkOutcome(Map<String, Long> authorIds, Map<String, Long> categoryIds) {
+            this.authorIds = authorIds;
+            this.categoryIds = categoryIds;
+        }
+
+        private Long authorId(String name) {
+            Long id = newAuthors.get(name);
+            return id != null ? id : authorIds.get(name);
+        }
+
+        private Long categoryId(String name) {
+            Long id = newCategories.get(name);
+            return id != null ? id : categoryIds.get(name);
+        }
+
+        private void invalid(Line line, String message) {
+            errors.add("Kayıt " + line.number + ": " + message);
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.library.service.impl;
 
+import com.library.config.CacheNames;
+import com.library.datasource.ReplicaRoutingDataSource;
 import com.library.entity.Category;
 import com.library.repository.CategoryRepository;
 import com.library.service.CategoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +31,50 @@ public class CategoryServiceImpl extends GenericServiceImpl<Category, Long> impl
         this.categoryRepository = categoryRepository;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.ALL_CATEGORIES, key = "'all'")
+    public List<Category> findAll() {
+        return ReplicaRoutingDataSource.readFromPrimary(super::findAll);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.CATEGORIES, key = "#id", unless = "#result == null")
+    public Optional<Category> findById(Long id) {
+        return ReplicaRoutingDataSource.readFromPrimary(() -> super.findById(id));
+    }
+
+    /**
+     * Kategoriyi kaydeder. Önbellekteki kitaplar kategori adlarını taşıdığı için kitap cache'leri de temizlenir.
+     */
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.CATEGORIES, key = "#result.id"),
+        @CacheEvict(cacheNames = {CacheNames.ALL_CATEGORIES, CacheNames.BOOKS, CacheNames.BOOKS_BY_ISBN}, allEntries = true)
+    })
+    public Category save(Category category) {
+        return super.save(category);
+    }
+
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.CATEGORIES, key = "#result.id"),
+        @CacheEvict(cacheNames = {CacheNames.ALL_CATEGORIES, CacheNames.BOOKS, CacheNames.BOOKS_BY_ISBN}, allEntries = true)
+    })
+    public Category update(Category category) {
+        return super.update(category);
+    }
+
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.CATEGORIES, key = "#id"),
+        @CacheEvict(cacheNames = {CacheNames.ALL_CATEGORIES, CacheNames.BOOKS, CacheNames.BOOKS_BY_ISBN}, allEntries = true)
+    })
+    public void deleteById(Long id) {
+        super.deleteById(id);
+    }
+
     @Override
     public Optional<Category> findByName(String name) {
         return categoryRepository.findByName(name);
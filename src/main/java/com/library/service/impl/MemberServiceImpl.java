@@ -0,0 +1,41 @@
+package com.library.service.impl;
+
+import com.library.entity.Member;
+import com.library.repository.MemberRepository;
+import com.library.search.SubstringSearchIndex;
+import com.library.service.MemberService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Üye servis implementasyonu
+ * 
+ * Bu sınıf MemberService interface'ini implement eder.
+ */
+@Service
+public class MemberServiceImpl extends GenericServiceImpl<Member, Long> implements MemberService {
+
+    private final MemberRepository memberRepository;
+    private final SubstringSearchIndex substringSearchIndex;
+
+    @Autowired
+    public MemberServiceImpl(MemberRepository memberRepository, SubstringSearchIndex substringSearchIndex) {
+        super(memberRepository);
+        this.memberRepository = memberRepository;
+        this.substringSearchIndex = substringSearchIndex;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Member> findByName(String name) {
+        Optional<List<Long>> ids = substringSearchIndex.findMemberIdsByName(name, name);
+        if (ids.isPresent()) {
+            return memberRepository.findAllById(ids.get());
+        }
+        return memberRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(name, name);
+    }
+}
@@ -0,0 +1,311 @@
+package com.library.similarity;
+
+import com.library.datasource.PrimaryReadTransactionTemplate;
+import com.library.entity.Book;
+import com.library.event.EntityChangesCommittedEvent;
+import com.library.repository.BookRepository;
+import com.library.repository.BorrowRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kitap Benzerlik İndeksi
+ *
+ * Her kitap için iki MinHash imzası tutar: kategori ID'leri ve kitabı ödünç alan üye
+ * ID'leri üzerinden. İmzalar LSH ile kovalara yerleştirilir; "yaklaşık benzer kitaplar"
+ * sorgusu tüm kataloğu taramadan, yalnızca aynı kovalardaki adaylar üzerinden yanıtlanır.
+ *
+ * İndeks açılışta ve periyodik olarak baştan oluşturulur. Aradaki zamanlanmış
+ * güncellemeler değişen kitapların kategori imzalarını yeniden hesaplar ve yeni ödünç
+ * kayıtlarını üye imzalarına ekler (MinHash eklemeyle artımlı güncellenebilir). Ödünç
+ * kayıtları ID sırasıyla commit edilmeyebildiği için son taramadan bir örtüşme süresi kadar
+ * geriden başlayan created_at penceresi de yeniden okunur; MinHash eklemesi tekrarlanınca
+ * imza değişmez, yalnızca değişen imzalar indekse yazılır.
+ * Silinen ödünç kayıtları bir sonraki tam oluşturmada imzalardan çıkar.
+ */
+@Component
+public class BookSimilarityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSimilarityIndex.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long CATEGORY_SEED = 0x43415447L;
+    private static final long BORROWER_SEED = 0x424f5252L;
+
+    private final BookRepository bookRepository;
+    private final BorrowRecordRepository borrowRecordRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final int bands;
+    private final int rows;
+    private final long rebuildIntervalMillis;
+    private final Duration borrowOverlap;
+    private final MinHasher categoryHasher;
+    private final MinHasher borrowerHasher;
+
+    private final Set<Long> changedBooks = ConcurrentHashMap.newKeySet();
+
+    private volatile LshIndex categoryIndex;
+    private volatile LshIndex borrowerIndex;
+
+    // Yalnızca senkronize oluşturma/güncelleme metodlarında kullanılır
+    private long borrowWatermark;
+    private LocalDateTime borrowsSince;
+    private long lastRebuild;
+
+    @Autowired
+    public BookSimilarityIndex(BookRepository bookRepository,
+                               BorrowRecordRepository borrowRecordRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${library.similarity.bands:16}") int bands,
+                               @Value("${library.similarity.rows:4}") int rows,
+                               @Value("${library.similarity.rebuild-interval-ms:3600000}") long rebuildIntervalMillis,
+                               @Value("${library.similarity.borrow-overlap-ms:300000}") long borrowOverlapMillis) {
+        if (bands < 1 || rows < 1) {
+            throw new IllegalArgumentException("LSH band ve satır sayıları pozitif olmalıdır");
+        }
+        if (borrowOverlapMillis < 0) {
+            throw new IllegalArgumentException("Ödünç örtüşme süresi negatif olamaz");
+        }
+        this.bookRepository = bookRepository;
+        this.borrowRecordRepository = borrowRecordRepository;
+        this.readTransaction = new PrimaryReadTransactionTemplate(transactionManager);
+        this.bands = bands;
+        this.rows = rows;
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+        this.borrowOverlap = Duration.ofMillis(borrowOverlapMillis);
+        this.categoryHasher = new MinHasher(bands * rows, CATEGORY_SEED);
+        this.borrowerHasher = new MinHasher(bands * rows, BORROWER_SEED);
+    }
+
+    /**
+     * Kitaba yaklaşık olarak benzeyen kitapları bulur
+     * @param bookId Kitap ID'si
+     * @param feature Benzerliğin hesaplanacağı küme
+     * @param limit Maksimum sonuç sayısı
+     * @param probeBands Taranacak LSH band sayısı; az band daha hızlı ancak daha düşük
+     *                   geri çağırma demektir (null ise tüm bandlar)
+     * @return Tahmini benzerliğe göre azalan sıralı kitaplar (indeks hazır değilse boş)
+     */
+    public List<SimilarBook> findSimilar(long bookId, SimilarityFeature feature, int limit, Integer probeBands) {
+        LshIndex categories = categoryIndex;
+        LshIndex borrowers = borrowerIndex;
+        if (categories == null || borrowers == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        int probe = probeBands != null ? probeBands : bands;
+
+        Map<Long, Double> scores;
+        if (feature == SimilarityFeature.CATEGORIES) {
+            scores = categories.candidates(bookId, probe);
+        } else if (feature == SimilarityFeature.BORROWERS) {
+            scores = borrowers.candidates(bookId, probe);
+        } else {
+            // Adaylar iki indeksin birleşimidir; skor iki tahmini benzerliğin ortalamasıdır
+            Set<Long> candidates = new HashSet<>(categories.candidates(bookId, probe).keySet());
+            candidates.addAll(borrowers.candidates(bookId, probe).keySet());
+            scores = new HashMap<>();
+            for (Long candidate : candidates) {
+                scores.put(candidate, (categories.similarity(bookId, candidate) + borrowers.similarity(bookId, candidate)) / 2);
+            }
+        }
+
+        List<SimilarBook> result = new ArrayList<>(scores.size());
+        scores.forEach((id, similarity) -> result.add(new SimilarBook(id, similarity)));
+        result.sort(Comparator.comparingDouble(SimilarBook::getSimilarity).reversed()
+                .thenComparingLong(SimilarBook::getBookId));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * LSH band sayısını döndürür
+     * @return Band sayısı
+     */
+    public int bands() {
+        return bands;
+    }
+
+    /**
+     * Uygulama hazır olduğunda indeksleri oluşturur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Değişen kitapları bir sonraki güncelleme için işaretler
+     * @param event Değişiklik olayı
+     */
+    @EventListener
+    public void onEntityChanges(EntityChangesCommittedEvent event) {
+        changedBooks.addAll(event.idsOf(Book.class));
+    }
+
+    /**
+     * İndeksleri artımlı olarak günceller; tam oluşturma zamanı geldiyse baştan oluşturur
+     */
+    @Scheduled(fixedDelayString = "${library.similarity.refresh-interval-ms:60000}",
+               initialDelayString = "${library.similarity.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        if (categoryIndex == null || System.currentTimeMillis() - lastRebuild >= rebuildIntervalMillis) {
+            rebuild();
+        } else {
+            update();
+        }
+    }
+
+    /**
+     * İndeksleri veritabanından baştan oluşturur. Okumalar eski indekslerden devam eder;
+     * yeni indeksler hazır olduğunda tek adımda yerlerine geçer.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        changedBooks.clear();
+
+        LshIndex categories = new LshIndex(bands, rows);
+        long afterId = 0L;
+        while (true) {
+            long lastId = afterId;
+            List<Long> ids = readTransaction.execute(status -> bookRepository.findIdsAfter(lastId, PageRequest.of(0, BATCH_SIZE)));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            loadCategorySignatures(ids).forEach(categories::put);
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        Map<Long, int[]> borrowerSignatures = new HashMap<>();
+        LocalDateTime scanStart = LocalDateTime.now();
+        long watermark = scanBorrows(0L, null, borrowerSignatures, new HashSet<>());
+        LshIndex borrowers = new LshIndex(bands, rows);
+        borrowerSignatures.forEach(borrowers::put);
+
+        categoryIndex = categories;
+        borrowerIndex = borrowers;
+        borrowWatermark = watermark;
+        borrowsSince = scanStart.minus(borrowOverlap);
+        lastRebuild = System.currentTimeMillis();
+        log.info("Benzerlik indeksleri oluşturuldu: {} kitap (kategori), {} kitap (üye), {}x{} LSH ({} ms)",
+                categories.size(), borrowers.size(), bands, rows, System.currentTimeMillis() - start);
+    }
+
+    private void update() {
+        Set<Long> changed = new HashSet<>(changedBooks);
+        changedBooks.removeAll(changed);
+        if (!changed.isEmpty()) {
+            Map<Long, int[]> signatures = loadCategorySignatures(changed);
+            for (Long id : changed) {
+                int[] signature = signatures.get(id);
+                if (signature != null) {
+                    categoryIndex.put(id, signature);
+                } else {
+                    // Silinen veya kategorisi kalmayan kitap
+                    categoryIndex.remove(id);
+                }
+            }
+        }
+
+        Map<Long, int[]> borrowerSignatures = new HashMap<>();
+        Set<Long> updated = new HashSet<>();
+        LocalDateTime scanStart = LocalDateTime.now();
+        borrowWatermark = scanBorrows(borrowWatermark, borrowerIndex, borrowerSignatures, updated);
+        LocalDateTime since = borrowsSince;
+        applyBorrows(readTransaction.execute(status -> borrowRecordRepository.findMemberBookPairsCreatedSince(since)),
+                borrowerIndex, borrowerSignatures, updated);
+        borrowsSince = scanStart.minus(borrowOverlap);
+        for (Long id : updated) {
+            borrowerIndex.put(id, borrowerSignatures.get(id));
+        }
+
+        if (!changed.isEmpty() || !updated.isEmpty()) {
+            log.debug("Benzerlik indeksleri güncellendi: {} kategori, {} üye imzası", changed.size(), updated.size());
+        }
+    }
+
+    /**
+     * Kitapların kategori imzalarını hesaplar; kategorisi olmayan kitaplar sonuçta yer almaz
+     */
+    private Map<Long, int[]> loadCategorySignatures(Collection<Long> bookIds) {
+        Map<Long, int[]> signatures = new HashMap<>();
+        List<Object[]> rows = readTransaction.execute(status -> bookRepository.findCategoryIdsByBookIdIn(bookIds));
+        if (rows != null) {
+            for (Object[] row : rows) {
+                int[] signature = signatures.computeIfAbsent(((Number) row[0]).longValue(), id -> categoryHasher.emptySignature());
+                categoryHasher.add(signature, ((Number) row[1]).longValue());
+            }
+        }
+        return signatures;
+    }
+
+    /**
+     * Watermark'tan sonraki ödünç kayıtlarını üye imzalarına ekler
+     * @param afterId Son işlenen kayıt ID'si
+     * @param base İmzaların başlangıç değerlerinin okunacağı indeks (tam oluşturmada null)
+     * @param signatures Okunan imzaların tutulduğu harita
+     * @param updated İmzası değişen kitapların toplanacağı küme
+     * @return Yeni watermark
+     */
+    private long scanBorrows(long afterId, LshIndex base, Map<Long, int[]> signatures, Set<Long> updated) {
+        while (true) {
+            long lastId = afterId;
+            List<Object[]> rows = readTransaction.execute(
+                    status -> borrowRecordRepository.findMemberBookPairsAfter(lastId, PageRequest.of(0, BATCH_SIZE)));
+            if (rows == null || rows.isEmpty()) {
+                return afterId;
+            }
+            afterId = Math.max(afterId, applyBorrows(rows, base, signatures, updated));
+        }
+    }
+
+    /**
+     * Ödünç kayıtlarını üye imzalarına ekler; imzayı değiştirmeyen (daha önce okunmuş) kayıtlar
+     * kitabı güncellenmiş saymaz
+     * @param rows [kayıt ID'si, üye ID'si, kitap ID'si] satırları
+     * @param base İmzaların başlangıç değerlerinin okunacağı indeks (tam oluşturmada null)
+     * @param signatures Okunan imzaların tutulduğu harita
+     * @param updated İmzası değişen kitapların toplanacağı küme
+     * @return Satırlardaki en büyük kayıt ID'si
+     */
+    private long applyBorrows(List<Object[]> rows, LshIndex base, Map<Long, int[]> signatures, Set<Long> updated) {
+        long maxId = 0L;
+        if (rows == null) {
+            return maxId;
+        }
+        for (Object[] row : rows) {
+            long bookId = ((Number) row[2]).longValue();
+            int[] signature = signatures.get(bookId);
+            if (signature == null) {
+                int[] existing = base != null ? base.signatureOf(bookId) : null;
+                signature = existing != null ? existing : borrowerHasher.emptySignature();
+                signatures.put(bookId, signature);
+            }
+            if (borrowerHasher.add(signature, ((Number) row[1]).longValue())) {
+                updated.add(bookId);
+            }
+            maxId = Math.max(maxId, ((Number) row[0]).longValue());
+        }
+        return maxId;
+    }
+}
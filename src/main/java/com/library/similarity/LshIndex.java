@@ -0,0 +1,185 @@
+package com.library.similarity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Yerelliğe Duyarlı Hash (LSH) İndeksi
+ *
+ * MinHash imzalarını b adet banda (her biri r satır) böler ve her bandı ayrı bir hash
+ * tablosunda kovalara yerleştirir. En az bir bandı tamamen aynı olan kitaplar aday olur;
+ * Jaccard benzerliği s olan iki kitabın aday olma olasılığı {@code 1 - (1 - s^r)^b}'dir.
+ * Sorgu maliyeti katalog boyutuna değil, sorgulanan kovaların doluluğuna bağlıdır.
+ *
+ * Sorguda taranan band sayısı azaltılarak geri çağırma (recall) düşük gecikme karşılığında
+ * azaltılabilir. Adaylar imza üzerinden tahmini Jaccard benzerliğiyle puanlanır.
+ */
+final class LshIndex {
+
+    private final int bands;
+    private final int rows;
+
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final List<Map<Long, Set<Long>>> buckets;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    LshIndex(int bands, int rows) {
+        this.bands = bands;
+        this.rows = rows;
+        this.buckets = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Kitabın imzasını indeksler; önceki imzası varsa yerini alır
+     * @param bookId Kitap ID'si
+     * @param signature MinHash imzası (bands * rows uzunlukta)
+     */
+    void put(long bookId, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(bookId);
+            int[] copy = signature.clone();
+            signatures.put(bookId, copy);
+            for (int band = 0; band < bands; band++) {
+                buckets.get(band).computeIfAbsent(bandKey(copy, band), key -> new HashSet<>()).add(bookId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Kitabı indeksten kaldırır
+     * @param bookId Kitap ID'si
+     */
+    void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Kitabın imzasının bir kopyasını döndürür
+     * @param bookId Kitap ID'si
+     * @return İmza (indekste yoksa null)
+     */
+    int[] signatureOf(long bookId) {
+        lock.readLock().lock();
+        try {
+            int[] signature = signatures.get(bookId);
+            return signature != null ? signature.clone() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Kitapla en az bir bandı eşleşen adayları tahmini benzerlikleriyle döndürür
+     * @param bookId Kitap ID'si
+     * @param probeBands Taranacak band sayısı (1..bands)
+     * @return Aday kitap ID'si → tahmini Jaccard benzerliği (kitap indekste yoksa boş)
+     */
+    Map<Long, Double> candidates(long bookId, int probeBands) {
+        Map<Long, Double> result = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int[] signature = signatures.get(bookId);
+            if (signature == null) {
+                return result;
+            }
+            int limit = Math.max(1, Math.min(probeBands, bands));
+            for (int band = 0; band < limit; band++) {
+                Set<Long> bucket = buckets.get(band).get(bandKey(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Long candidate : bucket) {
+                    if (candidate != bookId && !result.containsKey(candidate)) {
+                        result.put(candidate, estimate(signature, signatures.get(candidate)));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * İki kitabın tahmini Jaccard benzerliğini döndürür
+     * @param first Birinci kitap ID'si
+     * @param second İkinci kitap ID'si
+     * @return Benzerlik (biri indekste yoksa 0)
+     */
+    double similarity(long first, long second) {
+        lock.readLock().lock();
+        try {
+            int[] a = signatures.get(first);
+            int[] b = signatures.get(second);
+            return a == null || b == null ? 0.0 : estimate(a, b);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int bands() {
+        return bands;
+    }
+
+    private void removeInternal(long bookId) {
+        int[] previous = signatures.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            Map<Long, Set<Long>> table = buckets.get(band);
+            long key = bandKey(previous, band);
+            Set<Long> bucket = table.get(key);
+            if (bucket != null) {
+                bucket.remove(bookId);
+                if (bucket.isEmpty()) {
+                    table.remove(key);
+                }
+            }
+        }
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * rows, end = i + rows; i < end; i++) {
+            key = MinHasher.mix(key * 31 + signature[i]);
+        }
+        return key;
+    }
+
+    private static double estimate(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+}
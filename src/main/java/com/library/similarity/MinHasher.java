@@ -0,0 +1,72 @@
+package com.library.similarity;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash İmza Üreticisi
+ *
+ * Bir ID kümesini k adet bağımsız hash fonksiyonunun her biri için görülen en küçük
+ * değerden oluşan sabit boyutlu bir imzaya indirger. İki kümenin imzalarında eşit olan
+ * konumların oranı, kümelerin Jaccard benzerliğinin yansız bir tahminidir.
+ * İmzalar eleman eklendikçe artımlı olarak güncellenebilir; eleman çıkarmak için imza
+ * baştan hesaplanmalıdır.
+ */
+final class MinHasher {
+
+    private final long[] seeds;
+
+    /**
+     * @param size İmza uzunluğu (hash fonksiyonu sayısı)
+     * @param seed Hash fonksiyonlarını belirleyen tohum; aynı tohum aynı imzaları üretir
+     */
+    MinHasher(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        this.seeds = new long[size];
+        for (int i = 0; i < size; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Boş küme imzası oluşturur
+     * @return Tüm konumları maksimum değerde imza
+     */
+    int[] emptySignature() {
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        return signature;
+    }
+
+    /**
+     * Elemanı imzaya ekler
+     * @param signature Güncellenecek imza
+     * @param element Eklenen eleman
+     * @return İmza değiştiyse true
+     */
+    boolean add(int[] signature, long element) {
+        boolean changed = false;
+        for (int i = 0; i < seeds.length; i++) {
+            int hash = (int) mix(element ^ seeds[i]);
+            if (hash < signature[i]) {
+                signature[i] = hash;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    int size() {
+        return seeds.length;
+    }
+
+    /**
+     * SplitMix64 son karıştırma adımı
+     */
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,25 @@
+package com.library.similarity;
+
+/**
+ * Benzer Kitap
+ *
+ * Kitap ID'si ve MinHash imzalarından tahmin edilen Jaccard benzerliği (0-1).
+ */
+public class SimilarBook {
+
+    private final long bookId;
+    private final double similarity;
+
+    public SimilarBook(long bookId, double similarity) {
+        this.bookId = bookId;
+        this.similarity = similarity;
+    }
+
+    public long getBookId() {
+        return bookId;
+    }
+
+    public double getSimilarity() {
+        return similarity;
+    }
+}
@@ -0,0 +1,40 @@
+package com.library.similarity;
+
+/**
+ * Benzerlik Özelliği
+ *
+ * Kitaplar arası benzerliğin hangi kümeler üzerinden hesaplanacağını belirler.
+ */
+public enum SimilarityFeature {
+
+    /**
+     * Kitabın kategori ID'leri
+     */
+    CATEGORIES,
+
+    /**
+     * Kitabı ödünç alan üyelerin ID'leri
+     */
+    BORROWERS,
+
+    /**
+     * Her iki kümenin tahmini benzerliklerinin ortalaması
+     */
+    ALL;
+
+    /**
+     * İstek parametresini özelliğe çevirir (büyük/küçük harf duyarsız)
+     * @param value Parametre değeri
+     * @return Özellik
+     * @throws IllegalArgumentException Değer tanınmazsa
+     */
+    public static SimilarityFeature fromParameter(String parameter) {
+        for (SimilarityFeature feature : values()) {
+            if (feature.name().equalsIgnoreCase(parameter)) {
+                return feature;
+            }
+        }
+        throw new IllegalArgumentException("Geçersiz benzerlik özelliği: " + parameter
+                + " (kullanılabilir: categories, borrowers, all)");
+    }
+}
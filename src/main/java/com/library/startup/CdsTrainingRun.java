@@ -0,0 +1,78 @@
+package com.library.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * CDS Eğitim Çalıştırması
+ *
+ * library.startup.training-run=true ile açılır. Uygulama hazır olduğunda yapılandırılan
+ * adreslere kendi üzerinden birer GET isteği gönderir ve uygulamayı kapatır. JVM
+ * -XX:ArchiveClassesAtExit ile başlatıldığında açılışta ve ilk isteklerde yüklenen sınıflar
+ * çıkışta AppCDS arşivine yazılır; arşiv -XX:SharedArchiveFile ile verildiğinde bu sınıflar
+ * jar'lardan okunup doğrulanmak yerine arşivden eşlenir (bkz. Dockerfile).
+ */
+@Component
+@ConditionalOnProperty(name = "library.startup.training-run", havingValue = "true")
+public class CdsTrainingRun {
+
+    private static final Logger log = LoggerFactory.getLogger(CdsTrainingRun.class);
+
+    private final WebServerApplicationContext context;
+    private final List<String> paths;
+
+    @Autowired
+    public CdsTrainingRun(WebServerApplicationContext context,
+                          @Value("${library.startup.training-paths:/,/api/books}") List<String> paths) {
+        this.context = context;
+        this.paths = paths;
+    }
+
+    /**
+     * Uygulama trafik kabul etmeye hazır olduğunda eğitim isteklerini gönderir ve çıkar
+     * @param event Hazır olma durumu değişikliği
+     */
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return;
+        }
+        int port = context.getWebServer().getPort();
+        for (String path : paths) {
+            request(port, path.trim());
+        }
+        log.info("CDS eğitim çalıştırması tamamlandı, uygulama kapatılıyor");
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private static void request(int port, String path) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+            try (InputStream body = connection.getResponseCode() < 400
+                    ? connection.getInputStream() : connection.getErrorStream()) {
+                if (body != null) {
+                    body.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            log.info("Eğitim isteği {} -> {}", path, connection.getResponseCode());
+        } catch (IOException e) {
+            log.warn("Eğitim isteği başarısız: {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.library.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Açılış Süresi Ölçer
+ *
+ * JVM'in başlamasından uygulamanın trafik kabul etmeye hazır olmasına (tüm
+ * ApplicationReadyEvent dinleyicileri bittikten sonra) ve ilk isteğin yanıtlanmasına kadar
+ * geçen süreleri loglar. İlk istek süresi tembel başlatılan controller ve servislerin
+ * oluşturulmasını da içerir; otomatik ölçeklemede soğuk açılışın asıl maliyeti budur.
+ * İlk istekten sonra filtre yalnızca tek bir volatile okuma yapar.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupTimer extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimer.class);
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicBoolean firstRequestReported = new AtomicBoolean();
+
+    /**
+     * Uygulama trafik kabul etmeye hazır olduğunda süreyi loglar
+     * @param event Hazır olma durumu değişikliği
+     */
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            log.info("Uygulama hazır: JVM başlangıcından {} ms", sinceJvmStart());
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (firstRequestReported.get()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (firstRequestReported.compareAndSet(false, true)) {
+                log.info("İlk istek ({} {}) JVM başlangıcından {} ms sonra yanıtlandı (istek {} ms)",
+                        request.getMethod(), request.getRequestURI(), sinceJvmStart(), System.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    private long sinceJvmStart() {
+        return System.currentTimeMillis() - jvmStartMillis;
+    }
+}
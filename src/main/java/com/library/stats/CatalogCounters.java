@@ -0,0 +1,394 @@
+package com.library.stats;
+
+import com.library.datasource.PrimaryReadTransactionTemplate;
+import com.library.entity.Book;
+import com.library.entity.BookStatus;
+import com.library.entity.Category;
+import com.library.repository.BookRepository;
+import com.library.repository.projection.CategoryCount;
+import com.library.repository.projection.LanguageCount;
+import com.library.repository.projection.StatusCount;
+import com.library.repository.projection.YearCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Katalog Sayaçları
+ *
+ * Toplam, durum, kategori, dil ve yayın yılı bazında kitap sayılarını LongAdder'larda tutar.
+ * Sayaçlar bir kez veritabanından doldurulur; sonrasında BookServiceImpl'deki değişiklikler
+ * yalnızca transaction commit edildiğinde delta olarak uygulanır. Servisi atlayan yazmalardan
+ * (ör. toplu yüklemeler) doğabilecek sapmalar periyodik uzlaştırma ile düzeltilir.
+ * Okumalar veritabanına gitmez.
+ *
+ * Uzlaştırma veritabanını kilitsiz okur; bu sırada gelen farklar ayrıca bir günlüğe yazılır.
+ * Sayaçlar yazma kilidi altında veritabanı değerlerine çekilir ve günlükteki farklar yeniden
+ * uygulanır; böylece okuma ile sıfırlama arasında commit edilen değişiklikler kaybolmaz.
+ * Farklar okuma kilidiyle uygulanır, birbirlerini beklemezler.
+ */
+@Component
+public class CatalogCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogCounters.class);
+
+    private final BookRepository bookRepository;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate readTransaction;
+
+    private final LongAdder total = new LongAdder();
+    private final Map<BookStatus, LongAdder> byStatus = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byCategory = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byLanguage = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> byYear = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Queue<Runnable> pending;
+    private volatile boolean seeded;
+
+    @Autowired
+    public CatalogCounters(BookRepository bookRepository, CatalogVersion catalogVersion,
+                           PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.catalogVersion = catalogVersion;
+        this.readTransaction = new PrimaryReadTransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Kitabın sayaçları etkileyen alanlarının anlık görüntüsünü alır.
+     * Entity sonradan değişse de görüntü değişmez; önce/sonra farkı bununla hesaplanır.
+     * @param book Kitap (null olabilir)
+     * @return Görüntü (kitap null ise null)
+     */
+    public static Snapshot snapshot(Book book) {
+        if (book == null) {
+            return null;
+        }
+        Set<String> categories = new HashSet<>();
+        for (Category category : book.getCategories()) {
+            categories.add(category.getName());
+        }
+        return new Snapshot(book.getStatus(), categories, book.getLanguage(), book.getPublicationYear());
+    }
+
+    /**
+     * Bir kitap değişikliğini kaydeder. Aktif bir transaction varsa fark commit sonrasında,
+     * yoksa hemen uygulanır; geri alınan transaction'lar sayaçları etkilemez.
+     * @param before Değişiklik öncesi görüntü (yeni kayıtta null)
+     * @param after Değişiklik sonrası görüntü (silmede null)
+     */
+    public void recordChange(Snapshot before, Snapshot after) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(before, after);
+                }
+            });
+        } else {
+            apply(before, after);
+        }
+    }
+
+    /**
+     * Toplu durum güncellemesini kaydeder. Yalnızca durum sayaçları değişir; fark commit
+     * sonrasında tek seferde uygulanır ve katalog sürümü artırılır (toplu UPDATE JPA
+     * olaylarını tetiklemediği için ETag'ler başka yoldan geçersiz olmaz).
+     * @param movedFrom Kaynak duruma göre güncellenen kitap sayıları
+     * @param target Hedef durum
+     */
+    public void recordStatusTransition(Map<BookStatus, Long> movedFrom, BookStatus target) {
+        Map<BookStatus, Long> moved = new EnumMap<>(BookStatus.class);
+        moved.putAll(movedFrom);
+        Runnable apply = () -> {
+            applyDelta(() -> moved.forEach((source, count) -> {
+                increment(byStatus, source, -count);
+                increment(byStatus, target, count);
+            }));
+            // Toplu güncelleme JPA olayı yayınlamaz; katalog sürümü veritabanından yeniden okunmalı
+            catalogVersion.invalidate();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * Uygulama hazır olduğunda sayaçları veritabanından doldurur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Sayaçları veritabanındaki GROUP BY sonuçlarıyla karşılaştırır ve sapmaları düzeltir
+     */
+    @Scheduled(fixedDelayString = "${library.counters.reconcile-interval-ms:300000}",
+               initialDelayString = "${library.counters.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        long start = System.currentTimeMillis();
+        Queue<Runnable> arrived = new ConcurrentLinkedQueue<>();
+        pending = arrived;
+        Map<BookStatus, Long> statuses = new EnumMap<>(BookStatus.class);
+        Map<String, Long> categories = new HashMap<>();
+        Map<String, Long> languages = new HashMap<>();
+        Map<Integer, Long> years = new HashMap<>();
+        try {
+            readTransaction.executeWithoutResult(status -> {
+                for (StatusCount row : bookRepository.countByStatus()) {
+                    statuses.put(row.getStatus(), row.getCount());
+                }
+                for (CategoryCount row : bookRepository.countByCategoryName()) {
+                    categories.put(row.getName(), row.getCount());
+                }
+                for (LanguageCount row : bookRepository.countByLanguage()) {
+                    languages.put(row.getLanguage(), row.getCount());
+                }
+                for (YearCount row : bookRepository.countByPublicationYear()) {
+                    years.put(row.getYear(), row.getCount());
+                }
+            });
+        } catch (RuntimeException e) {
+            pending = null;
+            throw e;
+        }
+
+        long totalCount = statuses.values().stream().mapToLong(Long::longValue).sum();
+        int drift;
+        boolean firstSeed = !seeded;
+        lock.writeLock().lock();
+        try {
+            drift = reset(total, totalCount)
+                    + resetAll(byStatus, statuses)
+                    + resetAll(byCategory, categories)
+                    + resetAll(byLanguage, languages)
+                    + resetAll(byYear, years);
+            // Okuma başladıktan sonra uygulanan farklar sıfırlamayla silindi; yeniden uygulanır.
+            // Okumadan hemen önce commit edilip sonra uygulananlar iki kez sayılabilir; bu
+            // sapma bir sonraki uzlaştırmada düzelir
+            for (Runnable delta : arrived) {
+                delta.run();
+            }
+            pending = null;
+            seeded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (firstSeed) {
+            log.info("Katalog sayaçları dolduruldu: {} kitap ({} ms)", totalCount, System.currentTimeMillis() - start);
+        } else if (drift > 0) {
+            // Düzeltilen sayılar istatistik yanıtlarını değiştirir; eski ETag'ler geçersiz olmalı
+            catalogVersion.bump();
+            log.warn("Katalog sayaçlarında {} sapma düzeltildi", drift);
+        } else {
+            log.debug("Katalog sayaçları tutarlı ({} ms)", System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Toplam kitap sayısını döndürür
+     * @return Kitap sayısı
+     */
+    public long total() {
+        ensureSeeded();
+        return total.sum();
+    }
+
+    /**
+     * Durumdaki kitap sayısını döndürür
+     * @param status Kitap durumu
+     * @return Kitap sayısı
+     */
+    public long count(BookStatus status) {
+        ensureSeeded();
+        LongAdder adder = byStatus.get(status);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * Tüm durumların sayılarını döndürür (kitabı olmayanlar 0)
+     * @return Durum sayıları
+     */
+    public Map<BookStatus, Long> statusCounts() {
+        ensureSeeded();
+        Map<BookStatus, Long> result = new EnumMap<>(BookStatus.class);
+        for (BookStatus status : BookStatus.values()) {
+            LongAdder adder = byStatus.get(status);
+            result.put(status, adder != null ? adder.sum() : 0L);
+        }
+        return result;
+    }
+
+    /**
+     * Kategori adı bazında sayıları döndürür
+     * @return Ada göre sıralı kategori sayıları
+     */
+    public Map<String, Long> categoryCounts() {
+        ensureSeeded();
+        return sorted(byCategory);
+    }
+
+    /**
+     * Dil bazında sayıları döndürür
+     * @return Dile göre sıralı sayılar
+     */
+    public Map<String, Long> languageCounts() {
+        ensureSeeded();
+        return sorted(byLanguage);
+    }
+
+    /**
+     * Yayın yılı bazında sayıları döndürür
+     * @return Yıla göre sıralı sayılar
+     */
+    public Map<Integer, Long> yearCounts() {
+        ensureSeeded();
+        return sorted(byYear);
+    }
+
+    private void ensureSeeded() {
+        if (!seeded) {
+            reconcile();
+        }
+    }
+
+    private void apply(Snapshot before, Snapshot after) {
+        applyDelta(() -> {
+            if (before != null) {
+                add(before, -1);
+            }
+            if (after != null) {
+                add(after, 1);
+            }
+        });
+    }
+
+    private void applyDelta(Runnable delta) {
+        lock.readLock().lock();
+        try {
+            Queue<Runnable> arrived = pending;
+            if (arrived != null) {
+                // Süren uzlaştırmanın okuması bu farkı görmemiş olabilir; sıfırlamadan sonra yeniden uygulanır
+                arrived.add(delta);
+            }
+            // Henüz doldurulmadıysa fark ilk uzlaştırmanın okumasında ya da günlüğünde yer alır
+            if (seeded) {
+                delta.run();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Snapshot snapshot, long delta) {
+        total.add(delta);
+        increment(byStatus, snapshot.getStatus(), delta);
+        for (String category : snapshot.getCategories()) {
+            increment(byCategory, category, delta);
+        }
+        increment(byLanguage, snapshot.getLanguage(), delta);
+        increment(byYear, snapshot.getPublicationYear(), delta);
+    }
+
+    private static <K> void increment(Map<K, LongAdder> counters, K key, long delta) {
+        if (key != null) {
+            counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    private static <K> int resetAll(Map<K, LongAdder> counters, Map<K, Long> actual) {
+        int drift = 0;
+        for (Map.Entry<K, LongAdder> entry : counters.entrySet()) {
+            drift += reset(entry.getValue(), actual.getOrDefault(entry.getKey(), 0L));
+        }
+        for (Map.Entry<K, Long> entry : actual.entrySet()) {
+            drift += reset(counters.computeIfAbsent(entry.getKey(), k -> new LongAdder()), entry.getValue());
+        }
+        return drift;
+    }
+
+    private static int reset(LongAdder adder, long value) {
+        long current = adder.sum();
+        if (current == value) {
+            return 0;
+        }
+        adder.add(value - current);
+        return 1;
+    }
+
+    private static <K extends Comparable<K>> Map<K, Long> sorted(Map<K, LongAdder> counters) {
+        Map<K, Long> result = new TreeMap<>();
+        counters.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value > 0) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Kitabın sayaçlara giren alanlarının değişmez görüntüsü
+     */
+    public static final class Snapshot {
+
+        private final BookStatus status;
+        private final Set<String> categories;
+        private final String language;
+        private final Integer publicationYear;
+
+        private Snapshot(BookStatus status, Set<String> categories, String language, Integer publicationYear) {
+            this.status = status;
+            this.categories = Collections.unmodifiableSet(categories);
+            this.language = language;
+            this.publicationYear = publicationYear;
+        }
+
+        public BookStatus getStatus() {
+            return status;
+        }
+
+        public Set<String> getCategories() {
+            return categories;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        public Integer getPublicationYear() {
+            return publicationYear;
+        }
+    }
+}
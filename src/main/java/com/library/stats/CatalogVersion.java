@@ -0,0 +1,129 @@
+package com.library.stats;
+
+import com.library.event.EntityChangesCommittedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Katalog Sürümü
+ *
+ * Liste ve istatistik endpoint'lerinin ETag'lerinin türetildiği katalog geneli sürüm.
+ * Sürüm veritabanından okunan bir parmak izidir: kitap, yazar ve kategori tablolarının satır
+ * sayıları ve en son updated_at değerleri ile kitap-kategori bağlantı sayısı. Böylece başka bir
+ * uygulama örneğinde yapılan yazma da bu örneğin ETag'ini değiştirir; koşullu GET istekleri
+ * sorgu çalıştırmadan ve JSON üretmeden 304 ile yanıtlanabilir, ama bayat veri için 304 dönmez.
+ *
+ * Parmak izi kısa bir süre (library.catalog.version-ttl-ms) cache'lenir; başka örneklerdeki
+ * yazmalar en geç bu süre sonunda görülür. Bu örnekte commit edilen değişiklikler cache'i
+ * hemen geçersiz kılar. updated_at uygulama saatinden yazıldığı için örneklerin saatleri
+ * senkron olmalıdır (NTP). Veritabanında görünmeyen yerel düzeltmeler (ör. sayaç sapması)
+ * {@link #bump()} ile sürüme eklenir.
+ */
+@Component
+public class CatalogVersion {
+
+    private static final String FINGERPRINT_SQL = "SELECT "
+            + "(SELECT COUNT(*) FROM books), (SELECT MAX(updated_at) FROM books), "
+            + "(SELECT COUNT(*) FROM authors), (SELECT MAX(updated_at) FROM authors), "
+            + "(SELECT COUNT(*) FROM categories), (SELECT MAX(updated_at) FROM categories), "
+            + "(SELECT COUNT(*) FROM book_categories)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlNanos;
+
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong localGeneration = new AtomicLong();
+
+    private volatile String fingerprint;
+    private volatile long fingerprintReadAt;
+
+    @Autowired
+    public CatalogVersion(JdbcTemplate jdbcTemplate,
+                          @Value("${library.catalog.version-ttl-ms:1000}") long ttlMillis) {
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("Katalog sürümü cache süresi negatif olamaz");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Commit edilen değişikliklerde parmak izini yeniden okutur
+     * @param event Değişiklik olayı
+     */
+    @EventListener
+    public void onEntityChanges(EntityChangesCommittedEvent event) {
+        if (!event.getChanges().isEmpty()) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Veritabanı bu örnekte JPA olayları dışında değiştiğinde (toplu güncellemeler)
+     * parmak izini yeniden okutur
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        fingerprint = null;
+    }
+
+    /**
+     * Yalnızca bu örneğin bellek içi verisini etkileyen değişikliklerde (sayaç düzeltmeleri vb.)
+     * sürümü artırır
+     */
+    public void bump() {
+        localGeneration.incrementAndGet();
+    }
+
+    /**
+     * Güncel sürümü döndürür. Veri okunmadan önce alınmalıdır; böylece okuma sırasında
+     * gelen bir değişiklik en kötü ihtimalle gereksiz bir 200 yanıtına yol açar.
+     * @return Sürüm (ör. "1k.lq3x9k2a0g.f.lq3x8z1c2h.8.lq3w7k0b1a.2s-0")
+     */
+    public String current() {
+        String current = fingerprint;
+        if (current == null || System.nanoTime() - fingerprintReadAt > ttlNanos) {
+            current = refresh();
+        }
+        return current + "-" + localGeneration.get();
+    }
+
+    private synchronized String refresh() {
+        String current = fingerprint;
+        if (current != null && System.nanoTime() - fingerprintReadAt <= ttlNanos) {
+            return current;
+        }
+        long generation = invalidations.get();
+        String read = jdbcTemplate.queryForObject(FINGERPRINT_SQL, (rs, rowNum) -> fingerprint(rs));
+        // Okuma sırasında commit edilen yerel bir değişiklik eski parmak izini cache'letmesin
+        if (invalidations.get() == generation) {
+            fingerprintReadAt = System.nanoTime();
+            fingerprint = read;
+        }
+        return read;
+    }
+
+    private static String fingerprint(ResultSet rs) throws SQLException {
+        return Long.toString(rs.getLong(1), 36) + "." + micros(rs.getTimestamp(2))
+                + "." + Long.toString(rs.getLong(3), 36) + "." + micros(rs.getTimestamp(4))
+                + "." + Long.toString(rs.getLong(5), 36) + "." + micros(rs.getTimestamp(6))
+                + "." + Long.toString(rs.getLong(7), 36);
+    }
+
+    private static String micros(Timestamp timestamp) {
+        if (timestamp == null) {
+            return "0";
+        }
+        long micros = TimeUnit.SECONDS.toMicros(timestamp.getTime() / 1000) + timestamp.getNanos() / 1000;
+        return Long.toString(micros, 36);
+    }
+}
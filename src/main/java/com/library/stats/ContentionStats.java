@@ -0,0 +1,152 @@
+package com.library.stats;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Çakışma İstatistikleri
+ *
+ * Kitap durum değişikliklerindeki yarışları sayar: eşzamanlı bir işlemin önce davrandığı
+ * için kaybedilen compare-and-set güncellemeleri (conflict), mevcut durumdan geçişe izin
+ * verilmediği için reddedilen istekler (rejection) ve iyimser kilit (version) hataları.
+ * Kitap bazındaki sayaçlar boyut ve süre sınırlı bir Caffeine cache'te tutulur;
+ * uzun süre çakışma yaşamayan kitaplar düşer, böylece liste güncel sıcak kitapları gösterir.
+ */
+@Component
+public class ContentionStats {
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder versionConflicts = new LongAdder();
+    private final Cache<Long, Entry> books;
+
+    @Autowired
+    public ContentionStats(@Value("${library.contention.tracked-books:10000}") long trackedBooks,
+                           @Value("${library.contention.window-ms:3600000}") long windowMillis) {
+        this.books = Caffeine.newBuilder()
+                .maximumSize(trackedBooks)
+                .expireAfterAccess(Duration.ofMillis(windowMillis))
+                .build();
+    }
+
+    /**
+     * Durum değişikliği denemesini sayar
+     */
+    public void recordAttempt() {
+        attempts.increment();
+    }
+
+    /**
+     * Eşzamanlı bir değişiklik nedeniyle kaybedilen güncellemeyi kaydeder
+     * @param bookId Kitap ID'si
+     */
+    public void recordConflict(Long bookId) {
+        conflicts.increment();
+        entry(bookId).conflicts.increment();
+    }
+
+    /**
+     * Geçişe izin verilmediği için reddedilen isteği kaydeder
+     * @param bookId Kitap ID'si
+     */
+    public void recordRejection(Long bookId) {
+        rejections.increment();
+        entry(bookId).rejections.increment();
+    }
+
+    /**
+     * İyimser kilit (version) hatasını kaydeder
+     * @param bookId Kitap ID'si
+     */
+    public void recordVersionConflict(Long bookId) {
+        versionConflicts.increment();
+        entry(bookId).versionConflicts.increment();
+    }
+
+    public long attempts() {
+        return attempts.sum();
+    }
+
+    public long conflicts() {
+        return conflicts.sum();
+    }
+
+    public long rejections() {
+        return rejections.sum();
+    }
+
+    public long versionConflicts() {
+        return versionConflicts.sum();
+    }
+
+    /**
+     * En çok çakışma yaşanan kitapları döndürür
+     * @param limit En fazla kitap sayısı
+     * @return Toplam çakışmaya göre azalan sırada kitaplar
+     */
+    public List<Entry> hottest(int limit) {
+        return books.asMap().values().stream()
+                .sorted(Comparator.comparingLong(Entry::getTotal).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private Entry entry(Long bookId) {
+        Entry entry = books.get(bookId, Entry::new);
+        entry.lastAt = System.currentTimeMillis();
+        return entry;
+    }
+
+    /**
+     * Tek bir kitabın çakışma sayaçları
+     */
+    public static final class Entry {
+
+        private final long bookId;
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder versionConflicts = new LongAdder();
+        private volatile long lastAt;
+
+        private Entry(long bookId) {
+            this.bookId = bookId;
+        }
+
+        public long getBookId() {
+            return bookId;
+        }
+
+        public long getConflicts() {
+            return conflicts.sum();
+        }
+
+        public long getRejections() {
+            return rejections.sum();
+        }
+
+        public long getVersionConflicts() {
+            return versionConflicts.sum();
+        }
+
+        public long getTotal() {
+            return getConflicts() + getRejections() + getVersionConflicts();
+        }
+
+        /**
+         * Son çakışmanın zamanı (epoch milisaniye)
+         */
+        public long getLastAt() {
+            return lastAt;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+-- Katalog şeması (H2 ve PostgreSQL)
+-- Flyway'den önce ddl-auto=update ile oluşturulmuş veritabanlarında bu sürüm baseline kabul edilir
+-- ve çalıştırılmaz; eksikler V2 ve sonrasında tamamlanır.
+
+-- ID'ler pooled-lo optimizer ile 50'lik bloklar halinde alınır (BaseEntity)
+create sequence author_seq start with 1 increment by 50;
+create sequence book_seq start with 1 increment by 50;
+create sequence borrow_record_seq start with 1 increment by 50;
+create sequence category_seq start with 1 increment by 50;
+create sequence member_seq start with 1 increment by 50;
+create sequence reservation_seq start with 1 increment by 50;
+
+create table authors (
+    id bigint not null,
+    created_at timestamp not null,
+    updated_at timestamp,
+    biography text,
+    birth_year integer,
+    email varchar(255),
+    name varchar(100) not null,
+    nationality varchar(255),
+    constraint pk_authors primary key (id)
+);
+
+create table categories (
+    id bigint not null,
+    created_at timestamp not null,
+    updated_at timestamp,
+    color_code varchar(255),
+    description varchar(200),
+    name varchar(50) not null,
+    constraint pk_categories primary key (id),
+    constraint uk_categories_name unique (name)
+);
+
+create table books (
+    id bigint not null,
+    created_at timestamp not null,
+    updated_at timestamp,
+    cover_image_url varchar(255),
+    description text,
+    isbn varchar(13) not null,
+    language varchar(255),
+    location varchar(255),
+    page_count integer,
+    price numeric(10, 2),
+    publication_year integer,
+    publisher varchar(255),
+    status varchar(255) not null,
+    title varchar(200) not null,
+    version bigint default 0 not null,
+    author_id bigint,
+    constraint pk_books primary key (id),
+    constraint uk_books_isbn unique (isbn),
+    constraint fk_books_author foreign key (author_id) references authors (id)
+);
+
+create table book_categories (
+    book_id bigint not null,
+    category_id bigint not null,
+    constraint pk_book_categories primary key (book_id, category_id),
+    constraint fk_book_categories_book foreign key (book_id) references books (id),
+    constraint fk_book_categories_category foreign key (category_id) references categories (id)
+);
+
+create table members (
+    id bigint not null,
+    created_at timestamp not null,
+    updated_at timestamp,
+    address varchar(255),
+    birth_date date,
+    email varchar(255) not null,
+    first_name varchar(50) not null,
+    is_active boolean,
+    last_name varchar(50) not null,
+    membership_end_date date,
+    membership_number varchar(255),
+    membership_start_date date,
+    phone varchar(15),
+    constraint pk_members primary key (id),
+    constraint uk_members_email unique (email),
+    constraint uk_members_membership_number unique (membership_number)
+);
+
+create table borrow_records (
+    id bigint not null,
+    created_at timestamp not null,
+    updated_at timestamp,
+    borrow_date date not null,
+    due_date date,
+    fine_amount double precision,
+    notes varchar(255),
+    return_date date,
+    book_id bigint not null,
+    member_id bigint not null,
+    constraint pk_borrow_records primary key (id),
+    constraint fk_borrow_records_book foreign key (book_id) references books (id),
+    constraint fk_borrow_records_member foreign key (member_id) references members (id)
+);
+
+create table reservations (
+    id bigint not null,
+    created_at timestamp not null,
+    updated_at timestamp,
+    expiry_date date,
+    fulfilled_date date,
+    notes varchar(255),
+    reservation_date date not null,
+    status varchar(255) not null,
+    book_id bigint not null,
+    member_id bigint not null,
+    constraint pk_reservations primary key (id),
+    constraint fk_reservations_book foreign key (book_id) references books (id),
+    constraint fk_reservations_member foreign key (member_id) references members (id)
+);
+
+-- Keyset sayfalama ve popülerlik sorgularının indeksleri (entity'lerdeki @Index tanımları)
+create index idx_books_title_id on books (title, id);
+create index idx_books_created_at_id on books (created_at, id);
+create index idx_books_status_id on books (status, id);
+create index idx_borrow_records_borrow_date_book on borrow_records (borrow_date, book_id);
+create index idx_borrow_records_book on borrow_records (book_id);
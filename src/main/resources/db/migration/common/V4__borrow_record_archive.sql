@@ -0,0 +1,31 @@
+-- İadesi eskimiş ödünç kayıtlarının soğuk tablosu ve kitap bazında arşiv sayıları.
+-- Kayıtlar BorrowRecordArchiver tarafından borrow_records'tan ID'leriyle taşınır.
+-- Kitap veya üye silindiğinde arşiv satırları ve sayılar da silinir.
+
+create table borrow_records_archive (
+    id bigint not null,
+    created_at timestamp not null,
+    updated_at timestamp,
+    borrow_date date not null,
+    due_date date,
+    fine_amount double precision,
+    notes varchar(255),
+    return_date date not null,
+    book_id bigint not null,
+    member_id bigint not null,
+    archived_at timestamp default current_timestamp not null,
+    constraint pk_borrow_records_archive primary key (id),
+    constraint fk_borrow_records_archive_book foreign key (book_id) references books (id) on delete cascade,
+    constraint fk_borrow_records_archive_member foreign key (member_id) references members (id) on delete cascade
+);
+
+create table book_borrow_stats (
+    book_id bigint not null,
+    archived_borrow_count bigint default 0 not null,
+    last_archived_at timestamp default current_timestamp,
+    constraint pk_book_borrow_stats primary key (book_id),
+    constraint fk_book_borrow_stats_book foreign key (book_id) references books (id) on delete cascade
+);
+
+-- BookRepository.findTopBorrowedSince: pencere arşivin içine uzanırsa yalnızca o tarih aralığı okunur
+create index idx_borrow_records_archive_borrow_date_book on borrow_records_archive (borrow_date, book_id);
@@ -0,0 +1,13 @@
+-- Kitap bazında toplam ödünç sayısı (canlı + arşivlenmiş). Tüm zamanların popülerlik sıralaması
+-- borrow_records'u gruplamak yerine bu kolonu okur. Yeni ve silinen ödünç kayıtları
+-- BorrowCountListener tarafından aynı transaction içinde yansıtılır; arşive taşıma toplamı değiştirmez.
+
+alter table book_borrow_stats add column borrow_count bigint default 0 not null;
+
+update book_borrow_stats s set borrow_count = s.archived_borrow_count
+    + (select count(*) from borrow_records br where br.book_id = s.book_id);
+
+insert into book_borrow_stats (book_id, archived_borrow_count, last_archived_at, borrow_count)
+select br.book_id, 0, null, count(*) from borrow_records br
+where not exists (select 1 from book_borrow_stats s where s.book_id = br.book_id)
+group by br.book_id;
@@ -0,0 +1,25 @@
+-- Repository sorgularının filtrelediği kolonlar için indeksler (H2).
+-- H2 kısmi indeks desteklemediği için PostgreSQL'deki kısmi indekslerin yerine
+-- filtre kolonuyla başlayan bileşik indeksler kullanılır. H2 yabancı anahtar kolonlarını
+-- kendiliğinden indekslediği için author_id, book_id ve member_id için ayrı indeks oluşturulmaz.
+
+-- BookRepository.findByPublicationYearBetween, findOldBooks, yıl istatistikleri
+create index if not exists idx_books_publication_year on books (publication_year);
+-- BookRepository.findByPriceBetween
+create index if not exists idx_books_price on books (price);
+-- BookRepository.findByCategoryId, findIdsByCategoryId
+create index if not exists idx_book_categories_category on book_categories (category_id, book_id);
+
+-- BorrowRecordRepository.findActiveBorrowRecords, findOverdueRecords (return_date IS NULL + due_date)
+create index if not exists idx_borrow_records_open_due on borrow_records (return_date, due_date);
+
+-- ReservationRepository.findByStatus, findActiveReservations, findExpiredReservations
+create index if not exists idx_reservations_status_expiry on reservations (status, expiry_date);
+-- ReservationRepository.countDailyReservationsSince
+create index if not exists idx_reservations_date_book on reservations (reservation_date, book_id);
+
+-- MemberRepository.findExpiredMemberships, findMembershipsExpiringBetween
+create index if not exists idx_members_membership_end_date on members (membership_end_date);
+
+-- AuthorRepository.findByName
+create index if not exists idx_authors_name on authors (name);
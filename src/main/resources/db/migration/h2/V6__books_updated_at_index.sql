@@ -0,0 +1,2 @@
+-- CatalogVersion: ETag parmak izindeki MAX(updated_at) tablo taranmadan indeksin sonundan okunur
+create index if not exists idx_books_updated_at on books (updated_at);
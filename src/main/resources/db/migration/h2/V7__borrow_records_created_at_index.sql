@@ -0,0 +1,3 @@
+-- RecommendationEngine, BookSimilarityIndex: ID watermark'ının gerisinde commit edilen ödünç kayıtları
+-- created_at penceresiyle yeniden okunur
+create index if not exists idx_borrow_records_created_at on borrow_records (created_at);
@@ -0,0 +1,36 @@
+-- ddl-auto=update ile oluşturulmuş veritabanlarını V1 şemasıyla hizalar.
+-- Yeni veritabanlarında V1 zaten her şeyi oluşturduğu için bu adım etkisizdir.
+
+-- IDENTITY döneminden kalan tablolarda sequence'lar yoktur ya da 1'den başlar. Sequence, tablodaki
+-- en büyük ID'nin ötesine alınır; sequence zaten ilerideyse geri çekilmez (çalışan başka bir
+-- uygulama örneğinin ayırdığı bloklar çakışmasın diye).
+create sequence if not exists author_seq start with 1 increment by 50;
+create sequence if not exists book_seq start with 1 increment by 50;
+create sequence if not exists borrow_record_seq start with 1 increment by 50;
+create sequence if not exists category_seq start with 1 increment by 50;
+create sequence if not exists member_seq start with 1 increment by 50;
+create sequence if not exists reservation_seq start with 1 increment by 50;
+
+alter sequence author_seq increment by 50;
+alter sequence book_seq increment by 50;
+alter sequence borrow_record_seq increment by 50;
+alter sequence category_seq increment by 50;
+alter sequence member_seq increment by 50;
+alter sequence reservation_seq increment by 50;
+
+select setval('author_seq', greatest((select coalesce(max(id), 0) + 1 from authors),
+       (select case when is_called then last_value + 50 else last_value end from author_seq)), false);
+select setval('book_seq', greatest((select coalesce(max(id), 0) + 1 from books),
+       (select case when is_called then last_value + 50 else last_value end from book_seq)), false);
+select setval('borrow_record_seq', greatest((select coalesce(max(id), 0) + 1 from borrow_records),
+       (select case when is_called then last_value + 50 else last_value end from borrow_record_seq)), false);
+select setval('category_seq', greatest((select coalesce(max(id), 0) + 1 from categories),
+       (select case when is_called then last_value + 50 else last_value end from category_seq)), false);
+select setval('member_seq', greatest((select coalesce(max(id), 0) + 1 from members),
+       (select case when is_called then last_value + 50 else last_value end from member_seq)), false);
+select setval('reservation_seq', greatest((select coalesce(max(id), 0) + 1 from reservations),
+       (select case when is_called then last_value + 50 else last_value end from reservation_seq)), false);
+
+-- İyimser kilit sütunu: eski satırlar 0 ile doldurulur
+alter table books add column if not exists version bigint default 0 not null;
+alter table books alter column version set default 0;
@@ -0,0 +1,44 @@
+-- Repository sorgularının filtrelediği kolonlar için indeksler.
+-- CONCURRENTLY ile oluşturulur, dolu tablolarda yazmalar kilitlenmez; Flyway bu betiği
+-- transaction dışında çalıştırır. Her indeksin hangi sorguya hizmet ettiği yanında yazılıdır;
+-- planlar "plan-check" profiliyle doğrulanır (QueryPlanVerifier).
+
+-- ddl-auto=update döneminden kalan veritabanlarında eksik olabilecek @Index tanımları
+create index concurrently if not exists idx_books_title_id on books (title, id);
+create index concurrently if not exists idx_books_created_at_id on books (created_at, id);
+create index concurrently if not exists idx_books_status_id on books (status, id);
+create index concurrently if not exists idx_borrow_records_borrow_date_book on borrow_records (borrow_date, book_id);
+create index concurrently if not exists idx_borrow_records_book on borrow_records (book_id);
+
+-- BookRepository.findDistinctByAuthorId, findIdsByAuthorId; yazar silme/birleştirme FK kontrolü
+create index concurrently if not exists idx_books_author on books (author_id);
+-- BookRepository.findByPublicationYearBetween, findOldBooks, yıl istatistikleri
+create index concurrently if not exists idx_books_publication_year on books (publication_year);
+-- BookRepository.findByPriceBetween
+create index concurrently if not exists idx_books_price on books (price);
+-- BookRepository.findByCategoryId, findIdsByCategoryId (PK book_id ile başladığı için ters yön)
+create index concurrently if not exists idx_book_categories_category on book_categories (category_id, book_id);
+
+-- BorrowRecordRepository.findActiveBorrowRecords, findOverdueRecords:
+-- yalnızca açık ödünçler indekslenir, indeks boyutu tablo değil açık ödünç sayısıyla büyür
+create index concurrently if not exists idx_borrow_records_open_due on borrow_records (due_date)
+    where return_date is null;
+-- BorrowRecordRepository.findByMemberId; üye geçmişi
+create index concurrently if not exists idx_borrow_records_member on borrow_records (member_id, borrow_date);
+
+-- ReservationRepository.findByStatus
+create index concurrently if not exists idx_reservations_status_expiry on reservations (status, expiry_date);
+-- ReservationRepository.findActiveReservations, findExpiredReservations: yalnızca bekleyen rezervasyonlar
+create index concurrently if not exists idx_reservations_pending_expiry on reservations (expiry_date)
+    where status = 'PENDING';
+-- ReservationRepository.findByBookId, findByMemberId
+create index concurrently if not exists idx_reservations_book on reservations (book_id);
+create index concurrently if not exists idx_reservations_member on reservations (member_id);
+-- ReservationRepository.countDailyReservationsSince
+create index concurrently if not exists idx_reservations_date_book on reservations (reservation_date, book_id);
+
+-- MemberRepository.findExpiredMemberships, findMembershipsExpiringBetween
+create index concurrently if not exists idx_members_membership_end_date on members (membership_end_date);
+
+-- AuthorRepository.findByName (içe aktarmada yazar eşleştirme)
+create index concurrently if not exists idx_authors_name on authors (name);
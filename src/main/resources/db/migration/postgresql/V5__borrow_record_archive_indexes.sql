@@ -0,0 +1,10 @@
+-- Arşivleme indeksleri (PostgreSQL). H2'de iade tarihi aralığı idx_borrow_records_open_due
+-- (return_date, due_date) ile okunur ve yabancı anahtar kolonları kendiliğinden indekslenir.
+
+-- BorrowRecordRepository.findArchivableIds: yalnızca iade edilmiş kayıtlar, en eski iadeden başlayarak
+create index concurrently if not exists idx_borrow_records_returned on borrow_records (return_date)
+    where return_date is not null;
+
+-- Kitap/üye silindiğinde arşivdeki cascade silme
+create index concurrently if not exists idx_borrow_records_archive_book on borrow_records_archive (book_id);
+create index concurrently if not exists idx_borrow_records_archive_member on borrow_records_archive (member_id);
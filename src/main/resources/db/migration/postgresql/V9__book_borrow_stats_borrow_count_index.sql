@@ -0,0 +1,2 @@
+-- BookRepository.findTopBorrowed: top-K indeksin başından okunur, sıralama yapılmaz
+create index concurrently if not exists idx_book_borrow_stats_borrow_count on book_borrow_stats (borrow_count desc, book_id);
@@ -0,0 +1,143 @@
+package com.library.datasource;
+
+import com.library.stats.CatalogCounters;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Replica yönlendirme entegrasyon testi
+ *
+ * Birincil ve replica ayrı H2 veritabanlarıdır; replica şeması Flyway ile ayrıca oluşturulur ve
+ * aynı kitap iki tarafa da yazılır. open-in-view açıkken bir istekte önce readOnly okuma
+ * (replica), sonra yazma yapılır; yazmanın birincil veritabanına gittiği, replica'daki satırın
+ * ise yerinde kaldığı doğrulanır. Arka plan işlerinin replica'da henüz olmayan satırları
+ * gördüğü de sayaçların uzlaştırılmasıyla doğrulanır.
+ */
+@SpringBootTest(properties = {
+        "library.datasource.replica.enabled=true",
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "library.datasource.replica.url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "library.data-loader.enabled=false",
+        "library.trending.checkpoint-file=",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+
+    private static final String USERNAME = "sa";
+    private static final String PASSWORD = "password";
+    private static final long BOOK_ID = 7L;
+    private static final long PRIMARY_ONLY_BOOK_ID = 8L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    private CatalogCounters catalogCounters;
+
+    @DynamicPropertySource
+    static void replicaSchema(DynamicPropertyRegistry registry) {
+        // Uygulama yalnızca birincil veritabanını migrate eder; replica şeması context'ten önce hazır olmalı
+        Flyway.configure()
+                .dataSource(REPLICA_URL, USERNAME, PASSWORD)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void insertBook() throws SQLException {
+        try (Connection connection = primary.getConnection()) {
+            insertBook(connection, BOOK_ID);
+        }
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, USERNAME, PASSWORD)) {
+            insertBook(connection, BOOK_ID);
+        }
+    }
+
+    @Test
+    void writeAfterReadOnlyReadInSameRequestGoesToPrimary() throws Exception {
+        // WebController.deleteBook: findById (readOnly) ardından deleteById
+        mockMvc.perform(post("/books/delete/{id}", BOOK_ID))
+                .andExpect(status().is3xxRedirection());
+
+        try (Connection connection = primary.getConnection()) {
+            assertEquals(0, countBooks(connection, BOOK_ID), "Silme birincil veritabanına gitmedi");
+        }
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, USERNAME, PASSWORD)) {
+            assertEquals(1, countBooks(connection, BOOK_ID), "Silme replica'ya gitti");
+        }
+    }
+
+    @Test
+    void backgroundReconciliationReadsFromPrimary() throws Exception {
+        // Replica'ya henüz ulaşmamış bir kitap
+        long primaryBooks;
+        long replicaBooks;
+        try (Connection connection = primary.getConnection()) {
+            insertBook(connection, PRIMARY_ONLY_BOOK_ID);
+            primaryBooks = countBooks(connection, null);
+        }
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, USERNAME, PASSWORD)) {
+            replicaBooks = countBooks(connection, null);
+        }
+        assertNotEquals(primaryBooks, replicaBooks);
+
+        catalogCounters.reconcile();
+
+        assertEquals(primaryBooks, catalogCounters.total());
+    }
+
+    private static void insertBook(Connection connection, long id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "MERGE INTO books (id, created_at, updated_at, isbn, status, title, version) "
+                        + "KEY (id) VALUES (?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, 'AVAILABLE', ?, 0)")) {
+            statement.setLong(1, id);
+            statement.setString(2, String.format("978%010d", id));
+            statement.setString(3, "Yönlendirme Testi");
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * ID verilirse o kitabın, verilmezse tüm kitapların sayısı
+     */
+    private static int countBooks(Connection connection, Long id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM books WHERE ? IS NULL OR id = ?")) {
+            statement.setObject(1, id);
+            statement.setObject(2, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+}
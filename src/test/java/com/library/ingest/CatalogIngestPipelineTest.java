@@ -0,0 +1,132 @@
+package com.library.ingest;
+
+import com.library.dto.CatalogImportRecord;
+import com.library.dto.CatalogImportResult;
+import com.library.service.CatalogImportService;
+import com.library.service.CatalogImportSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CatalogIngestPipeline testleri
+ *
+ * Veritabanı yerine commit edilen kayıtları toplayan sahte bir oturum kullanılır. İlk çalıştırmada
+ * ikinci parça geri alınır: iş durmalı ve kontrol noktası o parçanın önünde kalmalıdır. Aynı
+ * dosyayla yeniden başlatılan iş kalan kayıtları yazmalı; her kayıt tam bir kez commit edilmelidir.
+ */
+class CatalogIngestPipelineTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void resumesFromCheckpointAfterFailedChunk() throws Exception {
+        StringBuilder csv = new StringBuilder("\uFEFFtitle,isbn,description\n");
+        List<String> isbns = new ArrayList<>();
+        for (int i = 1; i <= 9; i++) {
+            String isbn = String.format("978%010d", i);
+            isbns.add(isbn);
+            // Tırnaklı alanlar ayırıcı, satır sonu ve kaçışlı tırnak içerir
+            csv.append("\"Kitap, ").append(i).append("\",").append(isbn)
+               .append(",\"Satır 1\nSatır 2 \"\"alıntı\"\"\"\n");
+        }
+        // Dosya sonunda kesilmiş kayıt
+        csv.append("\"Yarım kitap,9780000000010");
+        Path file = directory.resolve("katalog.csv");
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        RecordingSession failing = new RecordingSession(2);
+        IngestJob first = awaitFinished(pipeline(failing).start("katalog.csv", null));
+
+        assertEquals(IngestJob.State.FAILED, first.getState());
+        assertTrue(first.getError().startsWith("Kayıt 3-4 yazılamadı"), first.getError());
+        assertEquals(isbns.subList(0, 2), failing.committed);
+        assertTrue(Files.exists(directory.resolve("katalog.csv.ckpt")));
+
+        RecordingSession healthy = new RecordingSession(0);
+        IngestJob second = awaitFinished(pipeline(healthy).start("katalog.csv", null));
+
+        assertEquals(IngestJob.State.COMPLETED, second.getState(), second.getError());
+        assertEquals(2, second.getResumedFromRecord());
+        assertEquals(isbns.subList(2, 9), healthy.committed);
+        assertEquals(List.of(10L), new ArrayList<>(healthy.rejected.keySet()));
+        assertFalse(Files.exists(directory.resolve("katalog.csv.ckpt")));
+
+        for (CatalogImportRecord record : healthy.records) {
+            assertTrue(record.getTitle().startsWith("Kitap, "), record.getTitle());
+            assertEquals("Satır 1\nSatır 2 \"alıntı\"", record.getDescription());
+        }
+    }
+
+    private CatalogIngestPipeline pipeline(CatalogImportSession session) {
+        CatalogImportService service = mock(CatalogImportService.class);
+        when(service.openSession()).thenReturn(session);
+        return new CatalogIngestPipeline(service, directory.toString(), BATCH_SIZE, 2, 1, 4096, 1024 * 1024, ',');
+    }
+
+    private static IngestJob awaitFinished(IngestJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (job.getState() == IngestJob.State.RUNNING) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("İçe aktarma işi bitmedi: " + job.getId());
+            }
+            Thread.sleep(20);
+        }
+        return job;
+    }
+
+    /**
+     * Commit edilen kayıtları toplar; failOnWrite'ıncı yazmayı geri alınmış gibi reddeder
+     */
+    private static final class RecordingSession implements CatalogImportSession {
+
+        private final int failOnWrite;
+        private final List<String> committed = new ArrayList<>();
+        private final List<CatalogImportRecord> records = new ArrayList<>();
+        private final Map<Long, String> rejected = new LinkedHashMap<>();
+        private int writes;
+
+        private RecordingSession(int failOnWrite) {
+            this.failOnWrite = failOnWrite;
+        }
+
+        @Override
+        public boolean write(List<CatalogImportRecord> batch, long[] recordNumbers) {
+            if (++writes == failOnWrite) {
+                return false;
+            }
+            for (CatalogImportRecord record : batch) {
+                committed.add(record.getIsbn());
+                records.add(record);
+            }
+            return true;
+        }
+
+        @Override
+        public void reject(long recordNumber, String message) {
+            rejected.put(recordNumber, message);
+        }
+
+        @Override
+        public CatalogImportResult finish() {
+            return new CatalogImportResult(10);
+        }
+    }
+}
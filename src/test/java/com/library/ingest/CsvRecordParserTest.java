@@ -0,0 +1,85 @@
+package com.library.ingest;
+
+import com.library.dto.CatalogImportRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * CsvRecordParser testleri
+ *
+ * Alan bölme kuralları RFC 4180'e göre doğrulanır: tırnaklı alanda ayırıcı ve satır sonu veridir,
+ * "" tek tırnağa dönüşür, tırnak yalnızca alanın başında tırnaklı alan açar.
+ */
+class CsvRecordParserTest {
+
+    @Test
+    void quotedFieldMayContainDelimiterAndNewline() {
+        assertEquals(List.of("a", "b,c", "d"), CsvRecordParser.split("a,\"b,c\",d", ','));
+        assertEquals(List.of("satır 1\nsatır 2", "x"), CsvRecordParser.split("\"satır 1\nsatır 2\",x", ','));
+        assertEquals(List.of("a;b", "c"), CsvRecordParser.split("\"a;b\";c", ';'));
+    }
+
+    @Test
+    void doubledQuotesBecomeOneQuote() {
+        assertEquals(List.of("Dedi ki \"merhaba\"", "x"), CsvRecordParser.split("\"Dedi ki \"\"merhaba\"\"\",x", ','));
+        assertEquals(List.of("\"", ""), CsvRecordParser.split("\"\"\"\",", ','));
+        assertEquals(List.of("", "x"), CsvRecordParser.split("\"\",x", ','));
+    }
+
+    @Test
+    void quoteInsideFieldIsData() {
+        assertEquals(List.of("5\" disket", "x"), CsvRecordParser.split("5\" disket,x", ','));
+        assertEquals(List.of("a\"b\"c", "d"), CsvRecordParser.split("a\"b\"c,d", ','));
+    }
+
+    @Test
+    void emptyFieldsAreKept() {
+        assertEquals(List.of("", "", ""), CsvRecordParser.split(",,", ','));
+        assertEquals(List.of(""), CsvRecordParser.split("", ','));
+    }
+
+    @Test
+    void unclosedQuoteIsRejected() {
+        // Dosya sonunda kesilmiş kayıt
+        assertThrows(IllegalArgumentException.class, () -> CsvRecordParser.split("\"Kürk Mantolu,978", ','));
+    }
+
+    @Test
+    void headerWithByteOrderMark() {
+        CsvRecordParser parser = new CsvRecordParser(bytes("\uFEFF\"Title\",ISBN,Publication Year"), ',');
+        CatalogImportRecord record = parser.parse(bytes("Kar,978-975-08-0363-2,2002"));
+
+        assertEquals("Kar", record.getTitle());
+        assertEquals("9789750803632", record.getIsbn());
+        assertEquals(2002, record.getPublicationYear());
+    }
+
+    @Test
+    void headerWithoutRequiredColumnsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CsvRecordParser(bytes("title,author"), ','));
+    }
+
+    @Test
+    void parseMapsColumns() {
+        CsvRecordParser parser = new CsvRecordParser(bytes("title,isbn,author_name,categories,pages,unknown"), ',');
+
+        CatalogImportRecord record = parser.parse(bytes("\"Suç ve Ceza, Cilt 1\",9789750719387,Dostoyevski,Roman| Klasik ,671,x"));
+        assertEquals("Suç ve Ceza, Cilt 1", record.getTitle());
+        assertEquals("Dostoyevski", record.getAuthorName());
+        assertEquals(List.of("Roman", "Klasik"), record.getCategories());
+        assertEquals(671, record.getPageCount());
+
+        assertNull(parser.parse(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(bytes("Kar,978,,,çok,")));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
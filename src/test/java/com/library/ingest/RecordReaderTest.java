@@ -0,0 +1,145 @@
+package com.library.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * RecordReader testleri
+ *
+ * Kayıtlar geçici dosyalardan okunur. Okuma tamponu en az 4 KB olduğu için tampon sınırını
+ * aşan durumlar daha uzun kayıtlarla sınanır. Kayıt bölme, {@link CsvRecordParser} ile aynı
+ * tırnak kuralına uymalıdır.
+ */
+class RecordReaderTest {
+
+    private static final int MAX_RECORD_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void quotedNewlineDoesNotEndRecord() throws IOException {
+        List<String> records = readCsv("title,isbn\r\n\"Satır 1\r\nSatır 2\",1\r\n\"a,b\",2\r\n");
+
+        assertEquals(List.of("title,isbn", "\"Satır 1\r\nSatır 2\",1", "\"a,b\",2"), records);
+        assertEquals(List.of("Satır 1\r\nSatır 2", "1"), CsvRecordParser.split(records.get(1), ','));
+    }
+
+    @Test
+    void doubledQuotesKeepFieldOpen() throws IOException {
+        List<String> records = readCsv("\"Dedi ki \"\"merhaba\nnasılsın\"\"\",1\n\"\"\"\",2\nx,3\n");
+
+        assertEquals(List.of("\"Dedi ki \"\"merhaba\nnasılsın\"\"\",1", "\"\"\"\",2", "x,3"), records);
+    }
+
+    @Test
+    void quoteInsideFieldDoesNotOpenQuotedField() throws IOException {
+        // Ortadaki tırnak kaydı bir sonraki satıra taşımamalı
+        assertEquals(List.of("5\" disket,1", "a\"b,2", "c,3"), readCsv("5\" disket,1\na\"b,2\nc,3\n"));
+    }
+
+    @Test
+    void byteOrderMarkIsKeptForParser() throws IOException {
+        List<String> records = readCsv("\uFEFF\"Başlık\nKitap\",isbn\nKar,1\n");
+
+        assertEquals(List.of("\uFEFF\"Başlık\nKitap\",isbn", "Kar,1"), records);
+    }
+
+    @Test
+    void truncatedLastRecordIsReturned() throws IOException {
+        assertEquals(List.of("a,1", "b,2"), readCsv("a,1\nb,2"));
+        // Kapanmamış tırnak dosya sonuna kadar okunur; ayrıştırıcı kaydı reddeder
+        assertEquals(List.of("a,1", "\"b,2\nc,3"), readCsv("a,1\n\"b,2\nc,3"));
+    }
+
+    @Test
+    void oversizedRecordIsSkippedToNextTerminator() throws IOException {
+        String longField = "x".repeat(100);
+        Path file = write("a,1\n" + longField + ",2\nb,3\n\"" + longField + "\nc,4\n");
+
+        try (RecordReader reader = new RecordReader(file, 0L, IngestFormat.CSV, ',', 4096, 64)) {
+            assertEquals("a,1", string(reader.next()));
+            assertSame(RecordReader.OVERSIZED, reader.next());
+            assertEquals("b,3", string(reader.next()));
+            // Kapanmamış tırnaklı uzun kayıt sınırda kesilir; tırnaklar yok sayılarak ilk satır sonuna atlanır
+            assertSame(RecordReader.OVERSIZED, reader.next());
+            assertEquals("c,4", string(reader.next()));
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void recordsSpanningBufferBoundary() throws IOException {
+        StringBuilder content = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String record = "\"" + "ş".repeat(i * 20) + "\n" + i + "\"\"\"," + i;
+            expected.add(record);
+            content.append(record).append('\n');
+        }
+
+        assertEquals(expected, readCsv(content.toString()));
+    }
+
+    @Test
+    void resumeFromOffset() throws IOException {
+        Path file = write("title,isbn\n\"a\nb\",1\nc,2\nd,3\n");
+        long offset;
+        try (RecordReader reader = new RecordReader(file, 0L, IngestFormat.CSV, ',', 4096, MAX_RECORD_BYTES)) {
+            reader.next();
+            reader.next();
+            offset = reader.offset();
+        }
+
+        try (RecordReader reader = new RecordReader(file, offset, IngestFormat.CSV, ',', 4096, MAX_RECORD_BYTES)) {
+            assertEquals("c,2", string(reader.next()));
+            assertEquals("d,3", string(reader.next()));
+            assertNull(reader.next());
+            assertEquals(Files.size(file), reader.offset());
+        }
+    }
+
+    @Test
+    void marcRecordsIgnoreQuotes() throws IOException {
+        Path file = write("00010\"a\u001D00020\nb\u001D");
+
+        try (RecordReader reader = new RecordReader(file, 0L, IngestFormat.MARC21, ',', 4096, MAX_RECORD_BYTES)) {
+            assertEquals("00010\"a", string(reader.next()));
+            assertEquals("00020\nb", string(reader.next()));
+            assertNull(reader.next());
+        }
+    }
+
+    private List<String> readCsv(String content) throws IOException {
+        Path file = write(content);
+        List<String> records = new ArrayList<>();
+        try (RecordReader reader = new RecordReader(file, 0L, IngestFormat.CSV, ',', 4096, MAX_RECORD_BYTES)) {
+            byte[] record;
+            while ((record = reader.next()) != null) {
+                records.add(string(record));
+            }
+        }
+        return records;
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(directory, "records", ".csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String string(byte[] record) {
+        return new String(record, StandardCharsets.UTF_8);
+    }
+}
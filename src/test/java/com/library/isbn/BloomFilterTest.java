@@ -0,0 +1,69 @@
+package com.library.isbn;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * BloomFilter testleri
+ *
+ * Filtre yapılandırılan eleman sayısıyla doldurulur, ardından eklenmemiş ISBN'lerle ölçülen
+ * yanlış pozitif oranı hedefle karşılaştırılır. Bit sayısı yukarı yuvarlandığı için ölçülen
+ * oran hedefin çok az üstünde olabilir; sınır örnekleme hatasının birkaç katı kadar geniştir.
+ */
+class BloomFilterTest {
+
+    @Test
+    void falsePositiveRateAtConfiguredSize() {
+        assertFalsePositiveRate(100_000, 0.01, 42);
+        assertFalsePositiveRate(10_000, 0.001, 7);
+    }
+
+    @Test
+    void invalidRateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 1.0));
+    }
+
+    private static void assertFalsePositiveRate(int expectedInsertions, double rate, long seed) {
+        Random random = new Random(seed);
+        BloomFilter filter = new BloomFilter(expectedInsertions, rate);
+        Set<String> inserted = new HashSet<>();
+        while (inserted.size() < expectedInsertions) {
+            String isbn = randomIsbn(random);
+            if (inserted.add(isbn)) {
+                filter.put(isbn);
+            }
+        }
+
+        for (String isbn : inserted) {
+            assertTrue(filter.mightContain(isbn), "Yanlış negatif: " + isbn);
+        }
+
+        int probes = 200_000;
+        int falsePositives = 0;
+        for (int tested = 0; tested < probes; ) {
+            String isbn = randomIsbn(random);
+            if (inserted.contains(isbn)) {
+                continue;
+            }
+            tested++;
+            if (filter.mightContain(isbn)) {
+                falsePositives++;
+            }
+        }
+        double measured = (double) falsePositives / probes;
+        double tolerance = 4 * Math.sqrt(rate * (1 - rate) / probes);
+        assertTrue(measured <= rate + tolerance,
+                "n=" + expectedInsertions + " hedef=" + rate + " ölçülen=" + measured);
+    }
+
+    private static String randomIsbn(Random random) {
+        return String.format("978%010d", (long) (random.nextDouble() * 10_000_000_000L));
+    }
+}
@@ -0,0 +1,139 @@
+package com.library.isbn;
+
+import com.library.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * IsbnRegistry testleri
+ *
+ * books tablosu bellekte tutulan satırlarla taklit edilir; başka bir uygulama örneğinin
+ * yazması listeye satır eklemekle aynıdır. Senaryo: bu örnekte geri alınan bir kayıt ISBN'i
+ * filtreye eklemiş, veritabanı sorgusu onu bulamamış ve ISBN negatif cache'e girmiştir.
+ * Başka örnek aynı ISBN'i eklediğinde yoklama negatif kaydı silmelidir; ID watermark'ının
+ * gerisinde geç commit edilen satır ancak updated_at örtüşme penceresiyle bulunur.
+ */
+class IsbnRegistryTest {
+
+    private static final String ISBN = "9789750719387";
+
+    private final List<Row> rows = new ArrayList<>();
+    private final BookRepository bookRepository = mock(BookRepository.class);
+
+    @BeforeEach
+    void books() {
+        for (long id = 1; id <= 10; id++) {
+            rows.add(new Row(id, String.format("978%010d", id), LocalDateTime.now().minusDays(1)));
+        }
+        when(bookRepository.count()).thenAnswer(invocation -> (long) rows.size());
+        when(bookRepository.findIsbnsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return rows.stream()
+                    .filter(row -> row.id > afterId)
+                    .sorted(Comparator.comparingLong(row -> row.id))
+                    .limit(page.getPageSize())
+                    .map(row -> new Object[]{row.id, row.isbn})
+                    .collect(Collectors.toList());
+        });
+        when(bookRepository.findIsbnsUpdatedSince(any())).thenAnswer(invocation -> {
+            LocalDateTime since = invocation.getArgument(0);
+            return rows.stream()
+                    .filter(row -> !row.updatedAt.isBefore(since))
+                    .map(row -> row.isbn)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    void insertAboveWatermarkInvalidatesNegative() {
+        IsbnRegistry registry = registry(30_000);
+        cacheFalsePositive(registry);
+
+        rows.add(new Row(11, ISBN, LocalDateTime.now()));
+        registry.poll();
+
+        assertTrue(registry.mightExist(ISBN));
+    }
+
+    @Test
+    void lateCommitBehindWatermarkIsFoundByOverlapWindow() {
+        IsbnRegistry registry = registry(30_000);
+        cacheFalsePositive(registry);
+
+        // ID'si önceden ayrılmış, son yoklamadan önce yazılıp sonra commit edilmiş satır
+        rows.add(new Row(5, ISBN, LocalDateTime.now().minusSeconds(10)));
+        registry.poll();
+
+        assertTrue(registry.mightExist(ISBN));
+    }
+
+    @Test
+    void lateCommitIsMissedWithoutOverlap() {
+        IsbnRegistry registry = registry(0);
+        cacheFalsePositive(registry);
+
+        rows.add(new Row(5, ISBN, LocalDateTime.now().minusSeconds(10)));
+        registry.poll();
+
+        assertFalse(registry.mightExist(ISBN));
+    }
+
+    @Test
+    void missRecordedAfterConcurrentAddIsDropped() {
+        IsbnRegistry registry = registry(30_000);
+        registry.initialize();
+
+        long version = registry.version();
+        registry.add(ISBN);
+        registry.recordMiss(ISBN, version);
+
+        assertTrue(registry.mightExist(ISBN));
+    }
+
+    /**
+     * Filtreyi kurar, ilk yoklamayı yapar ve ISBN'i yanlış pozitif olarak negatif cache'e koyar
+     */
+    private static void cacheFalsePositive(IsbnRegistry registry) {
+        registry.initialize();
+        registry.poll();
+        registry.add(ISBN);
+        long version = registry.version();
+        assertTrue(registry.mightExist(ISBN));
+        registry.recordMiss(ISBN, version);
+        assertFalse(registry.mightExist(ISBN));
+    }
+
+    private IsbnRegistry registry(long pollOverlapMillis) {
+        return new IsbnRegistry(bookRepository, mock(PlatformTransactionManager.class),
+                1000, 0.01, 100, 60_000, pollOverlapMillis);
+    }
+
+    private static final class Row {
+
+        private final long id;
+        private final String isbn;
+        private final LocalDateTime updatedAt;
+
+        private Row(long id, String isbn, LocalDateTime updatedAt) {
+            this.id = id;
+            this.isbn = isbn;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
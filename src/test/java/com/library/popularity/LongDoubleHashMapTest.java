@@ -0,0 +1,92 @@
+package com.library.popularity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * LongDoubleHashMap testleri
+ *
+ * Rastgele ekleme, büyüme (resize) ve eşik altı silme işlemleri aynı işlemleri uygulayan bir
+ * HashMap ile karşılaştırılır. Anahtarların bir kısmı aynı düşük bitlere sahiptir; doğrusal
+ * yoklama zincirleri silmeden sonra da bozulmamalıdır.
+ */
+class LongDoubleHashMapTest {
+
+    @Test
+    void addToAndGetMatchHashMapAcrossResizes() {
+        Random random = new Random(42);
+        LongDoubleHashMap map = new LongDoubleHashMap(1);
+        Map<Long, Double> expected = new HashMap<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = randomKey(random);
+            double delta = random.nextDouble();
+            assertEquals(expected.merge(key, delta, Double::sum), map.addTo(key, delta), "addTo(" + key + ")");
+        }
+        assertSameContents(expected, map);
+    }
+
+    @Test
+    void removeBelowDeletesAndKeepsProbeChains() {
+        Random random = new Random(7);
+        LongDoubleHashMap map = new LongDoubleHashMap(16);
+        Map<Long, Double> expected = new HashMap<>();
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 2_000; i++) {
+                long key = randomKey(random);
+                double delta = random.nextDouble();
+                expected.merge(key, delta, Double::sum);
+                map.addTo(key, delta);
+            }
+            double threshold = random.nextDouble() * 2;
+            int before = expected.size();
+            expected.values().removeIf(value -> value < threshold);
+
+            assertEquals(before - expected.size(), map.removeBelow(threshold));
+            assertSameContents(expected, map);
+        }
+    }
+
+    @Test
+    void scaleAndClear() {
+        LongDoubleHashMap map = new LongDoubleHashMap(4);
+        map.addTo(1, 2.0);
+        map.addTo(2, 4.0);
+
+        map.scale(0.25);
+        assertEquals(0.5, map.get(1));
+        assertEquals(1.0, map.get(2));
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(0.0, map.get(1));
+        assertEquals(3.0, map.addTo(1, 3.0));
+    }
+
+    @Test
+    void zeroKeyIsRejected() {
+        LongDoubleHashMap map = new LongDoubleHashMap(4);
+        assertThrows(IllegalArgumentException.class, () -> map.addTo(0, 1.0));
+    }
+
+    private static long randomKey(Random random) {
+        // Yarısı ardışık küçük ID'ler, yarısı düşük bitleri aynı olan büyük ID'ler
+        return random.nextBoolean() ? 1 + random.nextInt(5_000) : (1L + random.nextInt(5_000)) << 20;
+    }
+
+    private static void assertSameContents(Map<Long, Double> expected, LongDoubleHashMap map) {
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key), "get(" + key + ")"));
+        Map<Long, Double> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+        assertEquals(0.0, map.get(Long.MAX_VALUE));
+    }
+}
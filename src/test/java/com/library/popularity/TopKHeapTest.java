@@ -0,0 +1,90 @@
+package com.library.popularity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * TopKHeap testleri
+ *
+ * Skorlar yalnızca arttığında, her güncellemede kitabın toplam skorunu heap'e vermek
+ * kesin top-K için yeterli olmalıdır: heap'ten çıkarılan bir kitap toplamı kökü geçtiğinde
+ * geri girer. Her adımdan sonra heap, tüm skorlar sıralanarak bulunan top-K ile karşılaştırılır.
+ */
+class TopKHeapTest {
+
+    @Test
+    void increaseOnlyUpdatesKeepExactTopK() {
+        Random random = new Random(42);
+        int k = 10;
+        TopKHeap heap = new TopKHeap(k);
+        Map<Long, Double> totals = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(200);
+            // Rastgele ağırlıklar eşit skorları pratikte imkânsız kılar; sıralama tek anlamlıdır
+            double total = totals.merge(id, random.nextDouble(), Double::sum);
+            heap.offer(id, total);
+            if (i % 100 == 0) {
+                assertTopK(totals, heap, k);
+            }
+        }
+        assertTopK(totals, heap, k);
+    }
+
+    @Test
+    void scaleKeepsOrder() {
+        TopKHeap heap = new TopKHeap(3);
+        heap.offer(1, 1.0);
+        heap.offer(2, 3.0);
+        heap.offer(3, 2.0);
+
+        heap.scale(0.5);
+
+        long[] ids = new long[3];
+        double[] scores = new double[3];
+        assertEquals(3, heap.copySorted(ids, scores));
+        assertArrayEquals(new long[]{2, 3, 1}, ids);
+        assertArrayEquals(new double[]{1.5, 1.0, 0.5}, scores);
+    }
+
+    @Test
+    void equalScoresAreSortedById() {
+        TopKHeap heap = new TopKHeap(4);
+        heap.offer(9, 1.0);
+        heap.offer(3, 1.0);
+        heap.offer(5, 2.0);
+        heap.offer(1, 1.0);
+
+        long[] ids = new long[4];
+        heap.copySorted(ids, new double[4]);
+        assertArrayEquals(new long[]{5, 1, 3, 9}, ids);
+
+        heap.clear();
+        assertEquals(0, heap.size());
+    }
+
+    private static void assertTopK(Map<Long, Double> totals, TopKHeap heap, int k) {
+        long[] expectedIds = totals.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(k)
+                .mapToLong(Map.Entry::getKey)
+                .toArray();
+        long[] ids = new long[k];
+        double[] scores = new double[k];
+        int size = heap.copySorted(ids, scores);
+
+        assertEquals(expectedIds.length, size);
+        assertArrayEquals(expectedIds, Arrays.copyOf(ids, size));
+        for (int i = 0; i < size; i++) {
+            assertEquals(totals.get(ids[i]), scores[i]);
+        }
+    }
+}
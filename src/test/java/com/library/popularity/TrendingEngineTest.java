@@ -0,0 +1,118 @@
+package com.library.popularity;
+
+import com.library.repository.BorrowRecordRepository;
+import com.library.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * TrendingEngine testleri
+ *
+ * Repository'ler boş sonuç dönen mock'lardır; motor veritabanı yerine doğrudan kaydedilen
+ * olaylarla beslenir. İleri bozunma skorları beklenen {@code w * 2^-(yaş / yarı ömür)}
+ * değerleriyle, checkpoint ise yazılıp yeni bir motora yüklenerek doğrulanır.
+ */
+class TrendingEngineTest {
+
+    private static final double HALF_LIFE_HOURS = 1.0;
+    private static final long HALF_LIFE_MILLIS = 3_600_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void scoresDecayByHalfLife() {
+        TrendingEngine engine = engine(HALF_LIFE_HOURS, "");
+        engine.restore();
+        long now = System.currentTimeMillis();
+
+        engine.record(1, 1.0, now);
+        engine.record(2, 1.0, now - HALF_LIFE_MILLIS);
+        engine.record(3, 4.0, now - 2 * HALF_LIFE_MILLIS);
+        engine.record(3, 1.0, now - 3 * HALF_LIFE_MILLIS);
+
+        List<TrendingEntry> top = engine.top(10);
+        assertEquals(List.of(3L, 1L, 2L), engine.topIds(10));
+        assertEquals(1.125, top.get(0).getScore(), 1e-3);
+        assertEquals(1.0, top.get(1).getScore(), 1e-3);
+        assertEquals(0.5, top.get(2).getScore(), 1e-3);
+    }
+
+    @Test
+    void rescalingLandmarkKeepsRelativeScores() {
+        TrendingEngine engine = engine(HALF_LIFE_HOURS, "");
+        engine.restore();
+        long now = System.currentTimeMillis();
+
+        // 100 yarı ömür sonrası olaylar katsayı üssünü aşar ve skorları yeniden ölçekler
+        long future = now + 100 * HALF_LIFE_MILLIS;
+        engine.record(1, 1.0, now);
+        engine.record(2, 1.0, future);
+        engine.record(3, 1.0, future + HALF_LIFE_MILLIS);
+
+        List<TrendingEntry> top = engine.top(10);
+        assertEquals(List.of(3L, 2L, 1L), engine.topIds(10));
+        assertEquals(2.0, top.get(0).getScore() / top.get(1).getScore(), 1e-9);
+        assertEquals(Math.pow(2, 100), top.get(1).getScore() / top.get(2).getScore(), 1e-6 * Math.pow(2, 100));
+    }
+
+    @Test
+    void checkpointRoundTrip() throws Exception {
+        Path file = directory.resolve("trending.bin");
+        TrendingEngine engine = engine(HALF_LIFE_HOURS, file.toString());
+        engine.restore();
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= 50; id++) {
+            engine.record(id, id, now - (id % 5) * HALF_LIFE_MILLIS / 4);
+        }
+        engine.maintain();
+        assertTrue(Files.isRegularFile(file));
+
+        BorrowRecordRepository borrows = mock(BorrowRecordRepository.class);
+        TrendingEngine restored = new TrendingEngine(borrows, mock(ReservationRepository.class),
+                mock(PlatformTransactionManager.class), HALF_LIFE_HOURS, 100, 7, file.toString());
+        restored.restore();
+
+        verify(borrows, never()).countDailyBorrowsSince(any());
+        List<TrendingEntry> expected = engine.top(100);
+        List<TrendingEntry> actual = restored.top(100);
+        assertEquals(engine.topIds(100), restored.topIds(100));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getScore(), actual.get(i).getScore(), expected.get(i).getScore() * 1e-6);
+        }
+    }
+
+    @Test
+    void checkpointWithDifferentHalfLifeIsIgnored() {
+        Path file = directory.resolve("trending.bin");
+        TrendingEngine engine = engine(HALF_LIFE_HOURS, file.toString());
+        engine.restore();
+        engine.record(1, 1.0, System.currentTimeMillis());
+        engine.shutdown();
+
+        BorrowRecordRepository borrows = mock(BorrowRecordRepository.class);
+        TrendingEngine restored = new TrendingEngine(borrows, mock(ReservationRepository.class),
+                mock(PlatformTransactionManager.class), 2 * HALF_LIFE_HOURS, 100, 7, file.toString());
+        restored.restore();
+
+        verify(borrows).countDailyBorrowsSince(any());
+        assertEquals(List.of(), restored.topIds(10));
+    }
+
+    private static TrendingEngine engine(double halfLifeHours, String checkpointFile) {
+        return new TrendingEngine(mock(BorrowRecordRepository.class), mock(ReservationRepository.class),
+                mock(PlatformTransactionManager.class), halfLifeHours, 100, 7, checkpointFile);
+    }
+}
@@ -0,0 +1,282 @@
+package com.library.repository;
+
+import com.library.entity.BookStatus;
+import com.library.entity.ReservationStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Repository sorgu planı testleri
+ *
+ * Her kontrol gerçek repository metodunu çağırır, Hibernate'in ürettiği SQL'i bir
+ * StatementInspector ile yakalar ve aynı parametrelerle EXPLAIN eder. Plan, migration'larda
+ * o sorgu için oluşturulan indeksi kullanmıyorsa test başarısız olur; böylece bir indeksi
+ * kaldıran ya da sorguyu indeksin kullanılamayacağı hale getiren değişiklik build'de yakalanır.
+ *
+ * Varsayılan olarak gömülü H2 ile çalışır. H2 kısmi indeks desteklemediği için bazı sorgularda
+ * bileşik indeks, yabancı anahtar kolonlarında ise H2'nin kısıt için oluşturduğu indeks
+ * (fk_... ile başlar) beklenir. -Dplan-check.postgres.url=jdbc:postgresql://... verilirse
+ * aynı kontroller PostgreSQL'de çalışır; örnek veride tablolar küçük olduğu için EXPLAIN
+ * sırasında oturumda enable_seqscan kapatılır. Birden fazla indeksin uygun olduğu sorgularda
+ * beklenen adlar "|" ile ayrılır.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.library.repository.RepositoryQueryPlanTest$CapturedSql",
+        "spring.jpa.show-sql=false",
+        "library.trending.checkpoint-file="
+})
+class RepositoryQueryPlanTest {
+
+    private static final String POSTGRES_URL = System.getProperty("plan-check.postgres.url", "");
+    private static final LocalDate DATE = LocalDate.of(2020, 1, 1);
+    private static final int LIMIT = 10;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        if (POSTGRES_URL.isEmpty()) {
+            return;
+        }
+        registry.add("spring.datasource.url", () -> POSTGRES_URL);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> System.getProperty("plan-check.postgres.username", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("plan-check.postgres.password", ""));
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    /**
+     * Test thread'inde Hibernate'in hazırladığı SQL'leri toplar; zamanlanmış işlerin
+     * sorguları karışmaz
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = STATEMENTS.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+
+        static String firstStatementOf(Runnable call) {
+            List<String> statements = new ArrayList<>();
+            STATEMENTS.set(statements);
+            try {
+                call.run();
+            } finally {
+                STATEMENTS.remove();
+            }
+            assertFalse(statements.isEmpty(), "Sorgu veritabanına gitmedi");
+            return statements.get(0);
+        }
+    }
+
+    /**
+     * Repository çağrısı, SQL parametreleri ve kullanması beklenen indeks
+     */
+    private static final class PlanCheck {
+
+        private final String query;
+        private final Runnable call;
+        private final String sql;
+        private final List<Object> parameters;
+        private final String postgresIndex;
+        private final String h2Index;
+
+        private PlanCheck(String query, Runnable call, String sql, List<Object> parameters,
+                          String postgresIndex, String h2Index) {
+            this.query = query;
+            this.call = call;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.postgresIndex = postgresIndex;
+            this.h2Index = h2Index;
+        }
+    }
+
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private BorrowRecordRepository borrowRecordRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    private List<PlanCheck> checks() {
+        return Arrays.asList(
+                repository("BookRepository.findDistinctByAuthorId",
+                        () -> bookRepository.findDistinctByAuthorId(1L), params(1L),
+                        "idx_books_author", "fk_books_author"),
+                repository("BookRepository.findDistinctByStatus",
+                        () -> bookRepository.findDistinctByStatus(BookStatus.LOST), params(BookStatus.LOST.name()),
+                        "idx_books_status_id"),
+                repository("BookRepository.findByPublicationYearBetween",
+                        () -> bookRepository.findByPublicationYearBetween(1990, 2000), params(1990, 2000),
+                        "idx_books_publication_year"),
+                repository("BookRepository.findOldBooks",
+                        () -> bookRepository.findOldBooks(2000), params(2000),
+                        "idx_books_publication_year"),
+                repository("BookRepository.findByPriceBetween",
+                        () -> bookRepository.findByPriceBetween(BigDecimal.TEN, BigDecimal.valueOf(20)),
+                        params(BigDecimal.TEN, BigDecimal.valueOf(20)),
+                        "idx_books_price"),
+                repository("BookRepository.findIsbnsUpdatedSince",
+                        () -> bookRepository.findIsbnsUpdatedSince(DATE.atStartOfDay()), params(DATE.atStartOfDay()),
+                        "idx_books_updated_at"),
+                repository("BorrowRecordRepository.findMemberBookPairsCreatedSince",
+                        () -> borrowRecordRepository.findMemberBookPairsCreatedSince(DATE.atStartOfDay()),
+                        params(DATE.atStartOfDay()),
+                        "idx_borrow_records_created_at"),
+                repository("BookRepository.findTopBorrowed",
+                        () -> bookRepository.findTopBorrowed(PageRequest.of(0, LIMIT)), params(LIMIT),
+                        "idx_book_borrow_stats_borrow_count"),
+                repository("BookRepository.findIdsByCategoryId",
+                        () -> bookRepository.findIdsByCategoryId(1L), params(1L),
+                        "idx_book_categories_category"),
+                // H2 join koşulunu türetilmiş tabloya indirip arşivi kitap bazında yabancı anahtar indeksiyle okur
+                repository("BookRepository.findTopBorrowedSince (arşiv)",
+                        () -> bookRepository.findTopBorrowedSince(DATE, PageRequest.of(0, LIMIT)), params(DATE, DATE, LIMIT),
+                        "idx_borrow_records_archive_borrow_date_book", "fk_borrow_records_archive_book"),
+                repository("BorrowRecordRepository.findActiveBorrowRecords",
+                        () -> borrowRecordRepository.findActiveBorrowRecords(), params(),
+                        "idx_borrow_records_open_due"),
+                repository("BorrowRecordRepository.findOverdueRecords",
+                        () -> borrowRecordRepository.findOverdueRecords(DATE), params(DATE),
+                        "idx_borrow_records_open_due"),
+                repository("BorrowRecordRepository.findByMemberId",
+                        () -> borrowRecordRepository.findByMemberId(1L), params(1L),
+                        "idx_borrow_records_member", "fk_borrow_records_member"),
+                repository("BorrowRecordRepository.findByBookId",
+                        () -> borrowRecordRepository.findByBookId(1L), params(1L),
+                        "idx_borrow_records_book", "fk_borrow_records_book"),
+                repository("BorrowRecordRepository.findArchivableIds",
+                        () -> borrowRecordRepository.findArchivableIds(DATE, PageRequest.of(0, LIMIT)), params(DATE, LIMIT),
+                        "idx_borrow_records_returned", "idx_borrow_records_open_due"),
+                // Kitap silindiğinde arşiv satırlarını veritabanı siler (ON DELETE CASCADE); repository sorgusu yoktur
+                sql("borrow_records_archive kitap silme (cascade)",
+                        "SELECT id FROM borrow_records_archive WHERE book_id = ?", params(1L),
+                        "idx_borrow_records_archive_book", "fk_borrow_records_archive_book"),
+                repository("ReservationRepository.findByStatus",
+                        () -> reservationRepository.findByStatus(ReservationStatus.FULFILLED),
+                        params(ReservationStatus.FULFILLED.name()),
+                        "idx_reservations_status_expiry"),
+                repository("ReservationRepository.findActiveReservations",
+                        () -> reservationRepository.findActiveReservations(DATE), params(DATE),
+                        "idx_reservations_pending_expiry|idx_reservations_status_expiry", "idx_reservations_status_expiry"),
+                repository("ReservationRepository.findExpiredReservations",
+                        () -> reservationRepository.findExpiredReservations(DATE), params(DATE),
+                        "idx_reservations_pending_expiry|idx_reservations_status_expiry", "idx_reservations_status_expiry"),
+                repository("ReservationRepository.findByMemberId",
+                        () -> reservationRepository.findByMemberId(1L), params(1L),
+                        "idx_reservations_member", "fk_reservations_member"),
+                repository("MemberRepository.findExpiredMemberships",
+                        () -> memberRepository.findExpiredMemberships(DATE), params(DATE),
+                        "idx_members_membership_end_date"),
+                repository("AuthorRepository.findByName",
+                        () -> authorRepository.findByName("Orhan Pamuk"), params("Orhan Pamuk"),
+                        "idx_authors_name")
+        );
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        boolean postgres = !POSTGRES_URL.isEmpty();
+        return checks().stream().map(check -> DynamicTest.dynamicTest(check.query, () -> {
+            String sql = check.sql != null ? check.sql : CapturedSql.firstStatementOf(check.call);
+            String expected = postgres ? check.postgresIndex : check.h2Index;
+            String plan = explain(sql, check.parameters, postgres);
+            assertTrue(usesAny(plan.toLowerCase(Locale.ROOT), expected),
+                    () -> check.query + " beklenen indeksi (" + expected + ") kullanmıyor: " + plan.replaceAll("\\s+", " ")
+                            + "\nSQL: " + sql);
+        }));
+    }
+
+    private String explain(String sql, List<Object> parameters, boolean postgres) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                if (postgres) {
+                    statement.execute("SET enable_seqscan = off");
+                }
+            }
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    explain.setObject(i + 1, parameters.get(i));
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = explain.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } catch (SQLException e) {
+                fail("EXPLAIN çalıştırılamadı (parametreler SQL'deki ? sayısıyla eşleşmeli): " + sql, e);
+                return "";
+            } finally {
+                if (postgres) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("RESET enable_seqscan");
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean usesAny(String plan, String expected) {
+        for (String index : expected.split("\\|")) {
+            if (plan.contains(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Object> params(Object... values) {
+        return Arrays.asList(values);
+    }
+
+    private static PlanCheck repository(String query, Runnable call, List<Object> parameters,
+                                        String postgresIndex, String h2Index) {
+        return new PlanCheck(query, call, null, parameters, postgresIndex, h2Index);
+    }
+
+    private static PlanCheck repository(String query, Runnable call, List<Object> parameters, String index) {
+        return repository(query, call, parameters, index, index);
+    }
+
+    private static PlanCheck sql(String query, String sql, List<Object> parameters, String postgresIndex, String h2Index) {
+        return new PlanCheck(query, null, sql, parameters, postgresIndex, h2Index);
+    }
+}
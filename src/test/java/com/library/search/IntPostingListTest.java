@@ -0,0 +1,112 @@
+package com.library.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * IntPostingList testleri
+ *
+ * Rastgele ekleme/silme dizileri aynı işlemleri uygulayan bir TreeSet ile, kesişim ise
+ * retainAll ile karşılaştırılır. Tohumlar sabittir; başarısız bir durum aynen tekrarlanır.
+ */
+class IntPostingListTest {
+
+    @Test
+    void addAndRemoveMatchSortedSet() {
+        Random random = new Random(42);
+        IntPostingList list = new IntPostingList();
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            // Artan sırada eklemeler (hızlı yol) ile araya eklemeleri karıştırır
+            int id = random.nextInt(4) == 0 ? expected.isEmpty() ? 0 : expected.last() + 1 + random.nextInt(3)
+                                            : random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), list.remove(id), "remove(" + id + ")");
+            } else {
+                assertEquals(expected.add(id), list.add(id), "add(" + id + ")");
+            }
+            if (i % 500 == 0) {
+                assertContents(expected, list);
+            }
+        }
+        assertContents(expected, list);
+        for (int id = -1; id < 2_100; id++) {
+            assertEquals(expected.contains(id), list.contains(id), "contains(" + id + ")");
+        }
+    }
+
+    @Test
+    void removeThenReaddRestoresOrder() {
+        IntPostingList list = new IntPostingList();
+        for (int id = 0; id < 100; id++) {
+            list.add(id);
+        }
+        for (int id = 0; id < 100; id += 2) {
+            assertTrue(list.remove(id));
+            assertFalse(list.remove(id));
+        }
+        for (int id = 98; id >= 0; id -= 2) {
+            assertTrue(list.add(id));
+        }
+        int[] ids = list.toArray();
+        assertEquals(100, ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i, ids[i]);
+        }
+
+        for (int id = 0; id < 100; id++) {
+            list.remove(id);
+        }
+        assertTrue(list.isEmpty());
+        assertArrayEquals(new int[0], list.toArray());
+    }
+
+    @Test
+    void toArrayReturnsCopy() {
+        IntPostingList list = new IntPostingList();
+        list.add(1);
+        list.add(2);
+        list.toArray()[0] = 99;
+        assertArrayEquals(new int[]{1, 2}, list.toArray());
+    }
+
+    @Test
+    void intersectMatchesRetainAll() {
+        Random random = new Random(7);
+        for (int round = 0; round < 1_000; round++) {
+            TreeSet<Integer> a = randomSet(random, random.nextInt(50), 100);
+            TreeSet<Integer> b = randomSet(random, random.nextInt(50), 100);
+            TreeSet<Integer> expected = new TreeSet<>(a);
+            expected.retainAll(b);
+
+            assertArrayEquals(toArray(expected), IntPostingList.intersect(toArray(a), toArray(b)),
+                    "a=" + a + " b=" + b);
+        }
+    }
+
+    private static void assertContents(TreeSet<Integer> expected, IntPostingList list) {
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected.isEmpty(), list.isEmpty());
+        assertArrayEquals(toArray(expected), list.toArray());
+    }
+
+    private static TreeSet<Integer> randomSet(Random random, int size, int bound) {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int i = 0; i < size; i++) {
+            set.add(random.nextInt(bound));
+        }
+        return set;
+    }
+
+    private static int[] toArray(TreeSet<Integer> set) {
+        return set.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
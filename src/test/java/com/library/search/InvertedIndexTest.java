@@ -0,0 +1,137 @@
+package com.library.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * InvertedIndex testleri
+ *
+ * Terim ve önek sorguları, dokümanların terim kümeleri üzerinde kaba kuvvet
+ * {@code contains()} / {@code startsWith()} taramasıyla karşılaştırılır. Terimler
+ * TurkishTextAnalyzer çıktısı gibi normalize edilmiş Türkçe kelimelerdir.
+ */
+class InvertedIndexTest {
+
+    private static final List<String> VOCABULARY = List.of(
+            "kar", "kara", "karanlık", "kartal", "kürk", "kürek", "mantolu", "madonna", "masal",
+            "ışık", "ışıl", "istanbul", "iç", "için", "çalıkuşu", "çal", "şeker", "şehir", "ğ",
+            "öykü", "ölüm", "üç", "üçlü", "suç", "ceza", "savaş", "barış", "a", "ab", "abc");
+
+    @Test
+    void randomLookupsMatchBruteForce() {
+        Random random = new Random(42);
+        InvertedIndex index = new InvertedIndex();
+        Map<Integer, Set<String>> documents = new HashMap<>();
+
+        for (int docId = 0; docId < 300; docId++) {
+            List<String> terms = randomTerms(random);
+            index.put(docId, terms);
+            documents.put(docId, new HashSet<>(terms));
+        }
+        assertLookupsMatch(index, documents);
+
+        // Güncelleme, silme ve silinen dokümanın yeniden eklenmesi
+        for (int i = 0; i < 1_000; i++) {
+            int docId = random.nextInt(350);
+            if (random.nextInt(3) == 0) {
+                index.remove(docId);
+                documents.remove(docId);
+            } else {
+                List<String> terms = randomTerms(random);
+                index.put(docId, terms);
+                documents.put(docId, new HashSet<>(terms));
+            }
+        }
+        assertLookupsMatch(index, documents);
+    }
+
+    @Test
+    void removeThenReadd() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, List.of("kürk", "mantolu", "madonna"));
+        index.put(2, List.of("madonna"));
+
+        index.remove(1);
+        assertArrayEquals(new int[0], index.lookup("kürk"));
+        assertArrayEquals(new int[]{2}, index.lookup("madonna"));
+        assertArrayEquals(new int[]{2}, index.lookupPrefix("ma"));
+        assertEquals(1, index.documentCount());
+        assertEquals(1, index.termCount());
+
+        index.put(1, List.of("kürk", "mantolu", "madonna"));
+        assertArrayEquals(new int[]{1}, index.lookup("kürk"));
+        assertArrayEquals(new int[]{1, 2}, index.lookupPrefix("ma"));
+
+        // Aynı ID yeni terimlerle eski terimleri bırakır
+        index.put(1, List.of("suç", "ceza"));
+        assertArrayEquals(new int[0], index.lookup("mantolu"));
+        assertArrayEquals(new int[]{1}, index.lookup("ceza"));
+        assertEquals(3, index.termCount());
+    }
+
+    @Test
+    void prefixDoesNotCrossTurkishLetters() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, List.of("ışık"));
+        index.put(2, List.of("istanbul"));
+        index.put(3, List.of("iç"));
+
+        assertArrayEquals(new int[]{1}, index.lookupPrefix("ı"));
+        assertArrayEquals(new int[]{2, 3}, index.lookupPrefix("i"));
+        assertArrayEquals(new int[]{3}, index.lookupPrefix("iç"));
+    }
+
+    private static void assertLookupsMatch(InvertedIndex index, Map<Integer, Set<String>> documents) {
+        Set<String> prefixes = new TreeSet<>();
+        Set<String> presentTerms = new HashSet<>();
+        for (String term : VOCABULARY) {
+            for (int length = 1; length <= term.length(); length++) {
+                prefixes.add(term.substring(0, length));
+            }
+        }
+        for (String term : VOCABULARY) {
+            int[] expected = bruteForce(documents, term, false);
+            assertArrayEquals(expected, index.lookup(term), "lookup(" + term + ")");
+            if (expected.length > 0) {
+                presentTerms.add(term);
+            }
+        }
+        for (String prefix : prefixes) {
+            assertArrayEquals(bruteForce(documents, prefix, true), index.lookupPrefix(prefix), "lookupPrefix(" + prefix + ")");
+        }
+        assertArrayEquals(new int[0], index.lookup("yok"));
+        assertEquals(documents.size(), index.documentCount());
+        assertEquals(presentTerms.size(), index.termCount());
+    }
+
+    private static int[] bruteForce(Map<Integer, Set<String>> documents, String term, boolean prefix) {
+        return documents.entrySet().stream()
+                .filter(document -> prefix
+                        ? document.getValue().stream().anyMatch(t -> t.startsWith(term))
+                        : document.getValue().contains(term))
+                .mapToInt(Map.Entry::getKey)
+                .sorted()
+                .toArray();
+    }
+
+    private static List<String> randomTerms(Random random) {
+        // Tekrarlanan terimler de gönderilir; indeks bunları tek sayar
+        List<String> terms = new ArrayList<>();
+        int count = random.nextInt(6);
+        for (int i = 0; i < count; i++) {
+            terms.add(VOCABULARY.get(random.nextInt(VOCABULARY.size())));
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,174 @@
+package com.library.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TrigramIndex testleri
+ *
+ * İndeksin sonuçları, veritabanındaki IgnoreCase sorgusunun karşılığı olan kaba kuvvet
+ * {@code UPPER(value) LIKE '%' || UPPER(query) || '%'} taramasıyla karşılaştırılır. Rastgele
+ * metinler Türkçe harfleri ve büyük/küçük harf çiftlerini içeren küçük bir alfabeden üretilir;
+ * böylece trigram'lar sık tekrarlanır ve aday doğrulaması gerçekten çalışır.
+ */
+class TrigramIndexTest {
+
+    private static final String ALPHABET = "aAbıIiİşŞçÇğĞöÖüÜ ";
+
+    @Test
+    void randomQueriesMatchBruteForce() {
+        Random random = new Random(42);
+        TrigramIndex index = new TrigramIndex();
+        Map<Integer, String> documents = new HashMap<>();
+
+        for (int docId = 0; docId < 500; docId++) {
+            String value = randomText(random, random.nextInt(20));
+            index.put(docId, value);
+            documents.put(docId, value);
+        }
+        assertQueriesMatch(random, index, documents);
+
+        // Güncelleme, silme ve silinen dokümanın yeniden eklenmesi
+        for (int i = 0; i < 1_000; i++) {
+            int docId = random.nextInt(600);
+            switch (random.nextInt(3)) {
+                case 0:
+                    index.remove(docId);
+                    documents.remove(docId);
+                    break;
+                case 1:
+                    index.put(docId, null);
+                    documents.remove(docId);
+                    break;
+                default:
+                    String value = randomText(random, random.nextInt(20));
+                    index.put(docId, value);
+                    documents.put(docId, value);
+            }
+        }
+        assertQueriesMatch(random, index, documents);
+    }
+
+    @Test
+    void queriesShorterThanTrigramAreNotSupported() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Kar");
+
+        assertFalse(TrigramIndex.supports(null));
+        assertFalse(TrigramIndex.supports(""));
+        assertFalse(TrigramIndex.supports("ka"));
+        assertTrue(TrigramIndex.supports("kar"));
+        assertThrows(IllegalArgumentException.class, () -> index.findContaining("ka"));
+        assertEquals(List.of(1), index.findContaining("kar"));
+    }
+
+    @Test
+    void caseFoldingMatchesDatabaseUpper() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Çalıkuşu");
+        index.put(2, "IĞDIR");
+        index.put(3, "İstanbul Hatırası");
+        index.put(4, "Straße");
+
+        assertEquals(List.of(1), index.findContaining("çalıkuşu"));
+        assertEquals(List.of(1), index.findContaining("ÇALIKUŞU"));
+        // ı ve i, UPPER gibi I'ya çevrilir
+        assertEquals(List.of(2), index.findContaining("ığdır"));
+        assertEquals(List.of(2), index.findContaining("iğdir"));
+        assertEquals(List.of(3), index.findContaining("İSTANBUL"));
+        assertEquals(List.of(3), index.findContaining("hatıra"));
+        // Büyük harfe çevirme uzunluğu değiştirebilir (ß → SS)
+        assertEquals(List.of(4), index.findContaining("STRASSE"));
+
+        Map<Integer, String> documents = Map.of(1, "Çalıkuşu", 2, "IĞDIR", 3, "İstanbul Hatırası", 4, "Straße");
+        for (String query : List.of("istanbul", "ıstanbul", "ALI", "ße", "dir", "ğdı")) {
+            assertEquals(bruteForce(documents, query), index.findContaining(query), query);
+        }
+    }
+
+    @Test
+    void removeThenReadd() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Kürk Mantolu Madonna");
+        index.put(2, "Madonna");
+
+        index.remove(1);
+        assertEquals(List.of(), index.findContaining("manto"));
+        assertEquals(List.of(2), index.findContaining("madonna"));
+        assertEquals(1, index.size());
+
+        index.put(1, "Kürk Mantolu Madonna");
+        assertEquals(List.of(1), index.findContaining("manto"));
+        assertEquals(List.of(1, 2), index.findContaining("madonna"));
+
+        // Aynı ID yeni metinle eski trigram'ları bırakır
+        index.put(1, "Suç ve Ceza");
+        assertEquals(List.of(), index.findContaining("manto"));
+        assertEquals(List.of(1), index.findContaining("ceza"));
+
+        index.put(1, null);
+        index.remove(2);
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.findContaining("ceza"));
+    }
+
+    private static void assertQueriesMatch(Random random, TrigramIndex index, Map<Integer, String> documents) {
+        List<String> values = new ArrayList<>(documents.values());
+        for (int i = 0; i < 500; i++) {
+            String query;
+            String source = values.get(random.nextInt(values.size()));
+            if (random.nextBoolean() && source.length() >= 3) {
+                // Var olan bir metnin parçası; büyük/küçük harf ters çevrilir
+                int start = random.nextInt(source.length() - 2);
+                int end = start + 3 + random.nextInt(source.length() - start - 2);
+                query = swapCase(source.substring(start, end));
+            } else {
+                query = randomText(random, 3 + random.nextInt(3));
+            }
+            if (!TrigramIndex.supports(query)) {
+                continue;
+            }
+            assertEquals(bruteForce(documents, query), index.findContaining(query), "query=" + query);
+        }
+        assertEquals(documents.size(), index.size());
+    }
+
+    private static List<Integer> bruteForce(Map<Integer, String> documents, String query) {
+        String needle = query.toUpperCase(Locale.ROOT);
+        List<Integer> matches = new ArrayList<>();
+        documents.forEach((docId, value) -> {
+            if (value.toUpperCase(Locale.ROOT).contains(needle)) {
+                matches.add(docId);
+            }
+        });
+        matches.sort(null);
+        return matches;
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    private static String swapCase(String value) {
+        StringBuilder swapped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            swapped.append(Character.isUpperCase(c) ? Character.toLowerCase(c) : Character.toUpperCase(c));
+        }
+        return swapped.toString();
+    }
+}